@@ -0,0 +1,109 @@
+package com.wheely.geo;
+
+import com.wheely.model.CoordenadaParada;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link GeneradorTeselas} sobre una red sintética con el tamaño de la ciudad.
+ *
+ * <p>Cada recorrido es una caminata aleatoria de puntos a unos 30 metros, como un trazo de
+ * GPS, alrededor del centro de Tuxtla, y una de cada veinte coordenadas es una parada. Las
+ * simplificaciones se precalculan en la preparación, igual que al arrancar la aplicación, así
+ * que se mide solo el recorte, la cuantización y la codificación MVT de las nueve teselas
+ * alrededor del centro en el zoom indicado.</p>
+ *
+ * <pre>
+ * ./gradlew jmh
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see GeneradorTeselas
+ * @see CodificadorMvt
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeneradorTeselasBenchmark {
+
+    private static final double LAT_CENTRO = 16.7528;
+    private static final double LON_CENTRO = -93.1152;
+    private static final double GRADOS_POR_PASO = 0.00027;
+    private static final int PUNTOS_POR_RECORRIDO = 400;
+    private static final int PUNTOS_POR_PARADA = 20;
+
+    @Param({"100", "1000"})
+    private int recorridos;
+
+    @Param({"12", "14", "16"})
+    private int zoom;
+
+    private GeneradorTeselas generador;
+    private Tesela[] teselas;
+    private int siguiente;
+
+    @Setup
+    public void preparar() {
+        Random aleatorio = new Random(42);
+        List<GeometriaRecorrido> trazados = new ArrayList<>(recorridos);
+        List<CoordenadaParada> paradas = new ArrayList<>();
+        int idCoordenada = 1;
+        for (int r = 1; r <= recorridos; r++) {
+            GeometriaRecorrido.Builder trazado = new GeometriaRecorrido.Builder(r);
+            double lat = LAT_CENTRO + (aleatorio.nextDouble() - 0.5) * 0.06;
+            double lon = LON_CENTRO + (aleatorio.nextDouble() - 0.5) * 0.1;
+            double rumbo = aleatorio.nextDouble() * 2 * Math.PI;
+            for (int i = 0; i < PUNTOS_POR_RECORRIDO; i++) {
+                BigDecimal latitud = BigDecimal.valueOf(lat);
+                BigDecimal longitud = BigDecimal.valueOf(lon);
+                trazado.agregar(idCoordenada++, GeometriaRecorrido.aPuntoFijo(latitud),
+                        GeometriaRecorrido.aPuntoFijo(longitud), i + 1);
+                if (i % PUNTOS_POR_PARADA == 0) {
+                    paradas.add(new CoordenadaParada(paradas.size() + 1, r * 1000 + i / PUNTOS_POR_PARADA,
+                            latitud, longitud, i / PUNTOS_POR_PARADA + 1));
+                }
+                rumbo += (aleatorio.nextDouble() - 0.5) * 0.6;
+                lat += GRADOS_POR_PASO * Math.sin(rumbo);
+                lon += GRADOS_POR_PASO * Math.cos(rumbo);
+            }
+            trazados.add(trazado.build());
+        }
+
+        AlmacenGeometria almacen = new AlmacenGeometria();
+        almacen.cargar(trazados);
+        almacen.precalcularSimplificaciones();
+        IndiceEspacialParadas indice = new IndiceEspacialParadas();
+        indice.cargar(paradas);
+        generador = new GeneradorTeselas(almacen, indice);
+
+        int limite = 1 << zoom;
+        int x = (int) Math.floor((LON_CENTRO + 180.0) / 360.0 * limite);
+        double radianes = Math.toRadians(LAT_CENTRO);
+        int y = (int) Math.floor((1.0 - Math.log(Math.tan(radianes) + 1.0 / Math.cos(radianes)) / Math.PI) / 2.0 * limite);
+        teselas = new Tesela[9];
+        for (int i = 0; i < teselas.length; i++) {
+            teselas[i] = new Tesela(zoom, x + i % 3 - 1, y + i / 3 - 1);
+        }
+    }
+
+    @Benchmark
+    public byte[] generar() {
+        Tesela tesela = teselas[siguiente];
+        siguiente = (siguiente + 1) % teselas.length;
+        return generador.generar(tesela);
+    }
+}
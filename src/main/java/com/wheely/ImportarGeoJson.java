@@ -0,0 +1,83 @@
+package com.wheely;
+
+import com.wheely.config.DatabaseConfig;
+import com.wheely.geo.AlmacenGeometria;
+import com.wheely.geo.GrafoTransbordos;
+import com.wheely.geo.IndiceEspacialParadas;
+import com.wheely.repository.CoordenadaParadaRepository;
+import com.wheely.repository.CoordenadaRepository;
+import com.wheely.service.ImportacionService;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <p>
+ * Herramienta de línea de comandos para importar archivos GeoJSON de recorridos y paradas
+ * directamente a la base de datos de WHEELY, sin pasar por la API REST.
+ * </p>
+ * <p>
+ * <b>Propósito en WHEELY:</b>
+ * <ul>
+ *   <li>Cargar trazados completos de recorridos y paradas desde archivos de cientos de megabytes.</li>
+ *   <li>Usar la misma lógica que {@code POST /importaciones/geojson}: lectura en flujo, lotes y una transacción por entidad.</li>
+ *   <li>Reportar en consola las entidades importadas y los errores por entidad.</li>
+ * </ul>
+ * <p>
+ * <b>Ejemplo de uso:</b>
+ * <pre>
+ * ./gradlew importarGeoJson -Parchivo=recorridos.geojson
+ * java -cp wheely.jar com.wheely.ImportarGeoJson recorridos.geojson paradas.geojson
+ * </pre>
+ * </p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see ImportacionService
+ * @see com.wheely.geo.LectorGeoJson
+ */
+public class ImportarGeoJson {
+
+    /**
+     * <p>
+     * Importa cada archivo indicado, en orden. Termina con código 1 si algún archivo no
+     * pudo leerse, y con código 2 si no se indicó ningún archivo.
+     * </p>
+     *
+     * @param args Rutas de los archivos GeoJSON a importar.
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Uso: ImportarGeoJson <archivo.geojson> [...]");
+            System.exit(2);
+        }
+        IndiceEspacialParadas indiceParadas = new IndiceEspacialParadas();
+        ImportacionService importacionService = new ImportacionService(
+                new CoordenadaRepository(),
+                new CoordenadaParadaRepository(),
+                new AlmacenGeometria(),
+                indiceParadas,
+                new GrafoTransbordos(indiceParadas)
+        );
+        int codigo = 0;
+        for (String archivo : args) {
+            try (InputStream entrada = new BufferedInputStream(Files.newInputStream(Path.of(archivo)), 1 << 16)) {
+                ImportacionService.ResultadoImportacion r = importacionService.importar(entrada);
+                System.out.println(archivo + ": " + r.getEntidadesImportadas() + " entidades importadas, "
+                        + r.getEntidadesOmitidas() + " omitidas, " + r.getCoordenadasInsertadas() + " coordenadas, "
+                        + r.getCoordenadasParadaInsertadas() + " coordenadas de parada");
+                for (String error : r.getErrores()) {
+                    System.out.println("  " + error);
+                }
+            } catch (Exception e) {
+                System.err.println(archivo + ": " + e.getMessage());
+                codigo = 1;
+            }
+        }
+        DatabaseConfig.closeDataSource();
+        System.exit(codigo);
+    }
+}
@@ -93,6 +93,9 @@ public class Main {
             });
         }).start(7000);
 
+        // ETag e If-None-Match para todos los GET
+        AppModule.initValidacionEtag().register(app);
+
         // Registrar todas las rutas
         AppModule.initUsuarios().register(app);
         AppModule.initReportes().register(app);
@@ -107,6 +110,17 @@ public class Main {
         // NUEVAS RUTAS
         AppModule.initPeriodos().register(app);
         AppModule.initTiemposRutaPeriodo().register(app);
+        AppModule.initTeselas().register(app);
+        AppModule.initEmparejamiento().register(app);
+        AppModule.initImportacion().register(app);
+        AppModule.initPlanificacion().register(app);
+        AppModule.initTransbordos().register(app);
+        AppModule.initAutocompletado().register(app);
+        AppModule.initTraslapes().register(app);
+        AppModule.initPosiciones().register(app);
+
+        // Cargar trazados y simplificaciones por zoom antes de atender consultas de mapa
+        AppModule.precargarGeometria();
 
         // Ruta de prueba
         app.get("/", ctx -> ctx.result("API Wheely funcionando correctamente"));
@@ -124,5 +138,19 @@ public class Main {
         System.out.println("- Rutas Favoritas: /api/rutas-favoritas");
         System.out.println("- Periodos: /api/periodos");
         System.out.println("- Tiempos Ruta-Periodo: /api/tiempos-ruta-periodo");
+        System.out.println("- Teselas del mapa: /tiles/{z}/{x}/{y}.mvt");
+        System.out.println("- Emparejar trazas GPS: /recorridos/emparejar");
+        System.out.println("- Importar GeoJSON: /importaciones/geojson");
+        System.out.println("- Planificar viajes: /viajes/planear");
+        System.out.println("- Isócronas: /viajes/isocrona");
+        System.out.println("- Tiempo entre paradas: /viajes/eta");
+        System.out.println("- Matriz de tiempos: /viajes/matriz");
+        System.out.println("- Transbordos de parada: /paradas/{id}/transbordos");
+        System.out.println("- Sugerencias: /sugerencias");
+        System.out.println("- Traslapes de recorrido: /recorridos/{id}/traslapes");
+        System.out.println("- Traslapes entre recorridos: /traslapes");
+        System.out.println("- Recorridos cercanos: /recorridos/cercanos");
+        System.out.println("- Posiciones de vehículos: /posiciones");
+        System.out.println("- Vehículos en recorrido: /recorridos/{id}/vehiculos");
     }
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+package com.wheely.busqueda;
+
+import com.wheely.model.Ruta;
+import com.wheely.util.FuenteCarga;
+import com.wheely.util.TextoUtil;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Autocompletado en memoria de nombres de ruta y de lugares de origen y destino.
+ *
+ * <p>Las sugerencias se toman del {@link IndiceRutas}: una por ruta con su nombre y una
+ * por cada lugar distinto (tras normalizar) que aparece como origen o destino. Se ordenan
+ * por popularidad, que es el número de veces que sus rutas están marcadas como favoritas,
+ * y se guardan en un {@link TrieSugerencias}.</p>
+ *
+ * <p>El trie se descarta cuando cambian las rutas y se reconstruye en la siguiente consulta.
+ * Los conteos de favoritos se mantienen en memoria con cada alta y baja, así que reconstruir
+ * no consulta la base de datos; un cambio de favoritos no reconstruye, sino que ajusta en el
+ * trie vigente la popularidad de las sugerencias de esa ruta (su nombre y sus lugares).</p>
+ *
+ * <pre>
+ * Autocompletado autocompletado = new Autocompletado(indiceRutas);
+ * indiceRutas.agregarOyente(autocompletado::invalidar);
+ * autocompletado.cargar(rutaFavoritaRepository.countPorRuta());
+ * List&lt;Sugerencia&gt; sugerencias = autocompletado.sugerir("cen", 8);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see TrieSugerencias
+ * @see com.wheely.service.AutocompletadoService
+ */
+public class Autocompletado {
+
+    private final IndiceRutas indiceRutas;
+    private final Map<Integer, Integer> favoritosPorRuta = new ConcurrentHashMap<>();
+    private volatile Vigente vigente;
+    private volatile long version;
+    private volatile boolean cargado;
+
+    /**
+     * Constructor del autocompletado.
+     *
+     * @param indiceRutas Índice del que se toman las rutas
+     */
+    public Autocompletado(IndiceRutas indiceRutas) {
+        this.indiceRutas = indiceRutas;
+    }
+
+    /**
+     * Reemplaza los conteos de favoritos por ruta.
+     *
+     * @param favoritos Número de favoritos de cada ruta; las ausentes tienen 0
+     */
+    public void cargar(Map<Integer, Integer> favoritos) {
+        synchronized (this) {
+            favoritosPorRuta.clear();
+            favoritosPorRuta.putAll(favoritos);
+            cargado = true;
+        }
+        invalidar();
+    }
+
+    /**
+     * Indica si los conteos de favoritos ya se cargaron.
+     *
+     * @return true si {@link #cargar(Map)} ya se ejecutó
+     */
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * Carga los conteos de favoritos la primera vez que se necesita; las llamadas siguientes no hacen nada.
+     *
+     * <p>Los conteos que cambian antes de la carga no se pierden: la consulta ya los lee actualizados.</p>
+     *
+     * @param fuente Consulta que entrega el contenido completo
+     * @throws SQLException Si falla la consulta
+     */
+    public void asegurarCargado(FuenteCarga<? extends Map<Integer, Integer>> fuente) throws SQLException {
+        if (cargado) return;
+        synchronized (this) {
+            if (!cargado) cargar(fuente.leer());
+        }
+    }
+
+    /**
+     * Suma o resta favoritos a una ruta tras un alta o una baja.
+     *
+     * <p>Si los conteos aún no se cargan no hace nada: la carga los leerá ya actualizados. Si
+     * hay un trie vigente, publica una copia con la popularidad de las sugerencias de la ruta
+     * ajustada, sin reconstruirlo.</p>
+     *
+     * @param idRuta ID de la ruta
+     * @param cambio Favoritos agregados (positivo) o quitados (negativo)
+     */
+    public void cambiarFavoritos(int idRuta, int cambio) {
+        if (!cargado) return;
+        synchronized (this) {
+            int anterior = favoritosPorRuta.getOrDefault(idRuta, 0);
+            int nuevo = Math.max(0, anterior + cambio);
+            favoritosPorRuta.put(idRuta, nuevo);
+            version++;
+            Vigente actual = vigente;
+            List<Integer> afectadas = actual != null ? actual.sugerenciasDeRuta.get(idRuta) : null;
+            if (afectadas != null && nuevo != anterior) {
+                vigente = new Vigente(actual.trie.sumarPopularidad(afectadas, nuevo - anterior),
+                        actual.sugerenciasDeRuta);
+            }
+        }
+    }
+
+    /**
+     * Descarta el trie para que se reconstruya en la siguiente consulta.
+     */
+    public void invalidar() {
+        synchronized (this) {
+            version++;
+            vigente = null;
+        }
+    }
+
+    /**
+     * Sugiere nombres de ruta y lugares que empiezan con un texto en alguna de sus palabras.
+     *
+     * @param texto Texto escrito hasta ahora; se ignoran acentos y mayúsculas
+     * @param k Sugerencias máximas, hasta {@link TrieSugerencias#MAXIMO_SUGERENCIAS}
+     * @return Sugerencias de la más a la menos popular
+     */
+    public List<Sugerencia> sugerir(String texto, int k) {
+        Vigente actual = vigente;
+        if (actual == null) actual = reconstruir();
+        return actual.trie.buscar(TextoUtil.normalizar(texto), k);
+    }
+
+    /**
+     * Construye el trie con las rutas del índice y los favoritos vigentes.
+     *
+     * <p>Si llega un aviso de cambio o un cambio de favoritos mientras se construye, el trie
+     * responde la consulta en curso pero no se publica.</p>
+     */
+    private Vigente reconstruir() {
+        long inicio = version;
+        List<Ruta> rutas = indiceRutas.todas();
+        List<Sugerencia> sugerencias = new ArrayList<>();
+        Map<Sugerencia, Set<Integer>> rutasDeSugerencia = new HashMap<>();
+        Map<String, String> textoLugar = new LinkedHashMap<>();
+        Map<String, Set<Integer>> rutasLugar = new LinkedHashMap<>();
+        for (Ruta r : rutas) {
+            int favoritos = favoritosPorRuta.getOrDefault(r.getIdRuta(), 0);
+            if (!TextoUtil.normalizar(r.getNombreRuta()).isEmpty()) {
+                Sugerencia sugerencia = new Sugerencia(r.getNombreRuta(), Sugerencia.RUTA, r.getIdRuta(), 1, favoritos);
+                sugerencias.add(sugerencia);
+                rutasDeSugerencia.put(sugerencia, Set.of(r.getIdRuta()));
+            }
+            for (String lugar : new String[]{r.getOrigen(), r.getDestino()}) {
+                String clave = TextoUtil.normalizar(lugar);
+                if (clave.isEmpty()) continue;
+                textoLugar.putIfAbsent(clave, lugar.trim());
+                rutasLugar.computeIfAbsent(clave, k -> new HashSet<>()).add(r.getIdRuta());
+            }
+        }
+        for (Map.Entry<String, Set<Integer>> e : rutasLugar.entrySet()) {
+            int favoritos = 0;
+            for (Integer idRuta : e.getValue()) {
+                favoritos += favoritosPorRuta.getOrDefault(idRuta, 0);
+            }
+            Sugerencia sugerencia = new Sugerencia(textoLugar.get(e.getKey()), Sugerencia.LUGAR, null,
+                    e.getValue().size(), favoritos);
+            sugerencias.add(sugerencia);
+            rutasDeSugerencia.put(sugerencia, e.getValue());
+        }
+        sugerencias.sort(Comparator.comparingInt(Sugerencia::getPopularidad).reversed()
+                .thenComparing(Comparator.comparingInt(Sugerencia::getRutas).reversed())
+                .thenComparing(s -> TextoUtil.normalizar(s.getTexto())));
+        Map<Integer, List<Integer>> sugerenciasDeRuta = new HashMap<>();
+        for (int i = 0; i < sugerencias.size(); i++) {
+            for (Integer idRuta : rutasDeSugerencia.get(sugerencias.get(i))) {
+                sugerenciasDeRuta.computeIfAbsent(idRuta, k -> new ArrayList<>()).add(i);
+            }
+        }
+        Vigente nuevo = new Vigente(new TrieSugerencias(sugerencias), sugerenciasDeRuta);
+        synchronized (this) {
+            if (version == inicio) vigente = nuevo;
+        }
+        return nuevo;
+    }
+
+    /**
+     * Trie publicado junto con los números de las sugerencias que dependen de cada ruta.
+     */
+    private static final class Vigente {
+        private final TrieSugerencias trie;
+        private final Map<Integer, List<Integer>> sugerenciasDeRuta;
+
+        private Vigente(TrieSugerencias trie, Map<Integer, List<Integer>> sugerenciasDeRuta) {
+            this.trie = trie;
+            this.sugerenciasDeRuta = sugerenciasDeRuta;
+        }
+    }
+}
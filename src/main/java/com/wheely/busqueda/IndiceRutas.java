@@ -0,0 +1,388 @@
+package com.wheely.busqueda;
+
+import com.wheely.model.Ruta;
+import com.wheely.util.FuenteCarga;
+import com.wheely.util.TextoUtil;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas en memoria sobre el nombre, el origen y el destino de las rutas.
+ *
+ * <p>Cada campo se normaliza con {@link TextoUtil#normalizar(String)} y cada palabra se
+ * parte en trigramas con dos espacios al inicio y uno al final, de modo que los prefijos de
+ * palabra de una o dos letras también tienen trigramas propios. Por campo se guarda una
+ * lista invertida {@code trigrama → rutas}; una búsqueda solo visita las rutas que comparten
+ * algún trigrama con el texto buscado.</p>
+ *
+ * <p>Una ruta coincide con un texto si su campo lo contiene tal cual (ya normalizado) o si
+ * contiene al menos {@value #COBERTURA_MINIMA} de sus trigramas, lo que tolera errores de
+ * escritura. El puntaje suma tres términos: 1 si lo contiene, la fracción de trigramas del
+ * texto presentes en el campo y la similitud de Jaccard entre ambos conjuntos.</p>
+ *
+ * <p>Un texto de una o dos letras tomado de en medio de una palabra ("tr" en "centro") no
+ * comparte trigramas con ella. Para esos textos, y para los que no tienen ningún trigrama en
+ * el índice, se recorren todas las rutas buscando el texto tal cual en el campo.</p>
+ *
+ * <p>Las escrituras ({@link #cargar(Collection)}, {@link #guardar(Ruta)} y
+ * {@link #eliminar(int)}) se sincronizan además sobre el propio índice, el mismo monitor con
+ * que los servicios hacen la carga perezosa: una escritura no puede colarse entre la lectura
+ * de la lista completa y el {@code clear()} de la carga, donde se perdería.</p>
+ *
+ * <pre>
+ * IndiceRutas indice = new IndiceRutas();
+ * indice.cargar(rutaRepository.findAll());
+ * List&lt;Ruta&gt; rutas = indice.buscar("teran", "centro");
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see com.wheely.service.RutaService
+ * @see TextoUtil
+ */
+public class IndiceRutas {
+
+    /**
+     * Campo del nombre de la ruta.
+     */
+    public static final int NOMBRE = 0;
+
+    /**
+     * Campo del origen de la ruta.
+     */
+    public static final int ORIGEN = 1;
+
+    /**
+     * Campo del destino de la ruta.
+     */
+    public static final int DESTINO = 2;
+
+    /**
+     * Todos los campos; se toma el de mejor puntaje.
+     */
+    public static final int CUALQUIERA = -1;
+
+    /**
+     * Fracción mínima de los trigramas del texto que debe tener un campo sin contenerlo tal cual.
+     */
+    public static final double COBERTURA_MINIMA = 0.3;
+
+    private static final int CAMPOS = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Entrada> rutas = new HashMap<>();
+    private final List<Map<Long, Set<Integer>>> invertido = new ArrayList<>();
+    private final List<Runnable> oyentes = new CopyOnWriteArrayList<>();
+    private volatile boolean cargado;
+
+    /**
+     * Constructor del índice vacío.
+     */
+    public IndiceRutas() {
+        for (int f = 0; f < CAMPOS; f++) {
+            invertido.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Reemplaza el contenido del índice con la lista completa de rutas.
+     *
+     * @param todas Todas las rutas registradas
+     */
+    public synchronized void cargar(Collection<Ruta> todas) {
+        lock.writeLock().lock();
+        try {
+            rutas.clear();
+            for (Map<Long, Set<Integer>> campo : invertido) {
+                campo.clear();
+            }
+            for (Ruta r : todas) {
+                insertar(r);
+            }
+            cargado = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notificar();
+    }
+
+    /**
+     * Registra un receptor que será avisado de cada cambio en las rutas indexadas.
+     *
+     * @param oyente Receptor de avisos de cambio
+     */
+    public void agregarOyente(Runnable oyente) {
+        oyentes.add(oyente);
+    }
+
+    /**
+     * Indica si el índice ya fue poblado desde la base de datos.
+     *
+     * @return true si {@link #cargar(Collection)} ya se ejecutó
+     */
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * Carga el índice la primera vez que se necesita; las llamadas siguientes no hacen nada.
+     *
+     * <p>Usa el mismo monitor que las escrituras, así que ninguna se pierde en la carga.</p>
+     *
+     * @param fuente Consulta que entrega el contenido completo
+     * @throws SQLException Si falla la consulta
+     */
+    public void asegurarCargado(FuenteCarga<? extends Collection<Ruta>> fuente) throws SQLException {
+        if (cargado) return;
+        synchronized (this) {
+            if (!cargado) cargar(fuente.leer());
+        }
+    }
+
+    /**
+     * Agrega o reemplaza una ruta en el índice.
+     *
+     * @param ruta Ruta persistida (con ID asignado)
+     */
+    public synchronized void guardar(Ruta ruta) {
+        lock.writeLock().lock();
+        try {
+            quitar(ruta.getIdRuta());
+            insertar(ruta);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notificar();
+    }
+
+    /**
+     * Elimina una ruta del índice.
+     *
+     * @param idRuta ID de la ruta eliminada
+     */
+    public synchronized void eliminar(int idRuta) {
+        lock.writeLock().lock();
+        try {
+            quitar(idRuta);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notificar();
+    }
+
+    /**
+     * Busca rutas cuyo origen y destino coinciden con los textos indicados.
+     *
+     * <p>Un criterio nulo o vacío no filtra; si ambos lo son se devuelven todas las rutas
+     * ordenadas por nombre. Con los dos criterios, el puntaje es la suma de ambos campos.</p>
+     *
+     * @param origen Texto buscado en el origen, o null
+     * @param destino Texto buscado en el destino, o null
+     * @return Rutas coincidentes de mayor a menor puntaje
+     */
+    public List<Ruta> buscar(String origen, String destino) {
+        String o = TextoUtil.normalizar(origen);
+        String d = TextoUtil.normalizar(destino);
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> puntajes = null;
+            if (!o.isEmpty()) puntajes = puntuar(o, ORIGEN);
+            if (!d.isEmpty()) {
+                Map<Integer, Double> porDestino = puntuar(d, DESTINO);
+                if (puntajes == null) {
+                    puntajes = porDestino;
+                } else {
+                    puntajes.keySet().retainAll(porDestino.keySet());
+                    puntajes.replaceAll((id, p) -> p + porDestino.get(id));
+                }
+            }
+            if (puntajes == null) {
+                puntajes = new HashMap<>();
+                for (Integer id : rutas.keySet()) {
+                    puntajes.put(id, 0.0);
+                }
+            }
+            return ordenar(puntajes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca rutas por un texto en uno de sus campos o en cualquiera de ellos.
+     *
+     * @param texto Texto buscado
+     * @param campo {@link #NOMBRE}, {@link #ORIGEN}, {@link #DESTINO} o {@link #CUALQUIERA}
+     * @return Rutas coincidentes de mayor a menor puntaje; vacía si el texto no tiene letras ni dígitos
+     */
+    public List<Ruta> buscar(String texto, int campo) {
+        String t = TextoUtil.normalizar(texto);
+        if (t.isEmpty()) return new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (campo != CUALQUIERA) return ordenar(puntuar(t, campo));
+            Map<Integer, Double> puntajes = new HashMap<>();
+            for (int f = 0; f < CAMPOS; f++) {
+                puntuar(t, f).forEach((id, p) -> puntajes.merge(id, p, Math::max));
+            }
+            return ordenar(puntajes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene una copia de todas las rutas indexadas.
+     *
+     * @return Rutas ordenadas por ID
+     */
+    public List<Ruta> todas() {
+        lock.readLock().lock();
+        try {
+            List<Ruta> resultado = new ArrayList<>(rutas.size());
+            for (Entrada e : rutas.values()) {
+                Ruta r = e.ruta;
+                resultado.add(new Ruta(r.getIdRuta(), r.getNombreRuta(), r.getOrigen(), r.getDestino()));
+            }
+            resultado.sort(Comparator.comparingInt(Ruta::getIdRuta));
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene el número de rutas indexadas.
+     *
+     * @return Cantidad de rutas en el índice
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rutas.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula el puntaje de las rutas que coinciden con un texto normalizado en un campo.
+     */
+    private Map<Integer, Double> puntuar(String texto, int campo) {
+        long[] buscados = trigramas(texto);
+        Map<Integer, Integer> compartidos = new HashMap<>();
+        Map<Long, Set<Integer>> listas = invertido.get(campo);
+        for (long t : buscados) {
+            Set<Integer> lista = listas.get(t);
+            if (lista == null) continue;
+            for (Integer id : lista) {
+                compartidos.merge(id, 1, Integer::sum);
+            }
+        }
+        if (texto.length() < 3 || compartidos.isEmpty()) {
+            for (Map.Entry<Integer, Entrada> e : rutas.entrySet()) {
+                if (e.getValue().normalizados[campo].contains(texto)) compartidos.putIfAbsent(e.getKey(), 0);
+            }
+        }
+        Map<Integer, Double> puntajes = new HashMap<>();
+        for (Map.Entry<Integer, Integer> e : compartidos.entrySet()) {
+            Entrada entrada = rutas.get(e.getKey());
+            int comunes = e.getValue();
+            boolean contiene = entrada.normalizados[campo].contains(texto);
+            double cobertura = (double) comunes / buscados.length;
+            if (!contiene && cobertura < COBERTURA_MINIMA) continue;
+            double jaccard = (double) comunes / (buscados.length + entrada.trigramas[campo] - comunes);
+            puntajes.put(e.getKey(), (contiene ? 1.0 : 0.0) + cobertura + jaccard);
+        }
+        return puntajes;
+    }
+
+    private List<Ruta> ordenar(Map<Integer, Double> puntajes) {
+        List<Map.Entry<Integer, Double>> orden = new ArrayList<>(puntajes.entrySet());
+        orden.sort(Comparator.<Map.Entry<Integer, Double>>comparingDouble(e -> -e.getValue())
+                .thenComparing(e -> rutas.get(e.getKey()).normalizados[NOMBRE])
+                .thenComparingInt(Map.Entry::getKey));
+        List<Ruta> resultado = new ArrayList<>(orden.size());
+        for (Map.Entry<Integer, Double> e : orden) {
+            Ruta r = rutas.get(e.getKey()).ruta;
+            resultado.add(new Ruta(r.getIdRuta(), r.getNombreRuta(), r.getOrigen(), r.getDestino()));
+        }
+        return resultado;
+    }
+
+    private void insertar(Ruta r) {
+        Entrada entrada = new Entrada(new Ruta(r.getIdRuta(), r.getNombreRuta(), r.getOrigen(), r.getDestino()));
+        rutas.put(r.getIdRuta(), entrada);
+        for (int f = 0; f < CAMPOS; f++) {
+            long[] propios = trigramas(entrada.normalizados[f]);
+            entrada.trigramas[f] = propios.length;
+            for (long t : propios) {
+                invertido.get(f).computeIfAbsent(t, k -> new HashSet<>()).add(r.getIdRuta());
+            }
+        }
+    }
+
+    private void quitar(int idRuta) {
+        Entrada entrada = rutas.remove(idRuta);
+        if (entrada == null) return;
+        for (int f = 0; f < CAMPOS; f++) {
+            Map<Long, Set<Integer>> listas = invertido.get(f);
+            for (long t : trigramas(entrada.normalizados[f])) {
+                Set<Integer> lista = listas.get(t);
+                if (lista != null && lista.remove(idRuta) && lista.isEmpty()) listas.remove(t);
+            }
+        }
+    }
+
+    private void notificar() {
+        for (Runnable oyente : oyentes) {
+            oyente.run();
+        }
+    }
+
+    /**
+     * Obtiene los trigramas distintos de un texto normalizado, cada uno empacado en un {@code long}.
+     */
+    static long[] trigramas(String normalizado) {
+        if (normalizado.isEmpty()) return new long[0];
+        long[] resultado = new long[normalizado.length() * 3];
+        int n = 0;
+        for (String palabra : normalizado.split(" ")) {
+            String relleno = "  " + palabra + " ";
+            for (int i = 0; i + 3 <= relleno.length(); i++) {
+                resultado[n++] = ((long) relleno.charAt(i) << 32) | ((long) relleno.charAt(i + 1) << 16) | relleno.charAt(i + 2);
+            }
+        }
+        return Arrays.stream(resultado, 0, n).sorted().distinct().toArray();
+    }
+
+    /**
+     * Ruta indexada con sus campos normalizados y el número de trigramas de cada uno.
+     */
+    private static final class Entrada {
+        private final Ruta ruta;
+        private final String[] normalizados;
+        private final int[] trigramas = new int[CAMPOS];
+
+        private Entrada(Ruta ruta) {
+            this.ruta = ruta;
+            this.normalizados = new String[]{
+                    TextoUtil.normalizar(ruta.getNombreRuta()),
+                    TextoUtil.normalizar(ruta.getOrigen()),
+                    TextoUtil.normalizar(ruta.getDestino())};
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.wheely.busqueda;
+
+/**
+ * Sugerencia de autocompletado: el nombre de una ruta o un lugar de origen o destino.
+ *
+ * <pre>
+ * { "texto": "Ruta 12 Terán - Centro", "tipo": "RUTA", "idRuta": 12, "rutas": 1, "popularidad": 48 }
+ * { "texto": "Plaza Cristóbal Colón", "tipo": "LUGAR", "idRuta": null, "rutas": 5, "popularidad": 131 }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see Autocompletado
+ */
+public class Sugerencia {
+
+    /**
+     * Tipo de sugerencia que corresponde al nombre de una ruta.
+     */
+    public static final String RUTA = "RUTA";
+
+    /**
+     * Tipo de sugerencia que corresponde a un origen o destino.
+     */
+    public static final String LUGAR = "LUGAR";
+
+    private final String texto;
+    private final String tipo;
+    private final Integer idRuta;
+    private final int rutas;
+    private final int popularidad;
+
+    /**
+     * Constructor de la sugerencia.
+     *
+     * @param texto Texto tal como está registrado
+     * @param tipo {@link #RUTA} o {@link #LUGAR}
+     * @param idRuta ID de la ruta si el tipo es {@link #RUTA}, null si es un lugar
+     * @param rutas Rutas que tienen el lugar como origen o destino; 1 para una ruta
+     * @param popularidad Veces que las rutas correspondientes están marcadas como favoritas
+     */
+    public Sugerencia(String texto, String tipo, Integer idRuta, int rutas, int popularidad) {
+        this.texto = texto;
+        this.tipo = tipo;
+        this.idRuta = idRuta;
+        this.rutas = rutas;
+        this.popularidad = popularidad;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public Integer getIdRuta() {
+        return idRuta;
+    }
+
+    public int getRutas() {
+        return rutas;
+    }
+
+    public int getPopularidad() {
+        return popularidad;
+    }
+}
@@ -0,0 +1,344 @@
+package com.wheely.busqueda;
+
+import com.wheely.util.TextoUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trie radix inmutable en arreglos primitivos para autocompletar por prefijo.
+ *
+ * <p>Cada sugerencia se inserta, ya normalizada, a partir del inicio de cada una de sus
+ * palabras, así que "ayala" y "plan de" encuentran "Plan de Ayala". Las aristas llevan
+ * etiquetas de varios caracteres guardadas como rangos de un único {@code char[]}, y los
+ * hermanos se encadenan ordenados por su primer carácter.</p>
+ *
+ * <p>Las sugerencias se numeran por popularidad (0 es la más popular) y cada nodo guarda
+ * de antemano los números de las {@value #MAXIMO_SUGERENCIAS} mejores de su subárbol. Una
+ * búsqueda solo baja por el prefijo y copia esa lista: no recorre el subárbol ni crea
+ * objetos intermedios.</p>
+ *
+ * <p>{@link #sumarPopularidad(Collection, int)} cambia la popularidad de unas sugerencias sin
+ * reconstruir: comparte la estructura y vuelve a ordenar solo las listas de los nodos por
+ * los que pasan sus claves, de abajo hacia arriba. A igual popularidad decide el número de
+ * la sugerencia, es decir, el orden de la construcción.</p>
+ *
+ * <pre>
+ * TrieSugerencias trie = new TrieSugerencias(sugerenciasPorPopularidad);
+ * List&lt;Sugerencia&gt; top = trie.buscar("cen", 8);
+ * trie = trie.sumarPopularidad(List.of(0, 7), 1);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see Autocompletado
+ */
+public final class TrieSugerencias {
+
+    /**
+     * Sugerencias máximas que se guardan por nodo y que puede devolver una búsqueda.
+     */
+    public static final int MAXIMO_SUGERENCIAS = 20;
+
+    private final Sugerencia[] sugerencias;
+    private final char[] etiquetas;
+    private final int[] etiquetaInicio;
+    private final int[] etiquetaFin;
+    private final int[] primerHijo;
+    private final int[] siguienteHermano;
+    private final int[] topInicio;
+    private final int[] topFin;
+    private final int[] top;
+    private final int[] propiosInicio;
+    private final int[] propiosFin;
+    private final int[] propios;
+
+    /**
+     * Construye el trie.
+     *
+     * @param porPopularidad Sugerencias ordenadas de la más a la menos popular
+     */
+    public TrieSugerencias(List<Sugerencia> porPopularidad) {
+        sugerencias = porPopularidad.toArray(new Sugerencia[0]);
+        List<String> claves = new ArrayList<>();
+        List<Integer> duenos = new ArrayList<>();
+        for (int i = 0; i < sugerencias.length; i++) {
+            String normalizado = TextoUtil.normalizar(sugerencias[i].getTexto());
+            for (int p = 0; p < normalizado.length(); p++) {
+                if (p == 0 || normalizado.charAt(p - 1) == ' ') {
+                    claves.add(normalizado.substring(p));
+                    duenos.add(i);
+                }
+            }
+        }
+        Integer[] orden = new Integer[claves.size()];
+        for (int i = 0; i < orden.length; i++) orden[i] = i;
+        Arrays.sort(orden, (a, b) -> claves.get(a).compareTo(claves.get(b)));
+        String[] ordenadas = new String[orden.length];
+        int[] dueno = new int[orden.length];
+        for (int i = 0; i < orden.length; i++) {
+            ordenadas[i] = claves.get(orden[i]);
+            dueno[i] = duenos.get(orden[i]);
+        }
+
+        Constructor c = new Constructor(ordenadas, dueno);
+        c.construir(0, ordenadas.length, 0, 0, 0);
+        int n = c.nodos;
+        etiquetas = Arrays.copyOf(c.etiquetas, c.usadosEtiquetas);
+        etiquetaInicio = Arrays.copyOf(c.etiquetaInicio, n);
+        etiquetaFin = Arrays.copyOf(c.etiquetaFin, n);
+        primerHijo = Arrays.copyOf(c.primerHijo, n);
+        siguienteHermano = Arrays.copyOf(c.siguienteHermano, n);
+        topInicio = Arrays.copyOf(c.topInicio, n);
+        topFin = Arrays.copyOf(c.topFin, n);
+        top = Arrays.copyOf(c.top, c.usadosTop);
+        propiosInicio = Arrays.copyOf(c.propiosInicio, n);
+        propiosFin = Arrays.copyOf(c.propiosFin, n);
+        propios = Arrays.copyOf(c.propios, c.usadosPropios);
+    }
+
+    /**
+     * Crea una copia que comparte la estructura con otras sugerencias y listas de mejores.
+     */
+    private TrieSugerencias(TrieSugerencias base, Sugerencia[] sugerencias, int[] top) {
+        this.sugerencias = sugerencias;
+        this.top = top;
+        etiquetas = base.etiquetas;
+        etiquetaInicio = base.etiquetaInicio;
+        etiquetaFin = base.etiquetaFin;
+        primerHijo = base.primerHijo;
+        siguienteHermano = base.siguienteHermano;
+        topInicio = base.topInicio;
+        topFin = base.topFin;
+        propiosInicio = base.propiosInicio;
+        propiosFin = base.propiosFin;
+        propios = base.propios;
+    }
+
+    /**
+     * Busca las sugerencias más populares que empiezan con un prefijo en alguna de sus palabras.
+     *
+     * @param prefijo Prefijo ya normalizado con {@link TextoUtil#normalizar(String)}
+     * @param k Sugerencias máximas, hasta {@link #MAXIMO_SUGERENCIAS}
+     * @return Sugerencias de la más a la menos popular
+     */
+    public List<Sugerencia> buscar(String prefijo, int k) {
+        int nodo = 0;
+        int pos = 0;
+        while (pos < prefijo.length()) {
+            char c = prefijo.charAt(pos);
+            int hijo = primerHijo[nodo];
+            while (hijo >= 0 && etiquetas[etiquetaInicio[hijo]] < c) hijo = siguienteHermano[hijo];
+            if (hijo < 0 || etiquetas[etiquetaInicio[hijo]] != c) return new ArrayList<>(0);
+            int e = etiquetaInicio[hijo];
+            while (e < etiquetaFin[hijo] && pos < prefijo.length()) {
+                if (etiquetas[e++] != prefijo.charAt(pos++)) return new ArrayList<>(0);
+            }
+            nodo = hijo;
+        }
+        int fin = Math.min(topFin[nodo], topInicio[nodo] + k);
+        List<Sugerencia> resultado = new ArrayList<>(fin - topInicio[nodo]);
+        for (int i = topInicio[nodo]; i < fin; i++) {
+            resultado.add(sugerencias[top[i]]);
+        }
+        return resultado;
+    }
+
+    /**
+     * Crea una copia con la popularidad de algunas sugerencias cambiada.
+     *
+     * <p>Solo se vuelven a ordenar las listas de mejores de los nodos por los que pasan las
+     * claves de esas sugerencias; el tamaño de cada lista no cambia, porque el conjunto de
+     * sugerencias de cada subárbol es el mismo.</p>
+     *
+     * @param numeros Números de las sugerencias, en el orden de la construcción
+     * @param cambio Cantidad que se suma a su popularidad (negativa para restar)
+     * @return Trie nuevo; este no se modifica
+     */
+    public TrieSugerencias sumarPopularidad(Collection<Integer> numeros, int cambio) {
+        Sugerencia[] nuevas = sugerencias.clone();
+        Map<Integer, Integer> profundidades = new HashMap<>();
+        for (int numero : numeros) {
+            Sugerencia s = nuevas[numero];
+            nuevas[numero] = new Sugerencia(s.getTexto(), s.getTipo(), s.getIdRuta(), s.getRutas(),
+                    Math.max(0, s.getPopularidad() + cambio));
+            String normalizado = TextoUtil.normalizar(s.getTexto());
+            for (int p = 0; p < normalizado.length(); p++) {
+                if (p == 0 || normalizado.charAt(p - 1) == ' ') marcarCamino(normalizado.substring(p), profundidades);
+            }
+        }
+
+        Comparator<Integer> orden = Comparator.<Integer>comparingInt(i -> -nuevas[i].getPopularidad())
+                .thenComparingInt(i -> i);
+        List<Integer> nodos = new ArrayList<>(profundidades.keySet());
+        nodos.sort(Comparator.comparingInt((Integer n) -> profundidades.get(n)).reversed());
+        int[] nuevoTop = top.clone();
+        for (int nodo : nodos) {
+            Set<Integer> candidatos = new HashSet<>();
+            for (int i = propiosInicio[nodo]; i < propiosFin[nodo]; i++) candidatos.add(propios[i]);
+            for (int hijo = primerHijo[nodo]; hijo >= 0; hijo = siguienteHermano[hijo]) {
+                for (int i = topInicio[hijo]; i < topFin[hijo]; i++) candidatos.add(nuevoTop[i]);
+            }
+            List<Integer> mejores = new ArrayList<>(candidatos);
+            mejores.sort(orden);
+            for (int i = topInicio[nodo]; i < topFin[nodo]; i++) {
+                nuevoTop[i] = mejores.get(i - topInicio[nodo]);
+            }
+        }
+        return new TrieSugerencias(this, nuevas, nuevoTop);
+    }
+
+    /**
+     * Registra los nodos por los que pasa una clave presente, con la profundidad de cada uno.
+     */
+    private void marcarCamino(String clave, Map<Integer, Integer> profundidades) {
+        int nodo = 0;
+        int pos = 0;
+        profundidades.put(nodo, pos);
+        while (pos < clave.length()) {
+            char c = clave.charAt(pos);
+            int hijo = primerHijo[nodo];
+            while (hijo >= 0 && etiquetas[etiquetaInicio[hijo]] != c) hijo = siguienteHermano[hijo];
+            if (hijo < 0) return;
+            pos += etiquetaFin[hijo] - etiquetaInicio[hijo];
+            nodo = hijo;
+            profundidades.put(nodo, pos);
+        }
+    }
+
+    /**
+     * Obtiene el número de nodos del trie.
+     *
+     * @return Nodos, incluida la raíz
+     */
+    public int nodos() {
+        return primerHijo.length;
+    }
+
+    /**
+     * Arreglos crecientes usados solo mientras se construye el trie.
+     */
+    private static final class Constructor {
+        private final String[] claves;
+        private final int[] dueno;
+        private char[] etiquetas = new char[64];
+        private int[] etiquetaInicio = new int[16];
+        private int[] etiquetaFin = new int[16];
+        private int[] primerHijo = new int[16];
+        private int[] siguienteHermano = new int[16];
+        private int[] topInicio = new int[16];
+        private int[] topFin = new int[16];
+        private int[] top = new int[64];
+        private int[] propiosInicio = new int[16];
+        private int[] propiosFin = new int[16];
+        private int[] propios = new int[64];
+        private int nodos;
+        private int usadosEtiquetas;
+        private int usadosTop;
+        private int usadosPropios;
+
+        private Constructor(String[] claves, int[] dueno) {
+            this.claves = claves;
+            this.dueno = dueno;
+        }
+
+        /**
+         * Crea el nodo de las claves {@code [desde, hasta)}, que comparten sus primeros
+         * {@code profundidad} caracteres, y devuelve su índice.
+         */
+        private int construir(int desde, int hasta, int profundidad, int inicioEtiqueta, int finEtiqueta) {
+            int nodo = nuevoNodo(inicioEtiqueta, finEtiqueta);
+            int[] mejores = new int[MAXIMO_SUGERENCIAS];
+            int total = 0;
+            int i = desde;
+            propiosInicio[nodo] = usadosPropios;
+            while (i < hasta && claves[i].length() == profundidad) {
+                total = agregar(mejores, total, dueno[i]);
+                if (usadosPropios == propios.length) propios = Arrays.copyOf(propios, propios.length * 2);
+                propios[usadosPropios++] = dueno[i];
+                i++;
+            }
+            propiosFin[nodo] = usadosPropios;
+            int anterior = -1;
+            while (i < hasta) {
+                char c = claves[i].charAt(profundidad);
+                int j = i + 1;
+                while (j < hasta && claves[j].charAt(profundidad) == c) j++;
+                String primera = claves[i];
+                String ultima = claves[j - 1];
+                int fin = profundidad + 1;
+                while (fin < primera.length() && fin < ultima.length() && primera.charAt(fin) == ultima.charAt(fin)) fin++;
+                int etiqueta = agregarEtiqueta(primera, profundidad, fin);
+                int hijo = construir(i, j, fin, etiqueta, etiqueta + fin - profundidad);
+                if (anterior < 0) {
+                    primerHijo[nodo] = hijo;
+                } else {
+                    siguienteHermano[anterior] = hijo;
+                }
+                anterior = hijo;
+                for (int t = topInicio[hijo]; t < topFin[hijo]; t++) {
+                    total = agregar(mejores, total, top[t]);
+                }
+                i = j;
+            }
+            if (usadosTop + total > top.length) top = Arrays.copyOf(top, Math.max(top.length * 2, usadosTop + total));
+            System.arraycopy(mejores, 0, top, usadosTop, total);
+            topInicio[nodo] = usadosTop;
+            usadosTop += total;
+            topFin[nodo] = usadosTop;
+            return nodo;
+        }
+
+        private int nuevoNodo(int inicioEtiqueta, int finEtiqueta) {
+            if (nodos == primerHijo.length) {
+                int n = nodos * 2;
+                etiquetaInicio = Arrays.copyOf(etiquetaInicio, n);
+                etiquetaFin = Arrays.copyOf(etiquetaFin, n);
+                primerHijo = Arrays.copyOf(primerHijo, n);
+                siguienteHermano = Arrays.copyOf(siguienteHermano, n);
+                topInicio = Arrays.copyOf(topInicio, n);
+                topFin = Arrays.copyOf(topFin, n);
+                propiosInicio = Arrays.copyOf(propiosInicio, n);
+                propiosFin = Arrays.copyOf(propiosFin, n);
+            }
+            etiquetaInicio[nodos] = inicioEtiqueta;
+            etiquetaFin[nodos] = finEtiqueta;
+            primerHijo[nodos] = -1;
+            siguienteHermano[nodos] = -1;
+            return nodos++;
+        }
+
+        private int agregarEtiqueta(String clave, int desde, int hasta) {
+            int n = hasta - desde;
+            if (usadosEtiquetas + n > etiquetas.length) {
+                etiquetas = Arrays.copyOf(etiquetas, Math.max(etiquetas.length * 2, usadosEtiquetas + n));
+            }
+            clave.getChars(desde, hasta, etiquetas, usadosEtiquetas);
+            int inicio = usadosEtiquetas;
+            usadosEtiquetas += n;
+            return inicio;
+        }
+
+        /**
+         * Inserta una sugerencia en la lista ordenada de las mejores, sin repetir y sin pasar del máximo.
+         */
+        private static int agregar(int[] mejores, int total, int sugerencia) {
+            int pos = Arrays.binarySearch(mejores, 0, total, sugerencia);
+            if (pos >= 0) return total;
+            pos = -pos - 1;
+            if (pos >= MAXIMO_SUGERENCIAS) return total;
+            int mover = Math.min(total, MAXIMO_SUGERENCIAS - 1) - pos;
+            System.arraycopy(mejores, pos, mejores, pos + 1, mover);
+            mejores[pos] = sugerencia;
+            return Math.min(total + 1, MAXIMO_SUGERENCIAS);
+        }
+    }
+}
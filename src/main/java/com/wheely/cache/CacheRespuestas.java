@@ -0,0 +1,163 @@
+package com.wheely.cache;
+
+import io.javalin.http.Context;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché de respuestas JSON ya serializadas de los listados que salen de la {@link ReplicaReferencia}.
+ *
+ * <p>Cada entrada guarda los bytes finales de la respuesta y, si miden al menos
+ * {@value #TAMANO_MINIMO_GZIP} bytes, también su versión comprimida con gzip. La clave es la
+ * ruta de la petición con su query string, y cada entrada recuerda la versión de la tabla
+ * con que se generó: en cuanto la tabla se recarga tras una escritura, la siguiente petición
+ * vuelve a generar la respuesta. Mientras tanto, un GET repetido no consulta la réplica ni
+ * serializa nada; se escribe el {@code byte[]} guardado.</p>
+ *
+ * <p>Se guardan a lo sumo {@value #MAXIMO_ENTRADAS} claves, en orden de uso: al agregar una
+ * más se descarta la usada hace más tiempo, de modo que las query strings que nadie repite
+ * no ocupan la caché para siempre. El mapa se consulta y modifica bajo su propio monitor;
+ * la generación y la serialización ocurren fuera de él.</p>
+ *
+ * <p>Solo se guardan respuestas exitosas: si el generador lanza una excepción, esta llega
+ * al controlador sin tocar la caché. El campo {@code timestamp} de una respuesta guardada
+ * es el del momento en que se generó.</p>
+ *
+ * <pre>
+ * cacheRespuestas.responder(ctx, TablaReferencia.RUTA,
+ *         () -&gt; ApiResponse.success("Rutas obtenidas", rutaService.getAllRutas()));
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see ReplicaReferencia#version(TablaReferencia)
+ */
+public class CacheRespuestas {
+
+    /**
+     * Claves distintas que se guardan como máximo; al pasar de ese número se descarta la usada hace más tiempo.
+     */
+    public static final int MAXIMO_ENTRADAS = 256;
+
+    /**
+     * Tamaño a partir del cual se guarda también la respuesta comprimida.
+     */
+    public static final int TAMANO_MINIMO_GZIP = 1500;
+
+    private static final String TIPO_JSON = "application/json";
+
+    private final ReplicaReferencia replicaReferencia;
+    private final Map<String, Respuesta> entradas = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Respuesta> masAntigua) {
+            return size() > MAXIMO_ENTRADAS;
+        }
+    };
+
+    /**
+     * Constructor de la caché.
+     *
+     * @param replicaReferencia Réplica de la que se leen las versiones de las tablas
+     */
+    public CacheRespuestas(ReplicaReferencia replicaReferencia) {
+        this.replicaReferencia = replicaReferencia;
+    }
+
+    /**
+     * Genera el cuerpo de una respuesta.
+     */
+    @FunctionalInterface
+    public interface Generador {
+        /**
+         * Genera el objeto que se serializa como respuesta.
+         *
+         * @return Objeto de la respuesta, normalmente un {@code ApiResponse}
+         * @throws Exception Si no se pudo generar; la respuesta no se guarda
+         */
+        Object generar() throws Exception;
+    }
+
+    /**
+     * Responde una petición con la respuesta guardada, generándola si no existe o si la
+     * tabla cambió desde que se guardó.
+     *
+     * @param ctx Contexto HTTP de la petición
+     * @param tabla Tabla de la que depende la respuesta
+     * @param generador Genera la respuesta cuando no está vigente en la caché
+     * @throws Exception Si el generador falla
+     */
+    public void responder(Context ctx, TablaReferencia tabla, Generador generador) throws Exception {
+        String queryString = ctx.queryString();
+        String clave = tabla.name() + " " + ctx.path() + (queryString != null ? "?" + queryString : "");
+        long version = replicaReferencia.version(tabla);
+        Respuesta respuesta;
+        synchronized (entradas) {
+            respuesta = entradas.get(clave);
+        }
+        if (respuesta == null || respuesta.version != version) {
+            Object cuerpo = generador.generar();
+            respuesta = new Respuesta(version,
+                    ctx.jsonMapper().toJsonString(cuerpo, cuerpo.getClass()).getBytes(StandardCharsets.UTF_8));
+            synchronized (entradas) {
+                Respuesta guardada = entradas.get(clave);
+                if (guardada == null || guardada.version <= version) entradas.put(clave, respuesta);
+            }
+        }
+
+        ctx.header("Vary", "Accept-Encoding").contentType(TIPO_JSON);
+        if (respuesta.gzip != null && aceptaGzip(ctx.header("Accept-Encoding"))) {
+            ctx.header("Content-Encoding", "gzip").result(respuesta.gzip);
+        } else {
+            ctx.result(respuesta.json);
+        }
+    }
+
+    /**
+     * Indica si el encabezado Accept-Encoding admite gzip (y no con {@code q=0}).
+     */
+    private static boolean aceptaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String parte : acceptEncoding.split(",")) {
+            String[] valores = parte.trim().split(";");
+            if (!valores[0].trim().equalsIgnoreCase("gzip")) continue;
+            for (int i = 1; i < valores.length; i++) {
+                String parametro = valores[i].replace(" ", "");
+                if (parametro.matches("q=0(\\.0*)?")) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Respuesta serializada junto con la versión de la tabla con que se generó.
+     */
+    private static final class Respuesta {
+        private final long version;
+        private final byte[] json;
+        private final byte[] gzip;
+
+        private Respuesta(long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+            this.gzip = json.length >= TAMANO_MINIMO_GZIP ? comprimir(json) : null;
+        }
+
+        private static byte[] comprimir(byte[] datos) {
+            ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+                gzip.write(datos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return salida.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.wheely.cache;
+
+import com.wheely.geo.CajaEnvolvente;
+import com.wheely.geo.GeneradorTeselas;
+import com.wheely.geo.Tesela;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché LRU de teselas vectoriales ya generadas, acotada por tamaño en bytes.
+ *
+ * <p>Las teselas se guardan en memoria en orden de acceso; cuando el total supera la
+ * capacidad se expulsan las menos usadas recientemente. Si se configura un directorio,
+ * las teselas expulsadas se escriben a disco y se recuperan de ahí en lugar de regenerarse.</p>
+ *
+ * <p>La invalidación es por tesela: ante un cambio de geometría solo se descartan, en
+ * memoria y en disco, las teselas cuya área (con el borde de recorte) toca la zona afectada.</p>
+ *
+ * <pre>
+ * CacheTeselas cache = new CacheTeselas(64L * 1024 * 1024, Path.of("/var/cache/wheely/teselas"));
+ * almacenGeometria.agregarOyente(cache::invalidar);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see com.wheely.service.TeselaService
+ */
+public class CacheTeselas {
+
+    /**
+     * Bytes estimados de cada entrada además del contenido de la tesela.
+     */
+    private static final int BYTES_POR_ENTRADA = 96;
+
+    private final long capacidadBytes;
+    private final Path directorio;
+    private final LinkedHashMap<Long, byte[]> entradas = new LinkedHashMap<>(256, 0.75f, true);
+    private final Set<Long> enDisco = ConcurrentHashMap.newKeySet();
+    private long bytesEnUso;
+    private long version;
+
+    /**
+     * Constructor de la caché.
+     *
+     * @param capacidadBytes Bytes máximos que pueden ocupar las teselas en memoria
+     * @param directorio Directorio para las teselas expulsadas, o null para no usar disco
+     */
+    public CacheTeselas(long capacidadBytes, Path directorio) {
+        this.capacidadBytes = capacidadBytes;
+        this.directorio = directorio;
+        if (directorio != null) {
+            try {
+                Files.createDirectories(directorio);
+                limpiarDirectorio();
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo preparar el directorio de teselas: " + directorio, e);
+            }
+        }
+    }
+
+    /**
+     * Busca una tesela en memoria y, si no está, en disco.
+     *
+     * @param tesela Tesela buscada
+     * @return Bytes de la tesela, o null si no está en la caché
+     */
+    public byte[] obtener(Tesela tesela) {
+        long clave = tesela.clave();
+        long versionLeida;
+        synchronized (this) {
+            byte[] datos = entradas.get(clave);
+            if (datos != null) return datos;
+            versionLeida = version;
+        }
+        if (directorio == null || !enDisco.contains(clave)) return null;
+        try {
+            byte[] datos = Files.readAllBytes(archivo(clave));
+            guardar(tesela, datos, versionLeida);
+            return datos;
+        } catch (IOException e) {
+            enDisco.remove(clave);
+            return null;
+        }
+    }
+
+    /**
+     * Obtiene la versión actual de la caché, que aumenta con cada invalidación.
+     *
+     * <p>Se lee antes de generar una tesela y se entrega a {@link #guardar(Tesela, byte[], long)}
+     * para no almacenar una tesela calculada con geometría que cambió mientras se generaba.</p>
+     *
+     * @return Versión actual
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Guarda una tesela generada y expulsa las menos usadas si se excede la capacidad.
+     *
+     * @param tesela Tesela generada
+     * @param datos Bytes de la tesela
+     * @param versionLeida Versión obtenida con {@link #getVersion()} antes de generar la tesela
+     */
+    public void guardar(Tesela tesela, byte[] datos, long versionLeida) {
+        List<Map.Entry<Long, byte[]>> expulsadas = new ArrayList<>();
+        long generacion;
+        synchronized (this) {
+            if (versionLeida != version) return;
+            generacion = version;
+            byte[] anterior = entradas.put(tesela.clave(), datos);
+            if (anterior != null) bytesEnUso -= tamano(anterior);
+            bytesEnUso += tamano(datos);
+            Iterator<Map.Entry<Long, byte[]>> it = entradas.entrySet().iterator();
+            while (bytesEnUso > capacidadBytes && it.hasNext()) {
+                Map.Entry<Long, byte[]> masAntigua = it.next();
+                bytesEnUso -= tamano(masAntigua.getValue());
+                expulsadas.add(Map.entry(masAntigua.getKey(), masAntigua.getValue()));
+                it.remove();
+            }
+        }
+        if (directorio != null) {
+            for (Map.Entry<Long, byte[]> e : expulsadas) {
+                escribirEnDisco(e.getKey(), e.getValue(), generacion);
+            }
+        }
+    }
+
+    /**
+     * Descarta las teselas cuya área toca una zona modificada.
+     *
+     * @param zona Caja de la geometría que cambió
+     */
+    public void invalidar(CajaEnvolvente zona) {
+        synchronized (this) {
+            version++;
+            Iterator<Map.Entry<Long, byte[]>> it = entradas.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, byte[]> e = it.next();
+                if (afectada(e.getKey(), zona)) {
+                    bytesEnUso -= tamano(e.getValue());
+                    it.remove();
+                }
+            }
+        }
+        if (directorio != null) {
+            for (Long clave : enDisco) {
+                if (afectada(clave, zona)) {
+                    enDisco.remove(clave);
+                    try {
+                        Files.deleteIfExists(archivo(clave));
+                    } catch (IOException e) {
+                        System.err.println("No se pudo eliminar la tesela " + Tesela.desdeClave(clave) + ": " + e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene los bytes estimados que ocupan las teselas en memoria.
+     *
+     * @return Bytes en uso
+     */
+    public synchronized long getBytesEnUso() {
+        return bytesEnUso;
+    }
+
+    /**
+     * Obtiene el número de teselas en memoria.
+     *
+     * @return Cantidad de teselas en memoria
+     */
+    public synchronized int size() {
+        return entradas.size();
+    }
+
+    private static boolean afectada(long clave, CajaEnvolvente zona) {
+        return Tesela.desdeClave(clave).caja(GeneradorTeselas.BORDE).intersecta(zona);
+    }
+
+    private static long tamano(byte[] datos) {
+        return datos.length + BYTES_POR_ENTRADA;
+    }
+
+    /**
+     * Escribe a disco una tesela expulsada de memoria.
+     *
+     * <p>Si hubo una invalidación desde que se expulsó, la tesela pudo quedar obsoleta y la
+     * invalidación ya no la vio en disco: el archivo se descarta en lugar de registrarse. La
+     * comprobación y el registro se hacen bajo el mismo candado con que {@link #invalidar}
+     * aumenta la versión, así que toda tesela registrada es anterior a la invalidación o la
+     * ve la invalidación al recorrer el disco.</p>
+     */
+    private void escribirEnDisco(long clave, byte[] datos, long generacion) {
+        try {
+            Path archivo = archivo(clave);
+            Files.write(archivo, datos);
+            synchronized (this) {
+                if (generacion == version) {
+                    enDisco.add(clave);
+                    return;
+                }
+            }
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            System.err.println("No se pudo escribir la tesela " + Tesela.desdeClave(clave) + ": " + e.getMessage());
+        }
+    }
+
+    private Path archivo(long clave) {
+        return directorio.resolve(Long.toHexString(clave) + ".mvt");
+    }
+
+    /**
+     * Elimina las teselas de una ejecución anterior, que pueden no reflejar la geometría actual.
+     */
+    private void limpiarDirectorio() throws IOException {
+        try (var archivos = Files.newDirectoryStream(directorio, "*.mvt")) {
+            for (Path p : archivos) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
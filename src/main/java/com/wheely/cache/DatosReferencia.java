@@ -0,0 +1,403 @@
+package com.wheely.cache;
+
+import com.wheely.model.Periodo;
+import com.wheely.model.Recorrido;
+import com.wheely.model.Ruta;
+import com.wheely.model.TiempoRutaPeriodo;
+import com.wheely.model.TipoReporte;
+import com.wheely.util.TextoUtil;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Copia inmutable de las tablas de referencia: Ruta, TipoReporte, Periodo, Recorrido y
+ * TiempoRutaPeriodo.
+ *
+ * <p>Cada tabla se guarda en el orden en que la devuelve el {@code findAll} de su
+ * repositorio, junto con un mapa por ID. Las consultas filtran esa lista conservando su
+ * orden, así que responden lo mismo que las consultas SQL equivalentes. Las búsquedas por
+ * texto comparan con {@link TextoUtil#normalizar(String)}, que, como la intercalación de
+ * MySQL, no distingue mayúsculas ni acentos.</p>
+ *
+ * <p>Los periodos se indexan además en una {@link TablaPeriodos}, que resuelve el periodo
+ * de una hora en tiempo constante, incluidos los que cruzan la medianoche, y detecta
+ * solapamientos de horario con una búsqueda binaria.</p>
+ *
+ * <p>Los tiempos promedio por ruta y periodo se guardan en una {@link MatrizTiempos} densa,
+ * indexada por ordinales de ruta y de periodo.</p>
+ *
+ * <p>Los objetos guardados nunca salen de la copia: cada consulta devuelve objetos nuevos,
+ * que el llamador puede modificar sin afectar a otras peticiones.</p>
+ *
+ * <pre>
+ * DatosReferencia datos = replicaReferencia.actual();
+ * Ruta ruta = datos.ruta(12);
+ * List&lt;Recorrido&gt; activos = datos.recorridosActivos();
+ * Periodo actual = datos.periodoEn(LocalTime.now());
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see ReplicaReferencia
+ */
+public final class DatosReferencia {
+
+    private final Tabla<Ruta> rutas;
+    private final Tabla<TipoReporte> tiposReporte;
+    private final Tabla<Periodo> periodos;
+    private final Tabla<Recorrido> recorridos;
+    private final TablaPeriodos tablaPeriodos;
+    private final MatrizTiempos tiempos;
+
+    /**
+     * Construye la copia a partir de las tablas completas.
+     *
+     * @param rutas Resultado de {@code RutaRepository.findAll()}
+     * @param tiposReporte Resultado de {@code TipoReporteRepository.findAll()}
+     * @param periodos Resultado de {@code PeriodoRepository.findAll()}
+     * @param recorridos Resultado de {@code RecorridoRepository.findAll()}
+     * @param tiempos Resultado de {@code TiempoRutaPeriodoRepository.findAll()}
+     */
+    public DatosReferencia(Collection<Ruta> rutas, Collection<TipoReporte> tiposReporte,
+                           Collection<Periodo> periodos, Collection<Recorrido> recorridos,
+                           Collection<TiempoRutaPeriodo> tiempos) {
+        this(new Tabla<>(rutas, DatosReferencia::copiar, Ruta::getIdRuta),
+                new Tabla<>(tiposReporte, DatosReferencia::copiar, TipoReporte::getIdTipoReporte),
+                new Tabla<>(periodos, DatosReferencia::copiar, Periodo::getIdPeriodo),
+                new Tabla<>(recorridos, DatosReferencia::copiar, Recorrido::getIdRecorrido),
+                new MatrizTiempos(tiempos));
+    }
+
+    private DatosReferencia(Tabla<Ruta> rutas, Tabla<TipoReporte> tiposReporte, Tabla<Periodo> periodos,
+                            Tabla<Recorrido> recorridos, MatrizTiempos tiempos) {
+        this(rutas, tiposReporte, periodos, new TablaPeriodos(periodos.filas), recorridos, tiempos);
+    }
+
+    private DatosReferencia(Tabla<Ruta> rutas, Tabla<TipoReporte> tiposReporte, Tabla<Periodo> periodos,
+                            TablaPeriodos tablaPeriodos, Tabla<Recorrido> recorridos, MatrizTiempos tiempos) {
+        this.rutas = rutas;
+        this.tiposReporte = tiposReporte;
+        this.periodos = periodos;
+        this.tablaPeriodos = tablaPeriodos;
+        this.recorridos = recorridos;
+        this.tiempos = tiempos;
+    }
+
+    /**
+     * Crea una copia igual a esta con la tabla de rutas reemplazada.
+     *
+     * @param todas Resultado de {@code RutaRepository.findAll()}
+     * @return Nueva copia
+     */
+    public DatosReferencia conRutas(Collection<Ruta> todas) {
+        return new DatosReferencia(new Tabla<>(todas, DatosReferencia::copiar, Ruta::getIdRuta),
+                tiposReporte, periodos, tablaPeriodos, recorridos, tiempos);
+    }
+
+    /**
+     * Crea una copia igual a esta con la tabla de tipos de reporte reemplazada.
+     *
+     * @param todos Resultado de {@code TipoReporteRepository.findAll()}
+     * @return Nueva copia
+     */
+    public DatosReferencia conTiposReporte(Collection<TipoReporte> todos) {
+        return new DatosReferencia(rutas, new Tabla<>(todos, DatosReferencia::copiar, TipoReporte::getIdTipoReporte),
+                periodos, tablaPeriodos, recorridos, tiempos);
+    }
+
+    /**
+     * Crea una copia igual a esta con la tabla de periodos reemplazada.
+     *
+     * @param todos Resultado de {@code PeriodoRepository.findAll()}
+     * @return Nueva copia
+     */
+    public DatosReferencia conPeriodos(Collection<Periodo> todos) {
+        return new DatosReferencia(rutas, tiposReporte,
+                new Tabla<>(todos, DatosReferencia::copiar, Periodo::getIdPeriodo), recorridos, tiempos);
+    }
+
+    /**
+     * Crea una copia igual a esta con la tabla de recorridos reemplazada.
+     *
+     * @param todos Resultado de {@code RecorridoRepository.findAll()}
+     * @return Nueva copia
+     */
+    public DatosReferencia conRecorridos(Collection<Recorrido> todos) {
+        return new DatosReferencia(rutas, tiposReporte, periodos, tablaPeriodos,
+                new Tabla<>(todos, DatosReferencia::copiar, Recorrido::getIdRecorrido), tiempos);
+    }
+
+    /**
+     * Crea una copia igual a esta con la tabla de tiempos por ruta y periodo reemplazada.
+     *
+     * @param todos Resultado de {@code TiempoRutaPeriodoRepository.findAll()}
+     * @return Nueva copia
+     */
+    public DatosReferencia conTiempos(Collection<TiempoRutaPeriodo> todos) {
+        return conTiempos(new MatrizTiempos(todos));
+    }
+
+    /**
+     * Crea una copia igual a esta con la matriz de tiempos reemplazada.
+     *
+     * @param matriz Matriz nueva, por ejemplo {@code tiempos().con(registro)}
+     * @return Nueva copia
+     */
+    public DatosReferencia conTiempos(MatrizTiempos matriz) {
+        return new DatosReferencia(rutas, tiposReporte, periodos, tablaPeriodos, recorridos, matriz);
+    }
+
+    /**
+     * Obtiene todas las rutas.
+     *
+     * @return Rutas ordenadas por nombre
+     */
+    public List<Ruta> rutas() {
+        return rutas.filtrar(r -> true);
+    }
+
+    /**
+     * Obtiene una ruta por su ID.
+     *
+     * @param idRuta ID de la ruta
+     * @return Ruta encontrada o null si no existe
+     */
+    public Ruta ruta(int idRuta) {
+        return rutas.porId(idRuta);
+    }
+
+    /**
+     * Indica si existe una ruta.
+     *
+     * @param idRuta ID de la ruta
+     * @return true si la ruta existe
+     */
+    public boolean existeRuta(int idRuta) {
+        return rutas.contiene(idRuta);
+    }
+
+    /**
+     * Obtiene todos los tipos de reporte.
+     *
+     * @return Tipos ordenados por nombre
+     */
+    public List<TipoReporte> tiposReporte() {
+        return tiposReporte.filtrar(t -> true);
+    }
+
+    /**
+     * Obtiene un tipo de reporte por su ID.
+     *
+     * @param idTipoReporte ID del tipo
+     * @return Tipo encontrado o null si no existe
+     */
+    public TipoReporte tipoReporte(int idTipoReporte) {
+        return tiposReporte.porId(idTipoReporte);
+    }
+
+    /**
+     * Busca tipos de reporte cuyo nombre contiene un texto.
+     *
+     * @param nombre Texto buscado
+     * @return Tipos coincidentes ordenados por nombre
+     */
+    public List<TipoReporte> tiposReportePorNombre(String nombre) {
+        String buscado = TextoUtil.normalizar(nombre);
+        return tiposReporte.filtrar(t -> TextoUtil.normalizar(t.getNombreTipo()).contains(buscado));
+    }
+
+    /**
+     * Obtiene todos los periodos.
+     *
+     * @return Periodos ordenados por hora de inicio
+     */
+    public List<Periodo> periodos() {
+        return periodos.filtrar(p -> true);
+    }
+
+    /**
+     * Obtiene un periodo por su ID.
+     *
+     * @param idPeriodo ID del periodo
+     * @return Periodo encontrado o null si no existe
+     */
+    public Periodo periodo(int idPeriodo) {
+        return periodos.porId(idPeriodo);
+    }
+
+    /**
+     * Indica si existe un periodo.
+     *
+     * @param idPeriodo ID del periodo
+     * @return true si el periodo existe
+     */
+    public boolean existePeriodo(int idPeriodo) {
+        return periodos.contiene(idPeriodo);
+    }
+
+    /**
+     * Obtiene un periodo por su nombre exacto, sin distinguir mayúsculas ni acentos.
+     *
+     * @param nombre Nombre del periodo
+     * @return Periodo encontrado o null si no existe
+     */
+    public Periodo periodoPorNombre(String nombre) {
+        String buscado = TextoUtil.normalizar(nombre);
+        List<Periodo> encontrados = periodos.filtrar(p -> TextoUtil.normalizar(p.getNombrePeriodo()).equals(buscado));
+        return encontrados.isEmpty() ? null : encontrados.get(0);
+    }
+
+    /**
+     * Obtiene el periodo cuyo horario incluye una hora, en tiempo constante.
+     *
+     * @param hora Hora del día
+     * @return Periodo que contiene la hora, incluidos los que cruzan la medianoche, o null si ninguno
+     * @see TablaPeriodos#indiceEn(LocalTime)
+     */
+    public Periodo periodoEn(LocalTime hora) {
+        return periodos.enPosicion(tablaPeriodos.indiceEn(hora));
+    }
+
+    /**
+     * Busca un periodo cuyo horario se solapa con otro.
+     *
+     * <p>Los horarios se comparan como intervalos semiabiertos, así que dos periodos que solo
+     * comparten un extremo ("06:00-12:00" y "12:00-18:00") no se solapan. Un horario cuyo fin
+     * es anterior a su inicio cruza la medianoche.</p>
+     *
+     * @param inicio Hora de inicio del horario
+     * @param fin Hora de fin del horario
+     * @param excluirId ID del periodo que se está actualizando, o null al crear uno
+     * @return Un periodo solapado, o null si no hay ninguno
+     */
+    public Periodo periodoSolapado(LocalTime inicio, LocalTime fin, Integer excluirId) {
+        return periodos.enPosicion(tablaPeriodos.indiceSolapado(inicio, fin, excluirId));
+    }
+
+    /**
+     * Obtiene todos los recorridos.
+     *
+     * @return Recorridos ordenados por ruta y nombre de archivo
+     */
+    public List<Recorrido> recorridos() {
+        return recorridos.filtrar(r -> true);
+    }
+
+    /**
+     * Obtiene un recorrido por su ID.
+     *
+     * @param idRecorrido ID del recorrido
+     * @return Recorrido encontrado o null si no existe
+     */
+    public Recorrido recorrido(int idRecorrido) {
+        return recorridos.porId(idRecorrido);
+    }
+
+    /**
+     * Obtiene los recorridos de una ruta.
+     *
+     * @param idRuta ID de la ruta
+     * @return Recorridos ordenados por nombre de archivo
+     */
+    public List<Recorrido> recorridosDeRuta(int idRuta) {
+        return recorridos.filtrar(r -> r.getIdRuta() == idRuta);
+    }
+
+    /**
+     * Obtiene los recorridos activos.
+     *
+     * @return Recorridos activos ordenados por ruta y nombre de archivo
+     */
+    public List<Recorrido> recorridosActivos() {
+        return recorridos.filtrar(Recorrido::isActivo);
+    }
+
+    /**
+     * Busca recorridos cuyo nombre de archivo GeoJSON contiene un texto.
+     *
+     * @param nombreArchivo Texto buscado
+     * @return Recorridos coincidentes ordenados por ruta y nombre de archivo
+     */
+    public List<Recorrido> recorridosPorArchivo(String nombreArchivo) {
+        String buscado = TextoUtil.normalizar(nombreArchivo);
+        return recorridos.filtrar(r -> TextoUtil.normalizar(r.getNombreArchivoGeojson()).contains(buscado));
+    }
+
+    /**
+     * Obtiene la matriz de tiempos promedio por ruta y periodo.
+     *
+     * @return Matriz inmutable; sus consultas devuelven objetos nuevos
+     */
+    public MatrizTiempos tiempos() {
+        return tiempos;
+    }
+
+    private static Ruta copiar(Ruta r) {
+        return new Ruta(r.getIdRuta(), r.getNombreRuta(), r.getOrigen(), r.getDestino());
+    }
+
+    private static TipoReporte copiar(TipoReporte t) {
+        return new TipoReporte(t.getIdTipoReporte(), t.getNombreTipo(), t.getDescripcion());
+    }
+
+    private static Periodo copiar(Periodo p) {
+        return new Periodo(p.getIdPeriodo(), p.getNombrePeriodo(), p.getHoraInicio(), p.getHoraFin(), p.getDescripcion());
+    }
+
+    private static Recorrido copiar(Recorrido r) {
+        return new Recorrido(r.getIdRecorrido(), r.getIdRuta(), r.getNombreArchivoGeojson(), r.isActivo());
+    }
+
+    /**
+     * Filas de una tabla en su orden original y por ID; entrega siempre copias.
+     */
+    private static final class Tabla<T> {
+        private final List<T> filas;
+        private final Map<Integer, T> porId;
+        private final UnaryOperator<T> copia;
+
+        private Tabla(Collection<T> originales, UnaryOperator<T> copia, Function<T, Integer> id) {
+            List<T> lista = new ArrayList<>(originales.size());
+            Map<Integer, T> mapa = new HashMap<>();
+            for (T fila : originales) {
+                T propia = copia.apply(fila);
+                lista.add(propia);
+                mapa.put(id.apply(propia), propia);
+            }
+            this.filas = Collections.unmodifiableList(lista);
+            this.porId = Collections.unmodifiableMap(mapa);
+            this.copia = copia;
+        }
+
+        private T enPosicion(int posicion) {
+            return posicion >= 0 ? copia.apply(filas.get(posicion)) : null;
+        }
+
+        private T porId(int id) {
+            T fila = porId.get(id);
+            return fila != null ? copia.apply(fila) : null;
+        }
+
+        private boolean contiene(int id) {
+            return porId.containsKey(id);
+        }
+
+        private List<T> filtrar(Predicate<T> condicion) {
+            List<T> resultado = new ArrayList<>();
+            for (T fila : filas) {
+                if (condicion.test(fila)) resultado.add(copia.apply(fila));
+            }
+            return resultado;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.wheely.cache;
+
+import com.wheely.model.TiempoRutaPeriodo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Matriz densa e inmutable de los tiempos promedio por ruta y periodo.
+ *
+ * <p>Las rutas y los periodos que tienen algún tiempo registrado reciben un ordinal
+ * consecutivo, en orden de ID. Cada celda {@code ruta * periodos + periodo} guarda los
+ * minutos en un {@code short[]} y el ID del registro en un {@code int[]}; como los IDs de la
+ * tabla son positivos, un ID 0 marca la celda vacía, y un tiempo de 0 minutos sigue siendo
+ * un registro. Los minutos fuera del rango de {@code short} se saturan a sus límites al
+ * cargarlos. Traducir un ID a su ordinal es una búsqueda binaria sobre un arreglo ordenado,
+ * sin mapas ni objetos intermedios.</p>
+ *
+ * <p>Recorrer una fila o una columna en orden de ordinal devuelve los registros en el mismo
+ * orden que las consultas {@code ORDER BY idRuta, idPeriodo} del repositorio. Cada consulta
+ * crea objetos {@link TiempoRutaPeriodo} nuevos, que el llamador puede modificar.</p>
+ *
+ * <pre>
+ * MatrizTiempos tiempos = replicaReferencia.actual().tiempos();
+ * int minutos = tiempos.minutos(3, 1);
+ * List&lt;TiempoRutaPeriodo&gt; manana = tiempos.dePeriodo(1);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see DatosReferencia#tiempos()
+ */
+public final class MatrizTiempos {
+
+    private final int[] idsRuta;
+    private final int[] idsPeriodo;
+    private final short[] minutos;
+    private final int[] ids;
+    private final Map<Integer, Integer> celdaPorId;
+
+    /**
+     * Construye la matriz a partir de la tabla completa.
+     *
+     * @param tiempos Resultado de {@code TiempoRutaPeriodoRepository.findAll()}
+     */
+    public MatrizTiempos(Collection<TiempoRutaPeriodo> tiempos) {
+        TreeSet<Integer> rutas = new TreeSet<>();
+        TreeSet<Integer> periodos = new TreeSet<>();
+        for (TiempoRutaPeriodo t : tiempos) {
+            rutas.add(t.getIdRuta());
+            periodos.add(t.getIdPeriodo());
+        }
+        idsRuta = rutas.stream().mapToInt(Integer::intValue).toArray();
+        idsPeriodo = periodos.stream().mapToInt(Integer::intValue).toArray();
+        minutos = new short[idsRuta.length * idsPeriodo.length];
+        ids = new int[minutos.length];
+        celdaPorId = new HashMap<>();
+        for (TiempoRutaPeriodo t : tiempos) {
+            int celda = Arrays.binarySearch(idsRuta, t.getIdRuta()) * idsPeriodo.length
+                    + Arrays.binarySearch(idsPeriodo, t.getIdPeriodo());
+            minutos[celda] = saturar(t.getTiempoPromedio());
+            ids[celda] = t.getIdTiempoRutaPeriodo();
+            celdaPorId.put(t.getIdTiempoRutaPeriodo(), celda);
+        }
+    }
+
+    private MatrizTiempos(int[] idsRuta, int[] idsPeriodo, short[] minutos, int[] ids, Map<Integer, Integer> celdaPorId) {
+        this.idsRuta = idsRuta;
+        this.idsPeriodo = idsPeriodo;
+        this.minutos = minutos;
+        this.ids = ids;
+        this.celdaPorId = celdaPorId;
+    }
+
+    /**
+     * Devuelve una matriz con un registro agregado o reemplazado.
+     *
+     * <p>Si la ruta y el periodo ya tienen ordinal, la matriz nueva copia los arreglos y
+     * cambia solo las celdas afectadas: la del registro y, si este cambió de combinación, la
+     * que ocupaba antes. Solo una ruta o un periodo nuevos obligan a reconstruirla.</p>
+     *
+     * @param tiempo Registro persistido (con ID asignado)
+     * @return Matriz nueva; esta no cambia
+     */
+    public MatrizTiempos con(TiempoRutaPeriodo tiempo) {
+        int r = Arrays.binarySearch(idsRuta, tiempo.getIdRuta());
+        int p = Arrays.binarySearch(idsPeriodo, tiempo.getIdPeriodo());
+        if (r >= 0 && p >= 0) {
+            int celda = r * idsPeriodo.length + p;
+            short[] nuevosMinutos = minutos.clone();
+            int[] nuevosIds = ids.clone();
+            Map<Integer, Integer> nuevaCeldaPorId = new HashMap<>(celdaPorId);
+            Integer anterior = nuevaCeldaPorId.remove(tiempo.getIdTiempoRutaPeriodo());
+            if (anterior != null) {
+                nuevosMinutos[anterior] = 0;
+                nuevosIds[anterior] = 0;
+            }
+            if (nuevosIds[celda] != 0) nuevaCeldaPorId.remove(nuevosIds[celda]);
+            nuevosMinutos[celda] = saturar(tiempo.getTiempoPromedio());
+            nuevosIds[celda] = tiempo.getIdTiempoRutaPeriodo();
+            nuevaCeldaPorId.put(tiempo.getIdTiempoRutaPeriodo(), celda);
+            return new MatrizTiempos(idsRuta, idsPeriodo, nuevosMinutos, nuevosIds, nuevaCeldaPorId);
+        }
+        List<TiempoRutaPeriodo> todos = todos();
+        todos.removeIf(t -> t.getIdTiempoRutaPeriodo() == tiempo.getIdTiempoRutaPeriodo()
+                || (t.getIdRuta() == tiempo.getIdRuta() && t.getIdPeriodo() == tiempo.getIdPeriodo()));
+        todos.add(tiempo);
+        return new MatrizTiempos(todos);
+    }
+
+    /**
+     * Obtiene los minutos promedio de una ruta en un periodo.
+     *
+     * @param idRuta ID de la ruta
+     * @param idPeriodo ID del periodo
+     * @return Minutos, o -1 si la combinación no tiene tiempo registrado
+     */
+    public int minutos(int idRuta, int idPeriodo) {
+        int celda = celda(idRuta, idPeriodo);
+        return celda >= 0 ? minutos[celda] : -1;
+    }
+
+    /**
+     * Obtiene el registro de una ruta en un periodo.
+     *
+     * @param idRuta ID de la ruta
+     * @param idPeriodo ID del periodo
+     * @return Registro, o null si la combinación no tiene tiempo registrado
+     */
+    public TiempoRutaPeriodo tiempo(int idRuta, int idPeriodo) {
+        int celda = celda(idRuta, idPeriodo);
+        return celda >= 0 ? registro(celda) : null;
+    }
+
+    /**
+     * Obtiene un registro por su ID.
+     *
+     * @param idTiempoRutaPeriodo ID del registro
+     * @return Registro, o null si no existe
+     */
+    public TiempoRutaPeriodo porId(int idTiempoRutaPeriodo) {
+        Integer celda = celdaPorId.get(idTiempoRutaPeriodo);
+        return celda != null ? registro(celda) : null;
+    }
+
+    /**
+     * Obtiene todos los registros, ordenados por ruta y periodo.
+     *
+     * @return Lista nueva de registros
+     */
+    public List<TiempoRutaPeriodo> todos() {
+        List<TiempoRutaPeriodo> resultado = new ArrayList<>(celdaPorId.size());
+        for (int celda = 0; celda < minutos.length; celda++) {
+            if (ids[celda] != 0) resultado.add(registro(celda));
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene los registros de una ruta, ordenados por periodo.
+     *
+     * @param idRuta ID de la ruta
+     * @return Lista nueva de registros, vacía si la ruta no tiene tiempos
+     */
+    public List<TiempoRutaPeriodo> deRuta(int idRuta) {
+        List<TiempoRutaPeriodo> resultado = new ArrayList<>();
+        int r = Arrays.binarySearch(idsRuta, idRuta);
+        if (r < 0) return resultado;
+        for (int p = 0; p < idsPeriodo.length; p++) {
+            int celda = r * idsPeriodo.length + p;
+            if (ids[celda] != 0) resultado.add(registro(celda));
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene los registros de un periodo, ordenados por ruta.
+     *
+     * @param idPeriodo ID del periodo
+     * @return Lista nueva de registros, vacía si el periodo no tiene tiempos
+     */
+    public List<TiempoRutaPeriodo> dePeriodo(int idPeriodo) {
+        List<TiempoRutaPeriodo> resultado = new ArrayList<>();
+        int p = Arrays.binarySearch(idsPeriodo, idPeriodo);
+        if (p < 0) return resultado;
+        for (int r = 0; r < idsRuta.length; r++) {
+            int celda = r * idsPeriodo.length + p;
+            if (ids[celda] != 0) resultado.add(registro(celda));
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene el número de registros.
+     *
+     * @return Celdas con tiempo registrado
+     */
+    public int size() {
+        return celdaPorId.size();
+    }
+
+    private int celda(int idRuta, int idPeriodo) {
+        int r = Arrays.binarySearch(idsRuta, idRuta);
+        int p = Arrays.binarySearch(idsPeriodo, idPeriodo);
+        if (r < 0 || p < 0) return -1;
+        int celda = r * idsPeriodo.length + p;
+        return ids[celda] != 0 ? celda : -1;
+    }
+
+    private static short saturar(int minutos) {
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, minutos));
+    }
+
+    private TiempoRutaPeriodo registro(int celda) {
+        return new TiempoRutaPeriodo(ids[celda], idsRuta[celda / idsPeriodo.length],
+                idsPeriodo[celda % idsPeriodo.length], minutos[celda]);
+    }
+}
@@ -0,0 +1,166 @@
+package com.wheely.cache;
+
+import com.wheely.model.TiempoRutaPeriodo;
+import com.wheely.repository.PeriodoRepository;
+import com.wheely.repository.RecorridoRepository;
+import com.wheely.repository.RutaRepository;
+import com.wheely.repository.TiempoRutaPeriodoRepository;
+import com.wheely.repository.TipoReporteRepository;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Réplica en memoria de las tablas de referencia, compartida por todos los servicios.
+ *
+ * <p>Las tablas Ruta, TipoReporte, Periodo, Recorrido y TiempoRutaPeriodo son pequeñas y casi nunca cambian.
+ * La réplica las lee completas la primera vez que se consulta y publica una
+ * {@link DatosReferencia} inmutable; leerla es una lectura {@code volatile} que no toma
+ * candados ni conexiones del pool.</p>
+ *
+ * <p>Tras cada escritura en una de estas tablas, el servicio correspondiente llama al
+ * método {@code recargar} de la tabla: se vuelve a leer solo esa tabla y se publica una
+ * copia nueva que reemplaza a la anterior de una sola vez. Quien ya tenía la copia anterior
+ * termina su petición con ella. Los tiempos por ruta y periodo, que se escriben de uno en
+ * uno, se aplican con {@link #guardarTiempo(TiempoRutaPeriodo)} sin volver a leer la tabla.</p>
+ *
+ * <p>Cada tabla lleva un contador de versión que aumenta con cada recarga, para que
+ * quien guarde algo derivado de una tabla sepa cuándo dejó de estar vigente.</p>
+ *
+ * <pre>
+ * ReplicaReferencia replica = new ReplicaReferencia(new RutaRepository(),
+ *         new TipoReporteRepository(), new PeriodoRepository(), new RecorridoRepository(),
+ *         new TiempoRutaPeriodoRepository());
+ * Ruta ruta = replica.actual().ruta(12);
+ * rutaRepository.update(ruta);
+ * replica.recargarRutas();
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see DatosReferencia
+ */
+public class ReplicaReferencia {
+
+    private final RutaRepository rutaRepository;
+    private final TipoReporteRepository tipoReporteRepository;
+    private final PeriodoRepository periodoRepository;
+    private final RecorridoRepository recorridoRepository;
+    private final TiempoRutaPeriodoRepository tiempoRutaPeriodoRepository;
+    private final AtomicLongArray versiones = new AtomicLongArray(TablaReferencia.values().length);
+    private volatile DatosReferencia datos;
+
+    /**
+     * Constructor de la réplica, que aún no lee nada.
+     *
+     * @param rutaRepository Repositorio de rutas
+     * @param tipoReporteRepository Repositorio de tipos de reporte
+     * @param periodoRepository Repositorio de periodos
+     * @param recorridoRepository Repositorio de recorridos
+     * @param tiempoRutaPeriodoRepository Repositorio de tiempos por ruta y periodo
+     */
+    public ReplicaReferencia(RutaRepository rutaRepository, TipoReporteRepository tipoReporteRepository,
+                             PeriodoRepository periodoRepository, RecorridoRepository recorridoRepository,
+                             TiempoRutaPeriodoRepository tiempoRutaPeriodoRepository) {
+        this.rutaRepository = rutaRepository;
+        this.tipoReporteRepository = tipoReporteRepository;
+        this.periodoRepository = periodoRepository;
+        this.recorridoRepository = recorridoRepository;
+        this.tiempoRutaPeriodoRepository = tiempoRutaPeriodoRepository;
+    }
+
+    /**
+     * Obtiene la copia vigente, leyendo las cinco tablas si es la primera consulta.
+     *
+     * @return Copia vigente de las tablas de referencia
+     * @throws SQLException Si hay error en la carga inicial
+     */
+    public DatosReferencia actual() throws SQLException {
+        DatosReferencia actual = datos;
+        if (actual != null) return actual;
+        synchronized (this) {
+            if (datos == null) {
+                datos = new DatosReferencia(rutaRepository.findAll(), tipoReporteRepository.findAll(),
+                        periodoRepository.findAll(), recorridoRepository.findAll(),
+                        tiempoRutaPeriodoRepository.findAll());
+            }
+            return datos;
+        }
+    }
+
+    /**
+     * Obtiene la versión de una tabla.
+     *
+     * <p>La versión aumenta después de publicar cada copia nueva de la tabla: quien lea la
+     * versión antes de consultar {@link #actual()} obtiene datos al menos tan recientes como
+     * esa versión.</p>
+     *
+     * @param tabla Tabla consultada
+     * @return Número de recargas de la tabla desde el arranque
+     */
+    public long version(TablaReferencia tabla) {
+        return versiones.get(tabla.ordinal());
+    }
+
+    /**
+     * Vuelve a leer la tabla Ruta tras una escritura.
+     *
+     * @throws SQLException Si hay error al leer la tabla
+     */
+    public synchronized void recargarRutas() throws SQLException {
+        if (datos != null) datos = datos.conRutas(rutaRepository.findAll());
+        versiones.incrementAndGet(TablaReferencia.RUTA.ordinal());
+    }
+
+    /**
+     * Vuelve a leer la tabla TipoReporte tras una escritura.
+     *
+     * @throws SQLException Si hay error al leer la tabla
+     */
+    public synchronized void recargarTiposReporte() throws SQLException {
+        if (datos != null) datos = datos.conTiposReporte(tipoReporteRepository.findAll());
+        versiones.incrementAndGet(TablaReferencia.TIPO_REPORTE.ordinal());
+    }
+
+    /**
+     * Vuelve a leer la tabla Periodo tras una escritura.
+     *
+     * @throws SQLException Si hay error al leer la tabla
+     */
+    public synchronized void recargarPeriodos() throws SQLException {
+        if (datos != null) datos = datos.conPeriodos(periodoRepository.findAll());
+        versiones.incrementAndGet(TablaReferencia.PERIODO.ordinal());
+    }
+
+    /**
+     * Vuelve a leer la tabla Recorrido tras una escritura.
+     *
+     * @throws SQLException Si hay error al leer la tabla
+     */
+    public synchronized void recargarRecorridos() throws SQLException {
+        if (datos != null) datos = datos.conRecorridos(recorridoRepository.findAll());
+        versiones.incrementAndGet(TablaReferencia.RECORRIDO.ordinal());
+    }
+
+    /**
+     * Vuelve a leer la tabla TiempoRutaPeriodo, por ejemplo tras borrar en cascada una
+     * ruta o un periodo.
+     *
+     * @throws SQLException Si hay error al leer la tabla
+     */
+    public synchronized void recargarTiempos() throws SQLException {
+        if (datos != null) datos = datos.conTiempos(tiempoRutaPeriodoRepository.findAll());
+        versiones.incrementAndGet(TablaReferencia.TIEMPO_RUTA_PERIODO.ordinal());
+    }
+
+    /**
+     * Aplica el alta o la modificación de un tiempo por ruta y periodo ya persistido.
+     *
+     * @param tiempo Registro guardado (con ID asignado)
+     */
+    public synchronized void guardarTiempo(TiempoRutaPeriodo tiempo) {
+        if (datos != null) datos = datos.conTiempos(datos.tiempos().con(tiempo));
+        versiones.incrementAndGet(TablaReferencia.TIEMPO_RUTA_PERIODO.ordinal());
+    }
+}
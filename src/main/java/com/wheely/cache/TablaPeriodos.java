@@ -0,0 +1,168 @@
+package com.wheely.cache;
+
+import com.wheely.model.Periodo;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Tabla de intervalos de los periodos del día, con búsqueda por minuto en tiempo constante.
+ *
+ * <p>Cada periodo cubre el intervalo semiabierto {@code [horaInicio, horaFin)}; si
+ * {@code horaInicio} es posterior a {@code horaFin} el periodo cruza la medianoche y se
+ * parte en {@code [horaInicio, 24:00)} y {@code [00:00, horaFin)}. Los tramos se guardan
+ * ordenados por su inicio junto con el fin máximo acumulado, de modo que buscar los que
+ * se solapan con un horario nuevo es una búsqueda binaria.</p>
+ *
+ * <p>Para cada uno de los {@value #MINUTOS_DIA} minutos del día se precalcula qué periodo
+ * lo contiene. Solo los minutos donde empieza o termina algún periodo se resuelven
+ * comparando la hora exacta; en ellos, si ningún periodo contiene la hora, se acepta el
+ * periodo que termina justo en ella, como hacía la consulta
+ * {@code hora_inicio <= ? AND hora_fin >= ?}.</p>
+ *
+ * <p>Si dos periodos contienen la misma hora se toma el que empieza antes. Las búsquedas
+ * devuelven la posición del periodo en la lista recibida, o -1.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see DatosReferencia#periodoEn(LocalTime)
+ * @see DatosReferencia#periodoSolapado(LocalTime, LocalTime, Integer)
+ */
+final class TablaPeriodos {
+
+    /**
+     * Minutos de un día.
+     */
+    static final int MINUTOS_DIA = 24 * 60;
+
+    private static final int SEGUNDOS_DIA = MINUTOS_DIA * 60;
+
+    private final List<Periodo> periodos;
+    private final Integer[] orden;
+    private final int[] porMinuto = new int[MINUTOS_DIA];
+    private final boolean[] frontera = new boolean[MINUTOS_DIA];
+    private final int[] tramoInicio;
+    private final int[] tramoFin;
+    private final int[] tramoPeriodo;
+    private final int[] finMaximo;
+
+    /**
+     * Construye la tabla.
+     *
+     * @param periodos Periodos; los que no tienen hora de inicio o de fin se ignoran
+     */
+    TablaPeriodos(List<Periodo> periodos) {
+        this.periodos = periodos;
+        orden = new Integer[periodos.size()];
+        for (int i = 0; i < orden.length; i++) orden[i] = i;
+        Arrays.sort(orden, Comparator.comparing(i -> periodos.get(i).getHoraInicio(),
+                Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<int[]> tramos = new ArrayList<>();
+        for (int i : orden) {
+            for (int[] t : tramos(periodos.get(i).getHoraInicio(), periodos.get(i).getHoraFin())) {
+                tramos.add(new int[]{t[0], t[1], i});
+            }
+        }
+        tramos.sort(Comparator.comparingInt(t -> t[0]));
+        int n = tramos.size();
+        tramoInicio = new int[n];
+        tramoFin = new int[n];
+        tramoPeriodo = new int[n];
+        finMaximo = new int[n];
+        for (int k = 0; k < n; k++) {
+            tramoInicio[k] = tramos.get(k)[0];
+            tramoFin[k] = tramos.get(k)[1];
+            tramoPeriodo[k] = tramos.get(k)[2];
+            finMaximo[k] = Math.max(tramoFin[k], k > 0 ? finMaximo[k - 1] : 0);
+        }
+
+        Arrays.fill(porMinuto, -1);
+        for (int o = orden.length - 1; o >= 0; o--) {
+            Periodo p = periodos.get(orden[o]);
+            if (p.getHoraInicio() == null || p.getHoraFin() == null) continue;
+            for (int[] t : tramos(p.getHoraInicio(), p.getHoraFin())) {
+                for (int m = (t[0] + 59) / 60; m * 60 < t[1]; m++) {
+                    porMinuto[m] = orden[o];
+                }
+            }
+            frontera[p.getHoraInicio().toSecondOfDay() / 60] = true;
+            frontera[p.getHoraFin().toSecondOfDay() / 60] = true;
+        }
+    }
+
+    /**
+     * Busca el periodo que contiene una hora.
+     *
+     * @param hora Hora del día
+     * @return Posición del periodo, o -1 si ninguno la contiene
+     */
+    int indiceEn(LocalTime hora) {
+        int minuto = hora.getHour() * 60 + hora.getMinute();
+        if (!frontera[minuto]) return porMinuto[minuto];
+        long t = hora.toNanoOfDay();
+        for (int i : orden) {
+            Periodo p = periodos.get(i);
+            for (int[] tramo : tramos(p.getHoraInicio(), p.getHoraFin())) {
+                if (t >= tramo[0] * 1_000_000_000L && t < tramo[1] * 1_000_000_000L) return i;
+            }
+        }
+        for (int i : orden) {
+            LocalTime fin = periodos.get(i).getHoraFin();
+            if (fin != null && fin.toNanoOfDay() == t) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Busca un periodo cuyo horario se solapa con otro.
+     *
+     * @param inicio Hora de inicio del horario
+     * @param fin Hora de fin del horario; si es anterior al inicio, cruza la medianoche
+     * @param excluirId ID de un periodo que no se compara (el que se está actualizando), o null
+     * @return Posición de un periodo solapado, o -1 si no hay ninguno
+     */
+    int indiceSolapado(LocalTime inicio, LocalTime fin, Integer excluirId) {
+        for (int[] nuevo : tramos(inicio, fin)) {
+            int k = primerTramoDesde(nuevo[1]) - 1;
+            while (k >= 0 && finMaximo[k] > nuevo[0]) {
+                int i = tramoPeriodo[k];
+                if (tramoFin[k] > nuevo[0] && (excluirId == null || periodos.get(i).getIdPeriodo() != excluirId)) {
+                    return i;
+                }
+                k--;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Obtiene la posición del primer tramo que empieza en un segundo dado o después.
+     */
+    private int primerTramoDesde(int segundo) {
+        int bajo = 0;
+        int alto = tramoInicio.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (tramoInicio[medio] < segundo) bajo = medio + 1;
+            else alto = medio;
+        }
+        return bajo;
+    }
+
+    /**
+     * Parte un horario en tramos semiabiertos {@code [inicio, fin)} en segundos del día.
+     */
+    private static int[][] tramos(LocalTime inicio, LocalTime fin) {
+        if (inicio == null || fin == null) return new int[0][];
+        int a = inicio.toSecondOfDay();
+        int b = fin.toSecondOfDay();
+        if (a < b) return new int[][]{{a, b}};
+        if (a > b) return b > 0 ? new int[][]{{a, SEGUNDOS_DIA}, {0, b}} : new int[][]{{a, SEGUNDOS_DIA}};
+        return new int[0][];
+    }
+}
@@ -0,0 +1,17 @@
+package com.wheely.cache;
+
+/**
+ * Tablas que mantiene la {@link ReplicaReferencia}, cada una con su propio contador de versión.
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see ReplicaReferencia#version(TablaReferencia)
+ */
+public enum TablaReferencia {
+    RUTA,
+    TIPO_REPORTE,
+    PERIODO,
+    RECORRIDO,
+    TIEMPO_RUTA_PERIODO
+}
@@ -0,0 +1,68 @@
+package com.wheely.controller;
+
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import com.wheely.service.AutocompletadoService;
+import com.wheely.util.ApiResponse;
+
+/**
+ * Controlador REST para el autocompletado de búsquedas del sistema Wheely.
+ *
+ * <p>Pensado para consultarse con cada tecla: devuelve nombres de ruta y lugares de origen
+ * o destino que empiezan con lo escrito, de los más a los menos populares.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see AutocompletadoService
+ * @see com.wheely.busqueda.Sugerencia
+ */
+public class AutocompletadoController {
+    private static final int SUGERENCIAS_POR_DEFECTO = 8;
+
+    private final AutocompletadoService autocompletadoService;
+
+    /**
+     * Constructor del controlador de autocompletado.
+     *
+     * @param autocompletadoService Servicio que calcula las sugerencias
+     */
+    public AutocompletadoController(AutocompletadoService autocompletadoService) {
+        this.autocompletadoService = autocompletadoService;
+    }
+
+    /**
+     * Obtiene sugerencias para el texto escrito hasta ahora.
+     *
+     * <pre>
+     * GET /sugerencias?q=cen&amp;k=8
+     * Response: {
+     *   "success": true,
+     *   "message": "Sugerencias obtenidas",
+     *   "data": [
+     *     { "texto": "Centro", "tipo": "LUGAR", "idRuta": null, "rutas": 14, "popularidad": 212 },
+     *     { "texto": "Ruta 12 Terán - Centro", "tipo": "RUTA", "idRuta": 12, "rutas": 1, "popularidad": 48 }
+     *   ]
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con el texto en {@code q} y, opcionalmente, el máximo de sugerencias en {@code k}
+     *
+     * @see AutocompletadoService#sugerir(String, int)
+     */
+    public void sugerir(Context ctx) {
+        try {
+            String texto = ctx.queryParam("q");
+            String k = ctx.queryParam("k");
+            int maximo = k != null ? Integer.parseInt(k) : SUGERENCIAS_POR_DEFECTO;
+            var sugerencias = autocompletadoService.sugerir(texto, maximo);
+            ctx.json(ApiResponse.success("Sugerencias obtenidas", sugerencias));
+        } catch (NumberFormatException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("El parámetro k debe ser un número entero"));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error al obtener las sugerencias"));
+        }
+    }
+}
@@ -22,6 +22,10 @@ import com.wheely.util.ApiResponse;
  * <li>Soporte para sistemas de información geográfica (SIG)</li>
  * </ul>
  *
+ * <p>Las consultas de trazado aceptan el formato compacto de polilínea codificada, que se
+ * solicita con {@code ?formato=polilinea} o con el encabezado
+ * {@code Accept: }{@value #TIPO_POLILINEA}.</p>
+ *
  * @author [Tu Nombre]
  * @version 1.0.0
  * @since 2025
@@ -30,6 +34,12 @@ import com.wheely.util.ApiResponse;
  * @see com.wheely.util.ApiResponse
  */
 public class CoordenadaController {
+
+    /**
+     * Tipo de contenido que los clientes envían en Accept para recibir polilíneas codificadas.
+     */
+    public static final String TIPO_POLILINEA = "application/vnd.wheely.polyline+json";
+
     private final CoordenadaService coordenadaService;
 
     /**
@@ -73,15 +83,177 @@ public class CoordenadaController {
      * }
      * </pre>
      *
+     * <p>Con {@code ?zoom=12} o {@code ?tolerancia=25} (metros) se retorna el trazado
+     * simplificado con Douglas-Peucker. Con {@code ?formato=polilinea} se retorna un
+     * trazado codificado por recorrido:</p>
+     *
+     * <pre>
+     * GET /coordenadas?formato=polilinea
+     * Response: {
+     *   "success": true,
+     *   "message": "Coordenadas obtenidas",
+     *   "data": [
+     *     { "idRecorrido": 5, "puntos": 2, "precision": 5, "polilinea": "{ygeB~hlwPoB{C" }
+     *   ]
+     * }
+     * </pre>
+     *
      * @param ctx Contexto de la petición HTTP que contiene parámetros y permite enviar respuesta
      * @throws Exception si ocurre error en la consulta a la base de datos
      *
      * @see CoordenadaService#getAllCoordenadas()
+     * @see CoordenadaService#getAllTrazadosCodificados()
      * @see ApiResponse#success(String, Object)
      */
     public void getAll(Context ctx) {
         try {
-            ctx.json(ApiResponse.success("Coordenadas obtenidas", coordenadaService.getAllCoordenadas()));
+            Integer zoom = parametroEntero(ctx, "zoom");
+            Double tolerancia = parametroDecimal(ctx, "tolerancia");
+            Object data = usaPolilinea(ctx)
+                    ? coordenadaService.getAllTrazadosCodificados(zoom, tolerancia)
+                    : coordenadaService.getAllCoordenadas(zoom, tolerancia);
+            ctx.json(ApiResponse.success("Coordenadas obtenidas", data));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("Parámetros zoom o tolerancia inválidos"));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error"));
+        }
+    }
+
+    /**
+     * Obtiene el trazado de un recorrido específico.
+     *
+     * <p>Retorna las coordenadas del recorrido en orden de punto. Es la consulta que usan
+     * los clientes móviles para dibujar la ruta, por lo que admite el formato compacto
+     * de polilínea codificada y la simplificación por {@code zoom} o {@code tolerancia}.</p>
+     *
+     * <pre>
+     * GET /coordenadas/recorrido/5?formato=polilinea&amp;zoom=13
+     * Response: {
+     *   "success": true,
+     *   "message": "Trazado obtenido",
+     *   "data": { "idRecorrido": 5, "puntos": 2, "precision": 5, "polilinea": "{ygeB~hlwPoB{C" }
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP que contiene el parámetro {idRecorrido} en la URL
+     * @throws NumberFormatException si el ID no es un número válido
+     *
+     * @see CoordenadaService#getCoordenadasByRecorrido(int)
+     * @see CoordenadaService#getTrazadoCodificado(int)
+     */
+    public void getByRecorrido(Context ctx) {
+        try {
+            int idRecorrido = Integer.parseInt(ctx.pathParam("idRecorrido"));
+            Integer zoom = parametroEntero(ctx, "zoom");
+            Double tolerancia = parametroDecimal(ctx, "tolerancia");
+            Object data = usaPolilinea(ctx)
+                    ? coordenadaService.getTrazadoCodificado(idRecorrido, zoom, tolerancia)
+                    : coordenadaService.getCoordenadasByRecorrido(idRecorrido, zoom, tolerancia);
+            ctx.json(ApiResponse.success("Trazado obtenido", data));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("ID de recorrido, zoom o tolerancia inválidos"));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error"));
+        }
+    }
+
+    /**
+     * Obtiene la distancia a lo largo de un recorrido entre dos de sus puntos.
+     *
+     * <pre>
+     * GET /coordenadas/recorrido/4/distancia?desde=3&amp;hasta=40
+     * Response: {
+     *   "success": true,
+     *   "message": "Distancia obtenida",
+     *   "data": { "idRecorrido": 4, "ordenDesde": 3, "ordenHasta": 40, "distanciaMetros": 2315.8, "longitudMetros": 9120.7 }
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con {idRecorrido} en la URL y los órdenes desde y hasta
+     *
+     * @see CoordenadaService#getDistanciaEntre(int, int, int)
+     */
+    public void getDistancia(Context ctx) {
+        try {
+            int idRecorrido = Integer.parseInt(ctx.pathParam("idRecorrido"));
+            int desde = Integer.parseInt(ctx.queryParam("desde"));
+            int hasta = Integer.parseInt(ctx.queryParam("hasta"));
+            var tramo = coordenadaService.getDistanciaEntre(idRecorrido, desde, hasta);
+            ctx.json(tramo != null ? ApiResponse.success("Distancia obtenida", tramo) : ApiResponse.notFound("Recorrido"));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("ID de recorrido u órdenes desde y hasta inválidos"));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error"));
+        }
+    }
+
+    /**
+     * Obtiene el punto de un recorrido que está a cierta distancia de su inicio.
+     *
+     * <pre>
+     * GET /coordenadas/recorrido/4/punto?metros=1500
+     * Response: {
+     *   "success": true,
+     *   "message": "Punto obtenido",
+     *   "data": { "idRecorrido": 4, "posicion": 12, "ordenPunto": 13, "fraccion": 0.42,
+     *             "latitud": 16.75702, "longitud": -93.12905, "distanciaMetros": 1500.0 }
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con {idRecorrido} en la URL y la distancia en metros
+     *
+     * @see CoordenadaService#getPuntoEnDistancia(int, double)
+     */
+    public void getPuntoEnDistancia(Context ctx) {
+        try {
+            int idRecorrido = Integer.parseInt(ctx.pathParam("idRecorrido"));
+            double metros = Double.parseDouble(ctx.queryParam("metros"));
+            var punto = coordenadaService.getPuntoEnDistancia(idRecorrido, metros);
+            ctx.json(punto != null ? ApiResponse.success("Punto obtenido", punto) : ApiResponse.notFound("Recorrido"));
+        } catch (NullPointerException | IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("ID de recorrido o distancia inválidos"));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error"));
+        }
+    }
+
+    /**
+     * Obtiene los recorridos que pasan por una vista del mapa.
+     *
+     * <p>Maneja peticiones GET a /coordenadas/vista. La consulta descarta recorridos por su
+     * caja envolvente antes de revisar puntos, por lo que su costo depende de los recorridos
+     * y no del total de coordenadas.</p>
+     *
+     * <pre>
+     * GET /coordenadas/vista?latitudMin=16.74&amp;latitudMax=16.77&amp;longitudMin=-93.16&amp;longitudMax=-93.10
+     * Response: {
+     *   "success": true,
+     *   "message": "Recorridos en la vista obtenidos",
+     *   "data": [
+     *     {
+     *       "idRecorrido": 5,
+     *       "puntos": 320,
+     *       "caja": { "latitudMinima": 16.742, "longitudMinima": -93.158, "latitudMaxima": 16.771, "longitudMaxima": -93.104 }
+     *     }
+     *   ]
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con los parámetros latitudMin, latitudMax, longitudMin y longitudMax
+     *
+     * @see CoordenadaService#getRecorridosEnVista(double, double, double, double)
+     */
+    public void getEnVista(Context ctx) {
+        try {
+            double latitudMin = Double.parseDouble(ctx.queryParam("latitudMin"));
+            double latitudMax = Double.parseDouble(ctx.queryParam("latitudMax"));
+            double longitudMin = Double.parseDouble(ctx.queryParam("longitudMin"));
+            double longitudMax = Double.parseDouble(ctx.queryParam("longitudMax"));
+            ctx.json(ApiResponse.success("Recorridos en la vista obtenidos",
+                    coordenadaService.getRecorridosEnVista(latitudMin, latitudMax, longitudMin, longitudMax)));
+        } catch (NullPointerException | IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("Límites de la vista inválidos"));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error"));
         }
@@ -269,4 +441,26 @@ public class CoordenadaController {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error"));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Determina si el cliente solicitó el formato de polilínea codificada.
+     *
+     * @param ctx Contexto de la petición
+     * @return true si {@code formato=polilinea} o el encabezado Accept lo indican
+     */
+    private static boolean usaPolilinea(Context ctx) {
+        if ("polilinea".equalsIgnoreCase(ctx.queryParam("formato"))) return true;
+        String accept = ctx.header("Accept");
+        return accept != null && accept.contains(TIPO_POLILINEA);
+    }
+
+    private static Integer parametroEntero(Context ctx, String nombre) {
+        String valor = ctx.queryParam(nombre);
+        return valor == null || valor.isBlank() ? null : Integer.valueOf(valor.trim());
+    }
+
+    private static Double parametroDecimal(Context ctx, String nombre) {
+        String valor = ctx.queryParam(nombre);
+        return valor == null || valor.isBlank() ? null : Double.valueOf(valor.trim());
+    }
+}
@@ -132,6 +132,121 @@ public class CoordenadaParadaController {
         }
     }
 
+    /**
+     * Busca las coordenadas de parada cercanas a un punto geográfico.
+     *
+     * <p>Maneja peticiones GET a /coordenadas-parada/cercanas y retorna las coordenadas de parada
+     * que se encuentran dentro del radio indicado, ordenadas de la más cercana a la más lejana.
+     * La consulta se resuelve desde el índice espacial en memoria, sin recorrer la tabla
+     * CoordenadaParada, por lo que es apta para el uso intensivo desde la aplicación móvil.</p>
+     *
+     * <pre>
+     * GET /coordenadas-parada/cercanas?latitud=16.7545&amp;longitud=-93.1315&amp;radio=0.5
+     * Response: {
+     *   "success": true,
+     *   "message": "Coordenadas parada cercanas obtenidas",
+     *   "data": [
+     *     {
+     *       "idCoordenadaParada": 1,
+     *       "idParada": 3,
+     *       "latitud": 16.7545000,
+     *       "longitud": -93.1315000,
+     *       "ordenParada": 1
+     *     }
+     *   ]
+     * }
+     * </pre>
+     *
+     * <p>Con el parámetro {@code k} se obtienen las k paradas más cercanas sin necesidad de
+     * radio (si además se indica {@code radio}, actúa como distancia máxima). Cada parada
+     * aparece una vez, con su coordenada más próxima y la distancia en kilómetros:</p>
+     *
+     * <pre>
+     * GET /coordenadas-parada/cercanas?latitud=16.7545&amp;longitud=-93.1315&amp;k=5
+     * Response: {
+     *   "success": true,
+     *   "message": "Paradas más cercanas obtenidas",
+     *   "data": [
+     *     {
+     *       "idParada": 3,
+     *       "idCoordenadaParada": 1,
+     *       "latitud": 16.7545000,
+     *       "longitud": -93.1315000,
+     *       "distanciaKm": 0.0
+     *     }
+     *   ]
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con los parámetros de consulta latitud, longitud, radio (km) y k
+     * @throws NumberFormatException si algún parámetro no es numérico
+     * @throws Exception si ocurre error al cargar el índice
+     *
+     * @see CoordenadaParadaService#getCoordenadasCercanas(double, double, double)
+     * @see CoordenadaParadaService#getParadasMasCercanas(double, double, int, Double)
+     */
+    public void getCercanas(Context ctx) {
+        try {
+            double latitud = Double.parseDouble(ctx.queryParam("latitud"));
+            double longitud = Double.parseDouble(ctx.queryParam("longitud"));
+            String k = ctx.queryParam("k");
+            if (k != null) {
+                String radio = ctx.queryParam("radio");
+                ctx.json(ApiResponse.success("Paradas más cercanas obtenidas",
+                        coordenadaParadaService.getParadasMasCercanas(latitud, longitud, Integer.parseInt(k),
+                                radio != null ? Double.valueOf(radio) : null)));
+                return;
+            }
+            double radio = Double.parseDouble(ctx.queryParam("radio"));
+            ctx.json(ApiResponse.success("Coordenadas parada cercanas obtenidas",
+                    coordenadaParadaService.getCoordenadasCercanas(latitud, longitud, radio)));
+        } catch (NullPointerException | IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("Parámetros latitud, longitud, radio o k inválidos"));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error"));
+        }
+    }
+
+    /**
+     * Obtiene las paradas con alguna coordenada dentro de una vista del mapa.
+     *
+     * <p>Maneja peticiones GET a /coordenadas-parada/vista. La consulta descarta paradas por
+     * su caja envolvente antes de revisar sus coordenadas.</p>
+     *
+     * <pre>
+     * GET /coordenadas-parada/vista?latitudMin=16.74&amp;latitudMax=16.77&amp;longitudMin=-93.16&amp;longitudMax=-93.10
+     * Response: {
+     *   "success": true,
+     *   "message": "Paradas en la vista obtenidas",
+     *   "data": [
+     *     {
+     *       "idParada": 12,
+     *       "puntos": 2,
+     *       "caja": { "latitudMinima": 16.7545, "longitudMinima": -93.1316, "latitudMaxima": 16.7546, "longitudMaxima": -93.1315 }
+     *     }
+     *   ]
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con los parámetros latitudMin, latitudMax, longitudMin y longitudMax
+     *
+     * @see CoordenadaParadaService#getParadasEnVista(double, double, double, double)
+     */
+    public void getEnVista(Context ctx) {
+        try {
+            double latitudMin = Double.parseDouble(ctx.queryParam("latitudMin"));
+            double latitudMax = Double.parseDouble(ctx.queryParam("latitudMax"));
+            double longitudMin = Double.parseDouble(ctx.queryParam("longitudMin"));
+            double longitudMax = Double.parseDouble(ctx.queryParam("longitudMax"));
+            ctx.json(ApiResponse.success("Paradas en la vista obtenidas",
+                    coordenadaParadaService.getParadasEnVista(latitudMin, latitudMax, longitudMin, longitudMax)));
+        } catch (NullPointerException | IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("Límites de la vista inválidos"));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error"));
+        }
+    }
+
     /**
      * Crea una nueva coordenada de parada en el sistema.
      *
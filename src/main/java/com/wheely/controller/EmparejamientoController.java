@@ -0,0 +1,76 @@
+package com.wheely.controller;
+
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import com.wheely.geo.PuntoGps;
+import com.wheely.service.EmparejamientoService;
+import com.wheely.util.ApiResponse;
+
+/**
+ * Controlador REST para ajustar trazas GPS a los recorridos del sistema Wheely.
+ *
+ * <p>Permite a vehículos y aplicaciones móviles enviar un lote de posiciones y conocer el
+ * recorrido que siguen, su avance sobre él y las posiciones corregidas sobre el trazado.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see EmparejamientoService
+ * @see com.wheely.geo.ResultadoEmparejamiento
+ */
+public class EmparejamientoController {
+    private final EmparejamientoService emparejamientoService;
+
+    /**
+     * Constructor del controlador de emparejamiento.
+     *
+     * @param emparejamientoService Servicio que ajusta las trazas a los recorridos
+     */
+    public EmparejamientoController(EmparejamientoService emparejamientoService) {
+        this.emparejamientoService = emparejamientoService;
+    }
+
+    /**
+     * Ajusta una traza GPS al recorrido más probable.
+     *
+     * <pre>
+     * POST /recorridos/emparejar
+     * Body: [
+     *   { "latitud": 16.75690, "longitud": -93.12920 },
+     *   { "latitud": 16.75705, "longitud": -93.12903 }
+     * ]
+     * Response: {
+     *   "success": true,
+     *   "message": "Traza emparejada",
+     *   "data": {
+     *     "idRecorrido": 4,
+     *     "puntosEmparejados": 2,
+     *     "puntosTotales": 2,
+     *     "progresoMetros": 812.4,
+     *     "longitudMetros": 9120.7,
+     *     "puntos": [ ... ]
+     *   }
+     * }
+     *
+     * Response sin recorrido cercano: {
+     *   "success": false,
+     *   "message": "Recorrido no encontrado"
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con la traza en el cuerpo
+     *
+     * @see EmparejamientoService#emparejar(PuntoGps[])
+     */
+    public void emparejar(Context ctx) {
+        try {
+            PuntoGps[] puntos = ctx.bodyAsClass(PuntoGps[].class);
+            var resultado = emparejamientoService.emparejar(puntos);
+            ctx.json(resultado != null ? ApiResponse.success("Traza emparejada", resultado) : ApiResponse.notFound("Recorrido"));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error al emparejar la traza"));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.wheely.controller;
+
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import com.wheely.service.ImportacionService;
+import com.wheely.util.ApiResponse;
+
+/**
+ * Controlador REST para la importación masiva de geometría en formato GeoJSON.
+ *
+ * <p>Recibe el documento como cuerpo de la petición y lo entrega en flujo al servicio,
+ * sin cargarlo completo en memoria, por lo que admite archivos de cientos de megabytes.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see ImportacionService
+ * @see com.wheely.geo.LectorGeoJson
+ */
+public class ImportacionController {
+    private final ImportacionService importacionService;
+
+    /**
+     * Constructor del controlador de importación.
+     *
+     * @param importacionService Servicio que lee el GeoJSON y guarda sus coordenadas
+     */
+    public ImportacionController(ImportacionService importacionService) {
+        this.importacionService = importacionService;
+    }
+
+    /**
+     * Importa una {@code FeatureCollection} con trazados de recorridos y coordenadas de paradas.
+     *
+     * <pre>
+     * POST /importaciones/geojson
+     * Body: {
+     *   "type": "FeatureCollection",
+     *   "features": [
+     *     {
+     *       "type": "Feature",
+     *       "properties": { "idRecorrido": 4 },
+     *       "geometry": { "type": "LineString", "coordinates": [[-93.1292, 16.7569], [-93.1150, 16.7610]] }
+     *     }
+     *   ]
+     * }
+     * Response: {
+     *   "success": true,
+     *   "message": "GeoJSON importado",
+     *   "data": {
+     *     "entidadesImportadas": 1,
+     *     "entidadesOmitidas": 0,
+     *     "coordenadasInsertadas": 2,
+     *     "coordenadasParadaInsertadas": 0,
+     *     "errores": []
+     *   }
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con el documento GeoJSON en el cuerpo
+     *
+     * @see ImportacionService#importar(java.io.InputStream)
+     */
+    public void importarGeoJson(Context ctx) {
+        try {
+            ctx.status(HttpStatus.CREATED).json(ApiResponse.success("GeoJSON importado",
+                    importacionService.importar(ctx.bodyInputStream())));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error al importar el GeoJSON"));
+        }
+    }
+}
@@ -2,12 +2,13 @@ package com.wheely.controller;
 
 import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
+import com.wheely.cache.CacheRespuestas;
+import com.wheely.cache.TablaReferencia;
 import com.wheely.model.Periodo;
 import com.wheely.service.PeriodoService;
 import com.wheely.util.ApiResponse;
 
 import java.sql.SQLException;
-import java.util.List;
 
 /**
  * <p>
@@ -33,6 +34,7 @@ import java.util.List;
  */
 public class PeriodoController {
     private final PeriodoService periodoService;
+    private final CacheRespuestas cacheRespuestas;
 
     /**
      * <p>
@@ -41,10 +43,12 @@ public class PeriodoController {
      * </p>
      *
      * @param periodoService {@link PeriodoService} Servicio para operaciones sobre periodos.
+     * @param cacheRespuestas {@link CacheRespuestas} Caché de respuestas serializadas para el listado completo.
      * @see PeriodoService
      */
-    public PeriodoController(PeriodoService periodoService) {
+    public PeriodoController(PeriodoService periodoService, CacheRespuestas cacheRespuestas) {
         this.periodoService = periodoService;
+        this.cacheRespuestas = cacheRespuestas;
     }
 
     /**
@@ -55,6 +59,7 @@ public class PeriodoController {
      * <ul>
      *   <li>Endpoint: <b>GET /api/periodos</b></li>
      *   <li>Retorna lista de {@link Periodo} en formato JSON.</li>
+     *   <li>La respuesta serializada se sirve desde la {@link CacheRespuestas} mientras la tabla de periodos no cambie.</li>
      * </ul>
      *
      * @param ctx {@link Context} Contexto HTTP de Javalin, contiene información de la petición y respuesta.
@@ -87,9 +92,9 @@ public class PeriodoController {
      */
     public void getAll(Context ctx) {
         try {
-            List<Periodo> periodos = periodoService.getAllPeriodos();
-            ctx.json(ApiResponse.success("Periodos obtenidos", periodos));
-        } catch (SQLException e) {
+            cacheRespuestas.responder(ctx, TablaReferencia.PERIODO,
+                    () -> ApiResponse.success("Periodos obtenidos", periodoService.getAllPeriodos()));
+        } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .json(ApiResponse.error("Error al obtener periodos"));
         }
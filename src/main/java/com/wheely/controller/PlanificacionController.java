@@ -0,0 +1,248 @@
+package com.wheely.controller;
+
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import com.wheely.geo.FilaMatriz;
+import com.wheely.geo.PuntoMatriz;
+import com.wheely.service.PlanificacionService;
+import com.wheely.util.ApiResponse;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Controlador REST para planificar viajes con transbordos en el sistema Wheely.
+ *
+ * <p>Permite a las aplicaciones consultar cómo llegar de un punto a otro combinando
+ * recorridos y tramos a pie, con las opciones más rápidas para cada número de transbordos,
+ * obtener el área alcanzable desde un punto en un tiempo dado, estimar cuánto se tarda
+ * entre dos paradas de un recorrido y calcular matrices de tiempos entre varios puntos.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see PlanificacionService
+ * @see com.wheely.geo.ViajePlanificado
+ * @see com.wheely.geo.Isocrona
+ * @see com.wheely.geo.EstimacionLlegada
+ * @see com.wheely.geo.FilaMatriz
+ */
+public class PlanificacionController {
+    private final PlanificacionService planificacionService;
+
+    /**
+     * Constructor del controlador de planificación.
+     *
+     * @param planificacionService Servicio que planifica los viajes
+     */
+    public PlanificacionController(PlanificacionService planificacionService) {
+        this.planificacionService = planificacionService;
+    }
+
+    /**
+     * Planifica los viajes entre dos ubicaciones.
+     *
+     * <p>Los parámetros {@code hora} (HH:mm, por defecto la hora actual) y
+     * {@code maxTransbordos} (por defecto 2) son opcionales.</p>
+     *
+     * <pre>
+     * GET /viajes/planear?latOrigen=16.7521&amp;lonOrigen=-93.1161&amp;latDestino=16.7612&amp;lonDestino=-93.0903&amp;hora=07:30
+     * Response: {
+     *   "success": true,
+     *   "message": "Viajes planificados",
+     *   "data": [
+     *     { "transbordos": 0, "duracionSegundos": 3120, "horaSalida": "07:30:00", "horaLlegada": "08:22:00", "tramos": [ ... ] },
+     *     { "transbordos": 1, "duracionSegundos": 2710, "horaSalida": "07:30:00", "horaLlegada": "08:15:10", "tramos": [ ... ] }
+     *   ]
+     * }
+     *
+     * Response sin forma de llegar: {
+     *   "success": false,
+     *   "message": "Viaje no encontrado"
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con las coordenadas de origen y destino
+     *
+     * @see PlanificacionService#planear(double, double, double, double, LocalTime, int)
+     */
+    public void planear(Context ctx) {
+        try {
+            double latOrigen = Double.parseDouble(ctx.queryParam("latOrigen"));
+            double lonOrigen = Double.parseDouble(ctx.queryParam("lonOrigen"));
+            double latDestino = Double.parseDouble(ctx.queryParam("latDestino"));
+            double lonDestino = Double.parseDouble(ctx.queryParam("lonDestino"));
+            String hora = ctx.queryParam("hora");
+            String transbordos = ctx.queryParam("maxTransbordos");
+            var viajes = planificacionService.planear(latOrigen, lonOrigen, latDestino, lonDestino,
+                    hora != null && !hora.isBlank() ? LocalTime.parse(hora.trim()) : null,
+                    transbordos != null && !transbordos.isBlank() ? Integer.parseInt(transbordos.trim()) : 2);
+            ctx.json(!viajes.isEmpty() ? ApiResponse.success("Viajes planificados", viajes) : ApiResponse.notFound("Viaje"));
+        } catch (NullPointerException | NumberFormatException | DateTimeParseException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("Coordenadas de origen y destino, hora o transbordos inválidos"));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error al planificar el viaje"));
+        }
+    }
+
+    /**
+     * Obtiene el área alcanzable desde una ubicación en los minutos indicados.
+     *
+     * <p>El parámetro {@code idPeriodo} es opcional; por defecto se usa el periodo de la hora actual.</p>
+     *
+     * <pre>
+     * GET /viajes/isocrona?lat=16.7521&amp;lon=-93.1161&amp;minutos=20&amp;idPeriodo=1
+     * Response: {
+     *   "success": true,
+     *   "message": "Isócrona calculada",
+     *   "data": {
+     *     "type": "Feature",
+     *     "geometry": { "type": "MultiPolygon", "coordinates": [ ... ] },
+     *     "properties": { "minutos": 20, "idPeriodo": 1, "paradasAlcanzadas": 143, "celdaMetros": 100, "areaKm2": 6.42 }
+     *   }
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con la ubicación, los minutos y el periodo
+     *
+     * @see PlanificacionService#isocrona(double, double, int, Integer)
+     */
+    public void isocrona(Context ctx) {
+        try {
+            double lat = Double.parseDouble(ctx.queryParam("lat"));
+            double lon = Double.parseDouble(ctx.queryParam("lon"));
+            int minutos = Integer.parseInt(ctx.queryParam("minutos"));
+            String periodo = ctx.queryParam("idPeriodo");
+            var isocrona = planificacionService.isocrona(lat, lon, minutos,
+                    periodo != null && !periodo.isBlank() ? Integer.valueOf(periodo.trim()) : null);
+            ctx.json(ApiResponse.success("Isócrona calculada", isocrona));
+        } catch (NullPointerException | NumberFormatException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("Coordenadas, minutos o periodo inválidos"));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error al calcular la isócrona"));
+        }
+    }
+
+    /**
+     * Estima el tiempo de viaje entre dos paradas de un mismo recorrido.
+     *
+     * <p>El parámetro {@code hora} (HH:mm, por defecto la hora actual) es opcional.</p>
+     *
+     * <pre>
+     * GET /viajes/eta?idParadaOrigen=12&amp;idParadaDestino=30&amp;hora=07:30
+     * Response: {
+     *   "success": true,
+     *   "message": "Tiempo estimado",
+     *   "data": {
+     *     "idParadaOrigen": 12, "idParadaDestino": 30, "idRecorrido": 4, "idRuta": 2, "idPeriodo": 1,
+     *     "tiempoPeriodoMinutos": 50, "distanciaMetros": 3420, "fraccionRecorrido": 0.274,
+     *     "segundos": 822, "minutos": 14
+     *   }
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con las paradas de origen y destino
+     *
+     * @see PlanificacionService#estimarLlegada(int, int, LocalTime)
+     */
+    public void estimarLlegada(Context ctx) {
+        try {
+            int idParadaOrigen = Integer.parseInt(ctx.queryParam("idParadaOrigen"));
+            int idParadaDestino = Integer.parseInt(ctx.queryParam("idParadaDestino"));
+            String hora = ctx.queryParam("hora");
+            var estimacion = planificacionService.estimarLlegada(idParadaOrigen, idParadaDestino,
+                    hora != null && !hora.isBlank() ? LocalTime.parse(hora.trim()) : null);
+            ctx.json(estimacion != null ? ApiResponse.success("Tiempo estimado", estimacion) : ApiResponse.notFound("Parada"));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("Paradas de origen y destino u hora inválidas"));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error al estimar el tiempo de viaje"));
+        }
+    }
+
+    /**
+     * Calcula la matriz de tiempos de viaje entre varios orígenes y varios destinos.
+     *
+     * <p>Cada origen o destino es una ubicación ({@code lat}, {@code lon}) o una parada
+     * ({@code idParada}). {@code hora} (HH:mm, por defecto la hora actual) y
+     * {@code maxTransbordos} (por defecto 2) son opcionales.</p>
+     *
+     * <p>La respuesta es un arreglo JSON que se escribe fila por fila conforme termina cada
+     * origen, sin esperar a los demás; por eso las filas llegan en cualquier orden y cada una
+     * indica la posición de su origen. Los errores de validación se responden antes de empezar
+     * a escribir, con el formato habitual. Un origen que falla llega como fila con
+     * {@code error}; si el cliente se desconecta, los orígenes pendientes se cancelan.</p>
+     *
+     * <pre>
+     * POST /viajes/matriz
+     * Body: {
+     *   "origenes": [ { "idParada": 12 }, { "lat": 16.7521, "lon": -93.1161 } ],
+     *   "destinos": [ { "lat": 16.7612, "lon": -93.0903 }, { "idParada": 30 }, { "idParada": 41 } ],
+     *   "hora": "07:30"
+     * }
+     * Response: [
+     *   { "origen": 1, "segundos": [1320, null, 845] },
+     *   { "origen": 0, "segundos": [1710, 390, 1205] }
+     * ]
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con la solicitud en el cuerpo
+     *
+     * @see PlanificacionService#matrizTiempos(List, List, LocalTime, int)
+     */
+    public void matrizTiempos(Context ctx) {
+        Stream<FilaMatriz> filas;
+        try {
+            MatrizRequest request = ctx.bodyAsClass(MatrizRequest.class);
+            filas = planificacionService.matrizTiempos(request.origenes, request.destinos,
+                    request.hora != null && !request.hora.isBlank() ? LocalTime.parse(request.hora.trim()) : null,
+                    request.maxTransbordos != null ? request.maxTransbordos : 2);
+        } catch (NullPointerException | DateTimeParseException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("Orígenes, destinos u hora inválidos"));
+            return;
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+            return;
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error al calcular la matriz de tiempos"));
+            return;
+        }
+
+        try (filas) {
+            ctx.writeJsonStream(filas);
+        } catch (Exception e) {
+            // La respuesta ya empezó a escribirse: no se agrega otro cuerpo. Cerrar el flujo
+            // cancela los orígenes pendientes.
+            System.err.println("Matriz de tiempos interrumpida: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Clase DTO para las solicitudes de matriz de tiempos.
+     *
+     * @since 2025
+     */
+    public static class MatrizRequest {
+        /** Orígenes, cada uno como ubicación o como parada */
+        public List<PuntoMatriz> origenes;
+        /** Destinos, cada uno como ubicación o como parada */
+        public List<PuntoMatriz> destinos;
+        /** Hora de salida en formato HH:mm, opcional */
+        public String hora;
+        /** Transbordos máximos permitidos, opcional */
+        public Integer maxTransbordos;
+
+        /**
+         * Constructor vacío requerido para deserialización JSON.
+         */
+        public MatrizRequest() {}
+    }
+}
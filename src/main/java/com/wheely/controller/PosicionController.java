@@ -0,0 +1,133 @@
+package com.wheely.controller;
+
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import com.wheely.geo.PosicionVehiculo;
+import com.wheely.service.PosicionService;
+import com.wheely.util.ApiResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controlador REST para las posiciones en vivo de los vehículos del sistema Wheely.
+ *
+ * <p>Los dispositivos GPS de los autobuses envían sus posiciones en lotes y la aplicación
+ * móvil consulta qué vehículos están en servicio en un recorrido. Ambas operaciones se
+ * resuelven en memoria.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see PosicionService
+ * @see PosicionVehiculo
+ */
+public class PosicionController {
+    private final PosicionService posicionService;
+
+    /**
+     * Constructor del controlador de posiciones.
+     *
+     * @param posicionService Servicio que registra y consulta las posiciones
+     */
+    public PosicionController(PosicionService posicionService) {
+        this.posicionService = posicionService;
+    }
+
+    /**
+     * Registra un lote de posiciones de vehículos.
+     *
+     * <p>Maneja peticiones POST a /posiciones. Si una posición no trae {@code marcaTiempo}
+     * se toma el momento en que llega la petición. El lote se acepta o se rechaza completo.</p>
+     *
+     * <pre>
+     * POST /posiciones
+     * Body: [
+     *   { "idVehiculo": "ECO-112", "idRecorrido": 7, "latitud": 16.753104, "longitud": -93.115872,
+     *     "marcaTiempo": 1760634000000 },
+     *   { "idVehiculo": "ECO-087", "idRecorrido": 9, "latitud": 16.760215, "longitud": -93.102417 }
+     * ]
+     * Response: {
+     *   "success": true,
+     *   "message": "Posiciones registradas",
+     *   "data": 2
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con el lote de posiciones en el cuerpo
+     *
+     * @see PosicionService#registrarPosiciones(List)
+     */
+    public void registrar(Context ctx) {
+        try {
+            PosicionRequest[] request = ctx.bodyAsClass(PosicionRequest[].class);
+            long ahora = System.currentTimeMillis();
+            List<PosicionVehiculo> posiciones = new ArrayList<>(request.length);
+            for (PosicionRequest r : request) {
+                posiciones.add(new PosicionVehiculo(r.idVehiculo, r.idRecorrido, r.latitud, r.longitud,
+                        r.marcaTiempo != null ? r.marcaTiempo : ahora));
+            }
+            int registradas = posicionService.registrarPosiciones(posiciones);
+            ctx.status(HttpStatus.ACCEPTED).json(ApiResponse.success("Posiciones registradas", registradas));
+        } catch (NullPointerException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("Posiciones inválidas"));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error"));
+        }
+    }
+
+    /**
+     * Obtiene los vehículos en servicio en un recorrido con su última posición.
+     *
+     * <pre>
+     * GET /recorridos/7/vehiculos
+     * Response: {
+     *   "success": true,
+     *   "message": "Vehículos obtenidos",
+     *   "data": [
+     *     { "idVehiculo": "ECO-112", "idRecorrido": 7, "latitud": 16.753104, "longitud": -93.115872,
+     *       "marcaTiempo": 1760634000000 }
+     *   ]
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con {id} del recorrido en la URL
+     *
+     * @see PosicionService#getVehiculosEnRecorrido(int)
+     */
+    public void getVehiculos(Context ctx) {
+        try {
+            int idRecorrido = Integer.parseInt(ctx.pathParam("id"));
+            ctx.json(ApiResponse.success("Vehículos obtenidos", posicionService.getVehiculosEnRecorrido(idRecorrido)));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("ID de recorrido inválido"));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error"));
+        }
+    }
+
+    /**
+     * Clase DTO para cada posición de un lote.
+     *
+     * @since 2025
+     */
+    public static class PosicionRequest {
+        /** Identificador del vehículo */
+        public String idVehiculo;
+        /** Recorrido en el que da servicio */
+        public Integer idRecorrido;
+        /** Latitud reportada */
+        public Double latitud;
+        /** Longitud reportada */
+        public Double longitud;
+        /** Momento del reporte en milisegundos desde la época Unix, opcional */
+        public Long marcaTiempo;
+
+        /**
+         * Constructor vacío requerido para deserialización JSON.
+         */
+        public PosicionRequest() {}
+    }
+}
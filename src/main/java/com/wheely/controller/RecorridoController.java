@@ -85,6 +85,58 @@ public class RecorridoController {
         }
     }
 
+    /**
+     * Obtiene los recorridos activos que pasan cerca de un punto ("qué camiones pasan por aquí").
+     *
+     * <p>Maneja peticiones GET a /recorridos/cercanos. La distancia se mide contra los tramos
+     * entre coordenadas consecutivas del trazado, no solo contra las coordenadas registradas,
+     * y se resuelve desde el índice de segmentos en memoria. Cada recorrido aparece una vez,
+     * con su punto más cercano y el rumbo del autobús en ese punto. Si no se indica
+     * {@code radio} se usan 300 metros.</p>
+     *
+     * <pre>
+     * GET /recorridos/cercanos?latitud=16.7531&amp;longitud=-93.1159&amp;radio=300
+     * Response: {
+     *   "success": true,
+     *   "message": "Recorridos cercanos obtenidos",
+     *   "data": [
+     *     {
+     *       "idRecorrido": 7,
+     *       "idRuta": 3,
+     *       "distanciaMetros": 42.6,
+     *       "rumboGrados": 84,
+     *       "sentido": "E",
+     *       "avanceMetros": 3518,
+     *       "latitud": 16.753104,
+     *       "longitud": -93.115872
+     *     }
+     *   ]
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con los parámetros de consulta latitud, longitud y radio (metros)
+     * @throws NumberFormatException si algún parámetro no es numérico
+     * @throws Exception si ocurre error al cargar el trazado o los recorridos
+     *
+     * @see RecorridoService#getRecorridosCercanos(double, double, double)
+     */
+    public void getCercanos(Context ctx) {
+        try {
+            double latitud = Double.parseDouble(ctx.queryParam("latitud"));
+            double longitud = Double.parseDouble(ctx.queryParam("longitud"));
+            String radio = ctx.queryParam("radio");
+            ctx.json(ApiResponse.success("Recorridos cercanos obtenidos",
+                    recorridoService.getRecorridosCercanos(latitud, longitud,
+                            radio != null ? Double.parseDouble(radio) : 300)));
+        } catch (NullPointerException | NumberFormatException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("Parámetros latitud, longitud o radio inválidos"));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error"));
+        }
+    }
+
     /**
      * Obtiene un recorrido específico por su identificador único.
      *
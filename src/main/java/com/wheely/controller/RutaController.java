@@ -2,6 +2,8 @@ package com.wheely.controller;
 
 import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
+import com.wheely.cache.CacheRespuestas;
+import com.wheely.cache.TablaReferencia;
 import com.wheely.service.RutaService;
 import com.wheely.util.ApiResponse;
 
@@ -29,14 +31,17 @@ import com.wheely.util.ApiResponse;
  */
 public class RutaController {
     private final RutaService rutaService;
+    private final CacheRespuestas cacheRespuestas;
 
     /**
      * Constructor del controlador de rutas.
      *
      * @param rutaService Servicio que contiene la lógica de negocio para rutas
+     * @param cacheRespuestas Caché de respuestas serializadas para el listado completo
      */
-    public RutaController(RutaService rutaService) {
+    public RutaController(RutaService rutaService, CacheRespuestas cacheRespuestas) {
         this.rutaService = rutaService;
+        this.cacheRespuestas = cacheRespuestas;
     }
 
     /**
@@ -45,6 +50,9 @@ public class RutaController {
      * <p>Este método maneja peticiones GET a /rutas y retorna una lista completa
      * de todas las rutas disponibles en el sistema de transporte.</p>
      *
+     * <p>La respuesta serializada se sirve desde la {@link CacheRespuestas} mientras la
+     * tabla de rutas no cambie.</p>
+     *
      * <pre>
      * GET /rutas
      * Response: {
@@ -62,7 +70,8 @@ public class RutaController {
      */
     public void getAll(Context ctx) {
         try {
-            ctx.json(ApiResponse.success("Rutas obtenidas", rutaService.getAllRutas()));
+            cacheRespuestas.responder(ctx, TablaReferencia.RUTA,
+                    () -> ApiResponse.success("Rutas obtenidas", rutaService.getAllRutas()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error"));
         }
@@ -214,10 +223,15 @@ public class RutaController {
      *
      * <p>Permite filtrar rutas específicas mediante parámetros de consulta
      * para encontrar rutas que coincidan con el origen y/o destino especificados.
-     * Útil para planificación de viajes de usuarios.</p>
+     * Útil para planificación de viajes de usuarios. Con el parámetro {@code q} se
+     * busca un texto libre en el nombre, el origen o el destino.</p>
+     *
+     * <p>Las rutas se devuelven de mayor a menor coincidencia; la búsqueda ignora
+     * mayúsculas y acentos y tolera errores de escritura.</p>
      *
      * <pre>
      * GET /rutas/buscar?origen=Centro&destino=Norte
+     * GET /rutas/buscar?q=teran
      * Response: {
      *   "success": true,
      *   "message": "Rutas encontradas",
@@ -225,17 +239,25 @@ public class RutaController {
      * }
      * </pre>
      *
-     * @param ctx Contexto HTTP que contiene parámetros de consulta 'origen' y 'destino'
+     * @param ctx Contexto HTTP que contiene parámetros de consulta 'origen' y 'destino', o 'q'
      * @throws Exception si ocurre error en la búsqueda
      *
      * @see RutaService#buscarRutasPorOrigenDestino(String, String)
+     * @see RutaService#buscarRutas(String)
      * @see ApiResponse#success(String, Object)
      */
     public void buscarPorOrigenDestino(Context ctx) {
         try {
+            String texto = ctx.queryParam("q");
+            if (texto != null && !texto.isBlank()) {
+                ctx.json(ApiResponse.success("Rutas encontradas", rutaService.buscarRutas(texto)));
+                return;
+            }
             String origen = ctx.queryParam("origen");
             String destino = ctx.queryParam("destino");
             ctx.json(ApiResponse.success("Rutas encontradas", rutaService.buscarRutasPorOrigenDestino(origen, destino)));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error"));
         }
@@ -0,0 +1,73 @@
+package com.wheely.controller;
+
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import com.wheely.service.TeselaService;
+import com.wheely.util.ApiResponse;
+
+/**
+ * Controlador REST de teselas vectoriales del mapa del sistema Wheely.
+ *
+ * <p>Atiende las peticiones del mapa web en el esquema XYZ y responde con teselas binarias
+ * en formato Mapbox Vector Tile, que las bibliotecas de mapas (Mapbox GL, MapLibre,
+ * OpenLayers) dibujan directamente.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see TeselaService
+ */
+public class TeselaController {
+
+    /**
+     * Tipo de contenido registrado para teselas vectoriales de Mapbox.
+     */
+    public static final String TIPO_MVT = "application/vnd.mapbox-vector-tile";
+
+    private final TeselaService teselaService;
+
+    /**
+     * Constructor del controlador de teselas.
+     *
+     * @param teselaService Servicio que genera y almacena las teselas
+     */
+    public TeselaController(TeselaService teselaService) {
+        this.teselaService = teselaService;
+    }
+
+    /**
+     * Obtiene una tesela vectorial con los recorridos y paradas de su área.
+     *
+     * <pre>
+     * GET /tiles/14/3859/7524.mvt
+     * Response: 200 application/vnd.mapbox-vector-tile (capas "recorridos" y "paradas")
+     * Response sin geometría: 204 No Content
+     *
+     * Response con coordenadas inválidas: {
+     *   "success": false,
+     *   "message": "Coordenadas de tesela inválidas"
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con los parámetros {z}, {x} y {y} en la URL
+     *
+     * @see TeselaService#getTesela(int, int, int)
+     */
+    public void getTesela(Context ctx) {
+        try {
+            int z = Integer.parseInt(ctx.pathParam("z"));
+            int x = Integer.parseInt(ctx.pathParam("x"));
+            int y = Integer.parseInt(ctx.pathParam("y"));
+            byte[] tesela = teselaService.getTesela(z, x, y);
+            if (tesela.length == 0) {
+                ctx.status(HttpStatus.NO_CONTENT);
+            } else {
+                ctx.contentType(TIPO_MVT).result(tesela);
+            }
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("Coordenadas de tesela inválidas"));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error al generar la tesela"));
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.wheely.controller;
 
 import io.javalin.http.Context;
 import io.javalin.http.HttpStatus;
+import com.wheely.cache.CacheRespuestas;
+import com.wheely.cache.TablaReferencia;
 import com.wheely.service.TipoReporteService;
 import com.wheely.util.ApiResponse;
 
@@ -32,14 +34,17 @@ import com.wheely.util.ApiResponse;
  */
 public class TipoReporteController {
     private final TipoReporteService tipoReporteService;
+    private final CacheRespuestas cacheRespuestas;
 
     /**
      * Constructor del controlador de tipos de reporte.
      *
      * @param tipoReporteService Servicio que contiene la lógica de negocio para tipos de reporte
+     * @param cacheRespuestas Caché de respuestas serializadas para el listado completo
      */
-    public TipoReporteController(TipoReporteService tipoReporteService) {
+    public TipoReporteController(TipoReporteService tipoReporteService, CacheRespuestas cacheRespuestas) {
         this.tipoReporteService = tipoReporteService;
+        this.cacheRespuestas = cacheRespuestas;
     }
 
     /**
@@ -50,6 +55,9 @@ public class TipoReporteController {
      * por el frontend para poblar selectores y formularios donde los usuarios eligen
      * la categoría de su reporte.</p>
      *
+     * <p>La respuesta serializada se sirve desde la {@link CacheRespuestas} mientras la
+     * tabla de tipos de reporte no cambie.</p>
+     *
      * <pre>
      * GET /tipos-reporte
      * Response: {
@@ -78,7 +86,8 @@ public class TipoReporteController {
      */
     public void getAll(Context ctx) {
         try {
-            ctx.json(ApiResponse.success("Tipos obtenidos", tipoReporteService.getAllTiposReporte()));
+            cacheRespuestas.responder(ctx, TablaReferencia.TIPO_REPORTE,
+                    () -> ApiResponse.success("Tipos obtenidos", tipoReporteService.getAllTiposReporte()));
         } catch (Exception e) {
             ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error"));
         }
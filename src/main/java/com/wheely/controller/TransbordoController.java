@@ -0,0 +1,63 @@
+package com.wheely.controller;
+
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import com.wheely.service.TransbordoService;
+import com.wheely.util.ApiResponse;
+
+/**
+ * Controlador REST para consultar los transbordos a pie entre paradas del sistema Wheely.
+ *
+ * <p>Permite a las aplicaciones mostrar a qué paradas de otros recorridos se puede caminar
+ * desde una parada, con la distancia y el tiempo estimado de caminata.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see TransbordoService
+ * @see com.wheely.geo.Transbordo
+ */
+public class TransbordoController {
+    private final TransbordoService transbordoService;
+
+    /**
+     * Constructor del controlador de transbordos.
+     *
+     * @param transbordoService Servicio que consulta el grafo de transbordos
+     */
+    public TransbordoController(TransbordoService transbordoService) {
+        this.transbordoService = transbordoService;
+    }
+
+    /**
+     * Obtiene los transbordos a pie desde una parada.
+     *
+     * <pre>
+     * GET /paradas/12/transbordos
+     * Response: {
+     *   "success": true,
+     *   "message": "Transbordos obtenidos",
+     *   "data": [
+     *     { "idCoordenadaParadaOrigen": 812, "idCoordenadaParadaDestino": 1290, "idParadaDestino": 31,
+     *       "idRecorridoDestino": 7, "latitud": 16.75702, "longitud": -93.12905,
+     *       "distanciaMetros": 148, "segundosCaminando": 124 }
+     *   ]
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con {id} de la parada en la URL
+     *
+     * @see TransbordoService#getTransbordosDeParada(int)
+     */
+    public void getTransbordosDeParada(Context ctx) {
+        try {
+            int idParada = Integer.parseInt(ctx.pathParam("id"));
+            var transbordos = transbordoService.getTransbordosDeParada(idParada);
+            ctx.json(ApiResponse.success("Transbordos obtenidos", transbordos));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("ID de parada inválido"));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error al obtener los transbordos"));
+        }
+    }
+}
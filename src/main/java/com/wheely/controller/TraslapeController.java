@@ -0,0 +1,98 @@
+package com.wheely.controller;
+
+import io.javalin.http.Context;
+import io.javalin.http.HttpStatus;
+import com.wheely.service.TraslapeService;
+import com.wheely.util.ApiResponse;
+
+/**
+ * Controlador REST para consultar los recorridos que comparten calles en el sistema Wheely.
+ *
+ * <p>Permite detectar corredores atendidos por varios recorridos y sugerir recorridos
+ * alternativos a uno dado.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see TraslapeService
+ * @see com.wheely.geo.Traslape
+ */
+public class TraslapeController {
+    private static final double FRACCION_POR_DEFECTO = 0.5;
+
+    private final TraslapeService traslapeService;
+
+    /**
+     * Constructor del controlador de traslapes.
+     *
+     * @param traslapeService Servicio que consulta la matriz de traslapes
+     */
+    public TraslapeController(TraslapeService traslapeService) {
+        this.traslapeService = traslapeService;
+    }
+
+    /**
+     * Obtiene los recorridos que comparten calles con un recorrido.
+     *
+     * <pre>
+     * GET /recorridos/4/traslapes
+     * Response: {
+     *   "success": true,
+     *   "message": "Traslapes obtenidos",
+     *   "data": [
+     *     { "idRecorrido": 4, "idRecorridoTraslapado": 17, "fraccion": 0.812,
+     *       "fraccionInversa": 0.356, "metrosCompartidos": 9420 }
+     *   ]
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con {id} del recorrido en la URL
+     *
+     * @see TraslapeService#getTraslapesDeRecorrido(int)
+     */
+    public void getTraslapesDeRecorrido(Context ctx) {
+        try {
+            int idRecorrido = Integer.parseInt(ctx.pathParam("id"));
+            var traslapes = traslapeService.getTraslapesDeRecorrido(idRecorrido);
+            ctx.json(ApiResponse.success("Traslapes obtenidos", traslapes));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("ID de recorrido inválido"));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error al obtener los traslapes"));
+        }
+    }
+
+    /**
+     * Obtiene los pares de recorridos que comparten al menos una fracción de su trazado.
+     *
+     * <pre>
+     * GET /traslapes?minimo=0.7
+     * Response: {
+     *   "success": true,
+     *   "message": "Traslapes obtenidos",
+     *   "data": [
+     *     { "idRecorrido": 4, "idRecorridoTraslapado": 17, "fraccion": 0.812,
+     *       "fraccionInversa": 0.356, "metrosCompartidos": 9420 }
+     *   ]
+     * }
+     * </pre>
+     *
+     * @param ctx Contexto HTTP con la fracción mínima opcional en {@code minimo} (0.5 por defecto)
+     *
+     * @see TraslapeService#getTraslapes(double)
+     */
+    public void getTraslapes(Context ctx) {
+        try {
+            String minimo = ctx.queryParam("minimo");
+            double fraccion = minimo != null ? Double.parseDouble(minimo) : FRACCION_POR_DEFECTO;
+            var traslapes = traslapeService.getTraslapes(fraccion);
+            ctx.json(ApiResponse.success("Traslapes obtenidos", traslapes));
+        } catch (NumberFormatException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error("El parámetro minimo debe ser un número"));
+        } catch (IllegalArgumentException e) {
+            ctx.status(HttpStatus.BAD_REQUEST).json(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            ctx.status(HttpStatus.INTERNAL_SERVER_ERROR).json(ApiResponse.error("Error al obtener los traslapes"));
+        }
+    }
+}
@@ -1,9 +1,22 @@
 package com.wheely.di;
 
+import com.wheely.busqueda.Autocompletado;
+import com.wheely.busqueda.IndiceRutas;
+import com.wheely.cache.CacheRespuestas;
+import com.wheely.cache.CacheTeselas;
+import com.wheely.cache.ReplicaReferencia;
 import com.wheely.controller.*;
+import com.wheely.geo.AlmacenGeometria;
+import com.wheely.geo.GrafoTransbordos;
+import com.wheely.geo.IndiceEspacialParadas;
+import com.wheely.geo.PosicionesEnVivo;
+import com.wheely.geo.RecorridosCercanos;
 import com.wheely.repository.*;
 import com.wheely.routes.*;
 import com.wheely.service.*;
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.nio.file.Path;
 
 /**
  * <p>
@@ -42,6 +55,65 @@ import com.wheely.service.*;
  */
 public class AppModule {
 
+    /**
+     * Índice espacial de coordenadas de parada compartido por todos los módulos que lo consultan.
+     */
+    private static final IndiceEspacialParadas INDICE_PARADAS = new IndiceEspacialParadas();
+
+    /**
+     * Almacén de geometría de recorridos compartido por todos los módulos que lo consultan.
+     */
+    private static final AlmacenGeometria ALMACEN_GEOMETRIA = new AlmacenGeometria();
+
+    /**
+     * Réplica en memoria de Ruta, TipoReporte, Periodo, Recorrido y TiempoRutaPeriodo, recargada por los servicios que las escriben.
+     */
+    private static final ReplicaReferencia REPLICA_REFERENCIA = new ReplicaReferencia(new RutaRepository(),
+            new TipoReporteRepository(), new PeriodoRepository(), new RecorridoRepository(),
+            new TiempoRutaPeriodoRepository());
+
+    /**
+     * Respuestas JSON ya serializadas de los listados de rutas, tipos de reporte y periodos.
+     */
+    private static final CacheRespuestas CACHE_RESPUESTAS = new CacheRespuestas(REPLICA_REFERENCIA);
+
+    /**
+     * Búsqueda de recorridos activos cercanos a un punto, que sigue a la tabla Recorrido de la réplica.
+     */
+    private static final RecorridosCercanos RECORRIDOS_CERCANOS = new RecorridosCercanos(ALMACEN_GEOMETRIA, REPLICA_REFERENCIA);
+
+    /**
+     * Búferes circulares con las últimas posiciones de los vehículos de cada recorrido.
+     */
+    private static final PosicionesEnVivo POSICIONES_EN_VIVO = new PosicionesEnVivo();
+
+    /**
+     * Índice de búsqueda de rutas por nombre, origen y destino compartido por los módulos que lo consultan.
+     */
+    private static final IndiceRutas INDICE_RUTAS = new IndiceRutas();
+
+    /**
+     * Autocompletado de nombres de ruta y lugares, reconstruido tras cada cambio en el índice de rutas.
+     */
+    private static final Autocompletado AUTOCOMPLETADO = new Autocompletado(INDICE_RUTAS);
+
+    /**
+     * Grafo de transbordos a pie entre coordenadas de parada, mantenido al día por las escrituras.
+     */
+    private static final GrafoTransbordos GRAFO_TRANSBORDOS = new GrafoTransbordos(INDICE_PARADAS);
+
+    /**
+     * Caché de teselas vectoriales; su tamaño y directorio de desborde se leen de
+     * {@code TILE_CACHE_MB} y {@code TILE_CACHE_DIR} en el archivo .env (opcionales).
+     */
+    private static final CacheTeselas CACHE_TESELAS = crearCacheTeselas();
+
+    static {
+        ALMACEN_GEOMETRIA.agregarOyente(CACHE_TESELAS::invalidar);
+        INDICE_PARADAS.agregarOyente(CACHE_TESELAS::invalidar);
+        INDICE_RUTAS.agregarOyente(AUTOCOMPLETADO::invalidar);
+    }
+
     /**
      * <p>
      * Inicializa el módulo de rutas para la entidad Usuario.
@@ -55,7 +127,7 @@ public class AppModule {
      */
     public static UsuarioRoutes initUsuarios() {
         UsuarioRepository usuarioRepository = new UsuarioRepository();
-        UsuarioService usuarioService = new UsuarioService(usuarioRepository);
+        UsuarioService usuarioService = new UsuarioService(usuarioRepository, new RutaFavoritaRepository(), AUTOCOMPLETADO);
         UsuarioController usuarioController = new UsuarioController(usuarioService);
         return new UsuarioRoutes(usuarioController);
     }
@@ -92,8 +164,8 @@ public class AppModule {
      */
     public static TipoReporteRoutes initTiposReporte() {
         TipoReporteRepository tipoReporteRepository = new TipoReporteRepository();
-        TipoReporteService tipoReporteService = new TipoReporteService(tipoReporteRepository);
-        TipoReporteController tipoReporteController = new TipoReporteController(tipoReporteService);
+        TipoReporteService tipoReporteService = new TipoReporteService(tipoReporteRepository, REPLICA_REFERENCIA);
+        TipoReporteController tipoReporteController = new TipoReporteController(tipoReporteService, CACHE_RESPUESTAS);
         return new TipoReporteRoutes(tipoReporteController);
     }
 
@@ -109,8 +181,9 @@ public class AppModule {
      */
     public static RutaRoutes initRutas() {
         RutaRepository rutaRepository = new RutaRepository();
-        RutaService rutaService = new RutaService(rutaRepository);
-        RutaController rutaController = new RutaController(rutaService);
+        RutaService rutaService = new RutaService(rutaRepository, INDICE_RUTAS, REPLICA_REFERENCIA,
+                ALMACEN_GEOMETRIA, nuevoParadaService());
+        RutaController rutaController = new RutaController(rutaService, CACHE_RESPUESTAS);
         return new RutaRoutes(rutaController);
     }
 
@@ -128,7 +201,9 @@ public class AppModule {
     public static RecorridoRoutes initRecorridos() {
         RutaRepository rutaRepository = new RutaRepository();
         RecorridoRepository recorridoRepository = new RecorridoRepository();
-        RecorridoService recorridoService = new RecorridoService(recorridoRepository, rutaRepository);
+        RecorridoService recorridoService = new RecorridoService(recorridoRepository, rutaRepository,
+                new CoordenadaRepository(), ALMACEN_GEOMETRIA, RECORRIDOS_CERCANOS, REPLICA_REFERENCIA,
+                nuevoParadaService());
         RecorridoController recorridoController = new RecorridoController(recorridoService);
         return new RecorridoRoutes(recorridoController);
     }
@@ -147,7 +222,7 @@ public class AppModule {
     public static CoordenadaRoutes initCoordenadas() {
         RecorridoRepository recorridoRepository = new RecorridoRepository();
         CoordenadaRepository coordenadaRepository = new CoordenadaRepository();
-        CoordenadaService coordenadaService = new CoordenadaService(coordenadaRepository, recorridoRepository);
+        CoordenadaService coordenadaService = new CoordenadaService(coordenadaRepository, recorridoRepository, ALMACEN_GEOMETRIA);
         CoordenadaController coordenadaController = new CoordenadaController(coordenadaService);
         return new CoordenadaRoutes(coordenadaController);
     }
@@ -164,13 +239,24 @@ public class AppModule {
      * @see com.wheely.repository.RecorridoRepository
      */
     public static ParadaRoutes initParadas() {
-        RecorridoRepository recorridoRepository = new RecorridoRepository();
-        ParadaRepository paradaRepository = new ParadaRepository();
-        ParadaService paradaService = new ParadaService(paradaRepository, recorridoRepository);
+        ParadaService paradaService = nuevoParadaService();
         ParadaController paradaController = new ParadaController(paradaService);
         return new ParadaRoutes(paradaController);
     }
 
+    /**
+     * <p>
+     * Crea un servicio de paradas sobre el índice espacial y el grafo de transbordos
+     * compartidos. Lo usan también las rutas y los recorridos, cuyas bajas borran paradas
+     * en cascada.
+     * </p>
+     *
+     * @return {@code ParadaService} Servicio de paradas listo para usarse.
+     */
+    private static ParadaService nuevoParadaService() {
+        return new ParadaService(new ParadaRepository(), new RecorridoRepository(), INDICE_PARADAS, GRAFO_TRANSBORDOS);
+    }
+
     /**
      * <p>
      * Inicializa el módulo de rutas para la entidad CoordenadaParada.
@@ -185,7 +271,7 @@ public class AppModule {
     public static CoordenadaParadaRoutes initCoordenadasParada() {
         ParadaRepository paradaRepository = new ParadaRepository();
         CoordenadaParadaRepository coordenadaParadaRepository = new CoordenadaParadaRepository();
-        CoordenadaParadaService coordenadaParadaService = new CoordenadaParadaService(coordenadaParadaRepository, paradaRepository);
+        CoordenadaParadaService coordenadaParadaService = new CoordenadaParadaService(coordenadaParadaRepository, paradaRepository, INDICE_PARADAS, GRAFO_TRANSBORDOS);
         CoordenadaParadaController coordenadaParadaController = new CoordenadaParadaController(coordenadaParadaService);
         return new CoordenadaParadaRoutes(coordenadaParadaController);
     }
@@ -200,13 +286,12 @@ public class AppModule {
      * @see com.wheely.service.RutaFavoritaService
      * @see com.wheely.repository.RutaFavoritaRepository
      * @see com.wheely.repository.UsuarioRepository
-     * @see com.wheely.repository.RutaRepository
+     * @see com.wheely.cache.ReplicaReferencia
      */
     public static RutaFavoritaRoutes initRutasFavoritas() {
         UsuarioRepository usuarioRepository = new UsuarioRepository();
-        RutaRepository rutaRepository = new RutaRepository();
         RutaFavoritaRepository rutaFavoritaRepository = new RutaFavoritaRepository();
-        RutaFavoritaService rutaFavoritaService = new RutaFavoritaService(rutaFavoritaRepository, usuarioRepository, rutaRepository);
+        RutaFavoritaService rutaFavoritaService = new RutaFavoritaService(rutaFavoritaRepository, usuarioRepository, REPLICA_REFERENCIA, AUTOCOMPLETADO);
         RutaFavoritaController rutaFavoritaController = new RutaFavoritaController(rutaFavoritaService);
         return new RutaFavoritaRoutes(rutaFavoritaController);
     }
@@ -223,8 +308,8 @@ public class AppModule {
      */
     public static PeriodoRoutes initPeriodos() {
         PeriodoRepository periodoRepository = new PeriodoRepository();
-        PeriodoService periodoService = new PeriodoService(periodoRepository);
-        PeriodoController periodoController = new PeriodoController(periodoService);
+        PeriodoService periodoService = new PeriodoService(periodoRepository, REPLICA_REFERENCIA);
+        PeriodoController periodoController = new PeriodoController(periodoService, CACHE_RESPUESTAS);
         return new PeriodoRoutes(periodoController);
     }
 
@@ -237,19 +322,220 @@ public class AppModule {
      * @see com.wheely.controller.TiempoRutaPeriodoController
      * @see com.wheely.service.TiempoRutaPeriodoService
      * @see com.wheely.repository.TiempoRutaPeriodoRepository
-     * @see com.wheely.repository.RutaRepository
-     * @see com.wheely.repository.PeriodoRepository
+     * @see com.wheely.cache.ReplicaReferencia
      */
     public static TiempoRutaPeriodoRoutes initTiemposRutaPeriodo() {
         TiempoRutaPeriodoRepository tiempoRutaPeriodoRepository = new TiempoRutaPeriodoRepository();
-        RutaRepository rutaRepository = new RutaRepository();
-        PeriodoRepository periodoRepository = new PeriodoRepository();
         TiempoRutaPeriodoService tiempoRutaPeriodoService = new TiempoRutaPeriodoService(
                 tiempoRutaPeriodoRepository,
-                rutaRepository,
-                periodoRepository
+                REPLICA_REFERENCIA
         );
         TiempoRutaPeriodoController tiempoRutaPeriodoController = new TiempoRutaPeriodoController(tiempoRutaPeriodoService);
         return new TiempoRutaPeriodoRoutes(tiempoRutaPeriodoController);
     }
-}
\ No newline at end of file
+
+    /**
+     * <p>
+     * Carga en memoria el trazado de todos los recorridos y precalcula sus simplificaciones
+     * por nivel de zoom en paralelo.
+     * </p>
+     * <p>
+     * Si la base de datos no está disponible al arrancar, el error se informa en consola y
+     * la carga se reintenta de forma perezosa con la primera consulta.
+     * </p>
+     *
+     * @see com.wheely.service.CoordenadaService#precargarGeometria()
+     */
+    public static void precargarGeometria() {
+        CoordenadaService coordenadaService = new CoordenadaService(
+                new CoordenadaRepository(), new RecorridoRepository(), ALMACEN_GEOMETRIA);
+        try {
+            coordenadaService.precargarGeometria();
+        } catch (Exception e) {
+            System.err.println("No se pudo precargar la geometría de recorridos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Inicializa el módulo de teselas vectoriales del mapa.
+     * </p>
+     *
+     * @return {@code TeselaRoutes} Rutas REST para teselas Mapbox Vector Tile.
+     * @see com.wheely.controller.TeselaController
+     * @see com.wheely.service.TeselaService
+     * @see com.wheely.cache.CacheTeselas
+     */
+    public static TeselaRoutes initTeselas() {
+        TeselaService teselaService = new TeselaService(
+                new CoordenadaRepository(),
+                new CoordenadaParadaRepository(),
+                ALMACEN_GEOMETRIA,
+                INDICE_PARADAS,
+                CACHE_TESELAS
+        );
+        TeselaController teselaController = new TeselaController(teselaService);
+        return new TeselaRoutes(teselaController);
+    }
+
+    /**
+     * <p>
+     * Inicializa el módulo de ajuste de trazas GPS a recorridos.
+     * </p>
+     *
+     * @return {@code EmparejamientoRoutes} Rutas REST para emparejar trazas con recorridos.
+     * @see com.wheely.controller.EmparejamientoController
+     * @see com.wheely.service.EmparejamientoService
+     * @see com.wheely.geo.IndiceSegmentos
+     */
+    public static EmparejamientoRoutes initEmparejamiento() {
+        EmparejamientoService emparejamientoService = new EmparejamientoService(
+                new CoordenadaRepository(),
+                ALMACEN_GEOMETRIA
+        );
+        EmparejamientoController emparejamientoController = new EmparejamientoController(emparejamientoService);
+        return new EmparejamientoRoutes(emparejamientoController);
+    }
+
+    /**
+     * <p>
+     * Inicializa el módulo de importación de geometría en formato GeoJSON.
+     * </p>
+     *
+     * @return {@code ImportacionRoutes} Rutas REST para importar recorridos y paradas.
+     * @see com.wheely.controller.ImportacionController
+     * @see com.wheely.service.ImportacionService
+     */
+    public static ImportacionRoutes initImportacion() {
+        ImportacionService importacionService = new ImportacionService(
+                new CoordenadaRepository(),
+                new CoordenadaParadaRepository(),
+                ALMACEN_GEOMETRIA,
+                INDICE_PARADAS,
+                GRAFO_TRANSBORDOS
+        );
+        ImportacionController importacionController = new ImportacionController(importacionService);
+        return new ImportacionRoutes(importacionController);
+    }
+
+    /**
+     * <p>
+     * Inicializa el módulo de planificación de viajes con transbordos.
+     * </p>
+     *
+     * @return {@code PlanificacionRoutes} Rutas REST para planificar viajes.
+     * @see com.wheely.controller.PlanificacionController
+     * @see com.wheely.service.PlanificacionService
+     * @see com.wheely.geo.PlanificadorViajes
+     */
+    public static PlanificacionRoutes initPlanificacion() {
+        PlanificacionService planificacionService = new PlanificacionService(
+                REPLICA_REFERENCIA,
+                new ParadaRepository(),
+                new CoordenadaRepository(),
+                new CoordenadaParadaRepository(),
+                ALMACEN_GEOMETRIA,
+                INDICE_PARADAS,
+                GRAFO_TRANSBORDOS
+        );
+        ALMACEN_GEOMETRIA.agregarOyente(planificacionService::invalidarRed);
+        GRAFO_TRANSBORDOS.agregarOyente(planificacionService::invalidarRed);
+        PlanificacionController planificacionController = new PlanificacionController(planificacionService);
+        return new PlanificacionRoutes(planificacionController);
+    }
+
+    /**
+     * <p>
+     * Inicializa el módulo de transbordos a pie entre paradas.
+     * </p>
+     *
+     * @return {@code TransbordoRoutes} Rutas REST para consultar transbordos.
+     * @see com.wheely.controller.TransbordoController
+     * @see com.wheely.service.TransbordoService
+     * @see com.wheely.geo.GrafoTransbordos
+     */
+    public static TransbordoRoutes initTransbordos() {
+        TransbordoService transbordoService = new TransbordoService(
+                new ParadaRepository(),
+                new CoordenadaParadaRepository(),
+                GRAFO_TRANSBORDOS
+        );
+        TransbordoController transbordoController = new TransbordoController(transbordoService);
+        return new TransbordoRoutes(transbordoController);
+    }
+
+    /**
+     * <p>
+     * Inicializa el módulo de autocompletado de nombres de ruta y lugares.
+     * </p>
+     *
+     * @return {@code AutocompletadoRoutes} Rutas REST para obtener sugerencias.
+     * @see com.wheely.controller.AutocompletadoController
+     * @see com.wheely.service.AutocompletadoService
+     * @see com.wheely.busqueda.Autocompletado
+     */
+    public static AutocompletadoRoutes initAutocompletado() {
+        AutocompletadoService autocompletadoService = new AutocompletadoService(
+                REPLICA_REFERENCIA,
+                new RutaFavoritaRepository(),
+                INDICE_RUTAS,
+                AUTOCOMPLETADO
+        );
+        AutocompletadoController autocompletadoController = new AutocompletadoController(autocompletadoService);
+        return new AutocompletadoRoutes(autocompletadoController);
+    }
+
+    /**
+     * <p>
+     * Inicializa el módulo de análisis de recorridos que comparten calles.
+     * </p>
+     *
+     * @return {@code TraslapeRoutes} Rutas REST para consultar traslapes entre recorridos.
+     * @see com.wheely.controller.TraslapeController
+     * @see com.wheely.service.TraslapeService
+     * @see com.wheely.geo.MatrizTraslapes
+     */
+    public static TraslapeRoutes initTraslapes() {
+        TraslapeService traslapeService = new TraslapeService(new CoordenadaRepository(), ALMACEN_GEOMETRIA);
+        ALMACEN_GEOMETRIA.agregarOyente(traslapeService::invalidar);
+        TraslapeController traslapeController = new TraslapeController(traslapeService);
+        return new TraslapeRoutes(traslapeController);
+    }
+
+    /**
+     * <p>
+     * Inicializa el módulo de posiciones en vivo de los vehículos.
+     * </p>
+     *
+     * @return {@code PosicionRoutes} Rutas REST para registrar y consultar posiciones de vehículos.
+     * @see com.wheely.controller.PosicionController
+     * @see com.wheely.service.PosicionService
+     * @see com.wheely.geo.PosicionesEnVivo
+     */
+    public static PosicionRoutes initPosiciones() {
+        PosicionService posicionService = new PosicionService(new CoordenadaRepository(), ALMACEN_GEOMETRIA,
+                POSICIONES_EN_VIVO);
+        PosicionController posicionController = new PosicionController(posicionService);
+        return new PosicionRoutes(posicionController);
+    }
+
+    /**
+     * <p>
+     * Inicializa el GET condicional con ETag e If-None-Match, común a todos los endpoints.
+     * </p>
+     *
+     * @return {@code ValidacionEtag} Manejadores before/after que calculan ETags y responden 304.
+     * @see com.wheely.routes.ValidacionEtag
+     */
+    public static ValidacionEtag initValidacionEtag() {
+        return new ValidacionEtag();
+    }
+
+    private static CacheTeselas crearCacheTeselas() {
+        Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+        String megabytes = dotenv.get("TILE_CACHE_MB");
+        String directorio = dotenv.get("TILE_CACHE_DIR");
+        long capacidad = (megabytes != null && !megabytes.isBlank() ? Long.parseLong(megabytes.trim()) : 64L) * 1024 * 1024;
+        return new CacheTeselas(capacidad, directorio != null && !directorio.isBlank() ? Path.of(directorio.trim()) : null);
+    }
+}
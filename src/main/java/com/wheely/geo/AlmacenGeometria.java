@@ -0,0 +1,310 @@
+package com.wheely.geo;
+
+import com.wheely.model.Coordenada;
+import com.wheely.util.FuenteCarga;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Almacén en memoria del trazado de todos los recorridos del sistema Wheely.
+ *
+ * <p>Mantiene un {@link GeometriaRecorrido} por recorrido, con sus puntos en arreglos
+ * primitivos de punto fijo. Es la fuente de lectura de la geometría para servicios y
+ * controladores; {@link java.math.BigDecimal} solo aparece al convertir a {@link Coordenada}
+ * en la respuesta de la API.</p>
+ *
+ * <p><strong>Comparación de memoria</strong> (JVM de 64 bits con referencias comprimidas):</p>
+ * <table border="1">
+ * <caption>Bytes por punto</caption>
+ * <tr><th>Modelo</th><th>Por punto</th><th>50 000 puntos</th></tr>
+ * <tr><td>{@code List<Coordenada>} con dos BigDecimal</td><td>~116 B</td><td>~5.5 MB</td></tr>
+ * <tr><td>{@link GeometriaRecorrido} (2 int + 2 long)</td><td>24 B</td><td>~1.1 MB</td></tr>
+ * </table>
+ * <p>Los valores se pueden obtener en ejecución con {@link #bytesEstimados()} y
+ * {@link GeometriaRecorrido#bytesModeloObjetos(long)}.</p>
+ *
+ * <p>Cada escritura reemplaza el trazado completo del recorrido afectado por una copia
+ * nueva, de modo que las lecturas concurrentes siempre ven un trazado consistente. Junto
+ * con los trazados se mantiene el recorrido de cada coordenada, para buscar una coordenada
+ * por ID sin recorrer todos los trazados.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see GeometriaRecorrido
+ * @see com.wheely.service.CoordenadaService
+ */
+public class AlmacenGeometria {
+
+    private final ConcurrentNavigableMap<Integer, GeometriaRecorrido> geometrias = new ConcurrentSkipListMap<>();
+    private final Map<Integer, Integer> recorridoPorCoordenada = new ConcurrentHashMap<>();
+    private final List<OyenteGeometria> oyentes = new CopyOnWriteArrayList<>();
+    private volatile boolean cargado;
+    private volatile IndiceSegmentos indiceSegmentos;
+
+    /**
+     * Reemplaza todo el contenido del almacén.
+     *
+     * @param todas Trazados de todos los recorridos con coordenadas
+     */
+    public synchronized void cargar(Collection<GeometriaRecorrido> todas) {
+        geometrias.clear();
+        recorridoPorCoordenada.clear();
+        for (GeometriaRecorrido g : todas) {
+            publicar(g);
+        }
+        cargado = true;
+        notificar(CajaEnvolvente.MUNDO);
+    }
+
+    /**
+     * Registra un receptor que será avisado de cada cambio en los trazados.
+     *
+     * @param oyente Receptor de avisos de cambio
+     */
+    public void agregarOyente(OyenteGeometria oyente) {
+        oyentes.add(oyente);
+    }
+
+    /**
+     * Indica si el almacén ya fue poblado desde la base de datos.
+     *
+     * @return true si {@link #cargar(Collection)} ya se ejecutó
+     */
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * Carga el almacén la primera vez que se necesita; las llamadas siguientes no hacen nada.
+     *
+     * <p>La consulta se ejecuta una sola vez, bajo el monitor de este objeto.</p>
+     *
+     * @param fuente Consulta que entrega el contenido completo
+     * @throws SQLException Si falla la consulta
+     */
+    public void asegurarCargado(FuenteCarga<? extends Collection<GeometriaRecorrido>> fuente) throws SQLException {
+        if (cargado) return;
+        synchronized (this) {
+            if (!cargado) cargar(fuente.leer());
+        }
+    }
+
+    /**
+     * Obtiene el trazado de un recorrido.
+     *
+     * @param idRecorrido ID del recorrido
+     * @return Trazado del recorrido, vacío si no tiene coordenadas
+     */
+    public GeometriaRecorrido obtener(int idRecorrido) {
+        GeometriaRecorrido g = geometrias.get(idRecorrido);
+        return g != null ? g : GeometriaRecorrido.vacia(idRecorrido);
+    }
+
+    /**
+     * Obtiene los trazados de todos los recorridos, ordenados por ID de recorrido.
+     *
+     * @return Copia de la lista de trazados
+     */
+    public List<GeometriaRecorrido> todas() {
+        return new ArrayList<>(geometrias.values());
+    }
+
+    /**
+     * Obtiene los recorridos cuyo trazado pasa por una zona, como una vista del mapa.
+     *
+     * <p>Primero descarta por caja envolvente, que se mantiene por recorrido; los recorridos
+     * cuya caja queda completamente dentro de la zona se aceptan sin más, y solo los que la
+     * cruzan parcialmente se verifican segmento por segmento.</p>
+     *
+     * @param zona Caja de la vista
+     * @return Trazados que tienen al menos un tramo dentro de la zona, ordenados por ID
+     */
+    public List<GeometriaRecorrido> recorridosEnCaja(CajaEnvolvente zona) {
+        List<GeometriaRecorrido> resultado = new ArrayList<>();
+        for (GeometriaRecorrido g : geometrias.values()) {
+            CajaEnvolvente caja = g.getCajaEnvolvente();
+            if (caja == null || !zona.intersecta(caja)) continue;
+            if (zona.contiene(caja) || cruza(g, zona)) {
+                resultado.add(g);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene el índice de segmentos de todos los trazados, construyéndolo si hace falta.
+     *
+     * <p>El índice se construye una sola vez y se descarta con cada escritura; la
+     * construcción toma el mismo monitor que las escrituras para no indexar un estado
+     * intermedio.</p>
+     *
+     * @return Índice de segmentos vigente
+     */
+    public IndiceSegmentos getIndiceSegmentos() {
+        IndiceSegmentos indice = indiceSegmentos;
+        if (indice != null) return indice;
+        synchronized (this) {
+            if (indiceSegmentos == null) {
+                indiceSegmentos = new IndiceSegmentos(geometrias.values());
+            }
+            return indiceSegmentos;
+        }
+    }
+
+    /**
+     * Busca una coordenada por su ID en todos los trazados.
+     *
+     * <p>El recorrido sale del mapa de coordenadas y la posición se busca solo en su trazado.</p>
+     *
+     * @param idCoordenada ID de la coordenada
+     * @return Coordenada materializada, o null si no existe
+     */
+    public Coordenada buscarCoordenada(int idCoordenada) {
+        Integer idRecorrido = recorridoPorCoordenada.get(idCoordenada);
+        if (idRecorrido == null) return null;
+        GeometriaRecorrido g = geometrias.get(idRecorrido);
+        int pos = g != null ? g.posicionDe(idCoordenada) : -1;
+        return pos >= 0 ? g.toCoordenada(pos) : null;
+    }
+
+    /**
+     * Registra una coordenada nueva en el trazado de su recorrido.
+     *
+     * @param coordenada Coordenada persistida (con ID asignado)
+     */
+    public synchronized void agregar(Coordenada coordenada) {
+        GeometriaRecorrido actual = obtener(coordenada.getIdRecorrido());
+        publicarSimplificada(actual, actual.conPunto(coordenada.getIdCoordenada(),
+                GeometriaRecorrido.aPuntoFijo(coordenada.getLatitud()),
+                GeometriaRecorrido.aPuntoFijo(coordenada.getLongitud()),
+                coordenada.getOrdenPunto()));
+    }
+
+    /**
+     * Quita una coordenada del trazado de un recorrido.
+     *
+     * @param idRecorrido ID del recorrido al que pertenecía la coordenada
+     * @param idCoordenada ID de la coordenada
+     */
+    public synchronized void quitar(int idRecorrido, int idCoordenada) {
+        GeometriaRecorrido actual = obtener(idRecorrido);
+        publicarSimplificada(actual, actual.sinPunto(idCoordenada));
+    }
+
+    /**
+     * Reemplaza una coordenada existente, moviéndola de recorrido si es necesario.
+     *
+     * @param idRecorridoAnterior ID del recorrido en el que estaba la coordenada
+     * @param coordenada Coordenada con sus datos actualizados
+     */
+    public synchronized void reemplazar(int idRecorridoAnterior, Coordenada coordenada) {
+        quitar(idRecorridoAnterior, coordenada.getIdCoordenada());
+        agregar(coordenada);
+    }
+
+    /**
+     * Quita el trazado de un recorrido eliminado, junto con sus coordenadas.
+     *
+     * @param idRecorrido ID del recorrido eliminado
+     */
+    public synchronized void eliminarRecorrido(int idRecorrido) {
+        if (!geometrias.containsKey(idRecorrido)) return;
+        publicarSimplificada(obtener(idRecorrido), GeometriaRecorrido.vacia(idRecorrido));
+    }
+
+    /**
+     * Reemplaza el trazado completo de un recorrido, como tras importarlo desde GeoJSON.
+     *
+     * @param trazado Nuevo trazado del recorrido con los IDs ya asignados
+     */
+    public synchronized void reemplazarTrazado(GeometriaRecorrido trazado) {
+        publicarSimplificada(obtener(trazado.getIdRecorrido()), trazado);
+    }
+
+    /**
+     * Expone todas las coordenadas como lista de solo lectura, ordenada por recorrido y orden de punto.
+     *
+     * @return Vista que materializa cada {@link Coordenada} al recorrerla
+     */
+    public List<Coordenada> comoLista() {
+        return GeometriaRecorrido.concatenar(todas());
+    }
+
+    /**
+     * Precalcula en paralelo las simplificaciones por zoom de todos los recorridos.
+     *
+     * <p>Cada recorrido es independiente, así que el trabajo se reparte en el
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()} mediante un flujo paralelo.</p>
+     */
+    public void precalcularSimplificaciones() {
+        todas().parallelStream().forEach(GeometriaRecorrido::precalcularNiveles);
+    }
+
+    /**
+     * Estima los bytes de heap ocupados por todos los trazados.
+     *
+     * @return Bytes aproximados del almacén
+     */
+    public long bytesEstimados() {
+        long total = 0;
+        for (GeometriaRecorrido g : geometrias.values()) {
+            total += g.bytesEstimados();
+        }
+        return total;
+    }
+
+    /**
+     * Publica un trazado modificado con sus niveles de zoom ya calculados; solo se
+     * recalcula el recorrido afectado. Los oyentes reciben la zona del trazado anterior
+     * y del nuevo, porque la simplificación puede cambiar en todo el recorrido.
+     */
+    private void publicarSimplificada(GeometriaRecorrido anterior, GeometriaRecorrido nueva) {
+        if (nueva == anterior) return;
+        nueva.precalcularNiveles();
+        publicar(nueva);
+        notificar(CajaEnvolvente.union(anterior.getCajaEnvolvente(), nueva.getCajaEnvolvente()));
+    }
+
+    private static boolean cruza(GeometriaRecorrido g, CajaEnvolvente zona) {
+        if (g.size() == 1) return zona.contiene(g.latitud(0), g.longitud(0));
+        for (int i = 1; i < g.size(); i++) {
+            if (zona.intersectaSegmento(g.latitud(i - 1), g.longitud(i - 1), g.latitud(i), g.longitud(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void notificar(CajaEnvolvente zona) {
+        if (zona == null) return;
+        for (OyenteGeometria oyente : oyentes) {
+            oyente.geometriaModificada(zona);
+        }
+    }
+
+    /**
+     * Publica un trazado y actualiza el recorrido de sus coordenadas; se llama con el monitor tomado.
+     */
+    private void publicar(GeometriaRecorrido g) {
+        indiceSegmentos = null;
+        Integer idRecorrido = g.getIdRecorrido();
+        GeometriaRecorrido anterior = g.size() == 0 ? geometrias.remove(idRecorrido) : geometrias.put(idRecorrido, g);
+        if (anterior != null) {
+            for (int i = 0; i < anterior.size(); i++) {
+                recorridoPorCoordenada.remove(anterior.idCoordenada(i), idRecorrido);
+            }
+        }
+        for (int i = 0; i < g.size(); i++) {
+            recorridoPorCoordenada.put(g.idCoordenada(i), idRecorrido);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.wheely.geo;
+
+import com.wheely.util.GeoUtil;
+
+import java.util.Arrays;
+
+/**
+ * Árbol k-d estático sobre puntos geográficos, para búsquedas del vecino más cercano.
+ *
+ * <p>Cada punto se representa en coordenadas cartesianas sobre la esfera unitaria. La
+ * distancia en línea recta (cuerda) entre dos puntos crece con la distancia de gran círculo,
+ * por lo que ordenar por cuerda da exactamente el mismo orden que Haversine, y las cajas de
+ * los nodos en 3D dan cotas inferiores válidas sin aproximaciones de proyección.</p>
+ *
+ * <p>El recorrido es del mejor primero (Hjaltason y Samet): una cola de prioridad mezcla
+ * nodos, con la distancia mínima a su caja, y puntos, con su distancia exacta; cada punto
+ * extraído es el siguiente más cercano, así que la búsqueda se detiene en cuanto el
+ * llamador tiene suficientes resultados.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see IndiceEspacialParadas#buscarMasCercanas(double, double, int, double)
+ */
+final class ArbolKd {
+
+    private static final int TAMANO_HOJA = 8;
+
+    /**
+     * Receptor de los puntos en orden creciente de distancia.
+     */
+    @FunctionalInterface
+    interface Visitante {
+        /**
+         * Recibe el siguiente punto más cercano.
+         *
+         * @param indice Posición del punto en los arreglos usados para construir el árbol
+         * @param distanciaKm Distancia de gran círculo al punto de referencia
+         * @return true para seguir con el siguiente punto, false para terminar
+         */
+        boolean visitar(int indice, double distanciaKm);
+    }
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final int[] orden;
+    private final int[] inicio;
+    private final int[] fin;
+    private final int[] izquierdo;
+    private final double[] cajas;
+    private int nodos;
+
+    /**
+     * Construye el árbol.
+     *
+     * @param latitudes Latitudes de los puntos en grados
+     * @param longitudes Longitudes de los puntos en grados
+     */
+    ArbolKd(double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        x = new double[n];
+        y = new double[n];
+        z = new double[n];
+        orden = new int[n];
+        for (int i = 0; i < n; i++) {
+            double lat = Math.toRadians(latitudes[i]);
+            double lon = Math.toRadians(longitudes[i]);
+            x[i] = Math.cos(lat) * Math.cos(lon);
+            y[i] = Math.cos(lat) * Math.sin(lon);
+            z[i] = Math.sin(lat);
+            orden[i] = i;
+        }
+        // Las hojas tienen al menos TAMANO_HOJA / 2 puntos, así que hay a lo sumo n / 4 + 1 hojas
+        int capacidad = 2 * (n / (TAMANO_HOJA / 2) + 1);
+        inicio = new int[capacidad];
+        fin = new int[capacidad];
+        izquierdo = new int[capacidad];
+        cajas = new double[capacidad * 6];
+        if (n > 0) {
+            nodos = 1;
+            construir(0, 0, n);
+        }
+    }
+
+    /**
+     * Recorre los puntos del más cercano al más lejano hasta que el visitante se detenga.
+     *
+     * @param latitud Latitud del punto de referencia
+     * @param longitud Longitud del punto de referencia
+     * @param visitante Receptor de los puntos
+     */
+    void recorrerPorCercania(double latitud, double longitud, Visitante visitante) {
+        if (nodos == 0) return;
+        double lat = Math.toRadians(latitud);
+        double lon = Math.toRadians(longitud);
+        double qx = Math.cos(lat) * Math.cos(lon);
+        double qy = Math.cos(lat) * Math.sin(lon);
+        double qz = Math.sin(lat);
+
+        Cola cola = new Cola();
+        cola.agregar(distanciaCaja2(0, qx, qy, qz), 0);
+        while (cola.size() > 0) {
+            double clave = cola.claveMinima();
+            int ref = cola.extraer();
+            if (ref < 0) {
+                int i = -ref - 1;
+                double cuerda = Math.sqrt(clave);
+                double km = 2 * GeoUtil.RADIO_TIERRA_KM * Math.asin(Math.min(1.0, cuerda / 2));
+                if (!visitante.visitar(i, km)) return;
+            } else if (izquierdo[ref] < 0) {
+                for (int k = inicio[ref]; k < fin[ref]; k++) {
+                    int i = orden[k];
+                    double dx = x[i] - qx;
+                    double dy = y[i] - qy;
+                    double dz = z[i] - qz;
+                    cola.agregar(dx * dx + dy * dy + dz * dz, -i - 1);
+                }
+            } else {
+                int a = izquierdo[ref];
+                int b = a + 1;
+                cola.agregar(distanciaCaja2(a, qx, qy, qz), a);
+                cola.agregar(distanciaCaja2(b, qx, qy, qz), b);
+            }
+        }
+    }
+
+    /**
+     * Construye en el nodo indicado el subárbol del rango [desde, hasta) de {@code orden}.
+     */
+    private void construir(int nodo, int desde, int hasta) {
+        inicio[nodo] = desde;
+        fin[nodo] = hasta;
+        double[] min = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+        double[] max = {-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        for (int k = desde; k < hasta; k++) {
+            int i = orden[k];
+            min[0] = Math.min(min[0], x[i]);
+            max[0] = Math.max(max[0], x[i]);
+            min[1] = Math.min(min[1], y[i]);
+            max[1] = Math.max(max[1], y[i]);
+            min[2] = Math.min(min[2], z[i]);
+            max[2] = Math.max(max[2], z[i]);
+        }
+        for (int d = 0; d < 3; d++) {
+            cajas[nodo * 6 + d] = min[d];
+            cajas[nodo * 6 + 3 + d] = max[d];
+        }
+        if (hasta - desde <= TAMANO_HOJA) {
+            izquierdo[nodo] = -1;
+            return;
+        }
+
+        int eje = 0;
+        for (int d = 1; d < 3; d++) {
+            if (max[d] - min[d] > max[eje] - min[eje]) eje = d;
+        }
+        double[] coordenada = eje == 0 ? x : eje == 1 ? y : z;
+        int medio = (desde + hasta) >>> 1;
+        seleccionar(coordenada, desde, hasta - 1, medio);
+
+        // Los dos hijos ocupan posiciones consecutivas para guardar un solo índice por nodo
+        int a = nodos;
+        nodos += 2;
+        izquierdo[nodo] = a;
+        construir(a, desde, medio);
+        construir(a + 1, medio, hasta);
+    }
+
+    /**
+     * Reordena {@code orden[desde..hasta]} para que la posición {@code k} quede con el
+     * elemento que tendría en orden, con los menores antes y los mayores después.
+     */
+    private void seleccionar(double[] valores, int desde, int hasta, int k) {
+        while (hasta > desde) {
+            double pivote = valores[orden[(desde + hasta) >>> 1]];
+            int i = desde;
+            int j = hasta;
+            while (i <= j) {
+                while (valores[orden[i]] < pivote) i++;
+                while (valores[orden[j]] > pivote) j--;
+                if (i <= j) {
+                    int t = orden[i];
+                    orden[i] = orden[j];
+                    orden[j] = t;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hasta = j;
+            } else if (k >= i) {
+                desde = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private double distanciaCaja2(int nodo, double qx, double qy, double qz) {
+        int b = nodo * 6;
+        double dx = Math.max(0, Math.max(cajas[b] - qx, qx - cajas[b + 3]));
+        double dy = Math.max(0, Math.max(cajas[b + 1] - qy, qy - cajas[b + 4]));
+        double dz = Math.max(0, Math.max(cajas[b + 2] - qz, qz - cajas[b + 5]));
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Montículo binario mínimo de pares (clave, referencia) sobre arreglos primitivos.
+     */
+    private static final class Cola {
+        private double[] claves = new double[64];
+        private int[] refs = new int[64];
+        private int tamano;
+
+        private int size() {
+            return tamano;
+        }
+
+        private double claveMinima() {
+            return claves[0];
+        }
+
+        private void agregar(double clave, int ref) {
+            if (tamano == claves.length) {
+                claves = Arrays.copyOf(claves, tamano * 2);
+                refs = Arrays.copyOf(refs, tamano * 2);
+            }
+            int i = tamano++;
+            while (i > 0) {
+                int padre = (i - 1) >>> 1;
+                if (claves[padre] <= clave) break;
+                claves[i] = claves[padre];
+                refs[i] = refs[padre];
+                i = padre;
+            }
+            claves[i] = clave;
+            refs[i] = ref;
+        }
+
+        private int extraer() {
+            int resultado = refs[0];
+            tamano--;
+            double clave = claves[tamano];
+            int ref = refs[tamano];
+            int i = 0;
+            while (true) {
+                int hijo = 2 * i + 1;
+                if (hijo >= tamano) break;
+                if (hijo + 1 < tamano && claves[hijo + 1] < claves[hijo]) hijo++;
+                if (claves[hijo] >= clave) break;
+                claves[i] = claves[hijo];
+                refs[i] = refs[hijo];
+                i = hijo;
+            }
+            claves[i] = clave;
+            refs[i] = ref;
+            return resultado;
+        }
+    }
+}
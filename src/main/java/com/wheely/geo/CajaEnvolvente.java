@@ -0,0 +1,204 @@
+package com.wheely.geo;
+
+/**
+ * Caja envolvente geográfica inmutable, definida por latitudes y longitudes mínimas y máximas.
+ *
+ * <p>Se usa para describir la zona afectada por un cambio de geometría, la extensión de una
+ * tesela del mapa y la extensión de un recorrido. No contempla el cruce del antimeridiano,
+ * irrelevante para la zona de servicio.</p>
+ *
+ * <pre>
+ * CajaEnvolvente zona = CajaEnvolvente.de(geometria);
+ * if (zona.intersecta(tesela)) { ... }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see OyenteGeometria
+ */
+public final class CajaEnvolvente {
+
+    /**
+     * Caja que cubre todo el planeta; indica que cualquier zona pudo cambiar.
+     */
+    public static final CajaEnvolvente MUNDO = new CajaEnvolvente(-90, -180, 90, 180);
+
+    private final double latitudMinima;
+    private final double longitudMinima;
+    private final double latitudMaxima;
+    private final double longitudMaxima;
+
+    /**
+     * Constructor de la caja envolvente.
+     *
+     * @param latitudMinima Latitud del borde sur
+     * @param longitudMinima Longitud del borde oeste
+     * @param latitudMaxima Latitud del borde norte
+     * @param longitudMaxima Longitud del borde este
+     */
+    public CajaEnvolvente(double latitudMinima, double longitudMinima, double latitudMaxima, double longitudMaxima) {
+        this.latitudMinima = latitudMinima;
+        this.longitudMinima = longitudMinima;
+        this.latitudMaxima = latitudMaxima;
+        this.longitudMaxima = longitudMaxima;
+    }
+
+    /**
+     * Crea y valida la caja de una vista del mapa recibida de un cliente.
+     *
+     * @param latitudMin Latitud del borde sur (-90 a 90)
+     * @param latitudMax Latitud del borde norte, mayor o igual a la del sur
+     * @param longitudMin Longitud del borde oeste (-180 a 180)
+     * @param longitudMax Longitud del borde este, mayor o igual a la del oeste
+     * @return Caja de la vista
+     * @throws IllegalArgumentException Si algún límite está fuera de rango o invertido
+     */
+    public static CajaEnvolvente vista(double latitudMin, double latitudMax, double longitudMin, double longitudMax) {
+        if (latitudMin < -90 || latitudMax > 90 || longitudMin < -180 || longitudMax > 180) {
+            throw new IllegalArgumentException("Coordenadas fuera de rango");
+        }
+        if (!(latitudMin <= latitudMax) || !(longitudMin <= longitudMax)) {
+            throw new IllegalArgumentException("Los límites mínimos no pueden superar a los máximos");
+        }
+        return new CajaEnvolvente(latitudMin, longitudMin, latitudMax, longitudMax);
+    }
+
+    /**
+     * Crea la caja de un único punto.
+     *
+     * @param latitud Latitud en grados
+     * @param longitud Longitud en grados
+     * @return Caja degenerada que contiene solo el punto
+     */
+    public static CajaEnvolvente punto(double latitud, double longitud) {
+        return new CajaEnvolvente(latitud, longitud, latitud, longitud);
+    }
+
+    /**
+     * Calcula la caja que envuelve todos los puntos de un trazado.
+     *
+     * @param geometria Trazado del recorrido
+     * @return Caja del trazado, o null si no tiene puntos
+     */
+    public static CajaEnvolvente de(GeometriaRecorrido geometria) {
+        int n = geometria.size();
+        if (n == 0) return null;
+        long latMin = Long.MAX_VALUE;
+        long latMax = Long.MIN_VALUE;
+        long lonMin = Long.MAX_VALUE;
+        long lonMax = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            long lat = geometria.latitudFija(i);
+            long lon = geometria.longitudFija(i);
+            if (lat < latMin) latMin = lat;
+            if (lat > latMax) latMax = lat;
+            if (lon < lonMin) lonMin = lon;
+            if (lon > lonMax) lonMax = lon;
+        }
+        return new CajaEnvolvente(latMin / GeometriaRecorrido.FACTOR, lonMin / GeometriaRecorrido.FACTOR,
+                latMax / GeometriaRecorrido.FACTOR, lonMax / GeometriaRecorrido.FACTOR);
+    }
+
+    /**
+     * Une dos cajas, aceptando valores nulos.
+     *
+     * @param a Primera caja, o null
+     * @param b Segunda caja, o null
+     * @return Caja que envuelve ambas, o null si las dos son nulas
+     */
+    public static CajaEnvolvente union(CajaEnvolvente a, CajaEnvolvente b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return new CajaEnvolvente(Math.min(a.latitudMinima, b.latitudMinima), Math.min(a.longitudMinima, b.longitudMinima),
+                Math.max(a.latitudMaxima, b.latitudMaxima), Math.max(a.longitudMaxima, b.longitudMaxima));
+    }
+
+    /**
+     * Indica si dos cajas comparten al menos un punto, incluidos los bordes.
+     *
+     * @param otra Caja a comparar
+     * @return true si las cajas se tocan o se solapan
+     */
+    public boolean intersecta(CajaEnvolvente otra) {
+        return latitudMinima <= otra.latitudMaxima && otra.latitudMinima <= latitudMaxima
+                && longitudMinima <= otra.longitudMaxima && otra.longitudMinima <= longitudMaxima;
+    }
+
+    /**
+     * Indica si un punto está dentro de la caja, incluidos los bordes.
+     *
+     * @param latitud Latitud en grados
+     * @param longitud Longitud en grados
+     * @return true si el punto está contenido
+     */
+    public boolean contiene(double latitud, double longitud) {
+        return latitud >= latitudMinima && latitud <= latitudMaxima
+                && longitud >= longitudMinima && longitud <= longitudMaxima;
+    }
+
+    /**
+     * Indica si otra caja queda completamente dentro de esta.
+     *
+     * @param otra Caja a comparar
+     * @return true si la otra caja está contenida, incluidos los bordes
+     */
+    public boolean contiene(CajaEnvolvente otra) {
+        return otra.latitudMinima >= latitudMinima && otra.latitudMaxima <= latitudMaxima
+                && otra.longitudMinima >= longitudMinima && otra.longitudMaxima <= longitudMaxima;
+    }
+
+    /**
+     * Indica si un segmento entre dos puntos toca la caja, aunque ninguno de sus extremos esté dentro.
+     *
+     * @param latitud1 Latitud del primer extremo
+     * @param longitud1 Longitud del primer extremo
+     * @param latitud2 Latitud del segundo extremo
+     * @param longitud2 Longitud del segundo extremo
+     * @return true si alguna parte del segmento está dentro de la caja
+     */
+    public boolean intersectaSegmento(double latitud1, double longitud1, double latitud2, double longitud2) {
+        double t0 = 0;
+        double t1 = 1;
+        double dLat = latitud2 - latitud1;
+        double dLon = longitud2 - longitud1;
+        double[] p = {-dLon, dLon, -dLat, dLat};
+        double[] q = {longitud1 - longitudMinima, longitudMaxima - longitud1, latitud1 - latitudMinima, latitudMaxima - latitud1};
+        for (int k = 0; k < 4; k++) {
+            if (p[k] == 0) {
+                if (q[k] < 0) return false;
+            } else {
+                double r = q[k] / p[k];
+                if (p[k] < 0) {
+                    if (r > t1) return false;
+                    if (r > t0) t0 = r;
+                } else {
+                    if (r < t0) return false;
+                    if (r < t1) t1 = r;
+                }
+            }
+        }
+        return true;
+    }
+
+    public double getLatitudMinima() {
+        return latitudMinima;
+    }
+
+    public double getLongitudMinima() {
+        return longitudMinima;
+    }
+
+    public double getLatitudMaxima() {
+        return latitudMaxima;
+    }
+
+    public double getLongitudMaxima() {
+        return longitudMaxima;
+    }
+
+    @Override
+    public String toString() {
+        return "CajaEnvolvente{" + latitudMinima + "," + longitudMinima + " - " + latitudMaxima + "," + longitudMaxima + "}";
+    }
+}
@@ -0,0 +1,242 @@
+package com.wheely.geo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codificador binario de teselas en formato Mapbox Vector Tile (versión 2).
+ *
+ * <p>Escribe directamente el formato de protocol buffers definido en {@code vector_tile.proto},
+ * sin depender de una biblioteca de protobuf: cada capa tiene un nombre, una única propiedad
+ * entera por entidad y entidades de tipo punto o línea con coordenadas enteras en el sistema
+ * local de la tesela.</p>
+ *
+ * <pre>
+ * CodificadorMvt.Capa capa = new CodificadorMvt.Capa("paradas", "idParada");
+ * capa.agregarPunto(12, 4, 2048, 2048);
+ * byte[] mvt = CodificadorMvt.codificar(List.of(capa));
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see GeneradorTeselas
+ * @see <a href="https://github.com/mapbox/vector-tile-spec/tree/master/2.1">Vector Tile Specification 2.1</a>
+ */
+public final class CodificadorMvt {
+
+    private static final int TIPO_VARINT = 0;
+    private static final int TIPO_LONGITUD = 2;
+
+    private static final int GEOMETRIA_PUNTO = 1;
+    private static final int GEOMETRIA_LINEA = 2;
+
+    private static final int COMANDO_MOVER = 1;
+    private static final int COMANDO_LINEA = 2;
+
+    private CodificadorMvt() {
+    }
+
+    /**
+     * Codifica una tesela con las capas que tengan al menos una entidad.
+     *
+     * @param capas Capas de la tesela
+     * @return Bytes de la tesela; arreglo vacío si ninguna capa tiene entidades
+     */
+    public static byte[] codificar(List<Capa> capas) {
+        Buffer tesela = new Buffer(256);
+        for (Capa capa : capas) {
+            if (capa.entidades == 0) continue;
+            tesela.mensaje(3, capa.codificar());
+        }
+        return tesela.toByteArray();
+    }
+
+    /**
+     * Capa de una tesela con una propiedad entera por entidad.
+     */
+    public static final class Capa {
+        private final String nombre;
+        private final String clave;
+        private final Buffer entidadesCodificadas = new Buffer(256);
+        private final Map<Long, Integer> valores = new LinkedHashMap<>();
+        private final Buffer geometria = new Buffer(64);
+        private int entidades;
+
+        /**
+         * Constructor de la capa.
+         *
+         * @param nombre Nombre de la capa
+         * @param clave Nombre de la propiedad entera de cada entidad
+         */
+        public Capa(String nombre, String clave) {
+            this.nombre = nombre;
+            this.clave = clave;
+        }
+
+        /**
+         * Agrega una entidad de tipo punto.
+         *
+         * @param id ID de la entidad
+         * @param valor Valor de la propiedad de la capa
+         * @param x Coordenada X en unidades de tesela
+         * @param y Coordenada Y en unidades de tesela
+         */
+        public void agregarPunto(long id, long valor, int x, int y) {
+            geometria.reiniciar();
+            geometria.varintSinTag(comando(COMANDO_MOVER, 1));
+            geometria.varintSinTag(zigzag(x));
+            geometria.varintSinTag(zigzag(y));
+            agregarEntidad(id, valor, GEOMETRIA_PUNTO);
+        }
+
+        /**
+         * Agrega una entidad de tipo línea, posiblemente formada por varias partes.
+         *
+         * @param id ID de la entidad
+         * @param valor Valor de la propiedad de la capa
+         * @param partes Partes de la línea; cada una alterna x, y y tiene al menos dos puntos
+         */
+        public void agregarLineas(long id, long valor, List<int[]> partes) {
+            geometria.reiniciar();
+            int cursorX = 0;
+            int cursorY = 0;
+            for (int[] parte : partes) {
+                int puntos = parte.length / 2;
+                geometria.varintSinTag(comando(COMANDO_MOVER, 1));
+                geometria.varintSinTag(zigzag(parte[0] - cursorX));
+                geometria.varintSinTag(zigzag(parte[1] - cursorY));
+                cursorX = parte[0];
+                cursorY = parte[1];
+                geometria.varintSinTag(comando(COMANDO_LINEA, puntos - 1));
+                for (int i = 1; i < puntos; i++) {
+                    int px = parte[2 * i];
+                    int py = parte[2 * i + 1];
+                    geometria.varintSinTag(zigzag(px - cursorX));
+                    geometria.varintSinTag(zigzag(py - cursorY));
+                    cursorX = px;
+                    cursorY = py;
+                }
+            }
+            agregarEntidad(id, valor, GEOMETRIA_LINEA);
+        }
+
+        /**
+         * Obtiene el número de entidades agregadas.
+         *
+         * @return Cantidad de entidades de la capa
+         */
+        public int size() {
+            return entidades;
+        }
+
+        private void agregarEntidad(long id, long valor, int tipo) {
+            Integer indiceValor = valores.get(valor);
+            if (indiceValor == null) {
+                indiceValor = valores.size();
+                valores.put(valor, indiceValor);
+            }
+            Buffer entidad = new Buffer(geometria.longitud + 16);
+            entidad.varint(1, id);
+            Buffer etiquetas = new Buffer(4);
+            etiquetas.varintSinTag(0);
+            etiquetas.varintSinTag(indiceValor);
+            entidad.mensaje(2, etiquetas);
+            entidad.varint(3, tipo);
+            entidad.mensaje(4, geometria);
+            entidadesCodificadas.mensaje(2, entidad);
+            entidades++;
+        }
+
+        private Buffer codificar() {
+            Buffer capa = new Buffer(entidadesCodificadas.longitud + 64);
+            capa.varint(15, 2);
+            capa.texto(1, nombre);
+            capa.crudo(entidadesCodificadas);
+            capa.texto(3, clave);
+            for (Long valor : valores.keySet()) {
+                Buffer v = new Buffer(10);
+                v.varint(5, valor);
+                capa.mensaje(4, v);
+            }
+            capa.varint(5, Tesela.EXTENSION);
+            return capa;
+        }
+    }
+
+    private static int comando(int id, int cantidad) {
+        return (id & 0x7) | (cantidad << 3);
+    }
+
+    private static int zigzag(int n) {
+        return (n << 1) ^ (n >> 31);
+    }
+
+    /**
+     * Arreglo de bytes ampliable con las primitivas de escritura de protocol buffers.
+     */
+    private static final class Buffer {
+        private byte[] datos;
+        private int longitud;
+
+        private Buffer(int capacidad) {
+            datos = new byte[Math.max(capacidad, 16)];
+        }
+
+        private void reiniciar() {
+            longitud = 0;
+        }
+
+        private void asegurar(int adicional) {
+            if (longitud + adicional > datos.length) {
+                datos = Arrays.copyOf(datos, Math.max(datos.length * 2, longitud + adicional));
+            }
+        }
+
+        private void varintSinTag(long valor) {
+            asegurar(10);
+            while ((valor & ~0x7FL) != 0) {
+                datos[longitud++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            datos[longitud++] = (byte) valor;
+        }
+
+        private void tag(int campo, int tipo) {
+            varintSinTag(((long) campo << 3) | tipo);
+        }
+
+        private void varint(int campo, long valor) {
+            tag(campo, TIPO_VARINT);
+            varintSinTag(valor);
+        }
+
+        private void texto(int campo, String valor) {
+            byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+            tag(campo, TIPO_LONGITUD);
+            varintSinTag(bytes.length);
+            asegurar(bytes.length);
+            System.arraycopy(bytes, 0, datos, longitud, bytes.length);
+            longitud += bytes.length;
+        }
+
+        private void mensaje(int campo, Buffer contenido) {
+            tag(campo, TIPO_LONGITUD);
+            varintSinTag(contenido.longitud);
+            crudo(contenido);
+        }
+
+        private void crudo(Buffer contenido) {
+            asegurar(contenido.longitud);
+            System.arraycopy(contenido.datos, 0, datos, longitud, contenido.longitud);
+            longitud += contenido.longitud;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(datos, longitud);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.wheely.geo;
+
+import com.wheely.util.GeoUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Ajusta trazas GPS al recorrido más probable (map-matching).
+ *
+ * <p>Para cada recorrido que pasa cerca de la traza se resuelve un modelo oculto de Markov
+ * con el algoritmo de Viterbi:</p>
+ * <ul>
+ * <li><strong>Estados:</strong> los segmentos del recorrido a menos de
+ * {@value #RADIO_BUSQUEDA_METROS} m de cada punto, más un estado "sin emparejar" para
+ * puntos con ruido o desvíos.</li>
+ * <li><strong>Costo de emisión:</strong> d²/2σ², con d la distancia del punto al segmento y
+ * σ = {@value #SIGMA_METROS} m.</li>
+ * <li><strong>Costo de transición:</strong> diferencia entre el avance sobre el recorrido y la
+ * distancia en línea recta entre los puntos GPS, dividida entre β = {@value #BETA_METROS} m;
+ * retroceder más de {@value #TOLERANCIA_RETROCESO_METROS} m se penaliza fuertemente porque
+ * los vehículos solo avanzan en el sentido del recorrido.</li>
+ * </ul>
+ * <p>Se elige el recorrido con menor costo total. Los candidatos se obtienen de
+ * {@link IndiceSegmentos}, así que el costo por traza depende del número de puntos y de los
+ * segmentos cercanos, no del tamaño de la red.</p>
+ *
+ * <pre>
+ * EmparejadorTrazas emparejador = new EmparejadorTrazas(almacen.getIndiceSegmentos());
+ * ResultadoEmparejamiento r = emparejador.emparejar(latitudes, longitudes);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see IndiceSegmentos
+ * @see ResultadoEmparejamiento
+ */
+public class EmparejadorTrazas {
+
+    /**
+     * Distancia máxima entre un punto GPS y un segmento candidato.
+     */
+    public static final double RADIO_BUSQUEDA_METROS = 50.0;
+
+    /**
+     * Desviación típica del error del GPS.
+     */
+    public static final double SIGMA_METROS = 15.0;
+
+    /**
+     * Escala del costo de transición.
+     */
+    public static final double BETA_METROS = 30.0;
+
+    /**
+     * Retroceso permitido sin penalización, para absorber el ruido del GPS.
+     */
+    public static final double TOLERANCIA_RETROCESO_METROS = 20.0;
+
+    private static final double PENALIZACION_RETROCESO = 50.0;
+    private static final double COSTO_SIN_EMPAREJAR =
+            (RADIO_BUSQUEDA_METROS * RADIO_BUSQUEDA_METROS) / (2 * SIGMA_METROS * SIGMA_METROS) + 2.0;
+
+    private final IndiceSegmentos indice;
+
+    /**
+     * Constructor del emparejador.
+     *
+     * @param indice Índice de segmentos de todos los recorridos
+     */
+    public EmparejadorTrazas(IndiceSegmentos indice) {
+        this.indice = indice;
+    }
+
+    /**
+     * Ajusta una traza al recorrido más probable.
+     *
+     * @param latitudes Latitudes de la traza, en orden temporal
+     * @param longitudes Longitudes de la traza, en orden temporal
+     * @return Ajuste sobre el mejor recorrido, o null si ningún punto queda cerca de un recorrido
+     */
+    public ResultadoEmparejamiento emparejar(double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        IndiceSegmentos.Cercanos[] cercanos = new IndiceSegmentos.Cercanos[n];
+        TreeSet<Integer> recorridos = new TreeSet<>();
+        for (int i = 0; i < n; i++) {
+            cercanos[i] = indice.buscar(latitudes[i], longitudes[i], RADIO_BUSQUEDA_METROS);
+            for (int k = 0; k < cercanos[i].size(); k++) {
+                recorridos.add(indice.recorridoDe(cercanos[i].segmento(k)));
+            }
+        }
+        if (recorridos.isEmpty()) return null;
+
+        double[] separacion = new double[n];
+        for (int i = 1; i < n; i++) {
+            separacion[i] = GeoUtil.distanciaKm(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]) * 1000.0;
+        }
+
+        double mejorCosto = Double.POSITIVE_INFINITY;
+        int mejorRecorrido = -1;
+        int[] mejorCamino = null;
+        for (int idRecorrido : recorridos) {
+            int[] camino = new int[n];
+            double costo = viterbi(idRecorrido, cercanos, separacion, camino);
+            if (costo < mejorCosto) {
+                mejorCosto = costo;
+                mejorRecorrido = idRecorrido;
+                mejorCamino = camino;
+            }
+        }
+        return construirResultado(mejorRecorrido, mejorCamino, cercanos, latitudes, longitudes);
+    }
+
+    /**
+     * Resuelve Viterbi sobre un recorrido. El estado de cada punto es la posición del
+     * candidato en {@code cercanos[i]}, o -1 para "sin emparejar".
+     *
+     * @return Costo del camino óptimo; {@code camino} recibe el estado elegido por punto
+     */
+    private double viterbi(int idRecorrido, IndiceSegmentos.Cercanos[] cercanos, double[] separacion, int[] camino) {
+        int n = cercanos.length;
+        int[][] estados = new int[n][];
+        double[][] costos = new double[n][];
+        int[][] previos = new int[n][];
+
+        for (int i = 0; i < n; i++) {
+            estados[i] = estadosDe(idRecorrido, cercanos[i]);
+            costos[i] = new double[estados[i].length];
+            previos[i] = new int[estados[i].length];
+            for (int s = 0; s < estados[i].length; s++) {
+                double emision = emision(cercanos[i], estados[i][s]);
+                if (i == 0) {
+                    costos[i][s] = emision;
+                    continue;
+                }
+                double mejor = Double.POSITIVE_INFINITY;
+                int previo = 0;
+                for (int p = 0; p < estados[i - 1].length; p++) {
+                    double c = costos[i - 1][p]
+                            + transicion(cercanos[i - 1], estados[i - 1][p], cercanos[i], estados[i][s], separacion[i]);
+                    if (c < mejor) {
+                        mejor = c;
+                        previo = p;
+                    }
+                }
+                costos[i][s] = mejor + emision;
+                previos[i][s] = previo;
+            }
+        }
+
+        int ultimo = 0;
+        for (int s = 1; s < costos[n - 1].length; s++) {
+            if (costos[n - 1][s] < costos[n - 1][ultimo]) ultimo = s;
+        }
+        double total = costos[n - 1][ultimo];
+        for (int i = n - 1; i >= 0; i--) {
+            camino[i] = estados[i][ultimo];
+            ultimo = previos[i][ultimo];
+        }
+        return total;
+    }
+
+    private int[] estadosDe(int idRecorrido, IndiceSegmentos.Cercanos cercanos) {
+        int cuenta = 1;
+        for (int k = 0; k < cercanos.size(); k++) {
+            if (indice.recorridoDe(cercanos.segmento(k)) == idRecorrido) cuenta++;
+        }
+        int[] estados = new int[cuenta];
+        estados[0] = -1;
+        int j = 1;
+        for (int k = 0; k < cercanos.size(); k++) {
+            if (indice.recorridoDe(cercanos.segmento(k)) == idRecorrido) estados[j++] = k;
+        }
+        return estados;
+    }
+
+    private static double emision(IndiceSegmentos.Cercanos cercanos, int estado) {
+        if (estado < 0) return COSTO_SIN_EMPAREJAR;
+        double d = cercanos.distanciaMetros(estado);
+        return d * d / (2 * SIGMA_METROS * SIGMA_METROS);
+    }
+
+    private double transicion(IndiceSegmentos.Cercanos anteriores, int desde,
+                              IndiceSegmentos.Cercanos actuales, int hacia, double separacion) {
+        if (desde < 0 || hacia < 0) return 0;
+        double avance = avance(actuales, hacia) - avance(anteriores, desde);
+        double costo = Math.abs(avance - separacion) / BETA_METROS;
+        if (avance < -TOLERANCIA_RETROCESO_METROS) {
+            costo += PENALIZACION_RETROCESO;
+        }
+        return costo;
+    }
+
+    private double avance(IndiceSegmentos.Cercanos cercanos, int estado) {
+        return indice.avanceMetros(cercanos.segmento(estado), cercanos.fraccion(estado));
+    }
+
+    private ResultadoEmparejamiento construirResultado(int idRecorrido, int[] camino, IndiceSegmentos.Cercanos[] cercanos,
+                                                       double[] latitudes, double[] longitudes) {
+        List<ResultadoEmparejamiento.PuntoEmparejado> puntos = new ArrayList<>(camino.length);
+        int emparejados = 0;
+        double progreso = 0;
+        for (int i = 0; i < camino.length; i++) {
+            int estado = camino[i];
+            if (estado < 0) {
+                puntos.add(new ResultadoEmparejamiento.PuntoEmparejado(latitudes[i], longitudes[i], progreso, 0, false));
+                continue;
+            }
+            int segmento = cercanos[i].segmento(estado);
+            double t = cercanos[i].fraccion(estado);
+            progreso = indice.avanceMetros(segmento, t);
+            emparejados++;
+            puntos.add(new ResultadoEmparejamiento.PuntoEmparejado(indice.latitudEn(segmento, t), indice.longitudEn(segmento, t),
+                    progreso, cercanos[i].distanciaMetros(estado), true));
+        }
+        if (emparejados == 0) return null;
+        return new ResultadoEmparejamiento(idRecorrido, emparejados, progreso, indice.longitudMetros(idRecorrido), puntos);
+    }
+}
@@ -0,0 +1,114 @@
+package com.wheely.geo;
+
+/**
+ * Tiempo estimado de viaje entre dos paradas de un mismo recorrido.
+ *
+ * <p>La distancia es la diferencia de avance de ambas paradas proyectadas sobre el trazado.
+ * El tiempo es la fracción del recorrido que representa esa distancia aplicada al tiempo
+ * promedio de la ruta en el periodo; si la ruta no tiene tiempo registrado para el periodo,
+ * {@code tiempoPeriodoMinutos} es null y se usa una velocidad promedio de autobús.</p>
+ *
+ * <pre>
+ * {
+ *   "idParadaOrigen": 12,
+ *   "idParadaDestino": 30,
+ *   "idRecorrido": 4,
+ *   "idRuta": 2,
+ *   "idPeriodo": 1,
+ *   "tiempoPeriodoMinutos": 50,
+ *   "distanciaMetros": 3420,
+ *   "fraccionRecorrido": 0.274,
+ *   "segundos": 822,
+ *   "minutos": 14
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see RedTransporte
+ * @see com.wheely.service.PlanificacionService#estimarLlegada(int, int, java.time.LocalTime)
+ */
+public class EstimacionLlegada {
+    private final int idParadaOrigen;
+    private final int idParadaDestino;
+    private final int idRecorrido;
+    private final int idRuta;
+    private final Integer idPeriodo;
+    private final Integer tiempoPeriodoMinutos;
+    private final int distanciaMetros;
+    private final double fraccionRecorrido;
+    private final int segundos;
+
+    /**
+     * Constructor de la estimación.
+     *
+     * @param idParadaOrigen Parada donde se aborda
+     * @param idParadaDestino Parada donde se baja
+     * @param idRecorrido Recorrido que une ambas paradas
+     * @param idRuta Ruta del recorrido
+     * @param idPeriodo Periodo de la hora consultada, null si ninguno la contiene
+     * @param tiempoPeriodoMinutos Tiempo promedio del recorrido completo en el periodo, null si no hay
+     * @param distanciaMetros Distancia sobre el trazado, redondeada al metro
+     * @param fraccionRecorrido Fracción de la longitud del recorrido entre ambas paradas
+     * @param segundos Tiempo estimado de viaje, redondeado al segundo
+     */
+    public EstimacionLlegada(int idParadaOrigen, int idParadaDestino, int idRecorrido, int idRuta,
+                             Integer idPeriodo, Integer tiempoPeriodoMinutos, int distanciaMetros,
+                             double fraccionRecorrido, int segundos) {
+        this.idParadaOrigen = idParadaOrigen;
+        this.idParadaDestino = idParadaDestino;
+        this.idRecorrido = idRecorrido;
+        this.idRuta = idRuta;
+        this.idPeriodo = idPeriodo;
+        this.tiempoPeriodoMinutos = tiempoPeriodoMinutos;
+        this.distanciaMetros = distanciaMetros;
+        this.fraccionRecorrido = fraccionRecorrido;
+        this.segundos = segundos;
+    }
+
+    public int getIdParadaOrigen() {
+        return idParadaOrigen;
+    }
+
+    public int getIdParadaDestino() {
+        return idParadaDestino;
+    }
+
+    public int getIdRecorrido() {
+        return idRecorrido;
+    }
+
+    public int getIdRuta() {
+        return idRuta;
+    }
+
+    public Integer getIdPeriodo() {
+        return idPeriodo;
+    }
+
+    public Integer getTiempoPeriodoMinutos() {
+        return tiempoPeriodoMinutos;
+    }
+
+    public int getDistanciaMetros() {
+        return distanciaMetros;
+    }
+
+    public double getFraccionRecorrido() {
+        return fraccionRecorrido;
+    }
+
+    public int getSegundos() {
+        return segundos;
+    }
+
+    /**
+     * Obtiene el tiempo estimado en minutos, redondeado hacia arriba.
+     *
+     * @return Minutos de viaje
+     */
+    public int getMinutos() {
+        return (segundos + 59) / 60;
+    }
+}
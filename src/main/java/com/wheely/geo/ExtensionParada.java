@@ -0,0 +1,51 @@
+package com.wheely.geo;
+
+/**
+ * Resumen espacial de una parada: la caja envolvente de sus coordenadas y cuántas tiene.
+ *
+ * <p>El {@link IndiceEspacialParadas} mantiene uno por parada y lo recalcula cada vez que se
+ * crea, modifica o elimina una de sus coordenadas.</p>
+ *
+ * <pre>
+ * {
+ *   "idParada": 12,
+ *   "puntos": 4,
+ *   "caja": { "latitudMinima": 16.7569, "longitudMinima": -93.1293, "latitudMaxima": 16.7571, "longitudMaxima": -93.1290 }
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see IndiceEspacialParadas#paradasEnCaja(CajaEnvolvente)
+ */
+public class ExtensionParada {
+    private final int idParada;
+    private final int puntos;
+    private final CajaEnvolvente caja;
+
+    /**
+     * Constructor del resumen espacial de la parada.
+     *
+     * @param idParada ID de la parada
+     * @param puntos Número de coordenadas con ubicación
+     * @param caja Caja que envuelve esas coordenadas
+     */
+    public ExtensionParada(int idParada, int puntos, CajaEnvolvente caja) {
+        this.idParada = idParada;
+        this.puntos = puntos;
+        this.caja = caja;
+    }
+
+    public int getIdParada() {
+        return idParada;
+    }
+
+    public int getPuntos() {
+        return puntos;
+    }
+
+    public CajaEnvolvente getCaja() {
+        return caja;
+    }
+}
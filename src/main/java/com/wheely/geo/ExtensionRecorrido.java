@@ -0,0 +1,57 @@
+package com.wheely.geo;
+
+/**
+ * Resumen espacial de un recorrido: su caja envolvente, número de puntos y longitud.
+ *
+ * <p>Es la respuesta de la consulta de recorridos visibles en una vista del mapa; el cliente
+ * solicita después el trazado solo de los recorridos que le interesan.</p>
+ *
+ * <pre>
+ * {
+ *   "idRecorrido": 5,
+ *   "puntos": 320,
+ *   "longitudMetros": 9120.7,
+ *   "caja": { "latitudMinima": 16.74, "longitudMinima": -93.16, "latitudMaxima": 16.77, "longitudMaxima": -93.10 }
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see GeometriaRecorrido#getCajaEnvolvente()
+ * @see AlmacenGeometria#recorridosEnCaja(CajaEnvolvente)
+ */
+public class ExtensionRecorrido {
+    private final int idRecorrido;
+    private final int puntos;
+    private final double longitudMetros;
+    private final CajaEnvolvente caja;
+
+    /**
+     * Crea el resumen espacial de un trazado.
+     *
+     * @param geometria Trazado del recorrido (con al menos un punto)
+     */
+    public ExtensionRecorrido(GeometriaRecorrido geometria) {
+        this.idRecorrido = geometria.getIdRecorrido();
+        this.puntos = geometria.size();
+        this.longitudMetros = geometria.getLongitudMetros();
+        this.caja = geometria.getCajaEnvolvente();
+    }
+
+    public int getIdRecorrido() {
+        return idRecorrido;
+    }
+
+    public int getPuntos() {
+        return puntos;
+    }
+
+    public double getLongitudMetros() {
+        return longitudMetros;
+    }
+
+    public CajaEnvolvente getCaja() {
+        return caja;
+    }
+}
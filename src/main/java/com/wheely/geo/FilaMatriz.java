@@ -0,0 +1,67 @@
+package com.wheely.geo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Fila de una matriz de tiempos: los segundos de viaje desde un origen hasta cada destino.
+ *
+ * <p>Las filas se entregan conforme se calculan, no en el orden de la solicitud; {@code origen}
+ * es la posición del origen en la lista enviada. Un destino que no se alcanza dentro del
+ * tiempo máximo tiene {@code null}.</p>
+ *
+ * <p>Si el cálculo de un origen falla, su fila no trae {@code segundos} sino {@code error},
+ * y las demás filas se siguen entregando.</p>
+ *
+ * <pre>
+ * { "origen": 1, "segundos": [1320, null, 845] }
+ * { "origen": 0, "error": "No se pudo calcular la fila de este origen" }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see PuntoMatriz
+ */
+public class FilaMatriz {
+    private final int origen;
+    private final Integer[] segundos;
+    private final String error;
+
+    /**
+     * Constructor de la fila.
+     *
+     * @param origen Posición del origen en la solicitud
+     * @param segundos Segundos hasta cada destino, en el orden de la solicitud; null si no se alcanza
+     */
+    public FilaMatriz(int origen, Integer[] segundos) {
+        this.origen = origen;
+        this.segundos = segundos;
+        this.error = null;
+    }
+
+    /**
+     * Constructor de una fila cuyo cálculo falló.
+     *
+     * @param origen Posición del origen en la solicitud
+     * @param error Mensaje para el cliente
+     */
+    public FilaMatriz(int origen, String error) {
+        this.origen = origen;
+        this.segundos = null;
+        this.error = error;
+    }
+
+    public int getOrigen() {
+        return origen;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Integer[] getSegundos() {
+        return segundos;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,192 @@
+package com.wheely.geo;
+
+import com.wheely.model.CoordenadaParada;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Generador de teselas vectoriales (Mapbox Vector Tile) con los recorridos y paradas del sistema Wheely.
+ *
+ * <p>Cada tesela contiene dos capas:</p>
+ * <ul>
+ * <li>{@code recorridos}: líneas con la propiedad {@code idRecorrido}, tomadas de la
+ * simplificación del recorrido para el zoom de la tesela</li>
+ * <li>{@code paradas}: puntos con la propiedad {@code idParada}, a partir del zoom
+ * {@value #ZOOM_MINIMO_PARADAS}</li>
+ * </ul>
+ *
+ * <p>Las líneas se recortan al área de la tesela más un borde de {@value #BORDE} unidades,
+ * para que los trazos no se corten visiblemente entre teselas vecinas, y se cuantizan a la
+ * cuadrícula entera de {@link Tesela#EXTENSION} unidades descartando puntos repetidos.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see Tesela
+ * @see CodificadorMvt
+ * @see com.wheely.service.TeselaService
+ */
+public class GeneradorTeselas {
+
+    /**
+     * Unidades de tesela que se conservan fuera de cada borde.
+     */
+    public static final int BORDE = 64;
+
+    /**
+     * Zoom a partir del cual se incluyen las paradas.
+     */
+    public static final int ZOOM_MINIMO_PARADAS = 12;
+
+    private static final double MINIMO = -BORDE;
+    private static final double MAXIMO = Tesela.EXTENSION + BORDE;
+
+    private final AlmacenGeometria almacenGeometria;
+    private final IndiceEspacialParadas indiceParadas;
+
+    /**
+     * Constructor del generador.
+     *
+     * @param almacenGeometria Almacén con el trazado de los recorridos
+     * @param indiceParadas Índice espacial de coordenadas de parada
+     */
+    public GeneradorTeselas(AlmacenGeometria almacenGeometria, IndiceEspacialParadas indiceParadas) {
+        this.almacenGeometria = almacenGeometria;
+        this.indiceParadas = indiceParadas;
+    }
+
+    /**
+     * Genera la tesela indicada.
+     *
+     * @param tesela Tesela a generar
+     * @return Bytes de la tesela; arreglo vacío si no contiene geometría
+     */
+    public byte[] generar(Tesela tesela) {
+        CajaEnvolvente caja = tesela.caja(BORDE);
+
+        CodificadorMvt.Capa recorridos = new CodificadorMvt.Capa("recorridos", "idRecorrido");
+        for (GeometriaRecorrido g : almacenGeometria.todas()) {
+            CajaEnvolvente extension = g.getCajaEnvolvente();
+            if (extension == null || !extension.intersecta(caja)) continue;
+            List<int[]> partes = recortar(g.paraZoom(tesela.getZ()), tesela);
+            if (!partes.isEmpty()) {
+                recorridos.agregarLineas(g.getIdRecorrido(), g.getIdRecorrido(), partes);
+            }
+        }
+
+        CodificadorMvt.Capa paradas = new CodificadorMvt.Capa("paradas", "idParada");
+        if (tesela.getZ() >= ZOOM_MINIMO_PARADAS) {
+            for (CoordenadaParada c : indiceParadas.buscarEnCaja(caja)) {
+                int x = (int) Math.round(tesela.proyectarX(c.getLongitud().doubleValue()));
+                int y = (int) Math.round(tesela.proyectarY(c.getLatitud().doubleValue()));
+                paradas.agregarPunto(c.getIdCoordenadaParada(), c.getIdParada(), x, y);
+            }
+        }
+
+        return CodificadorMvt.codificar(List.of(recorridos, paradas));
+    }
+
+    /**
+     * Proyecta y recorta un trazado al área de la tesela con el algoritmo de Liang-Barsky.
+     *
+     * @return Partes visibles del trazado, cada una con al menos dos puntos distintos
+     */
+    private static List<int[]> recortar(GeometriaRecorrido g, Tesela tesela) {
+        List<int[]> partes = new ArrayList<>();
+        int n = g.size();
+        if (n < 2) return partes;
+
+        Parte actual = null;
+        double x0 = tesela.proyectarX(g.longitud(0));
+        double y0 = tesela.proyectarY(g.latitud(0));
+        double[] recorte = new double[4];
+        for (int i = 1; i < n; i++) {
+            double x1 = tesela.proyectarX(g.longitud(i));
+            double y1 = tesela.proyectarY(g.latitud(i));
+            int estado = recortarSegmento(x0, y0, x1, y1, recorte);
+            if (estado < 0) {
+                actual = cerrar(actual, partes);
+            } else {
+                if (actual == null || (estado & 1) != 0) {
+                    actual = cerrar(actual, partes);
+                    actual = new Parte();
+                    actual.agregar(recorte[0], recorte[1]);
+                }
+                actual.agregar(recorte[2], recorte[3]);
+                if ((estado & 2) != 0) {
+                    actual = cerrar(actual, partes);
+                }
+            }
+            x0 = x1;
+            y0 = y1;
+        }
+        cerrar(actual, partes);
+        return partes;
+    }
+
+    private static Parte cerrar(Parte parte, List<int[]> partes) {
+        if (parte != null && parte.puntos >= 2) {
+            partes.add(parte.toArray());
+        }
+        return null;
+    }
+
+    /**
+     * Recorta un segmento a los límites de la tesela con borde.
+     *
+     * @return -1 si queda fuera; si no, bit 0 indica inicio recortado y bit 1 fin recortado
+     */
+    private static int recortarSegmento(double x0, double y0, double x1, double y1, double[] salida) {
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        double t0 = 0;
+        double t1 = 1;
+        double[] p = {-dx, dx, -dy, dy};
+        double[] q = {x0 - MINIMO, MAXIMO - x0, y0 - MINIMO, MAXIMO - y0};
+        for (int k = 0; k < 4; k++) {
+            if (p[k] == 0) {
+                if (q[k] < 0) return -1;
+            } else {
+                double r = q[k] / p[k];
+                if (p[k] < 0) {
+                    if (r > t1) return -1;
+                    if (r > t0) t0 = r;
+                } else {
+                    if (r < t0) return -1;
+                    if (r < t1) t1 = r;
+                }
+            }
+        }
+        salida[0] = x0 + t0 * dx;
+        salida[1] = y0 + t0 * dy;
+        salida[2] = x0 + t1 * dx;
+        salida[3] = y0 + t1 * dy;
+        return (t0 > 0 ? 1 : 0) | (t1 < 1 ? 2 : 0);
+    }
+
+    /**
+     * Parte de línea en construcción con coordenadas enteras sin repeticiones consecutivas.
+     */
+    private static final class Parte {
+        private int[] coordenadas = new int[32];
+        private int puntos;
+
+        private void agregar(double x, double y) {
+            int ix = (int) Math.round(x);
+            int iy = (int) Math.round(y);
+            if (puntos > 0 && coordenadas[2 * puntos - 2] == ix && coordenadas[2 * puntos - 1] == iy) return;
+            if (2 * puntos + 2 > coordenadas.length) {
+                coordenadas = Arrays.copyOf(coordenadas, coordenadas.length * 2);
+            }
+            coordenadas[2 * puntos] = ix;
+            coordenadas[2 * puntos + 1] = iy;
+            puntos++;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(coordenadas, 2 * puntos);
+        }
+    }
+}
@@ -0,0 +1,654 @@
+package com.wheely.geo;
+
+import com.wheely.model.Coordenada;
+import com.wheely.util.GeoUtil;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Trazado inmutable de un recorrido almacenado en arreglos primitivos de punto fijo.
+ *
+ * <p>En lugar de un objeto {@link Coordenada} con dos {@link BigDecimal} por punto, cada
+ * recorrido guarda sus puntos en cuatro arreglos paralelos ordenados por {@code orden_punto}:
+ * identificadores, orden, latitud y longitud. Las coordenadas se representan como enteros
+ * escalados por {@value #ESCALA} (8 decimales), exactamente la precisión de las columnas
+ * {@code DECIMAL(10,8)} y {@code DECIMAL(11,8)}, por lo que la conversión es sin pérdida.</p>
+ *
+ * <p>Las instancias nunca se modifican: cada escritura produce una copia nueva que el
+ * {@link AlmacenGeometria} publica de forma atómica, así los lectores no necesitan candados.</p>
+ *
+ * <p>Junto a los puntos se mantiene la distancia acumulada en metros desde el primer punto
+ * hasta cada uno, de modo que la distancia entre dos puntos se obtiene por resta y el punto
+ * a cierta distancia por búsqueda binaria. Al agregar o quitar un punto solo se recalculan
+ * los tramos que lo tocan; el resto del arreglo se desplaza.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see AlmacenGeometria
+ * @see com.wheely.model.Coordenada
+ */
+public final class GeometriaRecorrido {
+
+    /**
+     * Número de decimales de las coordenadas en punto fijo.
+     */
+    public static final int ESCALA = 8;
+
+    /**
+     * Factor de conversión entre grados y unidades de punto fijo.
+     */
+    public static final double FACTOR = 1e8;
+
+    private final int idRecorrido;
+    private final int[] ids;
+    private final int[] orden;
+    private final long[] latitudes;
+    private final long[] longitudes;
+    private volatile TrazadoCodificado trazadoCodificado;
+    private volatile double[] importancias;
+    private volatile GeometriaRecorrido[] niveles;
+    private volatile CajaEnvolvente cajaEnvolvente;
+    private volatile double[] distancias;
+
+    private GeometriaRecorrido(int idRecorrido, int[] ids, int[] orden, long[] latitudes, long[] longitudes) {
+        this.idRecorrido = idRecorrido;
+        this.ids = ids;
+        this.orden = orden;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+    }
+
+    private GeometriaRecorrido(int idRecorrido, int[] ids, int[] orden, long[] latitudes, long[] longitudes,
+                               double[] distancias) {
+        this(idRecorrido, ids, orden, latitudes, longitudes);
+        this.distancias = distancias;
+    }
+
+    /**
+     * Crea un trazado vacío para un recorrido.
+     *
+     * @param idRecorrido ID del recorrido
+     * @return Trazado sin puntos
+     */
+    public static GeometriaRecorrido vacia(int idRecorrido) {
+        return new GeometriaRecorrido(idRecorrido, new int[0], new int[0], new long[0], new long[0]);
+    }
+
+    /**
+     * Convierte grados decimales a unidades de punto fijo.
+     *
+     * @param grados Coordenada en grados (BigDecimal con hasta 8 decimales)
+     * @return Coordenada escalada por {@value #ESCALA} decimales
+     */
+    public static long aPuntoFijo(BigDecimal grados) {
+        return grados.setScale(ESCALA, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    /**
+     * Convierte unidades de punto fijo a BigDecimal, solo para la frontera de la API.
+     *
+     * @param valor Coordenada en punto fijo
+     * @return Coordenada en grados con escala {@value #ESCALA}
+     */
+    public static BigDecimal aBigDecimal(long valor) {
+        return BigDecimal.valueOf(valor, ESCALA);
+    }
+
+    public int getIdRecorrido() {
+        return idRecorrido;
+    }
+
+    /**
+     * Obtiene el número de puntos del trazado.
+     *
+     * @return Cantidad de coordenadas del recorrido
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    public int idCoordenada(int i) {
+        return ids[i];
+    }
+
+    public int ordenPunto(int i) {
+        return orden[i];
+    }
+
+    public long latitudFija(int i) {
+        return latitudes[i];
+    }
+
+    public long longitudFija(int i) {
+        return longitudes[i];
+    }
+
+    /**
+     * Obtiene la latitud del punto en grados como double, para cálculos geométricos.
+     *
+     * @param i Posición del punto en el trazado
+     * @return Latitud en grados
+     */
+    public double latitud(int i) {
+        return latitudes[i] / FACTOR;
+    }
+
+    /**
+     * Obtiene la longitud del punto en grados como double, para cálculos geométricos.
+     *
+     * @param i Posición del punto en el trazado
+     * @return Longitud en grados
+     */
+    public double longitud(int i) {
+        return longitudes[i] / FACTOR;
+    }
+
+    /**
+     * Busca la posición de una coordenada dentro del trazado.
+     *
+     * @param idCoordenada ID de la coordenada
+     * @return Posición en el trazado, o -1 si no pertenece a este recorrido
+     */
+    public int posicionDe(int idCoordenada) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == idCoordenada) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Busca la posición del punto con un orden dado, por búsqueda binaria.
+     *
+     * @param ordenPunto Valor de {@code orden_punto}
+     * @return Posición del primer punto con ese orden, o -1 si no existe
+     */
+    public int posicionDeOrden(int ordenPunto) {
+        int bajo = 0;
+        int alto = orden.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (orden[medio] < ordenPunto) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo < orden.length && orden[bajo] == ordenPunto ? bajo : -1;
+    }
+
+    /**
+     * Obtiene la distancia a lo largo del recorrido desde el primer punto hasta un punto.
+     *
+     * @param i Posición del punto en el trazado
+     * @return Metros acumulados hasta el punto
+     */
+    public double distanciaAcumulada(int i) {
+        return distancias()[i];
+    }
+
+    /**
+     * Obtiene la longitud total del recorrido siguiendo sus puntos en orden.
+     *
+     * @return Metros desde el primer hasta el último punto, 0 si tiene menos de dos puntos
+     */
+    public double getLongitudMetros() {
+        return ids.length == 0 ? 0 : distancias()[ids.length - 1];
+    }
+
+    /**
+     * Calcula la distancia a lo largo del recorrido entre dos puntos, en tiempo constante.
+     *
+     * @param desde Posición del primer punto
+     * @param hasta Posición del segundo punto
+     * @return Metros entre ambos; negativo si {@code hasta} está antes que {@code desde}
+     */
+    public double distanciaEntre(int desde, int hasta) {
+        double[] d = distancias();
+        return d[hasta] - d[desde];
+    }
+
+    /**
+     * Localiza el punto del trazado que está a cierta distancia del inicio.
+     *
+     * <p>Busca el tramo por búsqueda binaria sobre las distancias acumuladas e interpola
+     * dentro de él. Distancias fuera del recorrido se ajustan a sus extremos.</p>
+     *
+     * @param metros Distancia desde el primer punto
+     * @return Punto interpolado, o null si el trazado no tiene puntos
+     */
+    public PuntoEnRecorrido puntoEnDistancia(double metros) {
+        int n = ids.length;
+        if (n == 0) return null;
+        double[] d = distancias();
+        double m = Math.max(0, Math.min(metros, d[n - 1]));
+        int k = Arrays.binarySearch(d, m);
+        if (k < 0) k = -k - 2;
+        while (k > 0 && d[k - 1] == m) k--;
+        if (k >= n - 1) {
+            return new PuntoEnRecorrido(idRecorrido, n - 1, orden[n - 1], 0, latitud(n - 1), longitud(n - 1), d[n - 1]);
+        }
+        double largo = d[k + 1] - d[k];
+        double t = largo > 0 ? (m - d[k]) / largo : 0;
+        return new PuntoEnRecorrido(idRecorrido, k, orden[k], t,
+                latitud(k) + t * (latitud(k + 1) - latitud(k)),
+                longitud(k) + t * (longitud(k + 1) - longitud(k)), m);
+    }
+
+    /**
+     * Proyecta una ubicación sobre el trazado, como una parada que está junto a la calle.
+     *
+     * <p>Busca el punto del trazado más cercano a la ubicación sin retroceder antes de
+     * {@code desdeMetros}, de modo que al proyectar paradas consecutivas en orden su avance
+     * nunca disminuye aunque el recorrido pase dos veces por la misma calle. Las distancias
+     * se miden en un plano local alrededor de la ubicación.</p>
+     *
+     * @param latitud Latitud de la ubicación
+     * @param longitud Longitud de la ubicación
+     * @param desdeMetros Avance mínimo aceptado sobre el recorrido
+     * @return Punto proyectado, o null si el trazado no tiene puntos
+     */
+    public PuntoEnRecorrido proyectar(double latitud, double longitud, double desdeMetros) {
+        int n = ids.length;
+        if (n == 0) return null;
+        double[] d = distancias();
+        double desde = Math.max(0, Math.min(desdeMetros, d[n - 1]));
+        if (n == 1) return puntoEnDistancia(0);
+        double escalaX = Math.cos(Math.toRadians(latitud));
+        double mejor = Double.POSITIVE_INFINITY;
+        int mejorTramo = -1;
+        double mejorT = 0;
+        for (int i = 0; i + 1 < n; i++) {
+            if (d[i + 1] < desde) continue;
+            double ax = (longitud(i) - longitud) * escalaX;
+            double ay = latitud(i) - latitud;
+            double bx = (longitud(i + 1) - longitud) * escalaX;
+            double by = latitud(i + 1) - latitud;
+            double dx = bx - ax;
+            double dy = by - ay;
+            double largo2 = dx * dx + dy * dy;
+            double t = largo2 > 0 ? Math.max(0, Math.min(1, -(ax * dx + ay * dy) / largo2)) : 0;
+            double largo = d[i + 1] - d[i];
+            if (d[i] + t * largo < desde && largo > 0) {
+                t = (desde - d[i]) / largo;
+            }
+            double px = ax + t * dx;
+            double py = ay + t * dy;
+            double distancia2 = px * px + py * py;
+            if (distancia2 < mejor) {
+                mejor = distancia2;
+                mejorTramo = i;
+                mejorT = t;
+            }
+        }
+        if (mejorTramo < 0) return puntoEnDistancia(desde);
+        return puntoEnDistancia(d[mejorTramo] + mejorT * (d[mejorTramo + 1] - d[mejorTramo]));
+    }
+
+    /**
+     * Materializa un punto como modelo {@link Coordenada} para responder en la API.
+     *
+     * @param i Posición del punto en el trazado
+     * @return Coordenada con latitud y longitud en BigDecimal
+     */
+    public Coordenada toCoordenada(int i) {
+        return new Coordenada(ids[i], idRecorrido, aBigDecimal(latitudes[i]), aBigDecimal(longitudes[i]), orden[i]);
+    }
+
+    /**
+     * Expone el trazado como lista de solo lectura de {@link Coordenada}.
+     *
+     * <p>Los objetos se crean al recorrer la lista (por ejemplo al serializar a JSON) y se
+     * descartan de inmediato, por lo que no permanecen en el heap entre peticiones.</p>
+     *
+     * @return Vista de lista ordenada por orden de punto
+     */
+    public List<Coordenada> comoLista() {
+        return new AbstractList<>() {
+            @Override
+            public Coordenada get(int index) {
+                return toCoordenada(index);
+            }
+
+            @Override
+            public int size() {
+                return ids.length;
+            }
+        };
+    }
+
+    /**
+     * Obtiene el trazado en formato de polilínea codificada.
+     *
+     * <p>Se calcula la primera vez que se solicita y queda asociado a esta instancia. Como
+     * toda escritura sobre el recorrido publica una instancia nueva, el valor memorizado se
+     * invalida solo al modificar, agregar o eliminar coordenadas.</p>
+     *
+     * @return Trazado codificado del recorrido
+     */
+    public TrazadoCodificado getTrazadoCodificado() {
+        TrazadoCodificado t = trazadoCodificado;
+        if (t == null) {
+            t = new TrazadoCodificado(idRecorrido, ids.length, PolilineaCodificada.codificar(this));
+            trazadoCodificado = t;
+        }
+        return t;
+    }
+
+    /**
+     * Obtiene la caja envolvente del trazado, calculada una sola vez por instancia.
+     *
+     * @return Caja del trazado, o null si no tiene puntos
+     */
+    public CajaEnvolvente getCajaEnvolvente() {
+        CajaEnvolvente c = cajaEnvolvente;
+        if (c == null && ids.length > 0) {
+            c = CajaEnvolvente.de(this);
+            cajaEnvolvente = c;
+        }
+        return c;
+    }
+
+    /**
+     * Obtiene el trazado simplificado con una tolerancia arbitraria.
+     *
+     * <p>Usa las importancias de Douglas-Peucker memorizadas, por lo que solo filtra los
+     * arreglos sin volver a ejecutar el algoritmo.</p>
+     *
+     * @param toleranciaMetros Desviación máxima permitida respecto al trazado original, en metros
+     * @return Trazado simplificado, o esta misma instancia si no se descarta ningún punto
+     * @see SimplificadorDouglasPeucker#importancias(GeometriaRecorrido)
+     */
+    public GeometriaRecorrido simplificada(double toleranciaMetros) {
+        double[] imp = importancias;
+        if (imp == null) {
+            imp = SimplificadorDouglasPeucker.importancias(this);
+            importancias = imp;
+        }
+        int conservados = 0;
+        for (double v : imp) {
+            if (v > toleranciaMetros) conservados++;
+        }
+        if (conservados == ids.length) return this;
+
+        int[] nIds = new int[conservados];
+        int[] nOrden = new int[conservados];
+        long[] nLat = new long[conservados];
+        long[] nLon = new long[conservados];
+        int j = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (imp[i] > toleranciaMetros) {
+                nIds[j] = ids[i];
+                nOrden[j] = orden[i];
+                nLat[j] = latitudes[i];
+                nLon[j] = longitudes[i];
+                j++;
+            }
+        }
+        return new GeometriaRecorrido(idRecorrido, nIds, nOrden, nLat, nLon);
+    }
+
+    /**
+     * Obtiene el trazado adecuado para un nivel de zoom del mapa.
+     *
+     * <p>Los niveles entre {@link SimplificadorDouglasPeucker#ZOOM_MINIMO} y
+     * {@link SimplificadorDouglasPeucker#ZOOM_MAXIMO} se calculan una sola vez por trazado
+     * con una tolerancia de un píxel; con zoom mayor se retorna el trazado completo.</p>
+     *
+     * @param zoom Nivel de zoom del mapa
+     * @return Trazado simplificado para ese zoom
+     */
+    public GeometriaRecorrido paraZoom(int zoom) {
+        if (zoom > SimplificadorDouglasPeucker.ZOOM_MAXIMO || ids.length < 3) return this;
+        int nivel = Math.max(zoom, SimplificadorDouglasPeucker.ZOOM_MINIMO) - SimplificadorDouglasPeucker.ZOOM_MINIMO;
+        return precalcularNiveles()[nivel];
+    }
+
+    /**
+     * Calcula y memoriza las simplificaciones de todos los niveles de zoom.
+     *
+     * <p>Se invoca al arrancar la aplicación y tras cada escritura sobre el recorrido, para
+     * que las consultas no paguen el cálculo.</p>
+     *
+     * @return Trazados simplificados indexados desde {@link SimplificadorDouglasPeucker#ZOOM_MINIMO}
+     */
+    public GeometriaRecorrido[] precalcularNiveles() {
+        GeometriaRecorrido[] n = niveles;
+        if (n == null) {
+            int cantidad = SimplificadorDouglasPeucker.ZOOM_MAXIMO - SimplificadorDouglasPeucker.ZOOM_MINIMO + 1;
+            double latitudReferencia = ids.length > 0 ? latitud(0) : 0;
+            n = new GeometriaRecorrido[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                int zoom = SimplificadorDouglasPeucker.ZOOM_MINIMO + i;
+                n[i] = simplificada(SimplificadorDouglasPeucker.toleranciaParaZoom(zoom, latitudReferencia));
+            }
+            niveles = n;
+        }
+        return n;
+    }
+
+    /**
+     * Expone varios trazados como una sola lista de solo lectura de {@link Coordenada}.
+     *
+     * @param trazados Trazados a concatenar, en el orden en que deben aparecer
+     * @return Vista que materializa cada coordenada al recorrerla
+     */
+    public static List<Coordenada> concatenar(List<GeometriaRecorrido> trazados) {
+        GeometriaRecorrido[] arreglo = new GeometriaRecorrido[trazados.size()];
+        int[] inicios = new int[arreglo.length + 1];
+        int t = 0;
+        for (GeometriaRecorrido g : trazados) {
+            if (g.size() == 0) continue;
+            arreglo[t] = g;
+            inicios[t + 1] = inicios[t] + g.size();
+            t++;
+        }
+        final int cantidad = t;
+        return new AbstractList<>() {
+            @Override
+            public Coordenada get(int index) {
+                // Solo se incluyen trazados con puntos, así que los inicios son estrictamente crecientes
+                int k = Arrays.binarySearch(inicios, 0, cantidad, index);
+                if (k < 0) k = -k - 2;
+                return arreglo[k].toCoordenada(index - inicios[k]);
+            }
+
+            @Override
+            public int size() {
+                return inicios[cantidad];
+            }
+        };
+    }
+
+    /**
+     * Produce un trazado nuevo con un punto agregado en su posición según el orden.
+     *
+     * <p>Ante órdenes repetidos el punto queda después de los existentes, igual que
+     * el índice {@code idx_recorrido_orden} los devuelve por clave primaria.</p>
+     *
+     * @param idCoordenada ID de la coordenada
+     * @param latitud Latitud en punto fijo
+     * @param longitud Longitud en punto fijo
+     * @param ordenPunto Orden del punto en el recorrido
+     * @return Trazado nuevo con el punto insertado
+     */
+    public GeometriaRecorrido conPunto(int idCoordenada, long latitud, long longitud, int ordenPunto) {
+        int n = ids.length;
+        int pos = n;
+        while (pos > 0 && orden[pos - 1] > ordenPunto) {
+            pos--;
+        }
+        int[] nIds = new int[n + 1];
+        int[] nOrden = new int[n + 1];
+        long[] nLat = new long[n + 1];
+        long[] nLon = new long[n + 1];
+        System.arraycopy(ids, 0, nIds, 0, pos);
+        System.arraycopy(orden, 0, nOrden, 0, pos);
+        System.arraycopy(latitudes, 0, nLat, 0, pos);
+        System.arraycopy(longitudes, 0, nLon, 0, pos);
+        nIds[pos] = idCoordenada;
+        nOrden[pos] = ordenPunto;
+        nLat[pos] = latitud;
+        nLon[pos] = longitud;
+        System.arraycopy(ids, pos, nIds, pos + 1, n - pos);
+        System.arraycopy(orden, pos, nOrden, pos + 1, n - pos);
+        System.arraycopy(latitudes, pos, nLat, pos + 1, n - pos);
+        System.arraycopy(longitudes, pos, nLon, pos + 1, n - pos);
+
+        double[] d = distancias;
+        if (d == null) {
+            return new GeometriaRecorrido(idRecorrido, nIds, nOrden, nLat, nLon);
+        }
+        double[] nD = new double[n + 1];
+        System.arraycopy(d, 0, nD, 0, pos);
+        nD[pos] = pos == 0 ? 0 : d[pos - 1] + tramoMetros(latitudes[pos - 1], longitudes[pos - 1], latitud, longitud);
+        if (pos < n) {
+            double desplazamiento = nD[pos] + tramoMetros(latitud, longitud, latitudes[pos], longitudes[pos]) - d[pos];
+            for (int i = pos; i < n; i++) {
+                nD[i + 1] = d[i] + desplazamiento;
+            }
+        }
+        return new GeometriaRecorrido(idRecorrido, nIds, nOrden, nLat, nLon, nD);
+    }
+
+    /**
+     * Produce un trazado nuevo sin la coordenada indicada.
+     *
+     * @param idCoordenada ID de la coordenada a quitar
+     * @return Trazado nuevo, o esta misma instancia si la coordenada no pertenece al recorrido
+     */
+    public GeometriaRecorrido sinPunto(int idCoordenada) {
+        int pos = posicionDe(idCoordenada);
+        if (pos < 0) return this;
+        int n = ids.length - 1;
+        int[] nIds = new int[n];
+        int[] nOrden = new int[n];
+        long[] nLat = new long[n];
+        long[] nLon = new long[n];
+        System.arraycopy(ids, 0, nIds, 0, pos);
+        System.arraycopy(orden, 0, nOrden, 0, pos);
+        System.arraycopy(latitudes, 0, nLat, 0, pos);
+        System.arraycopy(longitudes, 0, nLon, 0, pos);
+        System.arraycopy(ids, pos + 1, nIds, pos, n - pos);
+        System.arraycopy(orden, pos + 1, nOrden, pos, n - pos);
+        System.arraycopy(latitudes, pos + 1, nLat, pos, n - pos);
+        System.arraycopy(longitudes, pos + 1, nLon, pos, n - pos);
+
+        double[] d = distancias;
+        if (d == null) {
+            return new GeometriaRecorrido(idRecorrido, nIds, nOrden, nLat, nLon);
+        }
+        double[] nD = new double[n];
+        System.arraycopy(d, 0, nD, 0, pos);
+        if (pos < n) {
+            double inicio = pos == 0 ? 0
+                    : d[pos - 1] + tramoMetros(latitudes[pos - 1], longitudes[pos - 1], latitudes[pos + 1], longitudes[pos + 1]);
+            double desplazamiento = inicio - d[pos + 1];
+            for (int i = pos; i < n; i++) {
+                nD[i] = d[i + 1] + desplazamiento;
+            }
+        }
+        return new GeometriaRecorrido(idRecorrido, nIds, nOrden, nLat, nLon, nD);
+    }
+
+    /**
+     * Obtiene las distancias acumuladas, calculándolas la primera vez que se necesitan.
+     */
+    private double[] distancias() {
+        double[] d = distancias;
+        if (d == null) {
+            d = new double[ids.length];
+            for (int i = 1; i < ids.length; i++) {
+                d[i] = d[i - 1] + tramoMetros(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]);
+            }
+            distancias = d;
+        }
+        return d;
+    }
+
+    private static double tramoMetros(long lat1, long lon1, long lat2, long lon2) {
+        return GeoUtil.distanciaKm(lat1 / FACTOR, lon1 / FACTOR, lat2 / FACTOR, lon2 / FACTOR) * 1000.0;
+    }
+
+    /**
+     * Estima los bytes de heap que ocupa este trazado.
+     *
+     * <p>Cuenta 24 bytes por punto (dos int y dos long) más la cabecera de los cuatro
+     * arreglos y del propio objeto, con referencias comprimidas de la JVM de 64 bits. Si ya
+     * se calcularon las distancias acumuladas se suman 8 bytes por punto.</p>
+     *
+     * @return Bytes aproximados ocupados por el trazado
+     */
+    public long bytesEstimados() {
+        long bytes = 24 + 4L * 16 + (long) ids.length * 24;
+        if (distancias != null) bytes += 16 + (long) ids.length * 8;
+        return bytes;
+    }
+
+    /**
+     * Estima los bytes que ocuparían los mismos puntos como {@code List<Coordenada>}.
+     *
+     * <p>Por punto: objeto Coordenada (32 bytes), dos BigDecimal compactos (40 bytes cada uno)
+     * y la referencia en el arreglo del ArrayList (4 bytes).</p>
+     *
+     * @param puntos Número de coordenadas
+     * @return Bytes aproximados en el modelo de un objeto por punto
+     */
+    public static long bytesModeloObjetos(long puntos) {
+        return 40 + 16 + puntos * (32 + 2 * 40 + 4);
+    }
+
+    /**
+     * Constructor incremental usado al leer un recorrido desde la base de datos.
+     */
+    public static final class Builder {
+        private final int idRecorrido;
+        private int n;
+        private int[] ids = new int[16];
+        private int[] orden = new int[16];
+        private long[] latitudes = new long[16];
+        private long[] longitudes = new long[16];
+
+        public Builder(int idRecorrido) {
+            this.idRecorrido = idRecorrido;
+        }
+
+        public int getIdRecorrido() {
+            return idRecorrido;
+        }
+
+        /**
+         * Agrega un punto al final; los puntos deben llegar ordenados por orden de punto.
+         *
+         * @param idCoordenada ID de la coordenada
+         * @param latitud Latitud en punto fijo
+         * @param longitud Longitud en punto fijo
+         * @param ordenPunto Orden del punto en el recorrido
+         * @return Este mismo builder
+         */
+        public Builder agregar(int idCoordenada, long latitud, long longitud, int ordenPunto) {
+            if (n == ids.length) {
+                int capacidad = n * 2;
+                ids = Arrays.copyOf(ids, capacidad);
+                orden = Arrays.copyOf(orden, capacidad);
+                latitudes = Arrays.copyOf(latitudes, capacidad);
+                longitudes = Arrays.copyOf(longitudes, capacidad);
+            }
+            ids[n] = idCoordenada;
+            orden[n] = ordenPunto;
+            latitudes[n] = latitud;
+            longitudes[n] = longitud;
+            n++;
+            return this;
+        }
+
+        public GeometriaRecorrido build() {
+            return new GeometriaRecorrido(idRecorrido, Arrays.copyOf(ids, n), Arrays.copyOf(orden, n),
+                    Arrays.copyOf(latitudes, n), Arrays.copyOf(longitudes, n));
+        }
+    }
+}
@@ -0,0 +1,616 @@
+package com.wheely.geo;
+
+import com.wheely.model.CoordenadaParada;
+import com.wheely.model.Parada;
+import com.wheely.util.FuenteCarga;
+import com.wheely.util.GeoUtil;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Grafo de transbordos a pie entre coordenadas de parada de recorridos distintos.
+ *
+ * <p>Une cada coordenada de parada con las de otros recorridos que están a menos de
+ * {@value #RADIO_METROS} metros. La primera construcción es un cruce espacial por celdas
+ * sobre todas las coordenadas del {@link IndiceEspacialParadas}; después, cada alta,
+ * movimiento o baja de una coordenada solo vuelve a calcular su fila y la de sus vecinos
+ * (una búsqueda en el radio), sin volver a cruzar toda la red.</p>
+ *
+ * <p>Las aristas se guardan en formato CSR dentro de una {@link Csr} inmutable: los vecinos
+ * del nodo {@code n} ocupan {@code [inicio(n), inicio(n + 1))} en los arreglos de destino y
+ * metros. Cada escritura publica una copia nueva, así que los lectores no usan candados; el
+ * precio es que publicar copia todos los arreglos, O(nodos + aristas) por escritura aunque
+ * solo cambien unas filas. Las bajas de varias coordenadas a la vez (una parada, o las
+ * paradas de un recorrido borrado) se aplican en una sola copia. Los nodos eliminados quedan
+ * vacíos hasta que se acumulan suficientes y se compacta.</p>
+ *
+ * <p>El recorrido de cada parada decide qué coordenadas se conectan. Se lee completo en la
+ * carga y se mantiene al día con {@link #guardar(CoordenadaParada, int)},
+ * {@link #guardarParada(Parada)} y las bajas de paradas.</p>
+ *
+ * <pre>
+ * grafo.asegurarCargado(coordenadaParadaRepository::findAll, paradaRepository::findAll);
+ * grafo.guardar(coordenadaParada, parada.getIdRecorrido());
+ * List&lt;Transbordo&gt; transbordos = grafo.transbordosDeParada(12);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see Transbordo
+ * @see com.wheely.service.CoordenadaParadaService
+ */
+public class GrafoTransbordos {
+
+    /**
+     * Distancia máxima en metros entre dos coordenadas de parada para considerar el transbordo.
+     */
+    public static final double RADIO_METROS = 300.0;
+
+    private static final double METROS_POR_GRADO = GeoUtil.KM_POR_GRADO * 1000.0;
+    private static final int[] VACIA = new int[0];
+
+    private final IndiceEspacialParadas indiceParadas;
+    private final Map<Integer, Integer> recorridoPorParada = new ConcurrentHashMap<>();
+    private final List<OyenteGeometria> oyentes = new CopyOnWriteArrayList<>();
+    private volatile Csr csr;
+
+    /**
+     * Constructor del grafo.
+     *
+     * @param indiceParadas Índice del que se leen las coordenadas y sus vecinas
+     */
+    public GrafoTransbordos(IndiceEspacialParadas indiceParadas) {
+        this.indiceParadas = indiceParadas;
+    }
+
+    /**
+     * Construye el grafo completo con las coordenadas que tiene el índice.
+     *
+     * @param recorridoPorParada Recorrido al que pertenece cada parada
+     */
+    public synchronized void cargar(Map<Integer, Integer> recorridoPorParada) {
+        this.recorridoPorParada.clear();
+        this.recorridoPorParada.putAll(recorridoPorParada);
+        List<CoordenadaParada> todas = indiceParadas.buscarEnCaja(CajaEnvolvente.MUNDO);
+        int n = todas.size();
+        int[] ids = new int[n];
+        int[] paradas = new int[n];
+        int[] recorridos = new int[n];
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            CoordenadaParada c = todas.get(i);
+            ids[i] = c.getIdCoordenadaParada();
+            paradas[i] = c.getIdParada();
+            recorridos[i] = recorridoDe(c.getIdParada());
+            latitudes[i] = c.getLatitud().doubleValue();
+            longitudes[i] = c.getLongitud().doubleValue();
+        }
+        csr = cruzar(ids, paradas, recorridos, latitudes, longitudes);
+        notificar(CajaEnvolvente.MUNDO);
+    }
+
+    /**
+     * Registra un receptor que será avisado de cada cambio en los transbordos.
+     *
+     * @param oyente Receptor de avisos de cambio
+     */
+    public void agregarOyente(OyenteGeometria oyente) {
+        oyentes.add(oyente);
+    }
+
+    /**
+     * Indica si el grafo ya fue construido.
+     *
+     * @return true si {@link #cargar(Map)} ya se ejecutó
+     */
+    public boolean isCargado() {
+        return csr != null;
+    }
+
+    /**
+     * Construye el grafo la primera vez que se necesita; las llamadas siguientes no hacen nada.
+     *
+     * <p>Carga antes el índice de paradas, del que salen los nodos, y toma el recorrido de
+     * cada parada de la segunda consulta.</p>
+     *
+     * @param coordenadas Consulta de todas las coordenadas de parada, para el índice
+     * @param paradas Consulta de todas las paradas
+     * @throws SQLException Si falla alguna de las consultas
+     */
+    public void asegurarCargado(FuenteCarga<? extends Collection<CoordenadaParada>> coordenadas,
+                                FuenteCarga<? extends Collection<Parada>> paradas) throws SQLException {
+        if (csr != null) return;
+        indiceParadas.asegurarCargado(coordenadas);
+        synchronized (this) {
+            if (csr != null) return;
+            Map<Integer, Integer> recorridoPorParada = new HashMap<>();
+            for (Parada p : paradas.leer()) {
+                recorridoPorParada.put(p.getIdParada(), p.getIdRecorrido());
+            }
+            cargar(recorridoPorParada);
+        }
+    }
+
+    /**
+     * Obtiene la versión vigente del grafo.
+     *
+     * @return Grafo inmutable, o null si aún no se construye
+     */
+    public Csr getCsr() {
+        return csr;
+    }
+
+    /**
+     * Agrega o mueve una coordenada de parada ya registrada en el índice.
+     *
+     * <p>Quita las aristas hacia sus vecinas anteriores y crea las de su nueva posición en
+     * ambos sentidos. Si el grafo aún no se construye no hace nada: la coordenada se incluirá
+     * al construirlo.</p>
+     *
+     * @param coordenadaParada Coordenada persistida (con ID asignado)
+     * @param idRecorrido Recorrido de su parada, o 0 si no se conoce
+     */
+    public synchronized void guardar(CoordenadaParada coordenadaParada, int idRecorrido) {
+        if (idRecorrido > 0) recorridoPorParada.put(coordenadaParada.getIdParada(), idRecorrido);
+        conectar(coordenadaParada);
+    }
+
+    /**
+     * Quita una coordenada de parada y sus transbordos.
+     *
+     * @param idCoordenadaParada ID de la coordenada eliminada
+     */
+    public synchronized void eliminar(int idCoordenadaParada) {
+        Csr actual = csr;
+        if (actual == null) return;
+        Integer nodo = actual.nodoPorId.get(idCoordenadaParada);
+        if (nodo != null) quitarNodos(List.of(nodo));
+    }
+
+    /**
+     * Reemplaza todas las coordenadas de una parada, como tras importarla desde GeoJSON.
+     *
+     * @param idParada ID de la parada
+     * @param coordenadas Nuevas coordenadas persistidas de la parada
+     */
+    public synchronized void reemplazarParada(int idParada, Collection<CoordenadaParada> coordenadas) {
+        Csr actual = csr;
+        if (actual == null) return;
+        List<Integer> nodos = new ArrayList<>();
+        for (int n = 0; n < actual.nodos(); n++) {
+            if (actual.paradas[n] == idParada && actual.vivo(n)) nodos.add(n);
+        }
+        quitarNodos(nodos);
+        for (CoordenadaParada c : coordenadas) {
+            conectar(c);
+        }
+    }
+
+    /**
+     * Agrega o mueve el nodo de una coordenada con el recorrido registrado para su parada.
+     */
+    private void conectar(CoordenadaParada coordenadaParada) {
+        Csr actual = csr;
+        if (actual == null) return;
+        if (coordenadaParada.getLatitud() == null || coordenadaParada.getLongitud() == null) {
+            eliminar(coordenadaParada.getIdCoordenadaParada());
+            return;
+        }
+        int id = coordenadaParada.getIdCoordenadaParada();
+        double lat = coordenadaParada.getLatitud().doubleValue();
+        double lon = coordenadaParada.getLongitud().doubleValue();
+        int parada = coordenadaParada.getIdParada();
+        int recorrido = recorridoDe(parada);
+
+        Integer existente = actual.nodoPorId.get(id);
+        int nodo = existente != null ? existente : actual.nodos();
+        CajaEnvolvente zona = CajaEnvolvente.punto(lat, lon);
+        Map<Integer, Fila> cambios = new LinkedHashMap<>();
+        if (existente != null) {
+            zona = CajaEnvolvente.union(zona, CajaEnvolvente.punto(actual.latitudes[nodo], actual.longitudes[nodo]));
+            for (int e = actual.inicio[nodo]; e < actual.inicio[nodo + 1]; e++) {
+                int u = actual.destinos[e];
+                cambios.put(u, actual.fila(u).sin(nodo));
+            }
+        }
+
+        Fila propia = new Fila();
+        for (CoordenadaParada vecina : indiceParadas.buscarCercanas(lat, lon, RADIO_METROS / 1000.0)) {
+            Integer u = actual.nodoPorId.get(vecina.getIdCoordenadaParada());
+            if (u == null || u == nodo || !conectables(parada, recorrido, actual.paradas[u], actual.recorridos[u])) continue;
+            int metros = metrosEntre(lat, lon, actual.latitudes[u], actual.longitudes[u]);
+            propia.agregar(u, metros);
+            Fila filaVecina = cambios.computeIfAbsent(u, k -> actual.fila(k).sin(nodo));
+            filaVecina.agregar(nodo, metros);
+        }
+        cambios.put(nodo, propia);
+
+        int nodos = Math.max(actual.nodos(), nodo + 1);
+        int[] ids = Arrays.copyOf(actual.ids, nodos);
+        int[] paradas = Arrays.copyOf(actual.paradas, nodos);
+        int[] recorridos = Arrays.copyOf(actual.recorridos, nodos);
+        double[] latitudes = Arrays.copyOf(actual.latitudes, nodos);
+        double[] longitudes = Arrays.copyOf(actual.longitudes, nodos);
+        ids[nodo] = id;
+        paradas[nodo] = parada;
+        recorridos[nodo] = recorrido;
+        latitudes[nodo] = lat;
+        longitudes[nodo] = lon;
+        Map<Integer, Integer> nodoPorId = actual.nodoPorId;
+        if (existente == null) {
+            nodoPorId = new HashMap<>(nodoPorId);
+            nodoPorId.put(id, nodo);
+        }
+        csr = actual.conFilas(ids, paradas, recorridos, latitudes, longitudes, nodoPorId, actual.eliminados, cambios);
+        notificar(zona);
+    }
+
+    /**
+     * Registra el recorrido de una parada creada o modificada.
+     *
+     * <p>Si la parada cambió de recorrido, sus coordenadas se vuelven a conectar con el
+     * nuevo. Avisa a los oyentes aunque el grafo no cambie: el estado de una parada también
+     * forma parte de la red del planificador.</p>
+     *
+     * @param parada Parada persistida (con ID asignado)
+     */
+    public synchronized void guardarParada(Parada parada) {
+        Integer anterior = recorridoPorParada.put(parada.getIdParada(), parada.getIdRecorrido());
+        if (csr != null && (anterior == null || anterior != parada.getIdRecorrido())) {
+            reemplazarParada(parada.getIdParada(), indiceParadas.coordenadasDeParada(parada.getIdParada()));
+        }
+        notificar(CajaEnvolvente.MUNDO);
+    }
+
+    /**
+     * Quita una parada eliminada y los nodos de sus coordenadas.
+     *
+     * @param idParada ID de la parada eliminada
+     */
+    public synchronized void eliminarParada(int idParada) {
+        recorridoPorParada.remove(idParada);
+        reemplazarParada(idParada, List.of());
+        notificar(CajaEnvolvente.MUNDO);
+    }
+
+    /**
+     * Quita los nodos de las paradas que ya no existen, como tras borrar una ruta o un recorrido.
+     *
+     * @param vigentes IDs de las paradas que siguen registradas
+     */
+    public synchronized void retenerParadas(Set<Integer> vigentes) {
+        recorridoPorParada.keySet().retainAll(vigentes);
+        Csr actual = csr;
+        if (actual == null) return;
+        List<Integer> nodos = new ArrayList<>();
+        for (int n = 0; n < actual.nodos(); n++) {
+            if (actual.vivo(n) && !vigentes.contains(actual.paradas[n])) nodos.add(n);
+        }
+        quitarNodos(nodos);
+    }
+
+    /**
+     * Obtiene los transbordos desde todas las coordenadas de una parada.
+     *
+     * @param idParada ID de la parada
+     * @return Transbordos ordenados por coordenada de origen y distancia, vacía si no tiene
+     */
+    public List<Transbordo> transbordosDeParada(int idParada) {
+        Csr actual = csr;
+        List<Transbordo> resultado = new ArrayList<>();
+        if (actual == null) return resultado;
+        for (int n = 0; n < actual.nodos(); n++) {
+            if (actual.paradas[n] != idParada || !actual.vivo(n)) continue;
+            List<Transbordo> desdeNodo = new ArrayList<>();
+            for (int e = actual.inicio[n]; e < actual.inicio[n + 1]; e++) {
+                int u = actual.destinos[e];
+                int recorrido = actual.recorridos[u];
+                desdeNodo.add(new Transbordo(actual.ids[n], actual.ids[u], actual.paradas[u],
+                        recorrido != 0 ? recorrido : null, actual.latitudes[u], actual.longitudes[u], actual.metros[e]));
+            }
+            desdeNodo.sort((a, b) -> Integer.compare(a.getDistanciaMetros(), b.getDistanciaMetros()));
+            resultado.addAll(desdeNodo);
+        }
+        resultado.sort((a, b) -> Integer.compare(a.getIdCoordenadaParadaOrigen(), b.getIdCoordenadaParadaOrigen()));
+        return resultado;
+    }
+
+    /**
+     * Quita varios nodos vivos y sus aristas en ambos sentidos, publicando una sola copia.
+     */
+    private void quitarNodos(List<Integer> nodos) {
+        Csr actual = csr;
+        if (actual == null || nodos.isEmpty()) return;
+        Set<Integer> quitados = new HashSet<>(nodos);
+        Map<Integer, Fila> cambios = new LinkedHashMap<>();
+        Map<Integer, Integer> nodoPorId = new HashMap<>(actual.nodoPorId);
+        CajaEnvolvente zona = null;
+        for (int nodo : nodos) {
+            for (int e = actual.inicio[nodo]; e < actual.inicio[nodo + 1]; e++) {
+                int u = actual.destinos[e];
+                if (quitados.contains(u)) continue;
+                Fila fila = cambios.get(u);
+                cambios.put(u, (fila != null ? fila : actual.fila(u)).sin(nodo));
+            }
+            cambios.put(nodo, new Fila());
+            nodoPorId.remove(actual.ids[nodo]);
+            zona = CajaEnvolvente.union(zona, CajaEnvolvente.punto(actual.latitudes[nodo], actual.longitudes[nodo]));
+        }
+        Csr nuevo = actual.conFilas(actual.ids, actual.paradas, actual.recorridos, actual.latitudes,
+                actual.longitudes, nodoPorId, actual.eliminados + nodos.size(), cambios);
+        if (nuevo.eliminados > Math.max(64, nuevo.nodos() / 4)) {
+            nuevo = nuevo.compactado();
+        }
+        csr = nuevo;
+        notificar(zona);
+    }
+
+    private int recorridoDe(int idParada) {
+        return recorridoPorParada.getOrDefault(idParada, 0);
+    }
+
+    /**
+     * Dos coordenadas se conectan si son de paradas distintas y de recorridos distintos;
+     * un recorrido 0 (desconocido) se considera distinto de todos.
+     */
+    private static boolean conectables(int paradaA, int recorridoA, int paradaB, int recorridoB) {
+        return paradaA != paradaB && (recorridoA == 0 || recorridoA != recorridoB);
+    }
+
+    private static int metrosEntre(double lat1, double lon1, double lat2, double lon2) {
+        return (int) Math.round(GeoUtil.distanciaKm(lat1, lon1, lat2, lon2) * 1000.0);
+    }
+
+    /**
+     * Cruce espacial por celdas de {@link #RADIO_METROS}: cada nodo solo se compara con los
+     * de las celdas que alcanza su radio.
+     */
+    private static Csr cruzar(int[] ids, int[] paradas, int[] recorridos, double[] latitudes, double[] longitudes) {
+        int n = ids.length;
+        Map<Long, List<Integer>> celdas = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            celdas.computeIfAbsent(clave(celda(latitudes[i]), celda(longitudes[i])), k -> new ArrayList<>()).add(i);
+        }
+        int[] inicio = new int[n + 1];
+        Fila aristas = new Fila();
+        double dLat = RADIO_METROS / METROS_POR_GRADO;
+        for (int i = 0; i < n; i++) {
+            inicio[i] = aristas.size;
+            double dLon = GeoUtil.deltaLongitud(RADIO_METROS / 1000.0, latitudes[i]);
+            for (long f = celda(latitudes[i] - dLat); f <= celda(latitudes[i] + dLat); f++) {
+                for (long c = celda(longitudes[i] - dLon); c <= celda(longitudes[i] + dLon); c++) {
+                    List<Integer> lista = celdas.get(clave(f, c));
+                    if (lista == null) continue;
+                    for (int j : lista) {
+                        if (j == i || !conectables(paradas[i], recorridos[i], paradas[j], recorridos[j])) continue;
+                        double km = GeoUtil.distanciaKm(latitudes[i], longitudes[i], latitudes[j], longitudes[j]);
+                        if (km <= RADIO_METROS / 1000.0) aristas.agregar(j, (int) Math.round(km * 1000.0));
+                    }
+                }
+            }
+        }
+        inicio[n] = aristas.size;
+        Map<Integer, Integer> nodoPorId = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            nodoPorId.put(ids[i], i);
+        }
+        return new Csr(ids, paradas, recorridos, latitudes, longitudes, inicio,
+                Arrays.copyOf(aristas.destinos, aristas.size), Arrays.copyOf(aristas.metros, aristas.size),
+                nodoPorId, 0);
+    }
+
+    private static long celda(double grados) {
+        return (long) Math.floor(grados * METROS_POR_GRADO / RADIO_METROS);
+    }
+
+    private static long clave(long fila, long columna) {
+        return (fila << 32) | (columna & 0xFFFFFFFFL);
+    }
+
+    private void notificar(CajaEnvolvente zona) {
+        for (OyenteGeometria oyente : oyentes) {
+            oyente.geometriaModificada(zona);
+        }
+    }
+
+    /**
+     * Versión inmutable del grafo en formato CSR.
+     *
+     * <p>Los nodos se identifican por su posición; {@link #nodo(int)} traduce un ID de
+     * coordenada de parada a su nodo. Los nodos eliminados conservan su posición sin aristas
+     * hasta la siguiente compactación.</p>
+     */
+    public static final class Csr {
+        private final int[] ids;
+        private final int[] paradas;
+        private final int[] recorridos;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final int[] inicio;
+        private final int[] destinos;
+        private final int[] metros;
+        private final Map<Integer, Integer> nodoPorId;
+        private final int eliminados;
+
+        private Csr(int[] ids, int[] paradas, int[] recorridos, double[] latitudes, double[] longitudes,
+                    int[] inicio, int[] destinos, int[] metros, Map<Integer, Integer> nodoPorId, int eliminados) {
+            this.ids = ids;
+            this.paradas = paradas;
+            this.recorridos = recorridos;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.inicio = inicio;
+            this.destinos = destinos;
+            this.metros = metros;
+            this.nodoPorId = nodoPorId;
+            this.eliminados = eliminados;
+        }
+
+        /**
+         * Busca el nodo de una coordenada de parada.
+         *
+         * @param idCoordenadaParada ID de la coordenada
+         * @return Posición del nodo, o -1 si la coordenada no está en el grafo
+         */
+        public int nodo(int idCoordenadaParada) {
+            Integer n = nodoPorId.get(idCoordenadaParada);
+            return n != null ? n : -1;
+        }
+
+        public int nodos() {
+            return ids.length;
+        }
+
+        public int aristas() {
+            return destinos.length;
+        }
+
+        public int idCoordenadaParada(int nodo) {
+            return ids[nodo];
+        }
+
+        public boolean vivo(int nodo) {
+            Integer n = nodoPorId.get(ids[nodo]);
+            return n != null && n == nodo;
+        }
+
+        public int inicio(int nodo) {
+            return inicio[nodo];
+        }
+
+        public int destino(int arista) {
+            return destinos[arista];
+        }
+
+        public int metros(int arista) {
+            return metros[arista];
+        }
+
+        private Fila fila(int nodo) {
+            Fila f = new Fila();
+            for (int e = inicio[nodo]; e < inicio[nodo + 1]; e++) {
+                f.agregar(destinos[e], metros[e]);
+            }
+            return f;
+        }
+
+        /**
+         * Copia el grafo reemplazando las filas indicadas.
+         *
+         * <p>Solo las filas cambiadas se calculan de nuevo, pero los arreglos se copian
+         * completos: el resto de las filas se copia por bloques con {@code arraycopy}.</p>
+         */
+        private Csr conFilas(int[] nIds, int[] nParadas, int[] nRecorridos, double[] nLatitudes, double[] nLongitudes,
+                             Map<Integer, Integer> nNodoPorId, int nEliminados, Map<Integer, Fila> cambios) {
+            int nodos = nIds.length;
+            int total = destinos.length;
+            for (Map.Entry<Integer, Fila> c : cambios.entrySet()) {
+                int n = c.getKey();
+                int anterior = n < ids.length ? inicio[n + 1] - inicio[n] : 0;
+                total += c.getValue().size - anterior;
+            }
+            int[] nInicio = new int[nodos + 1];
+            int[] nDestinos = new int[total];
+            int[] nMetros = new int[total];
+            int escrito = 0;
+            for (int n = 0; n < nodos; n++) {
+                nInicio[n] = escrito;
+                Fila nueva = cambios.get(n);
+                if (nueva != null) {
+                    System.arraycopy(nueva.destinos, 0, nDestinos, escrito, nueva.size);
+                    System.arraycopy(nueva.metros, 0, nMetros, escrito, nueva.size);
+                    escrito += nueva.size;
+                } else if (n < ids.length) {
+                    int largo = inicio[n + 1] - inicio[n];
+                    System.arraycopy(destinos, inicio[n], nDestinos, escrito, largo);
+                    System.arraycopy(metros, inicio[n], nMetros, escrito, largo);
+                    escrito += largo;
+                }
+            }
+            nInicio[nodos] = escrito;
+            return new Csr(nIds, nParadas, nRecorridos, nLatitudes, nLongitudes, nInicio, nDestinos, nMetros,
+                    nNodoPorId, nEliminados);
+        }
+
+        /**
+         * Copia el grafo sin los nodos eliminados, renumerando los restantes.
+         */
+        private Csr compactado() {
+            int[] nueva = new int[ids.length];
+            int vivos = 0;
+            for (int n = 0; n < ids.length; n++) {
+                nueva[n] = vivo(n) ? vivos++ : -1;
+            }
+            int[] nIds = new int[vivos];
+            int[] nParadas = new int[vivos];
+            int[] nRecorridos = new int[vivos];
+            double[] nLatitudes = new double[vivos];
+            double[] nLongitudes = new double[vivos];
+            int[] nInicio = new int[vivos + 1];
+            int[] nDestinos = new int[destinos.length];
+            int[] nMetros = new int[destinos.length];
+            Map<Integer, Integer> nNodoPorId = new HashMap<>();
+            int escrito = 0;
+            for (int n = 0; n < ids.length; n++) {
+                int m = nueva[n];
+                if (m < 0) continue;
+                nIds[m] = ids[n];
+                nParadas[m] = paradas[n];
+                nRecorridos[m] = recorridos[n];
+                nLatitudes[m] = latitudes[n];
+                nLongitudes[m] = longitudes[n];
+                nNodoPorId.put(ids[n], m);
+                nInicio[m] = escrito;
+                for (int e = inicio[n]; e < inicio[n + 1]; e++) {
+                    nDestinos[escrito] = nueva[destinos[e]];
+                    nMetros[escrito] = metros[e];
+                    escrito++;
+                }
+            }
+            nInicio[vivos] = escrito;
+            return new Csr(nIds, nParadas, nRecorridos, nLatitudes, nLongitudes, nInicio,
+                    Arrays.copyOf(nDestinos, escrito), Arrays.copyOf(nMetros, escrito), nNodoPorId, 0);
+        }
+    }
+
+    /**
+     * Fila de aristas en construcción, en arreglos que crecen al agregar.
+     */
+    private static final class Fila {
+        private int[] destinos = VACIA;
+        private int[] metros = VACIA;
+        private int size;
+
+        private void agregar(int destino, int distancia) {
+            if (size == destinos.length) {
+                int capacidad = Math.max(8, size * 2);
+                destinos = Arrays.copyOf(destinos, capacidad);
+                metros = Arrays.copyOf(metros, capacidad);
+            }
+            destinos[size] = destino;
+            metros[size] = distancia;
+            size++;
+        }
+
+        private Fila sin(int destino) {
+            Fila f = new Fila();
+            for (int i = 0; i < size; i++) {
+                if (destinos[i] != destino) f.agregar(destinos[i], metros[i]);
+            }
+            return f;
+        }
+    }
+}
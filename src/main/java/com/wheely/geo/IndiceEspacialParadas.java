@@ -0,0 +1,580 @@
+package com.wheely.geo;
+
+import com.wheely.model.CoordenadaParada;
+import com.wheely.util.FuenteCarga;
+import com.wheely.util.GeoUtil;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice espacial en memoria de las coordenadas de paradas del sistema Wheely.
+ *
+ * <p>Organiza los puntos de la tabla CoordenadaParada en una cuadrícula uniforme de
+ * celdas de {@value #TAMANO_CELDA_GRADOS} grados (aproximadamente 1.1 km en Tuxtla Gutiérrez),
+ * de modo que la consulta de "paradas cercanas" solo revisa las celdas que tocan la caja
+ * envolvente del radio solicitado en lugar de recorrer toda la tabla.</p>
+ *
+ * <p>Funcionalidades principales:</p>
+ * <ul>
+ * <li>Carga completa desde la tabla CoordenadaParada</li>
+ * <li>Actualización incremental al crear, modificar o eliminar coordenadas</li>
+ * <li>Búsqueda por radio con prefiltro por caja envolvente y refinamiento Haversine</li>
+ * <li>Búsqueda por caja envolvente para teselas y vistas de mapa</li>
+ * <li>Caja envolvente y conteo de coordenadas mantenidos por parada</li>
+ * <li>Búsqueda de las k paradas más cercanas sin radio previo (árbol k-d)</li>
+ * </ul>
+ *
+ * <p>Las lecturas comparten un candado de lectura, por lo que múltiples peticiones
+ * concurrentes no se bloquean entre sí; solo las escrituras toman el candado exclusivo.
+ * No se contempla el cruce del antimeridiano, irrelevante para la zona de servicio.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see com.wheely.service.CoordenadaParadaService
+ * @see com.wheely.util.GeoUtil
+ */
+public class IndiceEspacialParadas {
+
+    /**
+     * Tamaño del lado de cada celda de la cuadrícula, en grados.
+     */
+    public static final double TAMANO_CELDA_GRADOS = 0.01;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Punto> puntosPorId = new HashMap<>();
+    private final Map<Long, List<Punto>> celdas = new HashMap<>();
+    private final Map<Integer, List<Punto>> puntosPorParada = new HashMap<>();
+    private final Map<Integer, ExtensionParada> extensiones = new HashMap<>();
+    private final List<OyenteGeometria> oyentes = new CopyOnWriteArrayList<>();
+    private volatile ArbolParadas arbol;
+    private volatile boolean cargado;
+
+    /**
+     * Reemplaza el contenido del índice con la lista completa de coordenadas de parada.
+     *
+     * <p>Las coordenadas sin latitud o longitud se omiten, igual que la consulta SQL
+     * las descarta al producir una distancia nula.</p>
+     *
+     * @param coordenadas Todas las coordenadas de parada registradas
+     */
+    public void cargar(Collection<CoordenadaParada> coordenadas) {
+        lock.writeLock().lock();
+        try {
+            puntosPorId.clear();
+            celdas.clear();
+            puntosPorParada.clear();
+            extensiones.clear();
+            arbol = null;
+            for (CoordenadaParada c : coordenadas) {
+                insertar(c);
+            }
+            for (Integer idParada : puntosPorParada.keySet()) {
+                actualizarExtension(idParada);
+            }
+            cargado = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notificar(CajaEnvolvente.MUNDO);
+    }
+
+    /**
+     * Registra un receptor que será avisado de cada cambio en las coordenadas indexadas.
+     *
+     * @param oyente Receptor de avisos de cambio
+     */
+    public void agregarOyente(OyenteGeometria oyente) {
+        oyentes.add(oyente);
+    }
+
+    /**
+     * Indica si el índice ya fue poblado desde la base de datos.
+     *
+     * @return true si {@link #cargar(Collection)} ya se ejecutó
+     */
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * Carga el índice la primera vez que se necesita; las llamadas siguientes no hacen nada.
+     *
+     * <p>La consulta corre bajo el monitor del índice; las lecturas que llegan mientras tanto esperan a que termine.</p>
+     *
+     * @param fuente Consulta que entrega el contenido completo
+     * @throws SQLException Si falla la consulta
+     */
+    public void asegurarCargado(FuenteCarga<? extends Collection<CoordenadaParada>> fuente) throws SQLException {
+        if (cargado) return;
+        synchronized (this) {
+            if (!cargado) cargar(fuente.leer());
+        }
+    }
+
+    /**
+     * Agrega o reemplaza una coordenada de parada en el índice.
+     *
+     * @param coordenadaParada Coordenada persistida (con ID asignado)
+     */
+    public void guardar(CoordenadaParada coordenadaParada) {
+        CajaEnvolvente zona;
+        lock.writeLock().lock();
+        try {
+            Punto anterior = puntosPorId.get(coordenadaParada.getIdCoordenadaParada());
+            zona = quitar(coordenadaParada.getIdCoordenadaParada());
+            zona = CajaEnvolvente.union(zona, insertar(coordenadaParada));
+            if (anterior != null) actualizarExtension(anterior.idParada);
+            actualizarExtension(coordenadaParada.getIdParada());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notificar(zona);
+    }
+
+    /**
+     * Elimina una coordenada de parada del índice.
+     *
+     * @param idCoordenadaParada ID de la coordenada eliminada
+     */
+    public void eliminar(int idCoordenadaParada) {
+        CajaEnvolvente zona;
+        lock.writeLock().lock();
+        try {
+            Punto anterior = puntosPorId.get(idCoordenadaParada);
+            zona = quitar(idCoordenadaParada);
+            if (anterior != null) actualizarExtension(anterior.idParada);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notificar(zona);
+    }
+
+    /**
+     * Reemplaza todas las coordenadas de una parada, como tras importarla desde GeoJSON.
+     *
+     * @param idParada ID de la parada
+     * @param coordenadas Nuevas coordenadas persistidas de la parada
+     */
+    public void reemplazarParada(int idParada, Collection<CoordenadaParada> coordenadas) {
+        CajaEnvolvente zona = null;
+        lock.writeLock().lock();
+        try {
+            List<Punto> anteriores = puntosPorParada.get(idParada);
+            if (anteriores != null) {
+                for (Punto p : new ArrayList<>(anteriores)) {
+                    zona = CajaEnvolvente.union(zona, quitar(p.idCoordenadaParada));
+                }
+            }
+            for (CoordenadaParada c : coordenadas) {
+                zona = CajaEnvolvente.union(zona, insertar(c));
+            }
+            actualizarExtension(idParada);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notificar(zona);
+    }
+
+    /**
+     * Quita todas las coordenadas de las paradas que ya no existen.
+     *
+     * <p>Se usa tras un borrado en cascada (de una ruta o un recorrido), cuando no se sabe
+     * qué paradas cayeron con él: basta con la lista de las que siguen registradas.</p>
+     *
+     * @param vigentes IDs de las paradas que siguen registradas
+     */
+    public void retenerParadas(Set<Integer> vigentes) {
+        CajaEnvolvente zona = null;
+        lock.writeLock().lock();
+        try {
+            for (Integer idParada : new ArrayList<>(puntosPorParada.keySet())) {
+                if (vigentes.contains(idParada)) continue;
+                for (Punto p : new ArrayList<>(puntosPorParada.get(idParada))) {
+                    zona = CajaEnvolvente.union(zona, quitar(p.idCoordenadaParada));
+                }
+                actualizarExtension(idParada);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notificar(zona);
+    }
+
+    /**
+     * Busca las coordenadas de parada que se encuentran dentro de un radio.
+     *
+     * <p>Produce el mismo resultado que
+     * {@link com.wheely.repository.CoordenadaParadaRepository#findCercanas(java.math.BigDecimal, java.math.BigDecimal, double)}:
+     * coordenadas a una distancia menor o igual al radio, ordenadas de la más cercana a la más lejana.</p>
+     *
+     * <pre>
+     * List&lt;CoordenadaParada&gt; cercanas = indice.buscarCercanas(16.7569, -93.1292, 0.5);
+     * </pre>
+     *
+     * @param latitud Latitud del punto de referencia
+     * @param longitud Longitud del punto de referencia
+     * @param radioKm Radio de búsqueda en kilómetros
+     * @return Lista de coordenadas dentro del radio ordenadas por distancia
+     */
+    public List<CoordenadaParada> buscarCercanas(double latitud, double longitud, double radioKm) {
+        List<Candidato> candidatos = new ArrayList<>();
+        double dLat = GeoUtil.deltaLatitud(radioKm);
+        double dLon = GeoUtil.deltaLongitud(radioKm, latitud);
+        double latMin = latitud - dLat;
+        double latMax = latitud + dLat;
+        double lonMin = longitud - dLon;
+        double lonMax = longitud + dLon;
+
+        lock.readLock().lock();
+        try {
+            long filaMin = indiceCelda(latMin);
+            long filaMax = indiceCelda(latMax);
+            long colMin = indiceCelda(lonMin);
+            long colMax = indiceCelda(lonMax);
+            long totalCeldas = (filaMax - filaMin + 1) * (colMax - colMin + 1);
+
+            if (totalCeldas > puntosPorId.size()) {
+                // Radio muy grande: es más barato revisar todos los puntos que todas las celdas
+                for (Punto p : puntosPorId.values()) {
+                    evaluar(p, latitud, longitud, radioKm, latMin, latMax, lonMin, lonMax, candidatos);
+                }
+            } else {
+                for (long fila = filaMin; fila <= filaMax; fila++) {
+                    for (long col = colMin; col <= colMax; col++) {
+                        List<Punto> celda = celdas.get(clave(fila, col));
+                        if (celda == null) continue;
+                        for (Punto p : celda) {
+                            evaluar(p, latitud, longitud, radioKm, latMin, latMax, lonMin, lonMax, candidatos);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        candidatos.sort(Comparator.comparingDouble((Candidato c) -> c.distanciaKm)
+                .thenComparingInt(c -> c.punto.idCoordenadaParada));
+        List<CoordenadaParada> resultado = new ArrayList<>(candidatos.size());
+        for (Candidato c : candidatos) {
+            resultado.add(c.punto.toCoordenadaParada());
+        }
+        return resultado;
+    }
+
+    /**
+     * Busca las {@code k} paradas más cercanas a un punto, sin necesidad de adivinar un radio.
+     *
+     * <p>Usa un árbol k-d de todas las coordenadas recorrido del mejor primero: las coordenadas
+     * llegan en orden creciente de distancia y la búsqueda termina en cuanto se reúnen
+     * {@code k} paradas distintas. Cada parada aparece una sola vez, con su coordenada más
+     * próxima. El árbol se reconstruye con la primera búsqueda posterior a una escritura.</p>
+     *
+     * <pre>
+     * List&lt;ParadaCercana&gt; cinco = indice.buscarMasCercanas(16.7569, -93.1292, 5, Double.POSITIVE_INFINITY);
+     * </pre>
+     *
+     * @param latitud Latitud del punto de referencia
+     * @param longitud Longitud del punto de referencia
+     * @param k Número de paradas a retornar
+     * @param radioMaximoKm Distancia máxima admitida, o {@link Double#POSITIVE_INFINITY}
+     * @return Hasta {@code k} paradas ordenadas por distancia
+     */
+    public List<ParadaCercana> buscarMasCercanas(double latitud, double longitud, int k, double radioMaximoKm) {
+        List<ParadaCercana> resultado = new ArrayList<>(k);
+        Set<Integer> paradasVistas = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            ArbolParadas a = arbol;
+            if (a == null) {
+                // Con el candado de lectura ningún escritor puede invalidar el árbol mientras se publica
+                a = new ArbolParadas(puntosPorId.values());
+                arbol = a;
+            }
+            Punto[] puntos = a.puntos;
+            a.arbol.recorrerPorCercania(latitud, longitud, (indice, distanciaKm) -> {
+                if (distanciaKm > radioMaximoKm) return false;
+                Punto p = puntos[indice];
+                if (paradasVistas.add(p.idParada)) {
+                    resultado.add(new ParadaCercana(p.idParada, p.idCoordenadaParada, p.latitud, p.longitud, distanciaKm));
+                }
+                return resultado.size() < k;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene las coordenadas de parada contenidas en una caja envolvente.
+     *
+     * @param caja Zona de búsqueda
+     * @return Coordenadas dentro de la caja, ordenadas por ID
+     */
+    public List<CoordenadaParada> buscarEnCaja(CajaEnvolvente caja) {
+        List<Punto> encontrados = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long filaMin = indiceCelda(caja.getLatitudMinima());
+            long filaMax = indiceCelda(caja.getLatitudMaxima());
+            long colMin = indiceCelda(caja.getLongitudMinima());
+            long colMax = indiceCelda(caja.getLongitudMaxima());
+            long totalCeldas = (filaMax - filaMin + 1) * (colMax - colMin + 1);
+
+            if (totalCeldas > puntosPorId.size()) {
+                for (Punto p : puntosPorId.values()) {
+                    if (caja.contiene(p.lat, p.lon)) encontrados.add(p);
+                }
+            } else {
+                for (long fila = filaMin; fila <= filaMax; fila++) {
+                    for (long col = colMin; col <= colMax; col++) {
+                        List<Punto> celda = celdas.get(clave(fila, col));
+                        if (celda == null) continue;
+                        for (Punto p : celda) {
+                            if (caja.contiene(p.lat, p.lon)) encontrados.add(p);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        encontrados.sort(Comparator.comparingInt(p -> p.idCoordenadaParada));
+        List<CoordenadaParada> resultado = new ArrayList<>(encontrados.size());
+        for (Punto p : encontrados) {
+            resultado.add(p.toCoordenadaParada());
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene las paradas que tienen alguna coordenada dentro de una zona, como una vista del mapa.
+     *
+     * <p>Descarta primero por la caja envolvente de cada parada; las paradas cuya caja queda
+     * completamente dentro se aceptan sin más y solo las que cruzan el borde de la zona se
+     * verifican coordenada por coordenada.</p>
+     *
+     * @param zona Caja de la vista
+     * @return Extensiones de las paradas visibles, ordenadas por ID de parada
+     */
+    public List<ExtensionParada> paradasEnCaja(CajaEnvolvente zona) {
+        List<ExtensionParada> resultado = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (ExtensionParada extension : extensiones.values()) {
+                if (!zona.intersecta(extension.getCaja())) continue;
+                if (zona.contiene(extension.getCaja()) || algunPuntoEn(puntosPorParada.get(extension.getIdParada()), zona)) {
+                    resultado.add(extension);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        resultado.sort(Comparator.comparingInt(ExtensionParada::getIdParada));
+        return resultado;
+    }
+
+    /**
+     * Obtiene la extensión de una parada.
+     *
+     * @param idParada ID de la parada
+     * @return Caja y número de coordenadas de la parada, o null si no tiene coordenadas con ubicación
+     */
+    public ExtensionParada getExtension(int idParada) {
+        lock.readLock().lock();
+        try {
+            return extensiones.get(idParada);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene las coordenadas de una parada en su orden.
+     *
+     * @param idParada ID de la parada
+     * @return Coordenadas de la parada ordenadas por {@code orden_parada}, vacía si no tiene
+     */
+    public List<CoordenadaParada> coordenadasDeParada(int idParada) {
+        List<CoordenadaParada> resultado = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<Punto> puntos = puntosPorParada.get(idParada);
+            if (puntos != null) {
+                for (Punto p : puntos) {
+                    resultado.add(p.toCoordenadaParada());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        resultado.sort(Comparator.comparingInt(CoordenadaParada::getOrdenParada)
+                .thenComparingInt(CoordenadaParada::getIdCoordenadaParada));
+        return resultado;
+    }
+
+    /**
+     * Obtiene el número de coordenadas indexadas.
+     *
+     * @return Total de coordenadas de parada en el índice
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return puntosPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void evaluar(Punto p, double latitud, double longitud, double radioKm,
+                                double latMin, double latMax, double lonMin, double lonMax,
+                                List<Candidato> candidatos) {
+        if (p.lat < latMin || p.lat > latMax || p.lon < lonMin || p.lon > lonMax) return;
+        double distancia = GeoUtil.distanciaKm(latitud, longitud, p.lat, p.lon);
+        if (distancia <= radioKm) {
+            candidatos.add(new Candidato(p, distancia));
+        }
+    }
+
+    private static boolean algunPuntoEn(List<Punto> puntos, CajaEnvolvente zona) {
+        for (Punto p : puntos) {
+            if (zona.contiene(p.lat, p.lon)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Recalcula la caja y el conteo de una parada a partir de sus coordenadas actuales.
+     */
+    private void actualizarExtension(int idParada) {
+        List<Punto> puntos = puntosPorParada.get(idParada);
+        if (puntos == null || puntos.isEmpty()) {
+            puntosPorParada.remove(idParada);
+            extensiones.remove(idParada);
+            return;
+        }
+        double latMin = Double.POSITIVE_INFINITY;
+        double latMax = Double.NEGATIVE_INFINITY;
+        double lonMin = Double.POSITIVE_INFINITY;
+        double lonMax = Double.NEGATIVE_INFINITY;
+        for (Punto p : puntos) {
+            latMin = Math.min(latMin, p.lat);
+            latMax = Math.max(latMax, p.lat);
+            lonMin = Math.min(lonMin, p.lon);
+            lonMax = Math.max(lonMax, p.lon);
+        }
+        extensiones.put(idParada, new ExtensionParada(idParada, puntos.size(),
+                new CajaEnvolvente(latMin, lonMin, latMax, lonMax)));
+    }
+
+    private CajaEnvolvente insertar(CoordenadaParada c) {
+        if (c.getLatitud() == null || c.getLongitud() == null) return null;
+        Punto p = new Punto(c);
+        arbol = null;
+        puntosPorId.put(p.idCoordenadaParada, p);
+        puntosPorParada.computeIfAbsent(p.idParada, k -> new ArrayList<>()).add(p);
+        celdas.computeIfAbsent(clave(indiceCelda(p.lat), indiceCelda(p.lon)), k -> new ArrayList<>()).add(p);
+        return CajaEnvolvente.punto(p.lat, p.lon);
+    }
+
+    private CajaEnvolvente quitar(int idCoordenadaParada) {
+        Punto anterior = puntosPorId.remove(idCoordenadaParada);
+        if (anterior == null) return null;
+        arbol = null;
+        List<Punto> deParada = puntosPorParada.get(anterior.idParada);
+        if (deParada != null) deParada.remove(anterior);
+        long clave = clave(indiceCelda(anterior.lat), indiceCelda(anterior.lon));
+        List<Punto> celda = celdas.get(clave);
+        if (celda != null) {
+            celda.remove(anterior);
+            if (celda.isEmpty()) celdas.remove(clave);
+        }
+        return CajaEnvolvente.punto(anterior.lat, anterior.lon);
+    }
+
+    private void notificar(CajaEnvolvente zona) {
+        if (zona == null) return;
+        for (OyenteGeometria oyente : oyentes) {
+            oyente.geometriaModificada(zona);
+        }
+    }
+
+    private static long indiceCelda(double grados) {
+        return (long) Math.floor(grados / TAMANO_CELDA_GRADOS);
+    }
+
+    private static long clave(long fila, long columna) {
+        return (fila << 32) | (columna & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Copia inmutable de una coordenada de parada con sus grados precalculados como double.
+     */
+    private static final class Punto {
+        private final int idCoordenadaParada;
+        private final int idParada;
+        private final java.math.BigDecimal latitud;
+        private final java.math.BigDecimal longitud;
+        private final int ordenParada;
+        private final double lat;
+        private final double lon;
+
+        private Punto(CoordenadaParada c) {
+            this.idCoordenadaParada = c.getIdCoordenadaParada();
+            this.idParada = c.getIdParada();
+            this.latitud = c.getLatitud();
+            this.longitud = c.getLongitud();
+            this.ordenParada = c.getOrdenParada();
+            this.lat = latitud.doubleValue();
+            this.lon = longitud.doubleValue();
+        }
+
+        private CoordenadaParada toCoordenadaParada() {
+            return new CoordenadaParada(idCoordenadaParada, idParada, latitud, longitud, ordenParada);
+        }
+    }
+
+    /**
+     * Árbol k-d inmutable junto con los puntos que indexa, en el mismo orden.
+     */
+    private static final class ArbolParadas {
+        private final Punto[] puntos;
+        private final ArbolKd arbol;
+
+        private ArbolParadas(Collection<Punto> todos) {
+            puntos = todos.toArray(new Punto[0]);
+            double[] latitudes = new double[puntos.length];
+            double[] longitudes = new double[puntos.length];
+            for (int i = 0; i < puntos.length; i++) {
+                latitudes[i] = puntos[i].lat;
+                longitudes[i] = puntos[i].lon;
+            }
+            arbol = new ArbolKd(latitudes, longitudes);
+        }
+    }
+
+    private static final class Candidato {
+        private final Punto punto;
+        private final double distanciaKm;
+
+        private Candidato(Punto punto, double distanciaKm) {
+            this.punto = punto;
+            this.distanciaKm = distanciaKm;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.wheely.geo;
+
+import com.wheely.util.GeoUtil;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice espacial inmutable de los segmentos de todos los recorridos.
+ *
+ * <p>Cada par de puntos consecutivos de un trazado (por {@code orden_punto}) forma un
+ * segmento. Los segmentos se guardan en arreglos paralelos, proyectados a metros en un
+ * plano local equirectangular, y se reparten en una cuadrícula de celdas de
+ * {@value #TAMANO_CELDA_METROS} m para encontrar en tiempo constante los que pasan cerca
+ * de un punto GPS.</p>
+ *
+ * <p>Junto a cada segmento se guarda la distancia recorrida desde el inicio del recorrido
+ * hasta su primer punto, tomada de {@link GeometriaRecorrido#distanciaAcumulada(int)}, para
+ * traducir una proyección sobre el segmento en avance a lo largo del recorrido.</p>
+ *
+ * <pre>
+ * IndiceSegmentos indice = almacenGeometria.getIndiceSegmentos();
+ * IndiceSegmentos.Cercanos cercanos = indice.buscar(16.7569, -93.1292, 50);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see AlmacenGeometria#getIndiceSegmentos()
+ * @see EmparejadorTrazas
+ */
+public final class IndiceSegmentos {
+
+    /**
+     * Lado de cada celda de la cuadrícula, en metros.
+     */
+    public static final double TAMANO_CELDA_METROS = 100.0;
+
+    private static final double METROS_POR_GRADO = GeoUtil.KM_POR_GRADO * 1000.0;
+
+    private final double escalaLongitud;
+    private final int[] recorrido;
+    private final int[] posicion;
+    private final double[] x1;
+    private final double[] y1;
+    private final double[] x2;
+    private final double[] y2;
+    private final double[] inicioMetros;
+    private final double[] largoMetros;
+    private final Map<Integer, Double> longitudRecorrido;
+    private final Map<Long, int[]> celdas;
+
+    /**
+     * Construye el índice a partir de los trazados publicados.
+     *
+     * @param trazados Trazados de todos los recorridos
+     */
+    public IndiceSegmentos(Collection<GeometriaRecorrido> trazados) {
+        int total = 0;
+        double sumaLatitudes = 0;
+        int puntos = 0;
+        for (GeometriaRecorrido g : trazados) {
+            total += Math.max(0, g.size() - 1);
+            for (int i = 0; i < g.size(); i++) {
+                sumaLatitudes += g.latitud(i);
+                puntos++;
+            }
+        }
+        double latitudReferencia = puntos > 0 ? sumaLatitudes / puntos : 0;
+        escalaLongitud = Math.cos(Math.toRadians(latitudReferencia)) * METROS_POR_GRADO;
+
+        recorrido = new int[total];
+        posicion = new int[total];
+        x1 = new double[total];
+        y1 = new double[total];
+        x2 = new double[total];
+        y2 = new double[total];
+        inicioMetros = new double[total];
+        largoMetros = new double[total];
+        longitudRecorrido = new HashMap<>();
+
+        Map<Long, int[]> porCelda = new HashMap<>();
+        Map<Long, Integer> ocupacion = new HashMap<>();
+        int s = 0;
+        for (GeometriaRecorrido g : trazados) {
+            for (int i = 0; i + 1 < g.size(); i++, s++) {
+                recorrido[s] = g.getIdRecorrido();
+                posicion[s] = i;
+                x1[s] = g.longitud(i) * escalaLongitud;
+                y1[s] = g.latitud(i) * METROS_POR_GRADO;
+                x2[s] = g.longitud(i + 1) * escalaLongitud;
+                y2[s] = g.latitud(i + 1) * METROS_POR_GRADO;
+                inicioMetros[s] = g.distanciaAcumulada(i);
+                largoMetros[s] = g.distanciaEntre(i, i + 1);
+
+                long cMin = celda(Math.min(x1[s], x2[s]));
+                long cMax = celda(Math.max(x1[s], x2[s]));
+                long fMin = celda(Math.min(y1[s], y2[s]));
+                long fMax = celda(Math.max(y1[s], y2[s]));
+                for (long f = fMin; f <= fMax; f++) {
+                    for (long c = cMin; c <= cMax; c++) {
+                        long clave = clave(f, c);
+                        int[] lista = porCelda.get(clave);
+                        int usados = ocupacion.getOrDefault(clave, 0);
+                        if (lista == null) {
+                            lista = new int[4];
+                        } else if (usados == lista.length) {
+                            lista = Arrays.copyOf(lista, usados * 2);
+                        }
+                        lista[usados] = s;
+                        porCelda.put(clave, lista);
+                        ocupacion.put(clave, usados + 1);
+                    }
+                }
+            }
+            longitudRecorrido.put(g.getIdRecorrido(), g.getLongitudMetros());
+        }
+        for (Map.Entry<Long, int[]> e : porCelda.entrySet()) {
+            e.setValue(Arrays.copyOf(e.getValue(), ocupacion.get(e.getKey())));
+        }
+        celdas = porCelda;
+    }
+
+    /**
+     * Busca los segmentos que pasan a menos de un radio de un punto.
+     *
+     * @param latitud Latitud del punto
+     * @param longitud Longitud del punto
+     * @param radioMetros Distancia máxima al segmento
+     * @return Segmentos cercanos con la proyección del punto sobre cada uno
+     */
+    public Cercanos buscar(double latitud, double longitud, double radioMetros) {
+        double px = longitud * escalaLongitud;
+        double py = latitud * METROS_POR_GRADO;
+        Cercanos resultado = new Cercanos();
+        long cMin = celda(px - radioMetros);
+        long cMax = celda(px + radioMetros);
+        long fMin = celda(py - radioMetros);
+        long fMax = celda(py + radioMetros);
+        for (long f = fMin; f <= fMax; f++) {
+            for (long c = cMin; c <= cMax; c++) {
+                int[] lista = celdas.get(clave(f, c));
+                if (lista == null) continue;
+                for (int s : lista) {
+                    if (resultado.contiene(s)) continue;
+                    double dx = x2[s] - x1[s];
+                    double dy = y2[s] - y1[s];
+                    double largo2 = dx * dx + dy * dy;
+                    double t = largo2 == 0 ? 0 : ((px - x1[s]) * dx + (py - y1[s]) * dy) / largo2;
+                    t = Math.max(0, Math.min(1, t));
+                    double ex = px - (x1[s] + t * dx);
+                    double ey = py - (y1[s] + t * dy);
+                    double distancia = Math.sqrt(ex * ex + ey * ey);
+                    if (distancia <= radioMetros) {
+                        resultado.agregar(s, t, distancia);
+                    }
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene el ID del recorrido al que pertenece un segmento.
+     *
+     * @param segmento Índice del segmento
+     * @return ID del recorrido
+     */
+    public int recorridoDe(int segmento) {
+        return recorrido[segmento];
+    }
+
+    /**
+     * Obtiene la posición, dentro del trazado, del primer punto de un segmento.
+     *
+     * @param segmento Índice del segmento
+     * @return Posición del punto inicial en {@link GeometriaRecorrido}
+     */
+    public int posicionDe(int segmento) {
+        return posicion[segmento];
+    }
+
+    /**
+     * Calcula el avance a lo largo del recorrido de un punto proyectado sobre un segmento.
+     *
+     * @param segmento Índice del segmento
+     * @param t Fracción del segmento (0 en su inicio, 1 en su fin)
+     * @return Metros desde el inicio del recorrido
+     */
+    public double avanceMetros(int segmento, double t) {
+        return inicioMetros[segmento] + t * largoMetros[segmento];
+    }
+
+    /**
+     * Obtiene la latitud del punto proyectado sobre un segmento.
+     *
+     * @param segmento Índice del segmento
+     * @param t Fracción del segmento
+     * @return Latitud en grados
+     */
+    public double latitudEn(int segmento, double t) {
+        return (y1[segmento] + t * (y2[segmento] - y1[segmento])) / METROS_POR_GRADO;
+    }
+
+    /**
+     * Obtiene la longitud del punto proyectado sobre un segmento.
+     *
+     * @param segmento Índice del segmento
+     * @param t Fracción del segmento
+     * @return Longitud en grados
+     */
+    public double longitudEn(int segmento, double t) {
+        return (x1[segmento] + t * (x2[segmento] - x1[segmento])) / escalaLongitud;
+    }
+
+    /**
+     * Obtiene el rumbo de un segmento en el sentido en que lo recorre su recorrido.
+     *
+     * @param segmento Índice del segmento
+     * @return Grados desde el norte en sentido horario (0 a 360), o {@code NaN} si el segmento no tiene largo
+     */
+    public double rumboGrados(int segmento) {
+        double dx = x2[segmento] - x1[segmento];
+        double dy = y2[segmento] - y1[segmento];
+        if (dx == 0 && dy == 0) return Double.NaN;
+        double grados = Math.toDegrees(Math.atan2(dx, dy));
+        return grados < 0 ? grados + 360 : grados;
+    }
+
+    /**
+     * Obtiene la longitud total de un recorrido.
+     *
+     * @param idRecorrido ID del recorrido
+     * @return Metros del recorrido, o 0 si no tiene segmentos
+     */
+    public double longitudMetros(int idRecorrido) {
+        return longitudRecorrido.getOrDefault(idRecorrido, 0.0);
+    }
+
+    /**
+     * Obtiene el número de segmentos indexados.
+     *
+     * @return Total de segmentos
+     */
+    public int size() {
+        return recorrido.length;
+    }
+
+    private static long celda(double metros) {
+        return (long) Math.floor(metros / TAMANO_CELDA_METROS);
+    }
+
+    private static long clave(long fila, long columna) {
+        return (fila << 32) | (columna & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Segmentos cercanos a un punto, en arreglos paralelos.
+     */
+    public static final class Cercanos {
+        private int[] segmentos = new int[8];
+        private double[] fracciones = new double[8];
+        private double[] distancias = new double[8];
+        private int tamano;
+
+        public int size() {
+            return tamano;
+        }
+
+        public int segmento(int i) {
+            return segmentos[i];
+        }
+
+        public double fraccion(int i) {
+            return fracciones[i];
+        }
+
+        public double distanciaMetros(int i) {
+            return distancias[i];
+        }
+
+        private boolean contiene(int segmento) {
+            for (int i = 0; i < tamano; i++) {
+                if (segmentos[i] == segmento) return true;
+            }
+            return false;
+        }
+
+        private void agregar(int segmento, double fraccion, double distancia) {
+            if (tamano == segmentos.length) {
+                segmentos = Arrays.copyOf(segmentos, tamano * 2);
+                fracciones = Arrays.copyOf(fracciones, tamano * 2);
+                distancias = Arrays.copyOf(distancias, tamano * 2);
+            }
+            segmentos[tamano] = segmento;
+            fracciones[tamano] = fraccion;
+            distancias[tamano] = distancia;
+            tamano++;
+        }
+    }
+}
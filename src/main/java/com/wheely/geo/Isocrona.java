@@ -0,0 +1,152 @@
+package com.wheely.geo;
+
+import com.wheely.util.GeoUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Área alcanzable desde una ubicación en un tiempo dado, como {@code Feature} GeoJSON.
+ *
+ * <p>El área se arma sobre una cuadrícula de {@value #TAMANO_CELDA_METROS} metros: se marca
+ * cada celda cuyo centro queda al alcance caminando, ya sea desde el origen (hasta
+ * {@link PlanificadorViajes#CAMINATA_DIRECTA_MAXIMA_METROS}) o desde un punto de parada
+ * alcanzado con el tiempo que sobra (hasta {@link PlanificadorViajes#RADIO_ACCESO_METROS}).
+ * Las celdas contiguas de cada fila se unen en un rectángulo, así que la geometría es un
+ * {@code MultiPolygon} de rectángulos.</p>
+ *
+ * <pre>
+ * {
+ *   "type": "Feature",
+ *   "geometry": { "type": "MultiPolygon", "coordinates": [ [ [ [-93.1172, 16.7509], ... ] ] ] },
+ *   "properties": { "minutos": 20, "idPeriodo": 1, "paradasAlcanzadas": 143, "celdaMetros": 100, "areaKm2": 6.42 }
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see PlanificadorViajes#tiemposDesde(double, double, int, int)
+ * @see com.wheely.service.PlanificacionService
+ */
+public class Isocrona {
+
+    /**
+     * Lado en metros de las celdas de la cuadrícula.
+     */
+    public static final int TAMANO_CELDA_METROS = 100;
+
+    private static final double METROS_POR_GRADO = GeoUtil.KM_POR_GRADO * 1000.0;
+
+    private final Map<String, Object> geometry;
+    private final Map<String, Object> properties;
+
+    private Isocrona(Map<String, Object> geometry, Map<String, Object> properties) {
+        this.geometry = geometry;
+        this.properties = properties;
+    }
+
+    /**
+     * Arma el área alcanzable a partir de los tiempos de llegada a los puntos de parada.
+     *
+     * @param red Red sobre la que se calcularon los tiempos
+     * @param tiempos Segundos hasta cada punto de parada, -1 si no se alcanza
+     * @param lat Latitud del origen
+     * @param lon Longitud del origen
+     * @param presupuestoSegundos Segundos máximos de viaje
+     * @param idPeriodo Periodo cuyos tiempos se usaron, 0 si ninguno
+     * @return Isócrona con la geometría y sus propiedades
+     */
+    public static Isocrona calcular(RedTransporte red, int[] tiempos, double lat, double lon,
+                                    int presupuestoSegundos, int idPeriodo) {
+        double escalaX = METROS_POR_GRADO * Math.cos(Math.toRadians(lat));
+        List<double[]> circulos = new ArrayList<>();
+        double radioOrigen = Math.min(presupuestoSegundos * RedTransporte.VELOCIDAD_CAMINATA,
+                PlanificadorViajes.CAMINATA_DIRECTA_MAXIMA_METROS);
+        circulos.add(new double[]{0, 0, radioOrigen});
+        int alcanzadas = 0;
+        for (int s = 0; s < tiempos.length; s++) {
+            if (tiempos[s] < 0) continue;
+            alcanzadas++;
+            double radio = Math.min((presupuestoSegundos - tiempos[s]) * RedTransporte.VELOCIDAD_CAMINATA,
+                    PlanificadorViajes.RADIO_ACCESO_METROS);
+            if (radio <= 0) continue;
+            circulos.add(new double[]{(red.longitud(s) - lon) * escalaX, (red.latitud(s) - lat) * METROS_POR_GRADO, radio});
+        }
+
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (double[] c : circulos) {
+            minX = Math.min(minX, c[0] - c[2]);
+            minY = Math.min(minY, c[1] - c[2]);
+            maxX = Math.max(maxX, c[0] + c[2]);
+            maxY = Math.max(maxY, c[1] + c[2]);
+        }
+        int columnas = (int) Math.ceil((maxX - minX) / TAMANO_CELDA_METROS) + 1;
+        int filas = (int) Math.ceil((maxY - minY) / TAMANO_CELDA_METROS) + 1;
+        boolean[] marcada = new boolean[filas * columnas];
+        for (double[] c : circulos) {
+            int filaMin = Math.max(0, (int) Math.ceil((c[1] - c[2] - minY) / TAMANO_CELDA_METROS - 0.5));
+            int filaMax = Math.min(filas - 1, (int) Math.floor((c[1] + c[2] - minY) / TAMANO_CELDA_METROS - 0.5));
+            for (int f = filaMin; f <= filaMax; f++) {
+                double dy = minY + (f + 0.5) * TAMANO_CELDA_METROS - c[1];
+                double dx = Math.sqrt(Math.max(0, c[2] * c[2] - dy * dy));
+                int colMin = Math.max(0, (int) Math.ceil((c[0] - dx - minX) / TAMANO_CELDA_METROS - 0.5));
+                int colMax = Math.min(columnas - 1, (int) Math.floor((c[0] + dx - minX) / TAMANO_CELDA_METROS - 0.5));
+                if (colMin <= colMax) Arrays.fill(marcada, f * columnas + colMin, f * columnas + colMax + 1, true);
+            }
+        }
+
+        List<double[][][]> poligonos = new ArrayList<>();
+        int celdas = 0;
+        for (int f = 0; f < filas; f++) {
+            double latSur = lat + (minY + f * TAMANO_CELDA_METROS) / METROS_POR_GRADO;
+            double latNorte = lat + (minY + (f + 1) * TAMANO_CELDA_METROS) / METROS_POR_GRADO;
+            int c = 0;
+            while (c < columnas) {
+                if (!marcada[f * columnas + c]) {
+                    c++;
+                    continue;
+                }
+                int inicio = c;
+                while (c < columnas && marcada[f * columnas + c]) c++;
+                celdas += c - inicio;
+                double lonOeste = lon + (minX + inicio * TAMANO_CELDA_METROS) / escalaX;
+                double lonEste = lon + (minX + c * TAMANO_CELDA_METROS) / escalaX;
+                poligonos.add(new double[][][]{{
+                        punto(lonOeste, latSur), punto(lonEste, latSur), punto(lonEste, latNorte),
+                        punto(lonOeste, latNorte), punto(lonOeste, latSur)}});
+            }
+        }
+
+        Map<String, Object> geometria = new LinkedHashMap<>();
+        geometria.put("type", "MultiPolygon");
+        geometria.put("coordinates", poligonos);
+        Map<String, Object> propiedades = new LinkedHashMap<>();
+        propiedades.put("minutos", presupuestoSegundos / 60);
+        propiedades.put("idPeriodo", idPeriodo > 0 ? idPeriodo : null);
+        propiedades.put("paradasAlcanzadas", alcanzadas);
+        propiedades.put("celdaMetros", TAMANO_CELDA_METROS);
+        propiedades.put("areaKm2", Math.round(celdas * (double) TAMANO_CELDA_METROS * TAMANO_CELDA_METROS / 1e4) / 100.0);
+        return new Isocrona(geometria, propiedades);
+    }
+
+    public String getType() {
+        return "Feature";
+    }
+
+    public Map<String, Object> getGeometry() {
+        return geometry;
+    }
+
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    private static double[] punto(double lon, double lat) {
+        return new double[]{Math.round(lon * 1e6) / 1e6, Math.round(lat * 1e6) / 1e6};
+    }
+}
@@ -0,0 +1,185 @@
+package com.wheely.geo;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lector en flujo de archivos GeoJSON con una {@code FeatureCollection}.
+ *
+ * <p>Recorre el documento con el {@link JsonParser} de Jackson, token por token, sin
+ * construir un árbol en memoria: cada entidad y cada posición se entregan a un
+ * {@link Receptor} en cuanto se leen. La memoria usada no depende del tamaño del archivo.</p>
+ *
+ * <p>Las coordenadas se leen con {@link JsonParser#getDecimalValue()}, de modo que llegan
+ * con la misma precisión decimal que tienen en el texto. Las posiciones de cualquier
+ * geometría se entregan en el orden del documento; una altitud, si existe, se ignora.</p>
+ *
+ * <pre>
+ * try (InputStream in = Files.newInputStream(ruta)) {
+ *     new LectorGeoJson().leer(in, receptor);
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see com.wheely.service.ImportacionService
+ */
+public class LectorGeoJson {
+
+    /**
+     * Fábrica sin {@code AUTO_CLOSE_SOURCE}: cerrar el parser no cierra el flujo del llamador.
+     */
+    private static final JsonFactory FABRICA = new JsonFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    /**
+     * Receptor de los elementos de un GeoJSON conforme se leen.
+     */
+    public interface Receptor {
+
+        /**
+         * Comienza una entidad ({@code Feature}) de la colección.
+         *
+         * @param indice Posición de la entidad en la colección, desde 0
+         */
+        void iniciarEntidad(int indice);
+
+        /**
+         * Entrega las propiedades escalares de la entidad actual; los valores anidados se omiten.
+         * Puede llegar antes o después de la geometría, según el orden del archivo.
+         *
+         * @param propiedades Propiedades como String, Long, BigDecimal o Boolean
+         */
+        void propiedades(Map<String, Object> propiedades);
+
+        /**
+         * Informa el tipo de la geometría de la entidad actual.
+         *
+         * @param tipo Valor de {@code geometry.type}, por ejemplo "LineString"
+         */
+        void tipoGeometria(String tipo);
+
+        /**
+         * Entrega una posición de la geometría de la entidad actual.
+         *
+         * @param longitud Longitud tal como aparece en el archivo
+         * @param latitud Latitud tal como aparece en el archivo
+         */
+        void punto(BigDecimal longitud, BigDecimal latitud);
+
+        /**
+         * Termina la entidad actual.
+         */
+        void terminarEntidad();
+    }
+
+    /**
+     * Lee un documento GeoJSON completo.
+     *
+     * @param entrada Flujo con el documento; no se cierra
+     * @param receptor Receptor de entidades y posiciones
+     * @return Número de entidades leídas
+     * @throws IOException Si el flujo falla o el JSON está mal formado
+     */
+    public int leer(InputStream entrada, Receptor receptor) throws IOException {
+        try (JsonParser parser = FABRICA.createParser(entrada)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("El GeoJSON debe ser un objeto");
+            }
+            int entidades = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                JsonToken valor = parser.nextToken();
+                if ("features".equals(campo) && valor == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        receptor.iniciarEntidad(entidades++);
+                        leerEntidad(parser, receptor);
+                        receptor.terminarEntidad();
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return entidades;
+        }
+    }
+
+    private static void leerEntidad(JsonParser parser, Receptor receptor) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.currentName();
+            JsonToken valor = parser.nextToken();
+            if ("properties".equals(campo) && valor == JsonToken.START_OBJECT) {
+                receptor.propiedades(leerPropiedades(parser));
+            } else if ("geometry".equals(campo) && valor == JsonToken.START_OBJECT) {
+                leerGeometria(parser, receptor);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static Map<String, Object> leerPropiedades(JsonParser parser) throws IOException {
+        Map<String, Object> propiedades = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String nombre = parser.currentName();
+            JsonToken valor = parser.nextToken();
+            switch (valor) {
+                case VALUE_STRING -> propiedades.put(nombre, parser.getText());
+                case VALUE_NUMBER_INT -> propiedades.put(nombre, parser.getLongValue());
+                case VALUE_NUMBER_FLOAT -> propiedades.put(nombre, parser.getDecimalValue());
+                case VALUE_TRUE, VALUE_FALSE -> propiedades.put(nombre, parser.getBooleanValue());
+                default -> parser.skipChildren();
+            }
+        }
+        return propiedades;
+    }
+
+    private static void leerGeometria(JsonParser parser, Receptor receptor) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.currentName();
+            JsonToken valor = parser.nextToken();
+            if ("type".equals(campo) && valor == JsonToken.VALUE_STRING) {
+                receptor.tipoGeometria(parser.getText());
+            } else if ("coordinates".equals(campo) && valor == JsonToken.START_ARRAY) {
+                leerCoordenadas(parser, receptor);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Lee un arreglo de coordenadas de cualquier profundidad, con el parser sobre su
+     * {@code START_ARRAY}. Un arreglo cuyo primer elemento es un número es una posición.
+     */
+    private static void leerCoordenadas(JsonParser parser, Receptor receptor) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            BigDecimal longitud = parser.getDecimalValue();
+            token = parser.nextToken();
+            if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+                throw new IOException("Posición GeoJSON sin latitud");
+            }
+            BigDecimal latitud = parser.getDecimalValue();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+            }
+            receptor.punto(longitud, latitud);
+            return;
+        }
+        while (token == JsonToken.START_ARRAY) {
+            leerCoordenadas(parser, receptor);
+            token = parser.nextToken();
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new IOException("Coordenadas GeoJSON mal formadas");
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.wheely.geo;
+
+import com.wheely.util.GeoUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Matriz dispersa inmutable de traslapes entre los trazados de todos los recorridos.
+ *
+ * <p>Cada trazado se discretiza en las celdas de {@value #TAMANO_CELDA_METROS} m que toca,
+ * muestreando sus segmentos cada media celda en un plano local equirectangular. Una celda
+ * de un recorrido se considera compartida con otro si ese otro pasa por ella o por una de
+ * sus ocho vecinas, lo que tolera las pequeñas diferencias de trazo entre recorridos que van
+ * por la misma calle.</p>
+ *
+ * <p>En lugar de comparar los puntos de cada par de recorridos, se arma una lista invertida
+ * {@code celda → recorridos} y cada recorrido solo visita las celdas vecinas de las suyas: el
+ * costo crece con el número de celdas y con cuántos recorridos pasan por cada una, no con el
+ * cuadrado del número de recorridos. Discretizar y contar se hace por recorrido en paralelo
+ * sobre el {@link java.util.concurrent.ForkJoinPool#commonPool()}.</p>
+ *
+ * <p>Solo se guardan los pares en los que alguno de los dos comparte al menos
+ * {@value #FRACCION_MINIMA} de su trazado con el otro.</p>
+ *
+ * <pre>
+ * MatrizTraslapes matriz = new MatrizTraslapes(almacenGeometria.todas());
+ * List&lt;Traslape&gt; alternativas = matriz.deRecorrido(4);
+ * List&lt;Traslape&gt; corredores = matriz.pares(0.5);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see Traslape
+ * @see com.wheely.service.TraslapeService
+ */
+public final class MatrizTraslapes {
+
+    /**
+     * Lado de cada celda de la discretización, en metros.
+     */
+    public static final double TAMANO_CELDA_METROS = 25.0;
+
+    /**
+     * Fracción mínima compartida por alguno de los dos recorridos para guardar el par.
+     */
+    public static final double FRACCION_MINIMA = 0.05;
+
+    private static final double METROS_POR_GRADO = GeoUtil.KM_POR_GRADO * 1000.0;
+    private static final int FILAS_POR_BLOQUE = 64;
+
+    private final Map<Integer, List<Traslape>> porRecorrido;
+    private final int recorridos;
+
+    /**
+     * Calcula la matriz para los trazados publicados.
+     *
+     * @param trazados Trazados de todos los recorridos
+     */
+    public MatrizTraslapes(Collection<GeometriaRecorrido> trazados) {
+        List<GeometriaRecorrido> lista = new ArrayList<>();
+        double sumaLatitudes = 0;
+        int puntos = 0;
+        for (GeometriaRecorrido g : trazados) {
+            if (g.size() == 0) continue;
+            lista.add(g);
+            for (int i = 0; i < g.size(); i++) {
+                sumaLatitudes += g.latitud(i);
+                puntos++;
+            }
+        }
+        double escalaLongitud = Math.cos(Math.toRadians(puntos > 0 ? sumaLatitudes / puntos : 0)) * METROS_POR_GRADO;
+        int n = lista.size();
+        recorridos = n;
+
+        long[][] celdas = IntStream.range(0, n).parallel()
+                .mapToObj(i -> celdasDe(lista.get(i), escalaLongitud))
+                .toArray(long[][]::new);
+
+        Invertido invertido = new Invertido(celdas);
+
+        Fila[] filas = new Fila[n];
+        IntStream.range(0, (n + FILAS_POR_BLOQUE - 1) / FILAS_POR_BLOQUE).parallel()
+                .forEach(b -> contar(b * FILAS_POR_BLOQUE, Math.min(n, (b + 1) * FILAS_POR_BLOQUE),
+                        celdas, invertido, filas));
+
+        List<List<Traslape>> resultado = IntStream.range(0, n).parallel()
+                .mapToObj(a -> ensamblar(a, lista, celdas, filas))
+                .collect(Collectors.toList());
+        porRecorrido = new HashMap<>();
+        for (int a = 0; a < n; a++) {
+            if (!resultado.get(a).isEmpty()) porRecorrido.put(lista.get(a).getIdRecorrido(), resultado.get(a));
+        }
+    }
+
+    /**
+     * Obtiene los recorridos que comparten calles con uno dado.
+     *
+     * @param idRecorrido ID del recorrido
+     * @return Traslapes de mayor a menor fracción compartida del recorrido, vacía si no tiene
+     */
+    public List<Traslape> deRecorrido(int idRecorrido) {
+        List<Traslape> fila = porRecorrido.get(idRecorrido);
+        return fila != null ? new ArrayList<>(fila) : new ArrayList<>();
+    }
+
+    /**
+     * Obtiene cada par de recorridos que comparte al menos una fracción de trazado.
+     *
+     * <p>Cada par aparece una vez, con el recorrido de menor ID como {@code idRecorrido}.</p>
+     *
+     * @param minimo Fracción que debe compartir al menos uno de los dos recorridos
+     * @return Pares ordenados de mayor a menor fracción compartida por cualquiera de los dos
+     */
+    public List<Traslape> pares(double minimo) {
+        List<Traslape> resultado = new ArrayList<>();
+        for (List<Traslape> fila : porRecorrido.values()) {
+            for (Traslape t : fila) {
+                if (t.getIdRecorrido() < t.getIdRecorridoTraslapado()
+                        && Math.max(t.getFraccion(), t.getFraccionInversa()) >= minimo) {
+                    resultado.add(t);
+                }
+            }
+        }
+        resultado.sort(Comparator.<Traslape>comparingDouble(t -> -Math.max(t.getFraccion(), t.getFraccionInversa()))
+                .thenComparingInt(Traslape::getIdRecorrido)
+                .thenComparingInt(Traslape::getIdRecorridoTraslapado));
+        return resultado;
+    }
+
+    /**
+     * Obtiene el número de recorridos con trazado que se analizaron.
+     *
+     * @return Recorridos en la matriz
+     */
+    public int recorridos() {
+        return recorridos;
+    }
+
+    /**
+     * Obtiene las celdas distintas que toca un trazado, ordenadas.
+     */
+    private static long[] celdasDe(GeometriaRecorrido g, double escalaLongitud) {
+        long[] claves = new long[Math.max(16, g.size() * 2)];
+        int total = 0;
+        double paso = TAMANO_CELDA_METROS / 2;
+        for (int i = 0; i < g.size(); i++) {
+            double x2 = g.longitud(i) * escalaLongitud;
+            double y2 = g.latitud(i) * METROS_POR_GRADO;
+            double x1 = i > 0 ? g.longitud(i - 1) * escalaLongitud : x2;
+            double y1 = i > 0 ? g.latitud(i - 1) * METROS_POR_GRADO : y2;
+            int muestras = (int) Math.ceil(Math.hypot(x2 - x1, y2 - y1) / paso);
+            for (int s = i > 0 ? 1 : 0; s <= muestras; s++) {
+                double t = muestras > 0 ? (double) s / muestras : 1;
+                if (total == claves.length) claves = Arrays.copyOf(claves, total * 2);
+                claves[total++] = clave((int) Math.floor((y1 + t * (y2 - y1)) / TAMANO_CELDA_METROS),
+                        (int) Math.floor((x1 + t * (x2 - x1)) / TAMANO_CELDA_METROS));
+            }
+        }
+        Arrays.sort(claves, 0, total);
+        int distintas = 0;
+        for (int i = 0; i < total; i++) {
+            if (distintas == 0 || claves[i] != claves[distintas - 1]) claves[distintas++] = claves[i];
+        }
+        return Arrays.copyOf(claves, distintas);
+    }
+
+    /**
+     * Cuenta, para los recorridos {@code [desde, hasta)} y cada otro recorrido, cuántas celdas
+     * propias tienen a ese otro en su vecindad. Los contadores son arreglos densos que se
+     * reutilizan en todo el bloque y solo se limpian en las posiciones tocadas.
+     */
+    private static void contar(int desde, int hasta, long[][] celdas, Invertido invertido, Fila[] filas) {
+        int n = celdas.length;
+        int[] cuenta = new int[n];
+        int[] sello = new int[n];
+        int[] tocados = new int[n];
+        int actual = 0;
+        for (int a = desde; a < hasta; a++) {
+            int total = 0;
+            for (long celda : celdas[a]) {
+                actual++;
+                int fila = (int) (celda >> 32);
+                int columna = (int) celda;
+                for (int df = -1; df <= 1; df++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        int ranura = invertido.buscar(clave(fila + df, columna + dc));
+                        if (ranura < 0) continue;
+                        for (int p = invertido.inicio[ranura]; p < invertido.inicio[ranura + 1]; p++) {
+                            int b = invertido.recorridos[p];
+                            if (b == a || sello[b] == actual) continue;
+                            sello[b] = actual;
+                            if (cuenta[b]++ == 0) tocados[total++] = b;
+                        }
+                    }
+                }
+            }
+            Arrays.sort(tocados, 0, total);
+            int[] otros = Arrays.copyOf(tocados, total);
+            int[] cuentas = new int[total];
+            for (int i = 0; i < total; i++) {
+                cuentas[i] = cuenta[otros[i]];
+                cuenta[otros[i]] = 0;
+            }
+            filas[a] = new Fila(otros, cuentas);
+        }
+    }
+
+    /**
+     * Convierte las cuentas del recorrido {@code a} en traslapes, con la fracción inversa tomada de la fila del otro.
+     */
+    private static List<Traslape> ensamblar(int a, List<GeometriaRecorrido> lista, long[][] celdas, Fila[] filas) {
+        Fila fila = filas[a];
+        List<Traslape> resultado = new ArrayList<>();
+        for (int i = 0; i < fila.otros.length; i++) {
+            int b = fila.otros[i];
+            double fraccion = (double) fila.cuentas[i] / celdas[a].length;
+            double inversa = (double) filas[b].cuenta(a) / celdas[b].length;
+            if (Math.max(fraccion, inversa) < FRACCION_MINIMA) continue;
+            GeometriaRecorrido g = lista.get(a);
+            resultado.add(new Traslape(g.getIdRecorrido(), lista.get(b).getIdRecorrido(),
+                    redondear(fraccion), redondear(inversa),
+                    (int) Math.round(fraccion * g.getLongitudMetros())));
+        }
+        resultado.sort(Comparator.comparingDouble(Traslape::getFraccion).reversed()
+                .thenComparingInt(Traslape::getIdRecorridoTraslapado));
+        return resultado;
+    }
+
+    private static long clave(int fila, int columna) {
+        return ((long) fila << 32) | (columna & 0xffffffffL);
+    }
+
+    private static double redondear(double fraccion) {
+        return Math.round(fraccion * 1000) / 1000.0;
+    }
+
+    /**
+     * Lista invertida {@code celda → índices de recorrido} en arreglos primitivos: una tabla
+     * hash de direccionamiento abierto lleva cada celda a su rango dentro de un único arreglo
+     * de recorridos, sin objetos por celda.
+     */
+    private static final class Invertido {
+        private static final long VACIA = Long.MIN_VALUE;
+
+        private final long[] claves;
+        private final int[] inicio;
+        private final int[] recorridos;
+        private final int mascara;
+
+        private Invertido(long[][] celdas) {
+            int total = 0;
+            for (long[] propias : celdas) total += propias.length;
+            int capacidad = Integer.highestOneBit(Math.max(2, total) * 2 - 1) << 1;
+            mascara = capacidad - 1;
+            claves = new long[capacidad];
+            Arrays.fill(claves, VACIA);
+            inicio = new int[capacidad + 1];
+            for (long[] propias : celdas) {
+                for (long c : propias) {
+                    int ranura = ranura(c);
+                    claves[ranura] = c;
+                    inicio[ranura + 1]++;
+                }
+            }
+            for (int i = 0; i < capacidad; i++) {
+                inicio[i + 1] += inicio[i];
+            }
+            recorridos = new int[total];
+            int[] llenos = new int[capacidad];
+            for (int r = 0; r < celdas.length; r++) {
+                for (long c : celdas[r]) {
+                    int ranura = ranura(c);
+                    recorridos[inicio[ranura] + llenos[ranura]++] = r;
+                }
+            }
+        }
+
+        /**
+         * Obtiene la ranura de una celda, o -1 si ningún recorrido pasa por ella.
+         */
+        private int buscar(long clave) {
+            int ranura = ranura(clave);
+            return claves[ranura] == clave ? ranura : -1;
+        }
+
+        /**
+         * Obtiene la ranura que ocupa o que ocuparía una celda.
+         */
+        private int ranura(long clave) {
+            long h = clave * 0x9E3779B97F4A7C15L;
+            int i = (int) (h ^ (h >>> 32)) & mascara;
+            while (claves[i] != VACIA && claves[i] != clave) {
+                i = (i + 1) & mascara;
+            }
+            return i;
+        }
+    }
+
+    /**
+     * Celdas compartidas de un recorrido con cada otro, con los otros ordenados por índice.
+     */
+    private static final class Fila {
+        private final int[] otros;
+        private final int[] cuentas;
+
+        private Fila(int[] otros, int[] cuentas) {
+            this.otros = otros;
+            this.cuentas = cuentas;
+        }
+
+        private int cuenta(int otro) {
+            int pos = Arrays.binarySearch(otros, otro);
+            return pos >= 0 ? cuentas[pos] : 0;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.wheely.geo;
+
+/**
+ * Receptor de avisos de cambio en la geometría mantenida en memoria.
+ *
+ * <p>Lo implementan las estructuras derivadas (por ejemplo la caché de teselas) que deben
+ * descartar lo que calcularon para una zona cuando cambian los recorridos o paradas en ella.
+ * Los avisos se emiten dentro de la escritura, así que las implementaciones deben ser breves.</p>
+ *
+ * <pre>
+ * almacenGeometria.agregarOyente(zona -&gt; cacheTeselas.invalidar(zona));
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see AlmacenGeometria#agregarOyente(OyenteGeometria)
+ * @see IndiceEspacialParadas#agregarOyente(OyenteGeometria)
+ */
+@FunctionalInterface
+public interface OyenteGeometria {
+
+    /**
+     * Notifica que la geometría dentro de una zona cambió.
+     *
+     * @param zona Caja que envuelve la geometría anterior y la nueva
+     */
+    void geometriaModificada(CajaEnvolvente zona);
+}
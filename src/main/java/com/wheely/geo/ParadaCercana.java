@@ -0,0 +1,69 @@
+package com.wheely.geo;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado de la búsqueda de las paradas más cercanas a un punto.
+ *
+ * <p>Incluye la coordenada de la parada más próxima al punto de referencia y la distancia
+ * hasta ella, para que el cliente no tenga que recalcularla.</p>
+ *
+ * <pre>
+ * {
+ *   "idParada": 3,
+ *   "idCoordenadaParada": 7,
+ *   "latitud": 16.75450000,
+ *   "longitud": -93.13150000,
+ *   "distanciaKm": 0.184
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see IndiceEspacialParadas#buscarMasCercanas(double, double, int, double)
+ */
+public class ParadaCercana {
+    private final int idParada;
+    private final int idCoordenadaParada;
+    private final BigDecimal latitud;
+    private final BigDecimal longitud;
+    private final double distanciaKm;
+
+    /**
+     * Constructor del resultado.
+     *
+     * @param idParada ID de la parada
+     * @param idCoordenadaParada ID de la coordenada más cercana de la parada
+     * @param latitud Latitud de esa coordenada
+     * @param longitud Longitud de esa coordenada
+     * @param distanciaKm Distancia desde el punto de referencia en kilómetros
+     */
+    public ParadaCercana(int idParada, int idCoordenadaParada, BigDecimal latitud, BigDecimal longitud, double distanciaKm) {
+        this.idParada = idParada;
+        this.idCoordenadaParada = idCoordenadaParada;
+        this.latitud = latitud;
+        this.longitud = longitud;
+        this.distanciaKm = distanciaKm;
+    }
+
+    public int getIdParada() {
+        return idParada;
+    }
+
+    public int getIdCoordenadaParada() {
+        return idCoordenadaParada;
+    }
+
+    public BigDecimal getLatitud() {
+        return latitud;
+    }
+
+    public BigDecimal getLongitud() {
+        return longitud;
+    }
+
+    public double getDistanciaKm() {
+        return distanciaKm;
+    }
+}
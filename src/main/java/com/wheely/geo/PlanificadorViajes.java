@@ -0,0 +1,402 @@
+package com.wheely.geo;
+
+import com.wheely.util.GeoUtil;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Planificador de viajes con transbordos basado en RAPTOR por rondas.
+ *
+ * <p>Cada ronda {@code k} calcula la llegada más temprana a cada punto de parada usando a lo
+ * sumo {@code k} recorridos. Una ronda recorre en orden, una sola vez, cada línea que tiene
+ * alguna parada mejorada en la ronda anterior, y después relaja los transbordos a pie desde
+ * las paradas a las que se llegó a bordo. Todo el estado vive en arreglos {@code int[]} planos
+ * indexados por {@code ronda * paradas + parada}, sin colas de prioridad ni objetos por
+ * etiqueta.</p>
+ *
+ * <p>Como el sistema no tiene horarios sino tiempos promedio por ruta y periodo, los
+ * recorridos se modelan por frecuencia: abordar cuesta {@link #ESPERA_SEGUNDOS} y avanzar
+ * sobre la línea cuesta los segundos por metro de su ruta. Al terminar cada ronda se guarda
+ * el viaje al destino si llega antes que todos los de menos transbordos, de modo que el
+ * resultado es el frente de Pareto entre duración y número de transbordos. La caminata
+ * directa cuenta como viaje sin transbordos, igual que uno de un solo recorrido: si este
+ * llega antes, la reemplaza.</p>
+ *
+ * <pre>
+ * PlanificadorViajes planificador = new PlanificadorViajes(red, segundosPorMetro);
+ * List&lt;ViajePlanificado&gt; viajes = planificador.planear(16.7521, -93.1161, 16.7612, -93.0903, LocalTime.of(7, 30), 3);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see RedTransporte
+ * @see com.wheely.service.PlanificacionService
+ */
+public final class PlanificadorViajes {
+
+    /**
+     * Distancia máxima en metros para caminar del origen a la primera parada o de la última al destino.
+     */
+    public static final double RADIO_ACCESO_METROS = 500.0;
+
+    /**
+     * Distancia máxima en metros para proponer el viaje completo a pie.
+     */
+    public static final double CAMINATA_DIRECTA_MAXIMA_METROS = 2000.0;
+
+    /**
+     * Espera promedio en segundos al abordar un recorrido.
+     */
+    public static final int ESPERA_SEGUNDOS = 300;
+
+    private static final int INFINITO = Integer.MAX_VALUE / 2;
+
+    private final RedTransporte red;
+    private final double[] segundosPorMetro;
+
+    /**
+     * Constructor del planificador.
+     *
+     * @param red Red de transporte sobre la que se planifica
+     * @param segundosPorMetro Segundos por metro a bordo de cada línea de la red, en su orden
+     */
+    public PlanificadorViajes(RedTransporte red, double[] segundosPorMetro) {
+        this.red = red;
+        this.segundosPorMetro = segundosPorMetro;
+    }
+
+    /**
+     * Planifica los viajes Pareto-óptimos entre dos ubicaciones.
+     *
+     * @param latOrigen Latitud del origen
+     * @param lonOrigen Longitud del origen
+     * @param latDestino Latitud del destino
+     * @param lonDestino Longitud del destino
+     * @param salida Hora de salida
+     * @param maxTransbordos Transbordos máximos permitidos
+     * @return Viajes ordenados por número de transbordos, cada uno más rápido que el anterior
+     */
+    public List<ViajePlanificado> planear(double latOrigen, double lonOrigen, double latDestino, double lonDestino,
+                                          LocalTime salida, int maxTransbordos) {
+        int paradas = red.paradas();
+        int rondas = maxTransbordos + 1;
+        int[] llegada = new int[(rondas + 1) * paradas];
+        int[] llegadaABordo = new int[(rondas + 1) * paradas];
+        int[] abordaje = new int[(rondas + 1) * paradas];
+        int[] caminataDesde = new int[(rondas + 1) * paradas];
+        int[] mejor = new int[paradas];
+        int[] mejorABordo = new int[paradas];
+        int[] egreso = new int[paradas];
+        Arrays.fill(llegada, INFINITO);
+        Arrays.fill(llegadaABordo, INFINITO);
+        Arrays.fill(caminataDesde, -1);
+        Arrays.fill(mejor, INFINITO);
+        Arrays.fill(mejorABordo, INFINITO);
+        Arrays.fill(egreso, -1);
+
+        List<ViajePlanificado> viajes = new ArrayList<>();
+        int mejorDestino = INFINITO;
+        double directa = GeoUtil.distanciaKm(latOrigen, lonOrigen, latDestino, lonDestino) * 1000.0;
+        if (directa <= CAMINATA_DIRECTA_MAXIMA_METROS) {
+            mejorDestino = RedTransporte.segundosCaminando(directa);
+            viajes.add(new ViajePlanificado(0, mejorDestino, salida, Collections.singletonList(
+                    new ViajePlanificado.TramoViaje(ViajePlanificado.CAMINATA, null, null, null, null,
+                            latOrigen, lonOrigen, latDestino, lonDestino, 0, directa, 0, mejorDestino))));
+        }
+
+        int[] marcadas = new int[paradas];
+        boolean[] marcada = new boolean[paradas];
+        int totalMarcadas = 0;
+        for (int s : red.cercanas(latOrigen, lonOrigen, RADIO_ACCESO_METROS)) {
+            double metros = red.metrosHasta(s, latOrigen, lonOrigen);
+            if (metros > RADIO_ACCESO_METROS) continue;
+            llegada[s] = RedTransporte.segundosCaminando(metros);
+            mejor[s] = llegada[s];
+            marcada[s] = true;
+            marcadas[totalMarcadas++] = s;
+        }
+        int[] egresos = red.cercanas(latDestino, lonDestino, RADIO_ACCESO_METROS);
+        for (int s : egresos) {
+            double metros = red.metrosHasta(s, latDestino, lonDestino);
+            if (metros <= RADIO_ACCESO_METROS) egreso[s] = RedTransporte.segundosCaminando(metros);
+        }
+
+        int[] primera = new int[red.lineas()];
+        Arrays.fill(primera, Integer.MAX_VALUE);
+        int[] lineas = new int[red.lineas()];
+        int[] aBordo = new int[paradas];
+        for (int k = 1; k <= rondas && totalMarcadas > 0; k++) {
+            int previa = (k - 1) * paradas;
+            int actual = k * paradas;
+
+            int totalLineas = 0;
+            for (int i = 0; i < totalMarcadas; i++) {
+                int s = marcadas[i];
+                marcada[s] = false;
+                int r = red.lineaDe(s);
+                if (primera[r] == Integer.MAX_VALUE) lineas[totalLineas++] = r;
+                if (s < primera[r]) primera[r] = s;
+            }
+            totalMarcadas = 0;
+
+            int totalABordo = 0;
+            for (int i = 0; i < totalLineas; i++) {
+                int r = lineas[i];
+                double spm = segundosPorMetro[r];
+                int fin = red.inicioParadas(r + 1);
+                int subida = -1;
+                double base = Double.POSITIVE_INFINITY;
+                for (int p = primera[r]; p < fin; p++) {
+                    if (subida >= 0) {
+                        int t = (int) Math.ceil(base + red.avanceMetros(p) * spm);
+                        if (t < mejorABordo[p] && t < mejorDestino) {
+                            llegadaABordo[actual + p] = t;
+                            abordaje[actual + p] = subida;
+                            mejorABordo[p] = t;
+                            aBordo[totalABordo++] = p;
+                            if (t < mejor[p]) {
+                                llegada[actual + p] = t;
+                                caminataDesde[actual + p] = -1;
+                                mejor[p] = t;
+                                if (!marcada[p]) {
+                                    marcada[p] = true;
+                                    marcadas[totalMarcadas++] = p;
+                                }
+                            }
+                        }
+                    }
+                    int anterior = llegada[previa + p];
+                    if (anterior < INFINITO) {
+                        double candidato = anterior + ESPERA_SEGUNDOS - red.avanceMetros(p) * spm;
+                        if (candidato < base) {
+                            base = candidato;
+                            subida = p;
+                        }
+                    }
+                }
+                primera[r] = Integer.MAX_VALUE;
+            }
+
+            for (int i = 0; i < totalABordo; i++) {
+                int s = aBordo[i];
+                int t = llegadaABordo[actual + s];
+                for (int a = red.inicioTransbordos(s); a < red.inicioTransbordos(s + 1); a++) {
+                    int q = red.destinoTransbordo(a);
+                    int tq = t + red.segundosTransbordo(a);
+                    if (tq < mejor[q] && tq < mejorDestino) {
+                        llegada[actual + q] = tq;
+                        caminataDesde[actual + q] = s;
+                        mejor[q] = tq;
+                        if (!marcada[q]) {
+                            marcada[q] = true;
+                            marcadas[totalMarcadas++] = q;
+                        }
+                    }
+                }
+            }
+
+            int mejorRonda = INFINITO;
+            int bajada = -1;
+            boolean bajadaABordo = false;
+            for (int s : egresos) {
+                if (egreso[s] < 0) continue;
+                int t = Math.min(llegada[actual + s], llegadaABordo[actual + s]);
+                if (t < INFINITO && t + egreso[s] < mejorRonda) {
+                    mejorRonda = t + egreso[s];
+                    bajada = s;
+                    bajadaABordo = llegadaABordo[actual + s] == t;
+                }
+            }
+            if (bajada >= 0 && mejorRonda < mejorDestino) {
+                mejorDestino = mejorRonda;
+                if (k == 1) viajes.clear();
+                viajes.add(reconstruir(k, bajada, bajadaABordo, llegada, llegadaABordo, abordaje, caminataDesde,
+                        latOrigen, lonOrigen, latDestino, lonDestino, mejorRonda, salida));
+            }
+        }
+        return viajes;
+    }
+
+    /**
+     * Calcula la llegada más temprana a cada punto de parada desde una ubicación, sin destino.
+     *
+     * <p>Es la misma búsqueda por rondas de {@link #planear}, pero la poda es por presupuesto
+     * en lugar de por la mejor llegada al destino, y no guarda lo necesario para reconstruir
+     * los viajes.</p>
+     *
+     * @param lat Latitud del origen
+     * @param lon Longitud del origen
+     * @param presupuestoSegundos Segundos máximos de viaje
+     * @param maxTransbordos Transbordos máximos permitidos
+     * @return Segundos hasta cada punto de parada, o -1 si no se alcanza dentro del presupuesto
+     */
+    public int[] tiemposDesde(double lat, double lon, int presupuestoSegundos, int maxTransbordos) {
+        return tiemposDesde(new double[]{lat}, new double[]{lon}, presupuestoSegundos, maxTransbordos);
+    }
+
+    /**
+     * Calcula la llegada más temprana a cada punto de parada saliendo desde cualquiera de
+     * varias ubicaciones, como las coordenadas de una misma parada.
+     *
+     * <p>Todas las ubicaciones siembran la primera ronda a la vez; cada punto de parada
+     * cercano empieza con la menor caminata desde alguna de ellas.</p>
+     *
+     * @param lats Latitudes de las ubicaciones de salida
+     * @param lons Longitudes de las ubicaciones de salida, en el mismo orden
+     * @param presupuestoSegundos Segundos máximos de viaje
+     * @param maxTransbordos Transbordos máximos permitidos
+     * @return Segundos hasta cada punto de parada, o -1 si no se alcanza dentro del presupuesto
+     */
+    public int[] tiemposDesde(double[] lats, double[] lons, int presupuestoSegundos, int maxTransbordos) {
+        int paradas = red.paradas();
+        int[] previa = new int[paradas];
+        int[] actual = new int[paradas];
+        int[] mejor = new int[paradas];
+        int[] mejorABordo = new int[paradas];
+        Arrays.fill(previa, INFINITO);
+        Arrays.fill(mejor, INFINITO);
+        Arrays.fill(mejorABordo, INFINITO);
+
+        int[] marcadas = new int[paradas];
+        boolean[] marcada = new boolean[paradas];
+        int totalMarcadas = 0;
+        for (int o = 0; o < lats.length; o++) {
+            for (int s : red.cercanas(lats[o], lons[o], RADIO_ACCESO_METROS)) {
+                double metros = red.metrosHasta(s, lats[o], lons[o]);
+                int t = RedTransporte.segundosCaminando(metros);
+                if (metros > RADIO_ACCESO_METROS || t > presupuestoSegundos || t >= previa[s]) continue;
+                previa[s] = t;
+                mejor[s] = t;
+                if (!marcada[s]) {
+                    marcada[s] = true;
+                    marcadas[totalMarcadas++] = s;
+                }
+            }
+        }
+
+        int[] primera = new int[red.lineas()];
+        Arrays.fill(primera, Integer.MAX_VALUE);
+        int[] lineas = new int[red.lineas()];
+        int[] aBordo = new int[paradas];
+        int[] llegadaABordo = new int[paradas];
+        for (int k = 1; k <= maxTransbordos + 1 && totalMarcadas > 0; k++) {
+            Arrays.fill(actual, INFINITO);
+            int totalLineas = 0;
+            for (int i = 0; i < totalMarcadas; i++) {
+                int s = marcadas[i];
+                marcada[s] = false;
+                int r = red.lineaDe(s);
+                if (primera[r] == Integer.MAX_VALUE) lineas[totalLineas++] = r;
+                if (s < primera[r]) primera[r] = s;
+            }
+            totalMarcadas = 0;
+
+            int totalABordo = 0;
+            for (int i = 0; i < totalLineas; i++) {
+                int r = lineas[i];
+                double spm = segundosPorMetro[r];
+                int fin = red.inicioParadas(r + 1);
+                double base = Double.POSITIVE_INFINITY;
+                for (int p = primera[r]; p < fin; p++) {
+                    if (base < Double.POSITIVE_INFINITY) {
+                        int t = (int) Math.ceil(base + red.avanceMetros(p) * spm);
+                        if (t <= presupuestoSegundos && t < mejorABordo[p]) {
+                            mejorABordo[p] = t;
+                            llegadaABordo[p] = t;
+                            aBordo[totalABordo++] = p;
+                            if (t < mejor[p]) {
+                                actual[p] = t;
+                                mejor[p] = t;
+                                if (!marcada[p]) {
+                                    marcada[p] = true;
+                                    marcadas[totalMarcadas++] = p;
+                                }
+                            }
+                        }
+                    }
+                    if (previa[p] < INFINITO) {
+                        base = Math.min(base, previa[p] + ESPERA_SEGUNDOS - red.avanceMetros(p) * spm);
+                    }
+                }
+                primera[r] = Integer.MAX_VALUE;
+            }
+
+            for (int i = 0; i < totalABordo; i++) {
+                int s = aBordo[i];
+                for (int a = red.inicioTransbordos(s); a < red.inicioTransbordos(s + 1); a++) {
+                    int q = red.destinoTransbordo(a);
+                    int tq = llegadaABordo[s] + red.segundosTransbordo(a);
+                    if (tq < mejor[q] && tq <= presupuestoSegundos) {
+                        actual[q] = tq;
+                        mejor[q] = tq;
+                        if (!marcada[q]) {
+                            marcada[q] = true;
+                            marcadas[totalMarcadas++] = q;
+                        }
+                    }
+                }
+            }
+            int[] intercambio = previa;
+            previa = actual;
+            actual = intercambio;
+        }
+
+        for (int s = 0; s < paradas; s++) {
+            if (mejor[s] == INFINITO) mejor[s] = -1;
+        }
+        return mejor;
+    }
+
+    /**
+     * Reconstruye los tramos de un viaje siguiendo hacia atrás las etiquetas de cada ronda.
+     */
+    private ViajePlanificado reconstruir(int ronda, int bajada, boolean bajadaABordo, int[] llegada, int[] llegadaABordo,
+                                         int[] abordaje, int[] caminataDesde,
+                                         double latOrigen, double lonOrigen, double latDestino, double lonDestino,
+                                         int duracion, LocalTime salida) {
+        int paradas = red.paradas();
+        List<ViajePlanificado.TramoViaje> tramos = new ArrayList<>();
+        tramos.add(new ViajePlanificado.TramoViaje(ViajePlanificado.CAMINATA, null, null,
+                red.idCoordenadaParada(bajada), null,
+                red.latitud(bajada), red.longitud(bajada), latDestino, lonDestino, 0,
+                red.metrosHasta(bajada, latDestino, lonDestino),
+                bajadaABordo ? llegadaABordo[ronda * paradas + bajada] : llegada[ronda * paradas + bajada], duracion));
+
+        int s = bajada;
+        for (int k = ronda; k > 0; k--) {
+            int actual = k * paradas;
+            int desde = k == ronda && bajadaABordo ? -1 : caminataDesde[actual + s];
+            if (desde >= 0) {
+                tramos.add(caminata(desde, s, llegadaABordo[actual + desde], llegada[actual + s]));
+                s = desde;
+            }
+            int subida = abordaje[actual + s];
+            int linea = red.lineaDe(s);
+            tramos.add(new ViajePlanificado.TramoViaje(ViajePlanificado.RECORRIDO,
+                    red.idRecorrido(linea), red.idRuta(linea),
+                    red.idCoordenadaParada(subida), red.idCoordenadaParada(s),
+                    red.latitud(subida), red.longitud(subida), red.latitud(s), red.longitud(s),
+                    s - subida, red.avanceMetros(s) - red.avanceMetros(subida),
+                    llegada[(k - 1) * paradas + subida] + ESPERA_SEGUNDOS, llegadaABordo[actual + s]));
+            s = subida;
+        }
+        tramos.add(new ViajePlanificado.TramoViaje(ViajePlanificado.CAMINATA, null, null,
+                null, red.idCoordenadaParada(s),
+                latOrigen, lonOrigen, red.latitud(s), red.longitud(s), 0,
+                red.metrosHasta(s, latOrigen, lonOrigen), 0, llegada[s]));
+        Collections.reverse(tramos);
+        return new ViajePlanificado(ronda - 1, duracion, salida, tramos);
+    }
+
+    private ViajePlanificado.TramoViaje caminata(int desde, int hasta, int salida, int llegada) {
+        return new ViajePlanificado.TramoViaje(ViajePlanificado.CAMINATA, null, null,
+                red.idCoordenadaParada(desde), red.idCoordenadaParada(hasta),
+                red.latitud(desde), red.longitud(desde), red.latitud(hasta), red.longitud(hasta), 0,
+                red.metrosHasta(desde, red.latitud(hasta), red.longitud(hasta)), salida, llegada);
+    }
+}
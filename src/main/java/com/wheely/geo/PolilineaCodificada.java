@@ -0,0 +1,78 @@
+package com.wheely.geo;
+
+/**
+ * Codificador del formato "encoded polyline" de Google para el trazado de los recorridos.
+ *
+ * <p>Cada punto se redondea a {@value #PRECISION} decimales (aproximadamente 1.1 m), se
+ * representa como diferencia respecto al punto anterior, se aplica zigzag para llevar el
+ * signo al bit menos significativo y se emite en bloques de 5 bits como caracteres ASCII
+ * imprimibles. El resultado ocupa en promedio entre 4 y 8 bytes por punto, frente a más de
+ * 100 bytes del objeto JSON {@link com.wheely.model.Coordenada}.</p>
+ *
+ * <p>Los clientes móviles lo decodifican con las utilidades estándar de los SDK de mapas
+ * (por ejemplo {@code PolyUtil.decode} en Android o {@code GMSPath(fromEncodedPath:)} en iOS).</p>
+ *
+ * <pre>
+ * String polilinea = PolilineaCodificada.codificar(geometria);
+ * // "_p~iF~ps|U_ulLnnqC_mqNvxq`@"
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see GeometriaRecorrido#getTrazadoCodificado()
+ * @see <a href="https://developers.google.com/maps/documentation/utilities/polylinealgorithm">Encoded Polyline Algorithm Format</a>
+ */
+public final class PolilineaCodificada {
+
+    /**
+     * Número de decimales conservados en la polilínea, el estándar del formato.
+     */
+    public static final int PRECISION = 5;
+
+    /**
+     * Divisor para pasar de las unidades de punto fijo del almacén a las de la polilínea.
+     */
+    private static final long DIVISOR = 1000L;
+
+    private PolilineaCodificada() {
+    }
+
+    /**
+     * Codifica el trazado completo de un recorrido.
+     *
+     * @param geometria Trazado del recorrido
+     * @return Polilínea codificada; cadena vacía si el recorrido no tiene puntos
+     */
+    public static String codificar(GeometriaRecorrido geometria) {
+        int n = geometria.size();
+        StringBuilder sb = new StringBuilder(n * 8);
+        long latAnterior = 0;
+        long lonAnterior = 0;
+        for (int i = 0; i < n; i++) {
+            long lat = reducir(geometria.latitudFija(i));
+            long lon = reducir(geometria.longitudFija(i));
+            escribir(sb, lat - latAnterior);
+            escribir(sb, lon - lonAnterior);
+            latAnterior = lat;
+            lonAnterior = lon;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Redondea una coordenada de 8 decimales a {@value #PRECISION}, con medio hacia arriba.
+     */
+    private static long reducir(long puntoFijo) {
+        return Math.floorDiv(puntoFijo + DIVISOR / 2, DIVISOR);
+    }
+
+    private static void escribir(StringBuilder sb, long delta) {
+        long valor = (delta << 1) ^ (delta >> 63);
+        while (valor >= 0x20) {
+            sb.append((char) ((0x20 | (valor & 0x1f)) + 63));
+            valor >>>= 5;
+        }
+        sb.append((char) (valor + 63));
+    }
+}
@@ -0,0 +1,64 @@
+package com.wheely.geo;
+
+/**
+ * Posición reportada por un vehículo mientras da servicio en un recorrido.
+ *
+ * <pre>
+ * {
+ *   "idVehiculo": "ECO-112",
+ *   "idRecorrido": 7,
+ *   "latitud": 16.753104,
+ *   "longitud": -93.115872,
+ *   "marcaTiempo": 1760634000000
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see PosicionesEnVivo
+ */
+public final class PosicionVehiculo {
+    private final String idVehiculo;
+    private final int idRecorrido;
+    private final double latitud;
+    private final double longitud;
+    private final long marcaTiempo;
+
+    /**
+     * Constructor de la posición.
+     *
+     * @param idVehiculo Identificador del vehículo (número económico o del dispositivo GPS)
+     * @param idRecorrido Recorrido en el que da servicio
+     * @param latitud Latitud reportada
+     * @param longitud Longitud reportada
+     * @param marcaTiempo Momento del reporte, en milisegundos desde la época Unix
+     */
+    public PosicionVehiculo(String idVehiculo, int idRecorrido, double latitud, double longitud, long marcaTiempo) {
+        this.idVehiculo = idVehiculo;
+        this.idRecorrido = idRecorrido;
+        this.latitud = latitud;
+        this.longitud = longitud;
+        this.marcaTiempo = marcaTiempo;
+    }
+
+    public String getIdVehiculo() {
+        return idVehiculo;
+    }
+
+    public int getIdRecorrido() {
+        return idRecorrido;
+    }
+
+    public double getLatitud() {
+        return latitud;
+    }
+
+    public double getLongitud() {
+        return longitud;
+    }
+
+    public long getMarcaTiempo() {
+        return marcaTiempo;
+    }
+}
@@ -0,0 +1,112 @@
+package com.wheely.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Últimas posiciones de los vehículos en servicio, guardadas solo en memoria.
+ *
+ * <p>Cada recorrido tiene un búfer circular de {@value #CAPACIDAD_POR_RECORRIDO} posiciones.
+ * Escribir no toma candados: cada escritor reserva una ranura con un contador atómico y
+ * publica en ella una {@link PosicionVehiculo} inmutable, que sobrescribe a la más antigua
+ * cuando el búfer da la vuelta. Las lecturas copian el búfer sin detener a los escritores;
+ * cada ranura contiene siempre una posición completa.</p>
+ *
+ * <p>Los reportes pueden llegar desordenados: para cada vehículo se toma el de marca de
+ * tiempo más reciente entre los que siguen en el búfer.</p>
+ *
+ * <pre>
+ * PosicionesEnVivo posiciones = new PosicionesEnVivo();
+ * posiciones.registrar(new PosicionVehiculo("ECO-112", 7, 16.7531, -93.1159, System.currentTimeMillis()));
+ * List&lt;PosicionVehiculo&gt; enServicio = posiciones.vehiculosEn(7, System.currentTimeMillis() - 300_000);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see PosicionVehiculo
+ * @see com.wheely.service.PosicionService
+ */
+public class PosicionesEnVivo {
+
+    /**
+     * Posiciones que conserva cada recorrido; debe ser potencia de dos.
+     */
+    public static final int CAPACIDAD_POR_RECORRIDO = 4096;
+
+    private final Map<Integer, Bufer> bufers = new ConcurrentHashMap<>();
+
+    /**
+     * Guarda una posición en el búfer de su recorrido.
+     *
+     * @param posicion Posición ya validada
+     */
+    public void registrar(PosicionVehiculo posicion) {
+        Bufer bufer = bufers.get(posicion.getIdRecorrido());
+        if (bufer == null) bufer = bufers.computeIfAbsent(posicion.getIdRecorrido(), id -> new Bufer());
+        bufer.agregar(posicion);
+    }
+
+    /**
+     * Obtiene la última posición de cada vehículo que reportó en un recorrido desde un momento dado.
+     *
+     * @param idRecorrido ID del recorrido
+     * @param desde Marca de tiempo mínima, en milisegundos desde la época Unix
+     * @return Una posición por vehículo, de la más reciente a la más antigua
+     */
+    public List<PosicionVehiculo> vehiculosEn(int idRecorrido, long desde) {
+        Bufer bufer = bufers.get(idRecorrido);
+        if (bufer == null) return new ArrayList<>();
+        Map<String, PosicionVehiculo> ultimas = new HashMap<>();
+        bufer.recorrer(p -> {
+            if (p.getMarcaTiempo() < desde) return;
+            PosicionVehiculo actual = ultimas.get(p.getIdVehiculo());
+            if (actual == null || p.getMarcaTiempo() > actual.getMarcaTiempo()) ultimas.put(p.getIdVehiculo(), p);
+        });
+        List<PosicionVehiculo> resultado = new ArrayList<>(ultimas.values());
+        resultado.sort(Comparator.comparingLong(PosicionVehiculo::getMarcaTiempo).reversed()
+                .thenComparing(PosicionVehiculo::getIdVehiculo));
+        return resultado;
+    }
+
+    /**
+     * Obtiene el total de posiciones recibidas desde el arranque, incluidas las ya sobrescritas.
+     *
+     * @return Posiciones registradas en todos los recorridos
+     */
+    public long totalRegistradas() {
+        long total = 0;
+        for (Bufer b : bufers.values()) {
+            total += b.siguiente.get();
+        }
+        return total;
+    }
+
+    /**
+     * Búfer circular sin candados de un recorrido.
+     */
+    private static final class Bufer {
+        private final AtomicReferenceArray<PosicionVehiculo> ranuras = new AtomicReferenceArray<>(CAPACIDAD_POR_RECORRIDO);
+        private final AtomicLong siguiente = new AtomicLong();
+
+        private void agregar(PosicionVehiculo posicion) {
+            long n = siguiente.getAndIncrement();
+            ranuras.set((int) (n & (CAPACIDAD_POR_RECORRIDO - 1)), posicion);
+        }
+
+        private void recorrer(Consumer<PosicionVehiculo> consumidor) {
+            int ocupadas = (int) Math.min(siguiente.get(), CAPACIDAD_POR_RECORRIDO);
+            for (int i = 0; i < ocupadas; i++) {
+                PosicionVehiculo p = ranuras.get(i);
+                if (p != null) consumidor.accept(p);
+            }
+        }
+    }
+}
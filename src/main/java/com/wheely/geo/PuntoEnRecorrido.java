@@ -0,0 +1,84 @@
+package com.wheely.geo;
+
+/**
+ * Posición sobre el trazado de un recorrido, expresada como distancia desde su inicio.
+ *
+ * <p>Identifica el tramo en el que cae la posición (el punto con {@code ordenPunto} y el
+ * siguiente) y la fracción recorrida de ese tramo, además de las coordenadas interpoladas.</p>
+ *
+ * <pre>
+ * {
+ *   "idRecorrido": 4,
+ *   "posicion": 12,
+ *   "ordenPunto": 13,
+ *   "fraccion": 0.42,
+ *   "latitud": 16.75702,
+ *   "longitud": -93.12905,
+ *   "distanciaMetros": 1500.0
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see GeometriaRecorrido#puntoEnDistancia(double)
+ */
+public class PuntoEnRecorrido {
+    private final int idRecorrido;
+    private final int posicion;
+    private final int ordenPunto;
+    private final double fraccion;
+    private final double latitud;
+    private final double longitud;
+    private final double distanciaMetros;
+
+    /**
+     * Constructor de la posición.
+     *
+     * @param idRecorrido ID del recorrido
+     * @param posicion Posición en el trazado del punto donde empieza el tramo
+     * @param ordenPunto Orden de ese punto
+     * @param fraccion Fracción recorrida del tramo, entre 0 y 1
+     * @param latitud Latitud interpolada
+     * @param longitud Longitud interpolada
+     * @param distanciaMetros Distancia desde el inicio del recorrido
+     */
+    public PuntoEnRecorrido(int idRecorrido, int posicion, int ordenPunto, double fraccion,
+                            double latitud, double longitud, double distanciaMetros) {
+        this.idRecorrido = idRecorrido;
+        this.posicion = posicion;
+        this.ordenPunto = ordenPunto;
+        this.fraccion = fraccion;
+        this.latitud = latitud;
+        this.longitud = longitud;
+        this.distanciaMetros = distanciaMetros;
+    }
+
+    public int getIdRecorrido() {
+        return idRecorrido;
+    }
+
+    public int getPosicion() {
+        return posicion;
+    }
+
+    public int getOrdenPunto() {
+        return ordenPunto;
+    }
+
+    public double getFraccion() {
+        return fraccion;
+    }
+
+    public double getLatitud() {
+        return latitud;
+    }
+
+    public double getLongitud() {
+        return longitud;
+    }
+
+    public double getDistanciaMetros() {
+        return distanciaMetros;
+    }
+}
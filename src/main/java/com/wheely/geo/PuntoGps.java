@@ -0,0 +1,51 @@
+package com.wheely.geo;
+
+/**
+ * Punto de una traza GPS enviada por un vehículo o un teléfono.
+ *
+ * <pre>
+ * { "latitud": 16.75690, "longitud": -93.12920 }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see EmparejadorTrazas
+ */
+public class PuntoGps {
+    private double latitud;
+    private double longitud;
+
+    /**
+     * Constructor por defecto requerido por Jackson.
+     */
+    public PuntoGps() {
+    }
+
+    /**
+     * Constructor con las dos coordenadas.
+     *
+     * @param latitud Latitud en grados decimales
+     * @param longitud Longitud en grados decimales
+     */
+    public PuntoGps(double latitud, double longitud) {
+        this.latitud = latitud;
+        this.longitud = longitud;
+    }
+
+    public double getLatitud() {
+        return latitud;
+    }
+
+    public void setLatitud(double latitud) {
+        this.latitud = latitud;
+    }
+
+    public double getLongitud() {
+        return longitud;
+    }
+
+    public void setLongitud(double longitud) {
+        this.longitud = longitud;
+    }
+}
@@ -0,0 +1,70 @@
+package com.wheely.geo;
+
+/**
+ * Origen o destino de una matriz de tiempos: una ubicación o una parada.
+ *
+ * <pre>
+ * { "lat": 16.7521, "lon": -93.1161 }
+ * { "idParada": 12 }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see com.wheely.service.PlanificacionService#matrizTiempos(java.util.List, java.util.List, java.time.LocalTime, int)
+ */
+public class PuntoMatriz {
+    private Double lat;
+    private Double lon;
+    private Integer idParada;
+
+    /**
+     * Constructor vacío requerido para deserialización JSON.
+     */
+    public PuntoMatriz() {
+    }
+
+    /**
+     * Constructor de un punto dado por ubicación.
+     *
+     * @param lat Latitud
+     * @param lon Longitud
+     */
+    public PuntoMatriz(double lat, double lon) {
+        this.lat = lat;
+        this.lon = lon;
+    }
+
+    /**
+     * Constructor de un punto dado por parada.
+     *
+     * @param idParada ID de la parada
+     */
+    public PuntoMatriz(int idParada) {
+        this.idParada = idParada;
+    }
+
+    public Double getLat() {
+        return lat;
+    }
+
+    public void setLat(Double lat) {
+        this.lat = lat;
+    }
+
+    public Double getLon() {
+        return lon;
+    }
+
+    public void setLon(Double lon) {
+        this.lon = lon;
+    }
+
+    public Integer getIdParada() {
+        return idParada;
+    }
+
+    public void setIdParada(Integer idParada) {
+        this.idParada = idParada;
+    }
+}
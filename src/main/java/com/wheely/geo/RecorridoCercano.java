@@ -0,0 +1,93 @@
+package com.wheely.geo;
+
+/**
+ * Recorrido activo que pasa cerca de un punto, con el punto más cercano de su trazado.
+ *
+ * <p>El punto más cercano puede caer entre dos coordenadas registradas: se obtiene
+ * proyectando la ubicación consultada sobre el segmento que las une. El rumbo y el
+ * sentido son los del segmento en el orden en que lo recorre el autobús.</p>
+ *
+ * <pre>
+ * {
+ *   "idRecorrido": 7,
+ *   "idRuta": 3,
+ *   "distanciaMetros": 42.6,
+ *   "rumboGrados": 84,
+ *   "sentido": "E",
+ *   "avanceMetros": 3518,
+ *   "latitud": 16.753104,
+ *   "longitud": -93.115872
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see RecorridosCercanos
+ */
+public class RecorridoCercano {
+    private final int idRecorrido;
+    private final int idRuta;
+    private final double distanciaMetros;
+    private final Integer rumboGrados;
+    private final String sentido;
+    private final int avanceMetros;
+    private final double latitud;
+    private final double longitud;
+
+    /**
+     * Constructor del recorrido cercano.
+     *
+     * @param idRecorrido ID del recorrido
+     * @param idRuta ID de la ruta del recorrido
+     * @param distanciaMetros Distancia del punto consultado al trazado
+     * @param rumboGrados Rumbo del autobús en el punto más cercano, o null si no se puede determinar
+     * @param sentido Punto cardinal del rumbo (N, NE, E, SE, S, SO, O, NO), o null
+     * @param avanceMetros Metros desde el inicio del recorrido hasta el punto más cercano
+     * @param latitud Latitud del punto más cercano del trazado
+     * @param longitud Longitud del punto más cercano del trazado
+     */
+    public RecorridoCercano(int idRecorrido, int idRuta, double distanciaMetros, Integer rumboGrados,
+                            String sentido, int avanceMetros, double latitud, double longitud) {
+        this.idRecorrido = idRecorrido;
+        this.idRuta = idRuta;
+        this.distanciaMetros = distanciaMetros;
+        this.rumboGrados = rumboGrados;
+        this.sentido = sentido;
+        this.avanceMetros = avanceMetros;
+        this.latitud = latitud;
+        this.longitud = longitud;
+    }
+
+    public int getIdRecorrido() {
+        return idRecorrido;
+    }
+
+    public int getIdRuta() {
+        return idRuta;
+    }
+
+    public double getDistanciaMetros() {
+        return distanciaMetros;
+    }
+
+    public Integer getRumboGrados() {
+        return rumboGrados;
+    }
+
+    public String getSentido() {
+        return sentido;
+    }
+
+    public int getAvanceMetros() {
+        return avanceMetros;
+    }
+
+    public double getLatitud() {
+        return latitud;
+    }
+
+    public double getLongitud() {
+        return longitud;
+    }
+}
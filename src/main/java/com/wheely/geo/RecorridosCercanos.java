@@ -0,0 +1,148 @@
+package com.wheely.geo;
+
+import com.wheely.cache.ReplicaReferencia;
+import com.wheely.cache.TablaReferencia;
+import com.wheely.model.Recorrido;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Búsqueda en memoria de los recorridos activos que pasan cerca de un punto.
+ *
+ * <p>La geometría sale del {@link IndiceSegmentos} del {@link AlmacenGeometria}, así que
+ * la distancia se mide contra cada segmento entre dos coordenadas consecutivas y no solo
+ * contra las coordenadas registradas. Qué recorridos están activos y a qué ruta pertenecen
+ * sale de {@link com.wheely.cache.DatosReferencia#recorridosActivos()}: el mapa se reconstruye la primera vez
+ * que se busca tras un cambio de versión de la tabla Recorrido, así que sigue a la réplica en
+ * cada alta, modificación, baja o cambio de estado, incluidas las bajas en cascada al
+ * borrar una ruta.</p>
+ *
+ * <p>De cada recorrido se conserva solo el segmento más cercano, con el rumbo en el
+ * sentido en que lo recorre el autobús.</p>
+ *
+ * <pre>
+ * RecorridosCercanos cercanos = new RecorridosCercanos(almacenGeometria, replicaReferencia);
+ * List&lt;RecorridoCercano&gt; pasan = cercanos.buscar(16.7531, -93.1159, 300);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see IndiceSegmentos
+ * @see ReplicaReferencia#version(TablaReferencia)
+ * @see com.wheely.service.RecorridoService
+ */
+public class RecorridosCercanos {
+
+    private static final String[] SENTIDOS = {"N", "NE", "E", "SE", "S", "SO", "O", "NO"};
+
+    private final AlmacenGeometria almacenGeometria;
+    private final ReplicaReferencia replicaReferencia;
+    private volatile Activos activos;
+
+    /**
+     * Constructor de la búsqueda.
+     *
+     * @param almacenGeometria Almacén del que se toma el índice de segmentos
+     * @param replicaReferencia Réplica de la que se toman los recorridos activos
+     */
+    public RecorridosCercanos(AlmacenGeometria almacenGeometria, ReplicaReferencia replicaReferencia) {
+        this.almacenGeometria = almacenGeometria;
+        this.replicaReferencia = replicaReferencia;
+    }
+
+    /**
+     * Busca los recorridos activos que pasan a menos de un radio de un punto.
+     *
+     * @param latitud Latitud del punto
+     * @param longitud Longitud del punto
+     * @param radioMetros Distancia máxima al trazado
+     * @return Un elemento por recorrido, del más cercano al más lejano
+     * @throws SQLException Si hay error en la carga inicial de la réplica
+     */
+    public List<RecorridoCercano> buscar(double latitud, double longitud, double radioMetros) throws SQLException {
+        Map<Integer, Integer> rutaPorRecorridoActivo = activos().rutaPorRecorrido;
+        IndiceSegmentos indice = almacenGeometria.getIndiceSegmentos();
+        IndiceSegmentos.Cercanos cercanos = indice.buscar(latitud, longitud, radioMetros);
+        Map<Integer, Integer> mejorPorRecorrido = new HashMap<>();
+        for (int i = 0; i < cercanos.size(); i++) {
+            int s = cercanos.segmento(i);
+            int idRecorrido = indice.recorridoDe(s);
+            if (!rutaPorRecorridoActivo.containsKey(idRecorrido)) continue;
+            Integer mejor = mejorPorRecorrido.get(idRecorrido);
+            if (mejor == null || mejorQue(indice, cercanos, i, mejor)) {
+                mejorPorRecorrido.put(idRecorrido, i);
+            }
+        }
+
+        List<RecorridoCercano> resultado = new ArrayList<>(mejorPorRecorrido.size());
+        for (Map.Entry<Integer, Integer> e : mejorPorRecorrido.entrySet()) {
+            Integer idRuta = rutaPorRecorridoActivo.get(e.getKey());
+            if (idRuta == null) continue;
+            int i = e.getValue();
+            int s = cercanos.segmento(i);
+            double t = cercanos.fraccion(i);
+            double rumbo = indice.rumboGrados(s);
+            boolean conRumbo = !Double.isNaN(rumbo);
+            resultado.add(new RecorridoCercano(e.getKey(), idRuta,
+                    Math.round(cercanos.distanciaMetros(i) * 10) / 10.0,
+                    conRumbo ? (int) Math.round(rumbo) % 360 : null,
+                    conRumbo ? SENTIDOS[(int) Math.round(rumbo / 45) % SENTIDOS.length] : null,
+                    (int) Math.round(indice.avanceMetros(s, t)),
+                    indice.latitudEn(s, t), indice.longitudEn(s, t)));
+        }
+        resultado.sort(Comparator.comparingDouble(RecorridoCercano::getDistanciaMetros)
+                .thenComparingInt(RecorridoCercano::getIdRecorrido));
+        return resultado;
+    }
+
+    /**
+     * Obtiene la ruta de cada recorrido activo, reconstruyéndola si la tabla Recorrido cambió.
+     *
+     * <p>La versión se lee antes que la réplica, así que lo construido es al menos tan
+     * reciente como la versión con que se guarda.</p>
+     */
+    private Activos activos() throws SQLException {
+        long version = replicaReferencia.version(TablaReferencia.RECORRIDO);
+        Activos actual = activos;
+        if (actual != null && actual.version == version) return actual;
+        Map<Integer, Integer> rutaPorRecorrido = new HashMap<>();
+        for (Recorrido r : replicaReferencia.actual().recorridosActivos()) {
+            rutaPorRecorrido.put(r.getIdRecorrido(), r.getIdRuta());
+        }
+        actual = new Activos(version, rutaPorRecorrido);
+        activos = actual;
+        return actual;
+    }
+
+    /**
+     * Compara dos segmentos cercanos del mismo recorrido; a igual distancia (un vértice
+     * compartido) se prefiere el que sí tiene rumbo.
+     */
+    private static boolean mejorQue(IndiceSegmentos indice, IndiceSegmentos.Cercanos cercanos, int i, int actual) {
+        double d = cercanos.distanciaMetros(i);
+        double dActual = cercanos.distanciaMetros(actual);
+        if (d < dActual - 1e-6) return true;
+        return d <= dActual + 1e-6
+                && Double.isNaN(indice.rumboGrados(cercanos.segmento(actual)))
+                && !Double.isNaN(indice.rumboGrados(cercanos.segmento(i)));
+    }
+
+    /**
+     * Ruta de cada recorrido activo, junto con la versión de la tabla Recorrido de la que salió.
+     */
+    private static final class Activos {
+        private final long version;
+        private final Map<Integer, Integer> rutaPorRecorrido;
+
+        private Activos(long version, Map<Integer, Integer> rutaPorRecorrido) {
+            this.version = version;
+            this.rutaPorRecorrido = rutaPorRecorrido;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.wheely.geo;
+
+import com.wheely.model.CoordenadaParada;
+import com.wheely.util.GeoUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Red de transporte inmutable en arreglos primitivos para el planificador de viajes.
+ *
+ * <p>Cada recorrido activo con trazado es una línea de la red y cada coordenada de sus
+ * paradas es un punto de parada. Los puntos de parada se numeran agrupados por recorrido
+ * y, dentro de él, por {@code orden_parada}; así las paradas de la línea {@code r} ocupan
+ * el rango {@code [inicioParadas(r), inicioParadas(r + 1))} y no hace falta otra tabla
+ * para recorrer una línea en orden.</p>
+ *
+ * <p>De cada punto de parada se guarda su avance en metros sobre el trazado, obtenido al
+ * proyectarlo con {@link GeometriaRecorrido#proyectar(double, double, double)}. Los
+ * transbordos a pie se toman del {@link GrafoTransbordos}, restringidos a los puntos de
+ * parada de la red, y se guardan en formato CSR ({@code inicioTransbordos},
+ * {@code destinoTransbordo}, {@code segundosTransbordo}).</p>
+ *
+ * <pre>
+ * RedTransporte red = new RedTransporte(almacen.todas(), rutaPorRecorrido, paradasPorRecorrido, grafo.getCsr());
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see PlanificadorViajes
+ * @see com.wheely.service.PlanificacionService
+ */
+public final class RedTransporte {
+
+    /**
+     * Lado en metros de las celdas usadas para buscar paradas cerca de una ubicación.
+     */
+    public static final double TAMANO_CELDA_METROS = 300.0;
+
+    /**
+     * Velocidad de caminata en metros por segundo.
+     */
+    public static final double VELOCIDAD_CAMINATA = 1.2;
+
+    private static final double METROS_POR_GRADO = GeoUtil.KM_POR_GRADO * 1000.0;
+
+    private final int[] idRecorrido;
+    private final int[] idRuta;
+    private final double[] longitudMetros;
+    private final int[] inicioParadas;
+
+    private final int[] idCoordenadaParada;
+    private final int[] idParada;
+    private final int[] lineaDe;
+    private final double[] latitud;
+    private final double[] longitud;
+    private final double[] avanceMetros;
+
+    private final int[] inicioTransbordos;
+    private final int[] destinoTransbordo;
+    private final int[] segundosTransbordo;
+
+    private final Map<Long, int[]> celdas;
+    private final Map<Integer, int[]> puntosPorParada;
+
+    /**
+     * Construye la red a partir del trazado y las paradas de cada recorrido.
+     *
+     * @param trazados Trazados de los recorridos
+     * @param rutaPorRecorrido ID de ruta de cada recorrido activo; los recorridos ausentes se omiten
+     * @param paradasPorRecorrido Coordenadas de las paradas activas de cada recorrido
+     * @param transbordos Grafo de transbordos entre coordenadas de parada
+     */
+    public RedTransporte(Collection<GeometriaRecorrido> trazados, Map<Integer, Integer> rutaPorRecorrido,
+                         Map<Integer, List<CoordenadaParada>> paradasPorRecorrido, GrafoTransbordos.Csr transbordos) {
+        List<GeometriaRecorrido> lineas = new ArrayList<>();
+        int total = 0;
+        for (GeometriaRecorrido g : trazados) {
+            List<CoordenadaParada> paradas = paradasPorRecorrido.get(g.getIdRecorrido());
+            if (g.size() < 2 || !rutaPorRecorrido.containsKey(g.getIdRecorrido())
+                    || paradas == null || paradas.size() < 2) continue;
+            lineas.add(g);
+            total += paradas.size();
+        }
+
+        int lineasTotales = lineas.size();
+        idRecorrido = new int[lineasTotales];
+        idRuta = new int[lineasTotales];
+        longitudMetros = new double[lineasTotales];
+        inicioParadas = new int[lineasTotales + 1];
+        idCoordenadaParada = new int[total];
+        idParada = new int[total];
+        lineaDe = new int[total];
+        latitud = new double[total];
+        longitud = new double[total];
+        avanceMetros = new double[total];
+
+        int s = 0;
+        for (int r = 0; r < lineasTotales; r++) {
+            GeometriaRecorrido g = lineas.get(r);
+            idRecorrido[r] = g.getIdRecorrido();
+            idRuta[r] = rutaPorRecorrido.get(g.getIdRecorrido());
+            longitudMetros[r] = g.getLongitudMetros();
+            inicioParadas[r] = s;
+            List<CoordenadaParada> paradas = new ArrayList<>(paradasPorRecorrido.get(g.getIdRecorrido()));
+            paradas.sort(Comparator.comparingInt(CoordenadaParada::getOrdenParada)
+                    .thenComparingInt(CoordenadaParada::getIdCoordenadaParada));
+            double avance = 0;
+            for (CoordenadaParada c : paradas) {
+                idCoordenadaParada[s] = c.getIdCoordenadaParada();
+                idParada[s] = c.getIdParada();
+                lineaDe[s] = r;
+                latitud[s] = c.getLatitud().doubleValue();
+                longitud[s] = c.getLongitud().doubleValue();
+                avance = g.proyectar(latitud[s], longitud[s], avance).getDistanciaMetros();
+                avanceMetros[s] = avance;
+                s++;
+            }
+        }
+        inicioParadas[lineasTotales] = s;
+
+        celdas = indexar();
+        puntosPorParada = agruparPorParada();
+        Map<Integer, Integer> paradaPorNodo = new HashMap<>();
+        for (int p = 0; p < total; p++) {
+            int nodo = transbordos.nodo(idCoordenadaParada[p]);
+            if (nodo >= 0) paradaPorNodo.put(nodo, p);
+        }
+        inicioTransbordos = new int[total + 1];
+        int[] destinos = new int[Math.max(16, total * 4)];
+        int[] segundos = new int[destinos.length];
+        int usados = 0;
+        for (int p = 0; p < total; p++) {
+            inicioTransbordos[p] = usados;
+            int nodo = transbordos.nodo(idCoordenadaParada[p]);
+            if (nodo < 0) continue;
+            for (int e = transbordos.inicio(nodo); e < transbordos.inicio(nodo + 1); e++) {
+                Integer q = paradaPorNodo.get(transbordos.destino(e));
+                if (q == null || lineaDe[q] == lineaDe[p]) continue;
+                if (usados == destinos.length) {
+                    destinos = Arrays.copyOf(destinos, usados * 2);
+                    segundos = Arrays.copyOf(segundos, usados * 2);
+                }
+                destinos[usados] = q;
+                segundos[usados] = segundosCaminando(transbordos.metros(e));
+                usados++;
+            }
+        }
+        inicioTransbordos[total] = usados;
+        destinoTransbordo = Arrays.copyOf(destinos, usados);
+        segundosTransbordo = Arrays.copyOf(segundos, usados);
+    }
+
+    /**
+     * Obtiene el número de líneas (recorridos) de la red.
+     *
+     * @return Total de recorridos con trazado y al menos dos paradas
+     */
+    public int lineas() {
+        return idRecorrido.length;
+    }
+
+    /**
+     * Obtiene el número de puntos de parada de la red.
+     *
+     * @return Total de coordenadas de parada en todas las líneas
+     */
+    public int paradas() {
+        return idCoordenadaParada.length;
+    }
+
+    /**
+     * Obtiene el número de transbordos a pie de la red.
+     *
+     * @return Total de aristas de transbordo
+     */
+    public int transbordos() {
+        return destinoTransbordo.length;
+    }
+
+    public int idRecorrido(int linea) {
+        return idRecorrido[linea];
+    }
+
+    public int idRuta(int linea) {
+        return idRuta[linea];
+    }
+
+    public double longitudMetros(int linea) {
+        return longitudMetros[linea];
+    }
+
+    /**
+     * Obtiene el primer punto de parada de una línea; {@code inicioParadas(linea + 1)} es el fin exclusivo.
+     *
+     * @param linea Índice de la línea, hasta {@link #lineas()} inclusive
+     * @return Índice del primer punto de parada de la línea
+     */
+    public int inicioParadas(int linea) {
+        return inicioParadas[linea];
+    }
+
+    public int idCoordenadaParada(int parada) {
+        return idCoordenadaParada[parada];
+    }
+
+    public int idParada(int parada) {
+        return idParada[parada];
+    }
+
+    public int lineaDe(int parada) {
+        return lineaDe[parada];
+    }
+
+    public double latitud(int parada) {
+        return latitud[parada];
+    }
+
+    public double longitud(int parada) {
+        return longitud[parada];
+    }
+
+    public double avanceMetros(int parada) {
+        return avanceMetros[parada];
+    }
+
+    /**
+     * Obtiene los puntos de parada de una parada, uno por cada una de sus coordenadas.
+     *
+     * @param idParada ID de la parada
+     * @return Índices de los puntos de parada en orden de avance, vacío si la parada no está en la red
+     */
+    public int[] puntosDeParada(int idParada) {
+        int[] puntos = puntosPorParada.get(idParada);
+        return puntos != null ? puntos.clone() : new int[0];
+    }
+
+    /**
+     * Obtiene la primera arista de transbordo de un punto de parada; {@code inicioTransbordos(parada + 1)}
+     * es el fin exclusivo.
+     *
+     * @param parada Índice del punto de parada, hasta {@link #paradas()} inclusive
+     * @return Índice de la primera arista de transbordo
+     */
+    public int inicioTransbordos(int parada) {
+        return inicioTransbordos[parada];
+    }
+
+    public int destinoTransbordo(int arista) {
+        return destinoTransbordo[arista];
+    }
+
+    public int segundosTransbordo(int arista) {
+        return segundosTransbordo[arista];
+    }
+
+    /**
+     * Busca los puntos de parada cuya celda puede estar a menos de un radio de una ubicación.
+     *
+     * <p>Es un prefiltro por celdas: el llamador debe confirmar la distancia con
+     * {@link #metrosHasta(int, double, double)}.</p>
+     *
+     * @param lat Latitud de la ubicación
+     * @param lon Longitud de la ubicación
+     * @param radioMetros Radio de búsqueda
+     * @return Índices de los puntos de parada candidatos
+     */
+    public int[] cercanas(double lat, double lon, double radioMetros) {
+        double dLat = radioMetros / METROS_POR_GRADO;
+        double dLon = GeoUtil.deltaLongitud(radioMetros / 1000.0, lat);
+        long filaMin = celda(lat - dLat);
+        long filaMax = celda(lat + dLat);
+        long columnaMin = celda(lon - dLon);
+        long columnaMax = celda(lon + dLon);
+        int[] resultado = new int[16];
+        int n = 0;
+        for (long f = filaMin; f <= filaMax; f++) {
+            for (long c = columnaMin; c <= columnaMax; c++) {
+                int[] lista = celdas.get(clave(f, c));
+                if (lista == null) continue;
+                if (n + lista.length > resultado.length) {
+                    resultado = Arrays.copyOf(resultado, Math.max(resultado.length * 2, n + lista.length));
+                }
+                System.arraycopy(lista, 0, resultado, n, lista.length);
+                n += lista.length;
+            }
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    /**
+     * Calcula la distancia en línea recta de un punto de parada a una ubicación.
+     *
+     * @param parada Índice del punto de parada
+     * @param lat Latitud de la ubicación
+     * @param lon Longitud de la ubicación
+     * @return Distancia en metros
+     */
+    public double metrosHasta(int parada, double lat, double lon) {
+        return GeoUtil.distanciaKm(latitud[parada], longitud[parada], lat, lon) * 1000.0;
+    }
+
+    /**
+     * Convierte una distancia a pie en segundos de caminata.
+     *
+     * @param metros Distancia en línea recta
+     * @return Segundos a {@link #VELOCIDAD_CAMINATA}, redondeados hacia arriba
+     */
+    public static int segundosCaminando(double metros) {
+        return (int) Math.ceil(metros / VELOCIDAD_CAMINATA);
+    }
+
+    /**
+     * Agrupa los puntos de parada por ID de parada, en el orden en que aparecen en su línea.
+     */
+    private Map<Integer, int[]> agruparPorParada() {
+        Map<Integer, int[]> resultado = new HashMap<>();
+        for (int p = 0; p < idParada.length; p++) {
+            int[] actuales = resultado.get(idParada[p]);
+            int[] puntos = actuales != null ? Arrays.copyOf(actuales, actuales.length + 1) : new int[1];
+            puntos[puntos.length - 1] = p;
+            resultado.put(idParada[p], puntos);
+        }
+        return resultado;
+    }
+
+    /**
+     * Agrupa los puntos de parada en celdas de {@link #TAMANO_CELDA_METROS} de lado.
+     */
+    private Map<Long, int[]> indexar() {
+        Map<Long, int[]> porCelda = new HashMap<>();
+        Map<Long, Integer> ocupacion = new HashMap<>();
+        for (int p = 0; p < latitud.length; p++) {
+            long clave = clave(celda(latitud[p]), celda(longitud[p]));
+            int[] lista = porCelda.get(clave);
+            int usados = ocupacion.getOrDefault(clave, 0);
+            if (lista == null) {
+                lista = new int[4];
+            } else if (usados == lista.length) {
+                lista = Arrays.copyOf(lista, usados * 2);
+            }
+            lista[usados] = p;
+            porCelda.put(clave, lista);
+            ocupacion.put(clave, usados + 1);
+        }
+        for (Map.Entry<Long, int[]> e : porCelda.entrySet()) {
+            e.setValue(Arrays.copyOf(e.getValue(), ocupacion.get(e.getKey())));
+        }
+        return porCelda;
+    }
+
+    private static long celda(double grados) {
+        return (long) Math.floor(grados * METROS_POR_GRADO / TAMANO_CELDA_METROS);
+    }
+
+    private static long clave(long fila, long columna) {
+        return (fila << 32) | (columna & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,130 @@
+package com.wheely.geo;
+
+import java.util.List;
+
+/**
+ * Resultado de ajustar una traza GPS al recorrido más probable.
+ *
+ * <p>Indica el recorrido elegido, cuánto se ha avanzado sobre él y, para cada punto de
+ * la traza, su posición ajustada sobre el trazado o que no pudo ajustarse.</p>
+ *
+ * <pre>
+ * {
+ *   "idRecorrido": 4,
+ *   "puntosEmparejados": 2,
+ *   "puntosTotales": 2,
+ *   "progresoMetros": 812.4,
+ *   "longitudMetros": 9120.7,
+ *   "puntos": [
+ *     { "latitud": 16.75688, "longitud": -93.12921, "progresoMetros": 790.1, "distanciaMetros": 3.2, "emparejado": true },
+ *     { "latitud": 16.75702, "longitud": -93.12905, "progresoMetros": 812.4, "distanciaMetros": 4.8, "emparejado": true }
+ *   ]
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see EmparejadorTrazas
+ */
+public class ResultadoEmparejamiento {
+    private final int idRecorrido;
+    private final int puntosEmparejados;
+    private final double progresoMetros;
+    private final double longitudMetros;
+    private final List<PuntoEmparejado> puntos;
+
+    /**
+     * Constructor del resultado.
+     *
+     * @param idRecorrido ID del recorrido elegido
+     * @param puntosEmparejados Puntos de la traza que quedaron sobre el recorrido
+     * @param progresoMetros Avance sobre el recorrido en el último punto emparejado
+     * @param longitudMetros Longitud total del recorrido
+     * @param puntos Un elemento por punto de la traza, en el mismo orden
+     */
+    public ResultadoEmparejamiento(int idRecorrido, int puntosEmparejados, double progresoMetros,
+                                   double longitudMetros, List<PuntoEmparejado> puntos) {
+        this.idRecorrido = idRecorrido;
+        this.puntosEmparejados = puntosEmparejados;
+        this.progresoMetros = progresoMetros;
+        this.longitudMetros = longitudMetros;
+        this.puntos = puntos;
+    }
+
+    public int getIdRecorrido() {
+        return idRecorrido;
+    }
+
+    public int getPuntosEmparejados() {
+        return puntosEmparejados;
+    }
+
+    public int getPuntosTotales() {
+        return puntos.size();
+    }
+
+    public double getProgresoMetros() {
+        return progresoMetros;
+    }
+
+    public double getLongitudMetros() {
+        return longitudMetros;
+    }
+
+    public List<PuntoEmparejado> getPuntos() {
+        return puntos;
+    }
+
+    /**
+     * Punto de la traza ajustado sobre el recorrido.
+     *
+     * <p>Si el punto no pudo ajustarse conserva la posición original, con
+     * {@code emparejado} en false.</p>
+     */
+    public static class PuntoEmparejado {
+        private final double latitud;
+        private final double longitud;
+        private final double progresoMetros;
+        private final double distanciaMetros;
+        private final boolean emparejado;
+
+        /**
+         * Constructor del punto ajustado.
+         *
+         * @param latitud Latitud sobre el trazado (u original si no se emparejó)
+         * @param longitud Longitud sobre el trazado (u original si no se emparejó)
+         * @param progresoMetros Metros desde el inicio del recorrido
+         * @param distanciaMetros Distancia entre el punto GPS y su posición ajustada
+         * @param emparejado true si el punto quedó sobre el recorrido
+         */
+        public PuntoEmparejado(double latitud, double longitud, double progresoMetros,
+                               double distanciaMetros, boolean emparejado) {
+            this.latitud = latitud;
+            this.longitud = longitud;
+            this.progresoMetros = progresoMetros;
+            this.distanciaMetros = distanciaMetros;
+            this.emparejado = emparejado;
+        }
+
+        public double getLatitud() {
+            return latitud;
+        }
+
+        public double getLongitud() {
+            return longitud;
+        }
+
+        public double getProgresoMetros() {
+            return progresoMetros;
+        }
+
+        public double getDistanciaMetros() {
+            return distanciaMetros;
+        }
+
+        public boolean isEmparejado() {
+            return emparejado;
+        }
+    }
+}
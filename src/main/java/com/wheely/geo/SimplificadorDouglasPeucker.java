@@ -0,0 +1,138 @@
+package com.wheely.geo;
+
+import com.wheely.util.GeoUtil;
+
+/**
+ * Simplificación de trazados con el algoritmo de Douglas-Peucker para distintos niveles de zoom.
+ *
+ * <p>En lugar de ejecutar el algoritmo una vez por cada tolerancia, se ejecuta una sola vez
+ * sobre el trazado completo y se registra para cada punto su <em>importancia</em>: la mayor
+ * tolerancia, en metros, con la que el punto todavía se conserva. Simplificar con una
+ * tolerancia {@code t} se reduce entonces a conservar los puntos cuya importancia es mayor
+ * que {@code t}, con el mismo resultado que Douglas-Peucker ejecutado con esa tolerancia.</p>
+ *
+ * <p>Las distancias se miden en una proyección equirectangular local centrada en el primer
+ * punto del trazado, suficiente para la extensión de una ciudad.</p>
+ *
+ * <pre>
+ * double[] importancias = SimplificadorDouglasPeucker.importancias(geometria);
+ * double tolerancia = SimplificadorDouglasPeucker.toleranciaParaZoom(14, 16.75);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see GeometriaRecorrido#paraZoom(int)
+ * @see GeometriaRecorrido#simplificada(double)
+ */
+public final class SimplificadorDouglasPeucker {
+
+    /**
+     * Menor nivel de zoom con simplificación precalculada; niveles inferiores usan este.
+     */
+    public static final int ZOOM_MINIMO = 10;
+
+    /**
+     * Mayor nivel de zoom con simplificación precalculada; niveles superiores usan el trazado completo.
+     */
+    public static final int ZOOM_MAXIMO = 17;
+
+    /**
+     * Metros por píxel en el ecuador con zoom 0 para teselas de 256 píxeles (Web Mercator).
+     */
+    private static final double METROS_POR_PIXEL_Z0 = 156543.03392;
+
+    private static final double METROS_POR_GRADO = GeoUtil.KM_POR_GRADO * 1000.0;
+
+    private SimplificadorDouglasPeucker() {
+    }
+
+    /**
+     * Convierte un nivel de zoom del mapa en una tolerancia de un píxel, en metros.
+     *
+     * @param zoom Nivel de zoom (0 a 22)
+     * @param latitud Latitud de referencia en grados
+     * @return Metros que abarca un píxel en ese zoom y latitud
+     */
+    public static double toleranciaParaZoom(int zoom, double latitud) {
+        return METROS_POR_PIXEL_Z0 * Math.cos(Math.toRadians(latitud)) / (1L << zoom);
+    }
+
+    /**
+     * Calcula la importancia de cada punto del trazado.
+     *
+     * <p>Los extremos reciben {@link Double#POSITIVE_INFINITY} para conservarse siempre.
+     * La importancia de un punto nunca supera la del punto que dividió su tramo, de modo
+     * que los puntos conservados con cualquier tolerancia forman un resultado válido.</p>
+     *
+     * @param geometria Trazado a analizar
+     * @return Importancia en metros de cada punto, en el orden del trazado
+     */
+    public static double[] importancias(GeometriaRecorrido geometria) {
+        int n = geometria.size();
+        double[] importancia = new double[n];
+        if (n == 0) return importancia;
+        importancia[0] = Double.POSITIVE_INFINITY;
+        importancia[n - 1] = Double.POSITIVE_INFINITY;
+        if (n < 3) return importancia;
+
+        double escalaLon = Math.cos(Math.toRadians(geometria.latitud(0))) * METROS_POR_GRADO;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = geometria.longitud(i) * escalaLon;
+            y[i] = geometria.latitud(i) * METROS_POR_GRADO;
+        }
+
+        // Pila explícita de tramos (inicio, fin, importancia del punto que los generó)
+        int[] inicios = new int[n];
+        int[] fines = new int[n];
+        double[] techos = new double[n];
+        int tope = 0;
+        inicios[0] = 0;
+        fines[0] = n - 1;
+        techos[0] = Double.POSITIVE_INFINITY;
+        tope++;
+
+        while (tope > 0) {
+            tope--;
+            int a = inicios[tope];
+            int b = fines[tope];
+            double techo = techos[tope];
+            if (b - a < 2) continue;
+
+            int masLejano = a + 1;
+            double distanciaMaxima = -1;
+            for (int k = a + 1; k < b; k++) {
+                double d = distanciaSegmento(x[k], y[k], x[a], y[a], x[b], y[b]);
+                if (d > distanciaMaxima) {
+                    distanciaMaxima = d;
+                    masLejano = k;
+                }
+            }
+            double valor = Math.min(distanciaMaxima, techo);
+            importancia[masLejano] = valor;
+
+            inicios[tope] = a;
+            fines[tope] = masLejano;
+            techos[tope] = valor;
+            tope++;
+            inicios[tope] = masLejano;
+            fines[tope] = b;
+            techos[tope] = valor;
+            tope++;
+        }
+        return importancia;
+    }
+
+    private static double distanciaSegmento(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double largo2 = dx * dx + dy * dy;
+        double t = largo2 == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / largo2;
+        t = Math.max(0, Math.min(1, t));
+        double ex = px - (ax + t * dx);
+        double ey = py - (ay + t * dy);
+        return Math.sqrt(ex * ex + ey * ey);
+    }
+}
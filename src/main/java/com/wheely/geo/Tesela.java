@@ -0,0 +1,138 @@
+package com.wheely.geo;
+
+/**
+ * Identificador de una tesela del mapa en el esquema XYZ de Web Mercator.
+ *
+ * <p>Convierte entre coordenadas geográficas y el sistema local de la tesela, cuyo origen
+ * es la esquina superior izquierda y cuyo lado mide {@link #EXTENSION} unidades, tal como
+ * lo define la especificación Mapbox Vector Tile.</p>
+ *
+ * <pre>
+ * Tesela t = new Tesela(14, 3859, 7524);
+ * double x = t.proyectarX(-93.1292);
+ * double y = t.proyectarY(16.7569);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see GeneradorTeselas
+ */
+public final class Tesela {
+
+    /**
+     * Unidades por lado de la tesela.
+     */
+    public static final int EXTENSION = 4096;
+
+    /**
+     * Mayor nivel de zoom admitido.
+     */
+    public static final int ZOOM_MAXIMO = 22;
+
+    private static final double LATITUD_MAXIMA = 85.0511287798066;
+
+    private final int z;
+    private final int x;
+    private final int y;
+    private final double escala;
+
+    /**
+     * Constructor de la tesela.
+     *
+     * @param z Nivel de zoom (0 a {@value #ZOOM_MAXIMO})
+     * @param x Columna de la tesela
+     * @param y Fila de la tesela
+     * @throws IllegalArgumentException Si el zoom o las coordenadas están fuera de rango
+     */
+    public Tesela(int z, int x, int y) {
+        if (z < 0 || z > ZOOM_MAXIMO) throw new IllegalArgumentException("El zoom debe estar entre 0 y " + ZOOM_MAXIMO);
+        int limite = 1 << z;
+        if (x < 0 || x >= limite || y < 0 || y >= limite) {
+            throw new IllegalArgumentException("Coordenadas de tesela fuera de rango");
+        }
+        this.z = z;
+        this.x = x;
+        this.y = y;
+        this.escala = limite;
+    }
+
+    /**
+     * Reconstruye una tesela a partir de su clave numérica.
+     *
+     * @param clave Valor producido por {@link #clave()}
+     * @return Tesela correspondiente
+     */
+    public static Tesela desdeClave(long clave) {
+        return new Tesela((int) (clave >>> 58), (int) ((clave >>> 29) & 0x1FFFFFFFL), (int) (clave & 0x1FFFFFFFL));
+    }
+
+    /**
+     * Codifica la tesela en un único long: 6 bits de zoom y 29 bits para cada coordenada.
+     *
+     * @return Clave numérica única de la tesela
+     */
+    public long clave() {
+        return ((long) z << 58) | ((long) x << 29) | y;
+    }
+
+    public int getZ() {
+        return z;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Calcula la caja geográfica de la tesela ampliada con un borde.
+     *
+     * @param borde Unidades de tesela que se agregan por cada lado
+     * @return Caja en grados que cubre la tesela y su borde
+     */
+    public CajaEnvolvente caja(int borde) {
+        double margen = (double) borde / EXTENSION;
+        return new CajaEnvolvente(latitudDeFila(y + 1 + margen), longitudDeColumna(x - margen),
+                latitudDeFila(y - margen), longitudDeColumna(x + 1 + margen));
+    }
+
+    /**
+     * Proyecta una longitud al eje X local de la tesela.
+     *
+     * @param longitud Longitud en grados
+     * @return Posición en unidades de tesela (puede salir de 0..EXTENSION)
+     */
+    public double proyectarX(double longitud) {
+        return ((longitud + 180.0) / 360.0 * escala - x) * EXTENSION;
+    }
+
+    /**
+     * Proyecta una latitud al eje Y local de la tesela (crece hacia el sur).
+     *
+     * @param latitud Latitud en grados
+     * @return Posición en unidades de tesela (puede salir de 0..EXTENSION)
+     */
+    public double proyectarY(double latitud) {
+        double lat = Math.max(-LATITUD_MAXIMA, Math.min(LATITUD_MAXIMA, latitud));
+        double rad = Math.toRadians(lat);
+        double mercator = Math.log(Math.tan(rad) + 1.0 / Math.cos(rad));
+        return ((1.0 - mercator / Math.PI) / 2.0 * escala - y) * EXTENSION;
+    }
+
+    private double longitudDeColumna(double columna) {
+        return columna / escala * 360.0 - 180.0;
+    }
+
+    private double latitudDeFila(double fila) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1.0 - 2.0 * fila / escala))));
+    }
+
+    @Override
+    public String toString() {
+        return z + "/" + x + "/" + y;
+    }
+}
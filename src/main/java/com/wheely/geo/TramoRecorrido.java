@@ -0,0 +1,64 @@
+package com.wheely.geo;
+
+/**
+ * Distancia a lo largo de un recorrido entre dos de sus puntos.
+ *
+ * <pre>
+ * {
+ *   "idRecorrido": 4,
+ *   "ordenDesde": 3,
+ *   "ordenHasta": 40,
+ *   "distanciaMetros": 2315.8,
+ *   "longitudMetros": 9120.7
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see GeometriaRecorrido#distanciaEntre(int, int)
+ */
+public class TramoRecorrido {
+    private final int idRecorrido;
+    private final int ordenDesde;
+    private final int ordenHasta;
+    private final double distanciaMetros;
+    private final double longitudMetros;
+
+    /**
+     * Constructor del tramo.
+     *
+     * @param idRecorrido ID del recorrido
+     * @param ordenDesde Orden del punto inicial
+     * @param ordenHasta Orden del punto final
+     * @param distanciaMetros Metros entre ambos puntos siguiendo el recorrido
+     * @param longitudMetros Longitud total del recorrido
+     */
+    public TramoRecorrido(int idRecorrido, int ordenDesde, int ordenHasta, double distanciaMetros, double longitudMetros) {
+        this.idRecorrido = idRecorrido;
+        this.ordenDesde = ordenDesde;
+        this.ordenHasta = ordenHasta;
+        this.distanciaMetros = distanciaMetros;
+        this.longitudMetros = longitudMetros;
+    }
+
+    public int getIdRecorrido() {
+        return idRecorrido;
+    }
+
+    public int getOrdenDesde() {
+        return ordenDesde;
+    }
+
+    public int getOrdenHasta() {
+        return ordenHasta;
+    }
+
+    public double getDistanciaMetros() {
+        return distanciaMetros;
+    }
+
+    public double getLongitudMetros() {
+        return longitudMetros;
+    }
+}
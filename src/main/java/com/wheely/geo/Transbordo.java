@@ -0,0 +1,86 @@
+package com.wheely.geo;
+
+/**
+ * Transbordo a pie desde una coordenada de parada hacia otra de un recorrido distinto.
+ *
+ * <pre>
+ * {
+ *   "idCoordenadaParadaOrigen": 812,
+ *   "idCoordenadaParadaDestino": 1290,
+ *   "idParadaDestino": 31,
+ *   "idRecorridoDestino": 7,
+ *   "latitud": 16.75702,
+ *   "longitud": -93.12905,
+ *   "distanciaMetros": 148,
+ *   "segundosCaminando": 124
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see GrafoTransbordos
+ */
+public class Transbordo {
+    private final int idCoordenadaParadaOrigen;
+    private final int idCoordenadaParadaDestino;
+    private final int idParadaDestino;
+    private final Integer idRecorridoDestino;
+    private final double latitud;
+    private final double longitud;
+    private final int distanciaMetros;
+
+    /**
+     * Constructor del transbordo.
+     *
+     * @param idCoordenadaParadaOrigen Coordenada de parada desde la que se camina
+     * @param idCoordenadaParadaDestino Coordenada de parada a la que se llega
+     * @param idParadaDestino Parada de la coordenada de llegada
+     * @param idRecorridoDestino Recorrido de la parada de llegada, null si no se conoce
+     * @param latitud Latitud de la coordenada de llegada
+     * @param longitud Longitud de la coordenada de llegada
+     * @param distanciaMetros Distancia en línea recta, redondeada al metro
+     */
+    public Transbordo(int idCoordenadaParadaOrigen, int idCoordenadaParadaDestino, int idParadaDestino,
+                      Integer idRecorridoDestino, double latitud, double longitud, int distanciaMetros) {
+        this.idCoordenadaParadaOrigen = idCoordenadaParadaOrigen;
+        this.idCoordenadaParadaDestino = idCoordenadaParadaDestino;
+        this.idParadaDestino = idParadaDestino;
+        this.idRecorridoDestino = idRecorridoDestino;
+        this.latitud = latitud;
+        this.longitud = longitud;
+        this.distanciaMetros = distanciaMetros;
+    }
+
+    public int getIdCoordenadaParadaOrigen() {
+        return idCoordenadaParadaOrigen;
+    }
+
+    public int getIdCoordenadaParadaDestino() {
+        return idCoordenadaParadaDestino;
+    }
+
+    public int getIdParadaDestino() {
+        return idParadaDestino;
+    }
+
+    public Integer getIdRecorridoDestino() {
+        return idRecorridoDestino;
+    }
+
+    public double getLatitud() {
+        return latitud;
+    }
+
+    public double getLongitud() {
+        return longitud;
+    }
+
+    public int getDistanciaMetros() {
+        return distanciaMetros;
+    }
+
+    public int getSegundosCaminando() {
+        return RedTransporte.segundosCaminando(distanciaMetros);
+    }
+}
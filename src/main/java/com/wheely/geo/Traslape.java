@@ -0,0 +1,68 @@
+package com.wheely.geo;
+
+/**
+ * Traslape entre el trazado de un recorrido y el de otro recorrido que comparte calles con él.
+ *
+ * <p>Las fracciones no son simétricas: un recorrido corto puede ir completo sobre uno largo
+ * ({@code fraccion} 1.0) y cubrir solo una parte de él ({@code fraccionInversa} 0.2).</p>
+ *
+ * <pre>
+ * {
+ *   "idRecorrido": 4,
+ *   "idRecorridoTraslapado": 17,
+ *   "fraccion": 0.812,
+ *   "fraccionInversa": 0.356,
+ *   "metrosCompartidos": 9420
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see MatrizTraslapes
+ */
+public class Traslape {
+    private final int idRecorrido;
+    private final int idRecorridoTraslapado;
+    private final double fraccion;
+    private final double fraccionInversa;
+    private final int metrosCompartidos;
+
+    /**
+     * Constructor del traslape.
+     *
+     * @param idRecorrido Recorrido del que se mide la parte compartida
+     * @param idRecorridoTraslapado Recorrido con el que comparte calles
+     * @param fraccion Parte del trazado de {@code idRecorrido} que recorre también el otro, de 0 a 1
+     * @param fraccionInversa Parte del trazado del otro que recorre también {@code idRecorrido}, de 0 a 1
+     * @param metrosCompartidos Longitud aproximada de {@code idRecorrido} que comparte con el otro
+     */
+    public Traslape(int idRecorrido, int idRecorridoTraslapado, double fraccion, double fraccionInversa,
+                    int metrosCompartidos) {
+        this.idRecorrido = idRecorrido;
+        this.idRecorridoTraslapado = idRecorridoTraslapado;
+        this.fraccion = fraccion;
+        this.fraccionInversa = fraccionInversa;
+        this.metrosCompartidos = metrosCompartidos;
+    }
+
+    public int getIdRecorrido() {
+        return idRecorrido;
+    }
+
+    public int getIdRecorridoTraslapado() {
+        return idRecorridoTraslapado;
+    }
+
+    public double getFraccion() {
+        return fraccion;
+    }
+
+    public double getFraccionInversa() {
+        return fraccionInversa;
+    }
+
+    public int getMetrosCompartidos() {
+        return metrosCompartidos;
+    }
+}
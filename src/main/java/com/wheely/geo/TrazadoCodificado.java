@@ -0,0 +1,56 @@
+package com.wheely.geo;
+
+/**
+ * Representación compacta del trazado de un recorrido para la respuesta de la API.
+ *
+ * <p>Sustituye la lista de objetos {@link com.wheely.model.Coordenada} cuando el cliente
+ * solicita el formato de polilínea; los puntos conservan el orden de {@code orden_punto}.</p>
+ *
+ * <pre>
+ * {
+ *   "idRecorrido": 5,
+ *   "puntos": 2,
+ *   "precision": 5,
+ *   "polilinea": "{ygeB~hlwPoB{C"
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see PolilineaCodificada
+ */
+public class TrazadoCodificado {
+    private final int idRecorrido;
+    private final int puntos;
+    private final String polilinea;
+
+    /**
+     * Constructor del trazado codificado.
+     *
+     * @param idRecorrido ID del recorrido
+     * @param puntos Número de puntos codificados
+     * @param polilinea Cadena en formato encoded polyline
+     */
+    public TrazadoCodificado(int idRecorrido, int puntos, String polilinea) {
+        this.idRecorrido = idRecorrido;
+        this.puntos = puntos;
+        this.polilinea = polilinea;
+    }
+
+    public int getIdRecorrido() {
+        return idRecorrido;
+    }
+
+    public int getPuntos() {
+        return puntos;
+    }
+
+    public int getPrecision() {
+        return PolilineaCodificada.PRECISION;
+    }
+
+    public String getPolilinea() {
+        return polilinea;
+    }
+}
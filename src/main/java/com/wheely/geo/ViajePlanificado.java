@@ -0,0 +1,204 @@
+package com.wheely.geo;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Viaje de un origen a un destino propuesto por el planificador.
+ *
+ * <p>Se compone de tramos a pie y tramos a bordo de un recorrido. Los tiempos de cada tramo
+ * se expresan en segundos desde la hora de salida; {@code transbordos} es el número de
+ * veces que se cambia de recorrido.</p>
+ *
+ * <pre>
+ * {
+ *   "transbordos": 1,
+ *   "duracionSegundos": 2710,
+ *   "horaSalida": "07:30:00",
+ *   "horaLlegada": "08:15:10",
+ *   "caminataMetros": 640.2,
+ *   "tramos": [
+ *     { "tipo": "CAMINATA", "idCoordenadaParadaHasta": 812, "salidaSegundos": 0, "llegadaSegundos": 175, ... },
+ *     { "tipo": "RECORRIDO", "idRecorrido": 4, "idRuta": 2, "paradas": 9, "distanciaMetros": 3120.5, ... },
+ *     { "tipo": "CAMINATA", ... },
+ *     { "tipo": "RECORRIDO", "idRecorrido": 7, "idRuta": 3, ... },
+ *     { "tipo": "CAMINATA", "idCoordenadaParadaDesde": 1290, "llegadaSegundos": 2710, ... }
+ *   ]
+ * }
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see PlanificadorViajes
+ */
+public class ViajePlanificado {
+
+    /**
+     * Tipo de tramo recorrido a pie.
+     */
+    public static final String CAMINATA = "CAMINATA";
+
+    /**
+     * Tipo de tramo recorrido a bordo de un recorrido.
+     */
+    public static final String RECORRIDO = "RECORRIDO";
+
+    private final int transbordos;
+    private final int duracionSegundos;
+    private final LocalTime horaSalida;
+    private final List<TramoViaje> tramos;
+
+    /**
+     * Constructor del viaje.
+     *
+     * @param transbordos Cambios de recorrido del viaje
+     * @param duracionSegundos Segundos desde la salida hasta la llegada al destino
+     * @param horaSalida Hora de salida del origen
+     * @param tramos Tramos del viaje en orden
+     */
+    public ViajePlanificado(int transbordos, int duracionSegundos, LocalTime horaSalida, List<TramoViaje> tramos) {
+        this.transbordos = transbordos;
+        this.duracionSegundos = duracionSegundos;
+        this.horaSalida = horaSalida;
+        this.tramos = tramos;
+    }
+
+    public int getTransbordos() {
+        return transbordos;
+    }
+
+    public int getDuracionSegundos() {
+        return duracionSegundos;
+    }
+
+    public LocalTime getHoraSalida() {
+        return horaSalida;
+    }
+
+    public LocalTime getHoraLlegada() {
+        return horaSalida.plusSeconds(duracionSegundos);
+    }
+
+    public double getCaminataMetros() {
+        double metros = 0;
+        for (TramoViaje tramo : tramos) {
+            if (CAMINATA.equals(tramo.getTipo())) metros += tramo.getDistanciaMetros();
+        }
+        return metros;
+    }
+
+    public List<TramoViaje> getTramos() {
+        return tramos;
+    }
+
+    /**
+     * Tramo de un viaje, a pie o a bordo de un recorrido.
+     *
+     * <p>En los tramos a pie desde el origen o hacia el destino, la coordenada de parada
+     * correspondiente es null.</p>
+     */
+    public static class TramoViaje {
+        private final String tipo;
+        private final Integer idRecorrido;
+        private final Integer idRuta;
+        private final Integer idCoordenadaParadaDesde;
+        private final Integer idCoordenadaParadaHasta;
+        private final double latitudDesde;
+        private final double longitudDesde;
+        private final double latitudHasta;
+        private final double longitudHasta;
+        private final int paradas;
+        private final double distanciaMetros;
+        private final int salidaSegundos;
+        private final int llegadaSegundos;
+
+        /**
+         * Constructor del tramo.
+         *
+         * @param tipo {@link #CAMINATA} o {@link #RECORRIDO}
+         * @param idRecorrido Recorrido abordado, null en tramos a pie
+         * @param idRuta Ruta del recorrido abordado, null en tramos a pie
+         * @param idCoordenadaParadaDesde Parada de inicio, null si el tramo parte del origen
+         * @param idCoordenadaParadaHasta Parada de fin, null si el tramo llega al destino
+         * @param latitudDesde Latitud de inicio
+         * @param longitudDesde Longitud de inicio
+         * @param latitudHasta Latitud de fin
+         * @param longitudHasta Longitud de fin
+         * @param paradas Paradas avanzadas a bordo, 0 en tramos a pie
+         * @param distanciaMetros Metros sobre el trazado, o en línea recta en tramos a pie
+         * @param salidaSegundos Segundos desde la salida del viaje al iniciar el tramo
+         * @param llegadaSegundos Segundos desde la salida del viaje al terminar el tramo
+         */
+        public TramoViaje(String tipo, Integer idRecorrido, Integer idRuta,
+                          Integer idCoordenadaParadaDesde, Integer idCoordenadaParadaHasta,
+                          double latitudDesde, double longitudDesde, double latitudHasta, double longitudHasta,
+                          int paradas, double distanciaMetros, int salidaSegundos, int llegadaSegundos) {
+            this.tipo = tipo;
+            this.idRecorrido = idRecorrido;
+            this.idRuta = idRuta;
+            this.idCoordenadaParadaDesde = idCoordenadaParadaDesde;
+            this.idCoordenadaParadaHasta = idCoordenadaParadaHasta;
+            this.latitudDesde = latitudDesde;
+            this.longitudDesde = longitudDesde;
+            this.latitudHasta = latitudHasta;
+            this.longitudHasta = longitudHasta;
+            this.paradas = paradas;
+            this.distanciaMetros = distanciaMetros;
+            this.salidaSegundos = salidaSegundos;
+            this.llegadaSegundos = llegadaSegundos;
+        }
+
+        public String getTipo() {
+            return tipo;
+        }
+
+        public Integer getIdRecorrido() {
+            return idRecorrido;
+        }
+
+        public Integer getIdRuta() {
+            return idRuta;
+        }
+
+        public Integer getIdCoordenadaParadaDesde() {
+            return idCoordenadaParadaDesde;
+        }
+
+        public Integer getIdCoordenadaParadaHasta() {
+            return idCoordenadaParadaHasta;
+        }
+
+        public double getLatitudDesde() {
+            return latitudDesde;
+        }
+
+        public double getLongitudDesde() {
+            return longitudDesde;
+        }
+
+        public double getLatitudHasta() {
+            return latitudHasta;
+        }
+
+        public double getLongitudHasta() {
+            return longitudHasta;
+        }
+
+        public int getParadas() {
+            return paradas;
+        }
+
+        public double getDistanciaMetros() {
+            return distanciaMetros;
+        }
+
+        public int getSalidaSegundos() {
+            return salidaSegundos;
+        }
+
+        public int getLlegadaSegundos() {
+            return llegadaSegundos;
+        }
+    }
+}
@@ -85,6 +85,15 @@ public class Recorrido {
      */
     private boolean activo;
 
+    /**
+     * Longitud del trazado del recorrido en metros.
+     *
+     * <p>No es una columna de la tabla Recorrido: se calcula a partir de sus coordenadas
+     * y la completa el servicio al responder. Es null si el recorrido no tiene coordenadas
+     * o si el objeto no proviene de una consulta.</p>
+     */
+    private Double longitudMetros;
+
     /**
      * Constructor por defecto requerido para la deserialización JSON.
      *
@@ -281,6 +290,24 @@ public class Recorrido {
         this.activo = activo;
     }
 
+    /**
+     * Obtiene la longitud del trazado del recorrido.
+     *
+     * @return Metros del trazado, o null si no se ha calculado
+     */
+    public Double getLongitudMetros() {
+        return longitudMetros;
+    }
+
+    /**
+     * Establece la longitud del trazado del recorrido.
+     *
+     * @param longitudMetros Metros del trazado calculados a partir de sus coordenadas
+     */
+    public void setLongitudMetros(Double longitudMetros) {
+        this.longitudMetros = longitudMetros;
+    }
+
     /**
      * Genera una representación en cadena de texto de la instancia de Recorrido.
      *
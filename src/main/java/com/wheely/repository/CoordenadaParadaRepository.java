@@ -122,26 +122,31 @@ public class CoordenadaParadaRepository {
     }
 
     public List<Integer> saveBatch(List<CoordenadaParada> coordenadasParada) throws SQLException {
-        List<Integer> idsGenerados = new ArrayList<>();
-        String query = "INSERT INTO CoordenadaParada (idParada, latitud, longitud, orden_parada) VALUES (?, ?, ?, ?)";
         try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
             conn.setAutoCommit(false);
-            try (PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
-                for (CoordenadaParada c : coordenadasParada) {
-                    stmt.setInt(1, c.getIdParada());
-                    stmt.setBigDecimal(2, c.getLatitud());
-                    stmt.setBigDecimal(3, c.getLongitud());
-                    stmt.setInt(4, c.getOrdenParada());
-                    stmt.addBatch();
-                }
-                stmt.executeBatch();
-                try (ResultSet keys = stmt.getGeneratedKeys()) {
-                    while (keys.next()) {
-                        idsGenerados.add(keys.getInt(1));
-                    }
+            List<Integer> idsGenerados = saveBatch(conn, coordenadasParada);
+            conn.commit();
+            return idsGenerados;
+        }
+    }
+
+    public List<Integer> saveBatch(Connection conn, List<CoordenadaParada> coordenadasParada) throws SQLException {
+        List<Integer> idsGenerados = new ArrayList<>();
+        String query = "INSERT INTO CoordenadaParada (idParada, latitud, longitud, orden_parada) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            for (CoordenadaParada c : coordenadasParada) {
+                stmt.setInt(1, c.getIdParada());
+                stmt.setBigDecimal(2, c.getLatitud());
+                stmt.setBigDecimal(3, c.getLongitud());
+                stmt.setInt(4, c.getOrdenParada());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                while (keys.next()) {
+                    idsGenerados.add(keys.getInt(1));
                 }
             }
-            conn.commit();
         }
         return idsGenerados;
     }
@@ -172,10 +177,15 @@ public class CoordenadaParadaRepository {
     }
 
     public int deleteByParada(int idParada) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            return deleteByParada(conn, idParada);
+        }
+    }
+
+    public int deleteByParada(Connection conn, int idParada) throws SQLException {
         if (idParada <= 0) throw new IllegalArgumentException("El ID de parada debe ser mayor a 0");
         String query = "DELETE FROM CoordenadaParada WHERE idParada = ?";
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, idParada);
             return stmt.executeUpdate();
         }
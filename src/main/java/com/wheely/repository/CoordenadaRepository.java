@@ -1,6 +1,7 @@
 package com.wheely.repository;
 
 import com.wheely.config.DatabaseConfig;
+import com.wheely.geo.GeometriaRecorrido;
 import com.wheely.model.Coordenada;
 
 import java.math.BigDecimal;
@@ -122,6 +123,40 @@ public class CoordenadaRepository {
         return coordenadas;
     }
 
+    /**
+     * <p>
+     * Obtiene el trazado de todos los recorridos en formato de punto fijo, sin crear un
+     * objeto {@link Coordenada} ni {@link BigDecimal} por fila.
+     * </p>
+     * <pre>
+     * List&lt;GeometriaRecorrido&gt; trazados = repository.findAllGeometrias();
+     * </pre>
+     *
+     * @return Lista de trazados ordenada por ID de recorrido, vacía si no hay registros.
+     * @throws SQLException si ocurre un error en la consulta
+     * @see #findAll()
+     */
+    public List<GeometriaRecorrido> findAllGeometrias() throws SQLException {
+        List<GeometriaRecorrido> geometrias = new ArrayList<>();
+        String query = "SELECT idCoordenada, idRecorrido, CAST(latitud * 100000000 AS SIGNED) AS lat_fija, " +
+                "CAST(longitud * 100000000 AS SIGNED) AS lon_fija, orden_punto FROM Coordenada ORDER BY idRecorrido, orden_punto";
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+            GeometriaRecorrido.Builder actual = null;
+            while (rs.next()) {
+                int idRecorrido = rs.getInt("idRecorrido");
+                if (actual == null || actual.getIdRecorrido() != idRecorrido) {
+                    if (actual != null) geometrias.add(actual.build());
+                    actual = new GeometriaRecorrido.Builder(idRecorrido);
+                }
+                actual.agregar(rs.getInt("idCoordenada"), rs.getLong("lat_fija"), rs.getLong("lon_fija"), rs.getInt("orden_punto"));
+            }
+            if (actual != null) geometrias.add(actual.build());
+        }
+        return geometrias;
+    }
+
     /**
      * <p>
      * Obtiene coordenadas dentro de un rango geográfico (bounding box).
@@ -205,26 +240,50 @@ public class CoordenadaRepository {
      * @throws SQLException si ocurre un error en la inserción
      */
     public List<Integer> saveBatch(List<Coordenada> coordenadas) throws SQLException {
-        List<Integer> idsGenerados = new ArrayList<>();
-        String query = "INSERT INTO Coordenada (idRecorrido, latitud, longitud, orden_punto) VALUES (?, ?, ?, ?)";
         try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
             conn.setAutoCommit(false);
-            try (PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
-                for (Coordenada c : coordenadas) {
-                    stmt.setInt(1, c.getIdRecorrido());
-                    stmt.setBigDecimal(2, c.getLatitud());
-                    stmt.setBigDecimal(3, c.getLongitud());
-                    stmt.setInt(4, c.getOrdenPunto());
-                    stmt.addBatch();
-                }
-                stmt.executeBatch();
-                try (ResultSet keys = stmt.getGeneratedKeys()) {
-                    while (keys.next()) {
-                        idsGenerados.add(keys.getInt(1));
-                    }
+            List<Integer> idsGenerados = saveBatch(conn, coordenadas);
+            conn.commit();
+            return idsGenerados;
+        }
+    }
+
+    /**
+     * <p>
+     * Guarda múltiples coordenadas en batch usando una conexión abierta por el llamador.
+     * No confirma ni revierte la transacción, de modo que varios lotes pueden formar parte
+     * de una sola transacción.
+     * </p>
+     * <pre>
+     * conn.setAutoCommit(false);
+     * repository.saveBatch(conn, primerLote);
+     * repository.saveBatch(conn, segundoLote);
+     * conn.commit();
+     * </pre>
+     *
+     * @param conn Conexión con la transacción en curso
+     * @param coordenadas Lista de coordenadas a guardar
+     * @return Lista de IDs generados
+     * @throws SQLException si ocurre un error en la inserción
+     * @see #saveBatch(List)
+     */
+    public List<Integer> saveBatch(Connection conn, List<Coordenada> coordenadas) throws SQLException {
+        List<Integer> idsGenerados = new ArrayList<>();
+        String query = "INSERT INTO Coordenada (idRecorrido, latitud, longitud, orden_punto) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            for (Coordenada c : coordenadas) {
+                stmt.setInt(1, c.getIdRecorrido());
+                stmt.setBigDecimal(2, c.getLatitud());
+                stmt.setBigDecimal(3, c.getLongitud());
+                stmt.setInt(4, c.getOrdenPunto());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                while (keys.next()) {
+                    idsGenerados.add(keys.getInt(1));
                 }
             }
-            conn.commit();
         }
         return idsGenerados;
     }
@@ -296,10 +355,29 @@ public class CoordenadaRepository {
      * @throws SQLException si ocurre un error en la eliminación
      */
     public int deleteByRecorrido(int idRecorrido) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            return deleteByRecorrido(conn, idRecorrido);
+        }
+    }
+
+    /**
+     * <p>
+     * Elimina todas las coordenadas de un recorrido usando una conexión abierta por el llamador.
+     * </p>
+     * <pre>
+     * int eliminadas = repository.deleteByRecorrido(conn, 2);
+     * </pre>
+     *
+     * @param conn Conexión con la transacción en curso
+     * @param idRecorrido ID del recorrido
+     * @return Número de coordenadas eliminadas
+     * @throws SQLException si ocurre un error en la eliminación
+     * @see #deleteByRecorrido(int)
+     */
+    public int deleteByRecorrido(Connection conn, int idRecorrido) throws SQLException {
         if (idRecorrido <= 0) throw new IllegalArgumentException("El ID de recorrido debe ser mayor a 0");
         String query = "DELETE FROM Coordenada WHERE idRecorrido = ?";
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, idRecorrido);
             return stmt.executeUpdate();
         }
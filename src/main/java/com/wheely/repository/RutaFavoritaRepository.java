@@ -9,7 +9,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Repositorio para la gestión de operaciones CRUD de la entidad RutaFavorita en el sistema Wheely.
@@ -586,4 +588,29 @@ public class RutaFavoritaRepository {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Cuenta los favoritos de todas las rutas en una sola consulta.
+     *
+     * <p>Complementa a {@link #countByRuta(int)} cuando se necesita la popularidad de
+     * todas las rutas a la vez, como al construir el autocompletado.</p>
+     *
+     * @return Mapa de ID de ruta a número de usuarios que la tienen como favorita;
+     *         las rutas sin favoritos no aparecen
+     * @throws SQLException si ocurre un error en la consulta
+     */
+    public Map<Integer, Integer> countPorRuta() throws SQLException {
+        String query = "SELECT idRuta, COUNT(*) FROM RutaFavorita GROUP BY idRuta";
+        Map<Integer, Integer> conteos = new HashMap<>();
+
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                conteos.put(rs.getInt(1), rs.getInt(2));
+            }
+        }
+        return conteos;
+    }
+}
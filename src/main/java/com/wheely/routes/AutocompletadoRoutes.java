@@ -0,0 +1,46 @@
+package com.wheely.routes;
+
+import io.javalin.Javalin;
+import com.wheely.controller.AutocompletadoController;
+
+/**
+ * Configuración de rutas REST para el autocompletado de búsquedas.
+ *
+ * <p>Endpoints disponibles:</p>
+ * <ul>
+ * <li>GET /sugerencias - Sugiere nombres de ruta y lugares para el texto escrito</li>
+ * </ul>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see AutocompletadoController
+ * @see io.javalin.Javalin
+ */
+public class AutocompletadoRoutes {
+    private final AutocompletadoController autocompletadoController;
+
+    /**
+     * Constructor para inicializar las rutas de autocompletado.
+     *
+     * @param autocompletadoController Controlador que maneja las sugerencias
+     */
+    public AutocompletadoRoutes(AutocompletadoController autocompletadoController) {
+        this.autocompletadoController = autocompletadoController;
+    }
+
+    /**
+     * Registra los endpoints HTTP en la aplicación Javalin.
+     *
+     * <p>Mapeo de rutas:</p>
+     * <ul>
+     * <li>GET /sugerencias → {@link AutocompletadoController#sugerir(io.javalin.http.Context)}</li>
+     * </ul>
+     *
+     * @param app Instancia de Javalin donde se registran las rutas
+     * @see AutocompletadoController
+     */
+    public void register(Javalin app) {
+        app.get("/sugerencias", autocompletadoController::sugerir);
+    }
+}
@@ -13,6 +13,8 @@ import com.wheely.controller.CoordenadaParadaController;
  * <p>Endpoints disponibles:</p>
  * <ul>
  * <li>GET /coordenadas-parada - Obtiene todas las coordenadas de paradas</li>
+ * <li>GET /coordenadas-parada/cercanas - Obtiene coordenadas dentro de un radio o las k paradas más cercanas</li>
+ * <li>GET /coordenadas-parada/vista - Obtiene las paradas dentro de una vista del mapa</li>
  * <li>GET /coordenadas-parada/{id} - Obtiene una coordenada específica</li>
  * <li>POST /coordenadas-parada - Crea nueva coordenada de parada</li>
  * <li>PUT /coordenadas-parada/{id} - Actualiza coordenada existente</li>
@@ -47,6 +49,8 @@ public class CoordenadaParadaRoutes {
      * <p>Mapeo de rutas:</p>
      * <ul>
      * <li>GET /coordenadas-parada → {@link CoordenadaParadaController#getAll(io.javalin.http.Context)}</li>
+     * <li>GET /coordenadas-parada/cercanas → {@link CoordenadaParadaController#getCercanas(io.javalin.http.Context)}</li>
+     * <li>GET /coordenadas-parada/vista → {@link CoordenadaParadaController#getEnVista(io.javalin.http.Context)}</li>
      * <li>GET /coordenadas-parada/{id} → {@link CoordenadaParadaController#getById(io.javalin.http.Context)}</li>
      * <li>POST /coordenadas-parada → {@link CoordenadaParadaController#create(io.javalin.http.Context)}</li>
      * <li>PUT /coordenadas-parada/{id} → {@link CoordenadaParadaController#update(io.javalin.http.Context)}</li>
@@ -59,6 +63,8 @@ public class CoordenadaParadaRoutes {
      */
     public void register(Javalin app) {
         app.get("/coordenadas-parada", coordenadaParadaController::getAll);
+        app.get("/coordenadas-parada/cercanas", coordenadaParadaController::getCercanas);
+        app.get("/coordenadas-parada/vista", coordenadaParadaController::getEnVista);
         app.get("/coordenadas-parada/{id}", coordenadaParadaController::getById);
         app.post("/coordenadas-parada", coordenadaParadaController::create);
         app.put("/coordenadas-parada/{id}", coordenadaParadaController::update);
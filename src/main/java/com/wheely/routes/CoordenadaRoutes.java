@@ -13,12 +13,20 @@ import com.wheely.controller.CoordenadaController;
  * <p>Endpoints disponibles:</p>
  * <ul>
  * <li>GET /coordenadas - Obtiene todas las coordenadas</li>
+ * <li>GET /coordenadas/vista - Obtiene los recorridos que pasan por una vista del mapa</li>
+ * <li>GET /coordenadas/recorrido/{idRecorrido} - Obtiene el trazado de un recorrido</li>
+ * <li>GET /coordenadas/recorrido/{idRecorrido}/distancia - Distancia entre dos puntos del recorrido</li>
+ * <li>GET /coordenadas/recorrido/{idRecorrido}/punto - Punto del recorrido a cierta distancia</li>
  * <li>GET /coordenadas/{id} - Obtiene una coordenada específica</li>
  * <li>POST /coordenadas - Crea nueva coordenada</li>
  * <li>PUT /coordenadas/{id} - Actualiza coordenada existente</li>
  * <li>DELETE /coordenadas/{id} - Elimina coordenada</li>
  * </ul>
  *
+ * <p>Las consultas de trazado admiten {@code ?formato=polilinea} para recibir
+ * polilíneas codificadas en lugar de objetos por punto, y {@code ?zoom=} o
+ * {@code ?tolerancia=} para recibir el trazado simplificado.</p>
+ *
  * @author Beebop
  * @version 1.0.0
  * @since 2025
@@ -47,6 +55,10 @@ public class CoordenadaRoutes {
      * <p>Mapeo de rutas:</p>
      * <ul>
      * <li>GET /coordenadas → {@link CoordenadaController#getAll(io.javalin.http.Context)}</li>
+     * <li>GET /coordenadas/vista → {@link CoordenadaController#getEnVista(io.javalin.http.Context)}</li>
+     * <li>GET /coordenadas/recorrido/{idRecorrido} → {@link CoordenadaController#getByRecorrido(io.javalin.http.Context)}</li>
+     * <li>GET /coordenadas/recorrido/{idRecorrido}/distancia → {@link CoordenadaController#getDistancia(io.javalin.http.Context)}</li>
+     * <li>GET /coordenadas/recorrido/{idRecorrido}/punto → {@link CoordenadaController#getPuntoEnDistancia(io.javalin.http.Context)}</li>
      * <li>GET /coordenadas/{id} → {@link CoordenadaController#getById(io.javalin.http.Context)}</li>
      * <li>POST /coordenadas → {@link CoordenadaController#create(io.javalin.http.Context)}</li>
      * <li>PUT /coordenadas/{id} → {@link CoordenadaController#update(io.javalin.http.Context)}</li>
@@ -59,6 +71,10 @@ public class CoordenadaRoutes {
      */
     public void register(Javalin app) {
         app.get("/coordenadas", coordenadaController::getAll);
+        app.get("/coordenadas/vista", coordenadaController::getEnVista);
+        app.get("/coordenadas/recorrido/{idRecorrido}", coordenadaController::getByRecorrido);
+        app.get("/coordenadas/recorrido/{idRecorrido}/distancia", coordenadaController::getDistancia);
+        app.get("/coordenadas/recorrido/{idRecorrido}/punto", coordenadaController::getPuntoEnDistancia);
         app.get("/coordenadas/{id}", coordenadaController::getById);
         app.post("/coordenadas", coordenadaController::create);
         app.put("/coordenadas/{id}", coordenadaController::update);
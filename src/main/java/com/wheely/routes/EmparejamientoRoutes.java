@@ -0,0 +1,46 @@
+package com.wheely.routes;
+
+import io.javalin.Javalin;
+import com.wheely.controller.EmparejamientoController;
+
+/**
+ * Configuración de rutas REST para el ajuste de trazas GPS a recorridos.
+ *
+ * <p>Endpoints disponibles:</p>
+ * <ul>
+ * <li>POST /recorridos/emparejar - Ajusta una traza GPS al recorrido más probable</li>
+ * </ul>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see EmparejamientoController
+ * @see io.javalin.Javalin
+ */
+public class EmparejamientoRoutes {
+    private final EmparejamientoController emparejamientoController;
+
+    /**
+     * Constructor para inicializar las rutas de emparejamiento.
+     *
+     * @param emparejamientoController Controlador que maneja el ajuste de trazas
+     */
+    public EmparejamientoRoutes(EmparejamientoController emparejamientoController) {
+        this.emparejamientoController = emparejamientoController;
+    }
+
+    /**
+     * Registra los endpoints HTTP en la aplicación Javalin.
+     *
+     * <p>Mapeo de rutas:</p>
+     * <ul>
+     * <li>POST /recorridos/emparejar → {@link EmparejamientoController#emparejar(io.javalin.http.Context)}</li>
+     * </ul>
+     *
+     * @param app Instancia de Javalin donde se registran las rutas
+     * @see EmparejamientoController
+     */
+    public void register(Javalin app) {
+        app.post("/recorridos/emparejar", emparejamientoController::emparejar);
+    }
+}
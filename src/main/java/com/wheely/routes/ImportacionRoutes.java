@@ -0,0 +1,46 @@
+package com.wheely.routes;
+
+import io.javalin.Javalin;
+import com.wheely.controller.ImportacionController;
+
+/**
+ * Configuración de rutas REST para la importación de geometría.
+ *
+ * <p>Endpoints disponibles:</p>
+ * <ul>
+ * <li>POST /importaciones/geojson - Importa recorridos y paradas desde un GeoJSON</li>
+ * </ul>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see ImportacionController
+ * @see io.javalin.Javalin
+ */
+public class ImportacionRoutes {
+    private final ImportacionController importacionController;
+
+    /**
+     * Constructor para inicializar las rutas de importación.
+     *
+     * @param importacionController Controlador que maneja las importaciones
+     */
+    public ImportacionRoutes(ImportacionController importacionController) {
+        this.importacionController = importacionController;
+    }
+
+    /**
+     * Registra los endpoints HTTP en la aplicación Javalin.
+     *
+     * <p>Mapeo de rutas:</p>
+     * <ul>
+     * <li>POST /importaciones/geojson → {@link ImportacionController#importarGeoJson(io.javalin.http.Context)}</li>
+     * </ul>
+     *
+     * @param app Instancia de Javalin donde se registran las rutas
+     * @see ImportacionController
+     */
+    public void register(Javalin app) {
+        app.post("/importaciones/geojson", importacionController::importarGeoJson);
+    }
+}
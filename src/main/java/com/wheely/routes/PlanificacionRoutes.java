@@ -0,0 +1,55 @@
+package com.wheely.routes;
+
+import io.javalin.Javalin;
+import com.wheely.controller.PlanificacionController;
+
+/**
+ * Configuración de rutas REST para la planificación de viajes con transbordos.
+ *
+ * <p>Endpoints disponibles:</p>
+ * <ul>
+ * <li>GET /viajes/planear - Planifica los viajes entre un origen y un destino</li>
+ * <li>GET /viajes/isocrona - Área alcanzable desde un punto en N minutos</li>
+ * <li>GET /viajes/eta - Tiempo estimado entre dos paradas de un recorrido</li>
+ * <li>POST /viajes/matriz - Matriz de tiempos entre varios orígenes y destinos</li>
+ * </ul>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see PlanificacionController
+ * @see io.javalin.Javalin
+ */
+public class PlanificacionRoutes {
+    private final PlanificacionController planificacionController;
+
+    /**
+     * Constructor para inicializar las rutas de planificación.
+     *
+     * @param planificacionController Controlador que maneja la planificación de viajes
+     */
+    public PlanificacionRoutes(PlanificacionController planificacionController) {
+        this.planificacionController = planificacionController;
+    }
+
+    /**
+     * Registra los endpoints HTTP en la aplicación Javalin.
+     *
+     * <p>Mapeo de rutas:</p>
+     * <ul>
+     * <li>GET /viajes/planear → {@link PlanificacionController#planear(io.javalin.http.Context)}</li>
+     * <li>GET /viajes/isocrona → {@link PlanificacionController#isocrona(io.javalin.http.Context)}</li>
+     * <li>GET /viajes/eta → {@link PlanificacionController#estimarLlegada(io.javalin.http.Context)}</li>
+     * <li>POST /viajes/matriz → {@link PlanificacionController#matrizTiempos(io.javalin.http.Context)}</li>
+     * </ul>
+     *
+     * @param app Instancia de Javalin donde se registran las rutas
+     * @see PlanificacionController
+     */
+    public void register(Javalin app) {
+        app.get("/viajes/planear", planificacionController::planear);
+        app.get("/viajes/isocrona", planificacionController::isocrona);
+        app.get("/viajes/eta", planificacionController::estimarLlegada);
+        app.post("/viajes/matriz", planificacionController::matrizTiempos);
+    }
+}
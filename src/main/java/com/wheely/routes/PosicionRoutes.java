@@ -0,0 +1,49 @@
+package com.wheely.routes;
+
+import io.javalin.Javalin;
+import com.wheely.controller.PosicionController;
+
+/**
+ * Configuración de rutas REST para las posiciones en vivo de los vehículos.
+ *
+ * <p>Endpoints disponibles:</p>
+ * <ul>
+ * <li>POST /posiciones - Registra un lote de posiciones de vehículos</li>
+ * <li>GET /recorridos/{id}/vehiculos - Lista los vehículos en servicio en un recorrido</li>
+ * </ul>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see PosicionController
+ * @see io.javalin.Javalin
+ */
+public class PosicionRoutes {
+    private final PosicionController posicionController;
+
+    /**
+     * Constructor para inicializar las rutas de posiciones.
+     *
+     * @param posicionController Controlador que registra y consulta las posiciones
+     */
+    public PosicionRoutes(PosicionController posicionController) {
+        this.posicionController = posicionController;
+    }
+
+    /**
+     * Registra los endpoints HTTP en la aplicación Javalin.
+     *
+     * <p>Mapeo de rutas:</p>
+     * <ul>
+     * <li>POST /posiciones → {@link PosicionController#registrar(io.javalin.http.Context)}</li>
+     * <li>GET /recorridos/{id}/vehiculos → {@link PosicionController#getVehiculos(io.javalin.http.Context)}</li>
+     * </ul>
+     *
+     * @param app Instancia de Javalin donde se registran las rutas
+     * @see PosicionController
+     */
+    public void register(Javalin app) {
+        app.post("/posiciones", posicionController::registrar);
+        app.get("/recorridos/{id}/vehiculos", posicionController::getVehiculos);
+    }
+}
@@ -47,6 +47,7 @@ public class RecorridoRoutes {
      * <p>Mapeo de rutas:</p>
      * <ul>
      * <li>GET /recorridos → {@link RecorridoController#getAll(io.javalin.http.Context)}</li>
+     * <li>GET /recorridos/cercanos → {@link RecorridoController#getCercanos(io.javalin.http.Context)}</li>
      * <li>GET /recorridos/{id} → {@link RecorridoController#getById(io.javalin.http.Context)}</li>
      * <li>POST /recorridos → {@link RecorridoController#create(io.javalin.http.Context)}</li>
      * <li>PUT /recorridos/{id} → {@link RecorridoController#update(io.javalin.http.Context)}</li>
@@ -59,6 +60,7 @@ public class RecorridoRoutes {
      */
     public void register(Javalin app) {
         app.get("/recorridos", recorridoController::getAll);
+        app.get("/recorridos/cercanos", recorridoController::getCercanos);
         app.get("/recorridos/{id}", recorridoController::getById);
         app.post("/recorridos", recorridoController::create);
         app.put("/recorridos/{id}", recorridoController::update);
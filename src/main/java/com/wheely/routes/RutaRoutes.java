@@ -13,11 +13,11 @@ import com.wheely.controller.RutaController;
  * <p>Endpoints disponibles:</p>
  * <ul>
  * <li>GET /rutas - Obtiene todas las rutas del sistema</li>
+ * <li>GET /rutas/buscar - Busca rutas por origen y destino, o por texto libre</li>
  * <li>GET /rutas/{id} - Obtiene una ruta específica</li>
  * <li>POST /rutas - Crea nueva ruta</li>
  * <li>PUT /rutas/{id} - Actualiza ruta existente</li>
  * <li>DELETE /rutas/{id} - Elimina ruta</li>
- * <li>GET /rutas/buscar - Busca rutas por origen y destino</li>
  * </ul>
  *
  * @author Beebop
@@ -46,14 +46,17 @@ public class RutaRoutes {
      * incluyendo funcionalidad de búsqueda por origen y destino para facilitar
      * la consulta de rutas específicas a los usuarios.</p>
      *
+     * <p>{@code /rutas/buscar} se registra antes que {@code /rutas/{id}}: Javalin prueba
+     * las rutas en orden de registro y, de lo contrario, "buscar" se tomaría como ID.</p>
+     *
      * <p>Mapeo de rutas:</p>
      * <ul>
      * <li>GET /rutas → {@link RutaController#getAll(io.javalin.http.Context)}</li>
+     * <li>GET /rutas/buscar → {@link RutaController#buscarPorOrigenDestino(io.javalin.http.Context)}</li>
      * <li>GET /rutas/{id} → {@link RutaController#getById(io.javalin.http.Context)}</li>
      * <li>POST /rutas → {@link RutaController#create(io.javalin.http.Context)}</li>
      * <li>PUT /rutas/{id} → {@link RutaController#update(io.javalin.http.Context)}</li>
      * <li>DELETE /rutas/{id} → {@link RutaController#delete(io.javalin.http.Context)}</li>
-     * <li>GET /rutas/buscar → {@link RutaController#buscarPorOrigenDestino(io.javalin.http.Context)}</li>
      * </ul>
      *
      * @param app Instancia de Javalin donde se registran las rutas
@@ -62,10 +65,10 @@ public class RutaRoutes {
      */
     public void register(Javalin app) {
         app.get("/rutas", rutaController::getAll);
+        app.get("/rutas/buscar", rutaController::buscarPorOrigenDestino);
         app.get("/rutas/{id}", rutaController::getById);
         app.post("/rutas", rutaController::create);
         app.put("/rutas/{id}", rutaController::update);
         app.delete("/rutas/{id}", rutaController::delete);
-        app.get("/rutas/buscar", rutaController::buscarPorOrigenDestino);
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.wheely.routes;
+
+import io.javalin.Javalin;
+import com.wheely.controller.TeselaController;
+
+/**
+ * Configuración de rutas REST para las teselas vectoriales del mapa.
+ *
+ * <p>Endpoints disponibles:</p>
+ * <ul>
+ * <li>GET /tiles/{z}/{x}/{y}.mvt - Obtiene una tesela Mapbox Vector Tile</li>
+ * </ul>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see TeselaController
+ * @see io.javalin.Javalin
+ */
+public class TeselaRoutes {
+    private final TeselaController teselaController;
+
+    /**
+     * Constructor para inicializar las rutas de teselas.
+     *
+     * @param teselaController Controlador que maneja las teselas vectoriales
+     */
+    public TeselaRoutes(TeselaController teselaController) {
+        this.teselaController = teselaController;
+    }
+
+    /**
+     * Registra los endpoints HTTP en la aplicación Javalin.
+     *
+     * <p>Mapeo de rutas:</p>
+     * <ul>
+     * <li>GET /tiles/{z}/{x}/{y}.mvt → {@link TeselaController#getTesela(io.javalin.http.Context)}</li>
+     * </ul>
+     *
+     * @param app Instancia de Javalin donde se registran las rutas
+     * @see TeselaController
+     */
+    public void register(Javalin app) {
+        app.get("/tiles/{z}/{x}/{y}.mvt", teselaController::getTesela);
+    }
+}
@@ -0,0 +1,46 @@
+package com.wheely.routes;
+
+import io.javalin.Javalin;
+import com.wheely.controller.TransbordoController;
+
+/**
+ * Configuración de rutas REST para los transbordos a pie entre paradas.
+ *
+ * <p>Endpoints disponibles:</p>
+ * <ul>
+ * <li>GET /paradas/{id}/transbordos - Lista los transbordos a pie desde una parada</li>
+ * </ul>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see TransbordoController
+ * @see io.javalin.Javalin
+ */
+public class TransbordoRoutes {
+    private final TransbordoController transbordoController;
+
+    /**
+     * Constructor para inicializar las rutas de transbordos.
+     *
+     * @param transbordoController Controlador que maneja la consulta de transbordos
+     */
+    public TransbordoRoutes(TransbordoController transbordoController) {
+        this.transbordoController = transbordoController;
+    }
+
+    /**
+     * Registra los endpoints HTTP en la aplicación Javalin.
+     *
+     * <p>Mapeo de rutas:</p>
+     * <ul>
+     * <li>GET /paradas/{id}/transbordos → {@link TransbordoController#getTransbordosDeParada(io.javalin.http.Context)}</li>
+     * </ul>
+     *
+     * @param app Instancia de Javalin donde se registran las rutas
+     * @see TransbordoController
+     */
+    public void register(Javalin app) {
+        app.get("/paradas/{id}/transbordos", transbordoController::getTransbordosDeParada);
+    }
+}
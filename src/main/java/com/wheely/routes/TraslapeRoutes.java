@@ -0,0 +1,49 @@
+package com.wheely.routes;
+
+import io.javalin.Javalin;
+import com.wheely.controller.TraslapeController;
+
+/**
+ * Configuración de rutas REST para el análisis de recorridos que comparten calles.
+ *
+ * <p>Endpoints disponibles:</p>
+ * <ul>
+ * <li>GET /recorridos/{id}/traslapes - Lista los recorridos que comparten calles con uno</li>
+ * <li>GET /traslapes - Lista los pares de recorridos que comparten una fracción mínima</li>
+ * </ul>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see TraslapeController
+ * @see io.javalin.Javalin
+ */
+public class TraslapeRoutes {
+    private final TraslapeController traslapeController;
+
+    /**
+     * Constructor para inicializar las rutas de traslapes.
+     *
+     * @param traslapeController Controlador que maneja la consulta de traslapes
+     */
+    public TraslapeRoutes(TraslapeController traslapeController) {
+        this.traslapeController = traslapeController;
+    }
+
+    /**
+     * Registra los endpoints HTTP en la aplicación Javalin.
+     *
+     * <p>Mapeo de rutas:</p>
+     * <ul>
+     * <li>GET /recorridos/{id}/traslapes → {@link TraslapeController#getTraslapesDeRecorrido(io.javalin.http.Context)}</li>
+     * <li>GET /traslapes → {@link TraslapeController#getTraslapes(io.javalin.http.Context)}</li>
+     * </ul>
+     *
+     * @param app Instancia de Javalin donde se registran las rutas
+     * @see TraslapeController
+     */
+    public void register(Javalin app) {
+        app.get("/recorridos/{id}/traslapes", traslapeController::getTraslapesDeRecorrido);
+        app.get("/traslapes", traslapeController::getTraslapes);
+    }
+}
@@ -0,0 +1,254 @@
+package com.wheely.routes;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import io.javalin.http.HandlerType;
+import io.javalin.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GET condicional con ETag e If-None-Match para todos los endpoints de la API.
+ *
+ * <p>Se registra como un par de manejadores {@code before}/{@code after} de Javalin, así que
+ * ningún controlador necesita cambios. Cada respuesta GET exitosa cuyo cuerpo está en memoria
+ * recibe un ETag fuerte: un hash SHA-256 de los tokens del documento JSON, sin el campo
+ * {@code timestamp} del primer nivel ({@code ApiResponse}), que cambia en cada petición aunque
+ * los datos no. Los campos {@code timestamp} dentro de {@code data} sí cuentan. Un cuerpo que
+ * no es JSON (o que llega comprimido) se hashea completo. Si la petición traía ese mismo ETag
+ * en If-None-Match, el cuerpo se descarta y se responde {@code 304 Not Modified}. Las
+ * respuestas que se escriben en streaming no llevan ETag.</p>
+ *
+ * <p>Para no ejecutar la consulta cuando nada cambió, se recuerda el último ETag de cada
+ * petición (ruta, query string y encabezados Accept y Accept-Encoding) junto con la época de
+ * escritura en que se calculó. La época aumenta con cada POST, PUT o DELETE exitoso, salvo
+ * los POST de {@link #CONSULTAS_POST}, que solo consultan. Si llega un If-None-Match con
+ * ese ETag, la época no cambió y seguimos en el mismo minuto del reloj, el manejador
+ * {@code before} responde 304 sin llegar al controlador. El límite del minuto cubre las
+ * consultas que dependen de la hora, como el periodo actual.</p>
+ *
+ * <p>Las posiciones de los vehículos llegan continuamente y no modifican ninguna tabla, así que
+ * las escrituras en {@value #PREFIJO_POSICIONES} llevan su propia época y solo invalidan las
+ * consultas que terminan en {@value #SUFIJO_VEHICULOS}.</p>
+ *
+ * <pre>
+ * GET /rutas
+ * Response: 200, ETag: "kq3V0b8m1xH2c9Zt4rY7Ag"
+ *
+ * GET /rutas
+ * If-None-Match: "kq3V0b8m1xH2c9Zt4rY7Ag"
+ * Response: 304 Not Modified (sin cuerpo)
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see io.javalin.Javalin#before(io.javalin.http.Handler)
+ * @see io.javalin.Javalin#after(io.javalin.http.Handler)
+ */
+public class ValidacionEtag {
+
+    /**
+     * Peticiones distintas cuyo último ETag se recuerda como máximo.
+     */
+    public static final int MAXIMO_ENTRADAS = 4096;
+
+    /**
+     * Ruta de las escrituras de posiciones en vivo, con época propia.
+     */
+    public static final String PREFIJO_POSICIONES = "/posiciones";
+
+    /**
+     * Terminación de las consultas que dependen de las posiciones en vivo.
+     */
+    public static final String SUFIJO_VEHICULOS = "/vehiculos";
+
+    /**
+     * Rutas POST que no escriben nada y, por tanto, no avanzan la época.
+     */
+    public static final Set<String> CONSULTAS_POST = Set.of("/viajes/matriz", "/recorridos/emparejar", "/usuarios/login");
+
+    private static final String ATRIBUTO_CLAVE = "etag.clave";
+    private static final String ATRIBUTO_EPOCA = "etag.epoca";
+    private static final String ATRIBUTO_EPOCA_POSICIONES = "etag.epocaPosiciones";
+    private static final String ATRIBUTO_RESUELTA = "etag.resuelta";
+    private static final String CAMPO_TIMESTAMP = "timestamp";
+    private static final JsonFactory FABRICA = new JsonFactory();
+
+    private final AtomicLong epoca = new AtomicLong();
+    private final AtomicLong epocaPosiciones = new AtomicLong();
+    private final ConcurrentHashMap<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    /**
+     * Registra los manejadores {@code before} y {@code after} en la aplicación.
+     *
+     * @param app Instancia de Javalin
+     */
+    public void register(Javalin app) {
+        app.before(this::antes);
+        app.after(this::despues);
+    }
+
+    /**
+     * Responde 304 sin ejecutar el controlador si el ETag recordado sigue vigente.
+     *
+     * @param ctx Contexto HTTP de la petición
+     */
+    void antes(Context ctx) {
+        if (ctx.method() != HandlerType.GET) return;
+        String clave = clave(ctx);
+        long epocaLeida = epoca.get();
+        long posicionesLeida = ctx.path().endsWith(SUFIJO_VEHICULOS) ? epocaPosiciones.get() : 0;
+        ctx.attribute(ATRIBUTO_CLAVE, clave);
+        ctx.attribute(ATRIBUTO_EPOCA, epocaLeida);
+        ctx.attribute(ATRIBUTO_EPOCA_POSICIONES, posicionesLeida);
+
+        String ifNoneMatch = ctx.header("If-None-Match");
+        if (ifNoneMatch == null) return;
+        Entrada entrada = entradas.get(clave);
+        if (entrada != null && entrada.epoca == epocaLeida && entrada.epocaPosiciones == posicionesLeida
+                && entrada.minuto == minutoActual()
+                && coincide(ifNoneMatch, entrada.etag)) {
+            ctx.attribute(ATRIBUTO_RESUELTA, true);
+            ctx.header("ETag", entrada.etag).status(HttpStatus.NOT_MODIFIED);
+            ctx.skipRemainingHandlers();
+        }
+    }
+
+    /**
+     * Calcula el ETag de una respuesta GET, o avanza la época tras una escritura exitosa.
+     *
+     * @param ctx Contexto HTTP de la petición
+     * @throws Exception Si no se puede leer el cuerpo de la respuesta
+     */
+    void despues(Context ctx) throws Exception {
+        HandlerType metodo = ctx.method();
+        if (metodo == HandlerType.POST || metodo == HandlerType.PUT || metodo == HandlerType.DELETE) {
+            boolean consulta = metodo == HandlerType.POST && CONSULTAS_POST.contains(ctx.path());
+            if (ctx.statusCode() < 400 && !consulta) {
+                (ctx.path().startsWith(PREFIJO_POSICIONES) ? epocaPosiciones : epoca).incrementAndGet();
+            }
+            return;
+        }
+        if (metodo != HandlerType.GET || ctx.statusCode() != 200 || ctx.attribute(ATRIBUTO_RESUELTA) != null) return;
+
+        InputStream resultado = ctx.resultInputStream();
+        if (!(resultado instanceof ByteArrayInputStream)) return;
+        byte[] cuerpo = resultado.readAllBytes();
+        String etag = etag(cuerpo, ctx.contentType());
+        ctx.header("ETag", etag);
+
+        String clave = ctx.attribute(ATRIBUTO_CLAVE);
+        Long epocaLeida = ctx.attribute(ATRIBUTO_EPOCA);
+        Long posicionesLeida = ctx.attribute(ATRIBUTO_EPOCA_POSICIONES);
+        if (clave != null && epocaLeida != null && posicionesLeida != null
+                && (entradas.size() < MAXIMO_ENTRADAS || entradas.containsKey(clave))) {
+            entradas.put(clave, new Entrada(etag, epocaLeida, posicionesLeida, minutoActual()));
+        }
+
+        String ifNoneMatch = ctx.header("If-None-Match");
+        if (ifNoneMatch != null && coincide(ifNoneMatch, etag)) {
+            ctx.status(HttpStatus.NOT_MODIFIED).result(new byte[0]);
+        } else {
+            ctx.result(cuerpo);
+        }
+    }
+
+    private static String clave(Context ctx) {
+        String queryString = ctx.queryString();
+        return ctx.path() + (queryString != null ? "?" + queryString : "")
+                + "|" + ctx.header("Accept") + "|" + ctx.header("Accept-Encoding");
+    }
+
+    private static long minutoActual() {
+        return System.currentTimeMillis() / 60_000;
+    }
+
+    /**
+     * Calcula el ETag fuerte de un cuerpo; en JSON omite el {@code timestamp} del primer nivel.
+     */
+    private static String etag(byte[] cuerpo, String tipo) throws NoSuchAlgorithmException {
+        MessageDigest sha = MessageDigest.getInstance("SHA-256");
+        boolean json = tipo != null && tipo.startsWith("application/json");
+        if (!json || !resumirJson(cuerpo, sha)) {
+            sha.reset();
+            sha.update(cuerpo);
+        }
+        byte[] hash = Arrays.copyOf(sha.digest(), 16);
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+    }
+
+    /**
+     * Agrega al hash cada token del documento con su texto, salvo el {@code timestamp} del
+     * primer nivel y su valor.
+     *
+     * @return false si el cuerpo no es JSON válido; el hash queda a medias y hay que reiniciarlo
+     */
+    private static boolean resumirJson(byte[] cuerpo, MessageDigest sha) {
+        try (JsonParser parser = FABRICA.createParser(cuerpo)) {
+            int profundidad = 0;
+            for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                if (token == JsonToken.FIELD_NAME && profundidad == 1 && CAMPO_TIMESTAMP.equals(parser.currentName())) {
+                    parser.nextToken();
+                    parser.skipChildren();
+                    continue;
+                }
+                if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) profundidad++;
+                if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) profundidad--;
+                sha.update((byte) token.ordinal());
+                if (token == JsonToken.FIELD_NAME || token.isScalarValue()) {
+                    byte[] texto = parser.getText().getBytes(StandardCharsets.UTF_8);
+                    sha.update(new byte[]{(byte) (texto.length >>> 24), (byte) (texto.length >>> 16),
+                            (byte) (texto.length >>> 8), (byte) texto.length});
+                    sha.update(texto);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Compara un encabezado If-None-Match con un ETag; admite listas, {@code *} y ETags débiles.
+     */
+    private static boolean coincide(String ifNoneMatch, String etag) {
+        for (String parte : ifNoneMatch.split(",")) {
+            String candidata = parte.trim();
+            if (candidata.equals("*")) return true;
+            if (candidata.startsWith("W/")) candidata = candidata.substring(2);
+            if (candidata.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Último ETag de una petición, con las épocas y el minuto en que se calculó.
+     */
+    private static final class Entrada {
+        private final String etag;
+        private final long epoca;
+        private final long epocaPosiciones;
+        private final long minuto;
+
+        private Entrada(String etag, long epoca, long epocaPosiciones, long minuto) {
+            this.etag = etag;
+            this.epoca = epoca;
+            this.epocaPosiciones = epocaPosiciones;
+            this.minuto = minuto;
+        }
+    }
+}
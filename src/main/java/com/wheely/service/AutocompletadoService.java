@@ -0,0 +1,74 @@
+package com.wheely.service;
+
+import com.wheely.busqueda.Autocompletado;
+import com.wheely.busqueda.IndiceRutas;
+import com.wheely.busqueda.Sugerencia;
+import com.wheely.busqueda.TrieSugerencias;
+import com.wheely.cache.ReplicaReferencia;
+import com.wheely.repository.RutaFavoritaRepository;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Servicio de autocompletado de nombres de ruta y lugares del sistema Wheely.
+ *
+ * <p>Responde desde el {@link Autocompletado} compartido. La primera consulta carga el
+ * {@link IndiceRutas} y los conteos de favoritos; después ambos se mantienen al día con las
+ * escrituras de {@link RutaService} y {@link RutaFavoritaService}.</p>
+ *
+ * <pre>
+ * List&lt;Sugerencia&gt; sugerencias = autocompletadoService.sugerir("cen", 8);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see Autocompletado
+ * @see RutaService
+ */
+public class AutocompletadoService {
+
+    private final ReplicaReferencia replicaReferencia;
+    private final RutaFavoritaRepository rutaFavoritaRepository;
+    private final IndiceRutas indiceRutas;
+    private final Autocompletado autocompletado;
+
+    /**
+     * Constructor que inicializa el servicio con sus dependencias.
+     *
+     * @param replicaReferencia Réplica de referencia de la que se carga el índice de rutas
+     * @param rutaFavoritaRepository Repositorio para la carga inicial de los conteos de favoritos
+     * @param indiceRutas Índice compartido de rutas
+     * @param autocompletado Autocompletado compartido
+     */
+    public AutocompletadoService(ReplicaReferencia replicaReferencia, RutaFavoritaRepository rutaFavoritaRepository,
+                                 IndiceRutas indiceRutas, Autocompletado autocompletado) {
+        this.replicaReferencia = replicaReferencia;
+        this.rutaFavoritaRepository = rutaFavoritaRepository;
+        this.indiceRutas = indiceRutas;
+        this.autocompletado = autocompletado;
+    }
+
+    /**
+     * Sugiere nombres de ruta y lugares que empiezan con el texto escrito en alguna de sus palabras.
+     *
+     * @param texto Texto escrito hasta ahora; se ignoran acentos y mayúsculas
+     * @param k Sugerencias máximas, entre 1 y {@link TrieSugerencias#MAXIMO_SUGERENCIAS}
+     * @return Sugerencias de la más a la menos popular, vacía si ninguna coincide
+     * @throws SQLException Si hay error en la carga inicial
+     * @throws IllegalArgumentException Si el texto está vacío o k está fuera de rango
+     */
+    public List<Sugerencia> sugerir(String texto, int k) throws SQLException {
+        if (texto == null || texto.trim().isEmpty()) {
+            throw new IllegalArgumentException("El texto a completar es requerido");
+        }
+        if (k < 1 || k > TrieSugerencias.MAXIMO_SUGERENCIAS) {
+            throw new IllegalArgumentException("El número de sugerencias debe estar entre 1 y "
+                    + TrieSugerencias.MAXIMO_SUGERENCIAS);
+        }
+        indiceRutas.asegurarCargado(() -> replicaReferencia.actual().rutas());
+        autocompletado.asegurarCargado(rutaFavoritaRepository::countPorRuta);
+        return autocompletado.sugerir(texto, k);
+    }
+}
@@ -1,6 +1,12 @@
 package com.wheely.service;
 
+import com.wheely.geo.CajaEnvolvente;
+import com.wheely.geo.ExtensionParada;
+import com.wheely.geo.GrafoTransbordos;
+import com.wheely.geo.IndiceEspacialParadas;
+import com.wheely.geo.ParadaCercana;
 import com.wheely.model.CoordenadaParada;
+import com.wheely.model.Parada;
 import com.wheely.repository.CoordenadaParadaRepository;
 import com.wheely.repository.ParadaRepository;
 
@@ -19,27 +25,48 @@ import java.util.List;
  * <li>Gestión completa de coordenadas de paradas (CRUD)</li>
  * <li>Validación de datos geográficos y integridad referencial</li>
  * <li>Consultas especializadas por parada específica</li>
+ * <li>Búsqueda de paradas cercanas desde el índice espacial en memoria</li>
  * <li>Aplicación de reglas de negocio del sistema de transporte</li>
  * </ul>
  *
+ * <p>Toda escritura exitosa se refleja en el {@link IndiceEspacialParadas} compartido,
+ * de modo que las búsquedas por cercanía nunca consultan la base de datos, y en el
+ * {@link GrafoTransbordos}, que solo recalcula los transbordos de la coordenada afectada.</p>
+ *
  * @author Beebop
  * @version 1.0.0
  * @since 2025
  * @see CoordenadaParada
  * @see CoordenadaParadaRepository
  * @see ParadaRepository
+ * @see IndiceEspacialParadas
  */
 public class CoordenadaParadaService {
+
+    /**
+     * Número máximo de paradas que se pueden solicitar en una búsqueda de las más cercanas.
+     */
+    public static final int K_MAXIMO = 100;
+
     private final CoordenadaParadaRepository coordenadaParadaRepository;
+    private final ParadaRepository paradaRepository;
+    private final IndiceEspacialParadas indiceParadas;
+    private final GrafoTransbordos grafoTransbordos;
 
     /**
      * Constructor que inicializa el servicio con sus dependencias.
      *
      * @param coordenadaParadaRepository Repositorio principal para coordenadas de parada
-     * @param paradaRepository Repositorio de paradas para validaciones de integridad
+     * @param paradaRepository Repositorio de paradas, para conocer el recorrido de cada una
+     * @param indiceParadas Índice espacial compartido de coordenadas de parada
+     * @param grafoTransbordos Grafo compartido de transbordos entre coordenadas de parada
      */
-    public CoordenadaParadaService(CoordenadaParadaRepository coordenadaParadaRepository, ParadaRepository paradaRepository) {
+    public CoordenadaParadaService(CoordenadaParadaRepository coordenadaParadaRepository, ParadaRepository paradaRepository,
+                                   IndiceEspacialParadas indiceParadas, GrafoTransbordos grafoTransbordos) {
         this.coordenadaParadaRepository = coordenadaParadaRepository;
+        this.paradaRepository = paradaRepository;
+        this.indiceParadas = indiceParadas;
+        this.grafoTransbordos = grafoTransbordos;
     }
 
     /**
@@ -89,7 +116,12 @@ public class CoordenadaParadaService {
      * @see CoordenadaParadaRepository#save(CoordenadaParada)
      */
     public int createCoordenadaParada(CoordenadaParada coordenadaParada) throws SQLException {
-        return coordenadaParadaRepository.save(coordenadaParada);
+        indiceParadas.asegurarCargado(coordenadaParadaRepository::findAll);
+        int id = coordenadaParadaRepository.save(coordenadaParada);
+        coordenadaParada.setIdCoordenadaParada(id);
+        indiceParadas.guardar(coordenadaParada);
+        grafoTransbordos.guardar(coordenadaParada, recorridoDeParada(coordenadaParada.getIdParada()));
+        return id;
     }
 
     /**
@@ -106,7 +138,13 @@ public class CoordenadaParadaService {
      * @see CoordenadaParadaRepository#update(CoordenadaParada)
      */
     public boolean updateCoordenadaParada(CoordenadaParada coordenadaParada) throws SQLException {
-        return coordenadaParadaRepository.update(coordenadaParada);
+        indiceParadas.asegurarCargado(coordenadaParadaRepository::findAll);
+        boolean actualizada = coordenadaParadaRepository.update(coordenadaParada);
+        if (actualizada) {
+            indiceParadas.guardar(coordenadaParada);
+            grafoTransbordos.guardar(coordenadaParada, recorridoDeParada(coordenadaParada.getIdParada()));
+        }
+        return actualizada;
     }
 
     /**
@@ -123,7 +161,13 @@ public class CoordenadaParadaService {
      * @see CoordenadaParadaRepository#delete(int)
      */
     public boolean deleteCoordenadaParada(int id) throws SQLException {
-        return coordenadaParadaRepository.delete(id);
+        indiceParadas.asegurarCargado(coordenadaParadaRepository::findAll);
+        boolean eliminada = coordenadaParadaRepository.delete(id);
+        if (eliminada) {
+            indiceParadas.eliminar(id);
+            grafoTransbordos.eliminar(id);
+        }
+        return eliminada;
     }
 
     /**
@@ -149,4 +193,108 @@ public class CoordenadaParadaService {
     public List<CoordenadaParada> getCoordenadasByParada(int paradaId) throws SQLException {
         return coordenadaParadaRepository.findByParada(paradaId);
     }
-}
\ No newline at end of file
+
+    /**
+     * Busca las coordenadas de parada dentro de un radio alrededor de un punto.
+     *
+     * <p>Responde desde el índice espacial en memoria con el mismo resultado que
+     * {@link CoordenadaParadaRepository#findCercanas(java.math.BigDecimal, java.math.BigDecimal, double)},
+     * pero sin recorrer la tabla completa en cada petición.</p>
+     *
+     * <p>Ejemplo de uso:</p>
+     * <pre>
+     * List&lt;CoordenadaParada&gt; cercanas =
+     *     coordenadaParadaService.getCoordenadasCercanas(16.7569, -93.1292, 0.5);
+     * </pre>
+     *
+     * @param latitud Latitud del punto de referencia (-90 a 90)
+     * @param longitud Longitud del punto de referencia (-180 a 180)
+     * @param radioKm Radio de búsqueda en kilómetros (mayor a 0)
+     * @return Lista de coordenadas dentro del radio ordenadas por distancia
+     * @throws SQLException Si hay error al cargar el índice por primera vez
+     * @throws IllegalArgumentException Si las coordenadas o el radio son inválidos
+     * @see IndiceEspacialParadas#buscarCercanas(double, double, double)
+     */
+    public List<CoordenadaParada> getCoordenadasCercanas(double latitud, double longitud, double radioKm) throws SQLException {
+        if (latitud < -90 || latitud > 90 || longitud < -180 || longitud > 180) {
+            throw new IllegalArgumentException("Coordenadas fuera de rango");
+        }
+        if (!(radioKm > 0)) {
+            throw new IllegalArgumentException("El radio debe ser mayor a 0");
+        }
+        indiceParadas.asegurarCargado(coordenadaParadaRepository::findAll);
+        return indiceParadas.buscarCercanas(latitud, longitud, radioKm);
+    }
+
+    /**
+     * Obtiene las {@code k} paradas más cercanas a un punto geográfico.
+     *
+     * <p>No requiere estimar un radio: la búsqueda se detiene al reunir {@code k} paradas
+     * distintas. Se resuelve por completo en memoria, sin consultar MySQL.</p>
+     *
+     * <pre>
+     * List&lt;ParadaCercana&gt; cercanas =
+     *     coordenadaParadaService.getParadasMasCercanas(16.7569, -93.1292, 5, null);
+     * </pre>
+     *
+     * @param latitud Latitud del punto de referencia (-90 a 90)
+     * @param longitud Longitud del punto de referencia (-180 a 180)
+     * @param k Número de paradas a retornar (1 a {@value #K_MAXIMO})
+     * @param radioMaximoKm Distancia máxima en kilómetros, o null para no limitarla
+     * @return Paradas ordenadas de la más cercana a la más lejana, con su distancia
+     * @throws SQLException Si hay error al cargar el índice por primera vez
+     * @throws IllegalArgumentException Si las coordenadas, k o el radio son inválidos
+     * @see IndiceEspacialParadas#buscarMasCercanas(double, double, int, double)
+     */
+    public List<ParadaCercana> getParadasMasCercanas(double latitud, double longitud, int k, Double radioMaximoKm) throws SQLException {
+        if (latitud < -90 || latitud > 90 || longitud < -180 || longitud > 180) {
+            throw new IllegalArgumentException("Coordenadas fuera de rango");
+        }
+        if (k < 1 || k > K_MAXIMO) {
+            throw new IllegalArgumentException("k debe estar entre 1 y " + K_MAXIMO);
+        }
+        if (radioMaximoKm != null && !(radioMaximoKm > 0)) {
+            throw new IllegalArgumentException("El radio debe ser mayor a 0");
+        }
+        indiceParadas.asegurarCargado(coordenadaParadaRepository::findAll);
+        return indiceParadas.buscarMasCercanas(latitud, longitud, k,
+                radioMaximoKm != null ? radioMaximoKm : Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Obtiene las paradas con alguna coordenada dentro de una vista del mapa.
+     *
+     * <p>Descarta primero por la caja envolvente mantenida por parada y solo revisa las
+     * coordenadas de las paradas que cruzan el borde de la vista.</p>
+     *
+     * @param latitudMin Latitud del borde sur
+     * @param latitudMax Latitud del borde norte
+     * @param longitudMin Longitud del borde oeste
+     * @param longitudMax Longitud del borde este
+     * @return Caja y número de coordenadas de cada parada visible, ordenadas por ID
+     * @throws SQLException Si hay error al cargar el índice por primera vez
+     * @throws IllegalArgumentException Si los límites de la vista son inválidos
+     * @see IndiceEspacialParadas#paradasEnCaja(CajaEnvolvente)
+     */
+    public List<ExtensionParada> getParadasEnVista(double latitudMin, double latitudMax,
+                                                   double longitudMin, double longitudMax) throws SQLException {
+        CajaEnvolvente vista = CajaEnvolvente.vista(latitudMin, latitudMax, longitudMin, longitudMax);
+        indiceParadas.asegurarCargado(coordenadaParadaRepository::findAll);
+        return indiceParadas.paradasEnCaja(vista);
+    }
+
+    /**
+     * Obtiene el recorrido de una parada para conectar sus coordenadas en el grafo de transbordos.
+     *
+     * <p>Si el grafo aún no se construye no consulta nada: la carga leerá todas las paradas.</p>
+     *
+     * @param idParada ID de la parada
+     * @return ID del recorrido, o 0 si no se conoce
+     * @throws SQLException Si hay error al leer la parada
+     */
+    private int recorridoDeParada(int idParada) throws SQLException {
+        if (!grafoTransbordos.isCargado()) return 0;
+        Parada parada = paradaRepository.findById(idParada);
+        return parada != null ? parada.getIdRecorrido() : 0;
+    }
+}
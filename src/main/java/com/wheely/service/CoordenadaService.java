@@ -1,10 +1,18 @@
 package com.wheely.service;
 
+import com.wheely.geo.AlmacenGeometria;
+import com.wheely.geo.CajaEnvolvente;
+import com.wheely.geo.ExtensionRecorrido;
+import com.wheely.geo.GeometriaRecorrido;
+import com.wheely.geo.PuntoEnRecorrido;
+import com.wheely.geo.TramoRecorrido;
+import com.wheely.geo.TrazadoCodificado;
 import com.wheely.model.Coordenada;
 import com.wheely.repository.CoordenadaRepository;
 import com.wheely.repository.RecorridoRepository;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -23,24 +31,33 @@ import java.util.List;
  * <li>Facilitación de cálculos geoespaciales del sistema</li>
  * </ul>
  *
+ * <p>Las lecturas se resuelven desde el {@link AlmacenGeometria} compartido, que guarda
+ * cada recorrido en arreglos primitivos; la base de datos solo se consulta en la primera
+ * carga y en las escrituras, que se reflejan en el almacén al confirmarse.</p>
+ *
  * @author Beebop
  * @version 1.0.0
  * @since 2025
  * @see Coordenada
  * @see CoordenadaRepository
  * @see RecorridoRepository
+ * @see AlmacenGeometria
  */
 public class CoordenadaService {
     private final CoordenadaRepository coordenadaRepository;
+    private final AlmacenGeometria almacenGeometria;
 
     /**
      * Constructor que inicializa el servicio con sus dependencias.
      *
      * @param coordenadaRepository Repositorio principal para operaciones de coordenadas
      * @param recorridoRepository Repositorio de recorridos para validaciones de integridad
+     * @param almacenGeometria Almacén compartido del trazado de los recorridos
      */
-    public CoordenadaService(CoordenadaRepository coordenadaRepository, RecorridoRepository recorridoRepository) {
+    public CoordenadaService(CoordenadaRepository coordenadaRepository, RecorridoRepository recorridoRepository,
+                             AlmacenGeometria almacenGeometria) {
         this.coordenadaRepository = coordenadaRepository;
+        this.almacenGeometria = almacenGeometria;
     }
 
     /**
@@ -54,7 +71,8 @@ public class CoordenadaService {
      * @throws SQLException Si hay error en la consulta a base de datos
      */
     public List<Coordenada> getAllCoordenadas() throws SQLException {
-        return coordenadaRepository.findAll();
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        return almacenGeometria.comoLista();
     }
 
     /**
@@ -65,7 +83,9 @@ public class CoordenadaService {
      * @throws SQLException Si hay error en la consulta a base de datos
      */
     public Coordenada getCoordenadaById(int id) throws SQLException {
-        return coordenadaRepository.findById(id);
+        if (id <= 0) return null;
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        return almacenGeometria.buscarCoordenada(id);
     }
 
     /**
@@ -95,7 +115,11 @@ public class CoordenadaService {
      * @throws SQLException Si hay error en la inserción
      */
     public int createCoordenada(Coordenada coordenada) throws SQLException {
-        return coordenadaRepository.save(coordenada);
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        int id = coordenadaRepository.save(coordenada);
+        coordenada.setIdCoordenada(id);
+        almacenGeometria.agregar(coordenada);
+        return id;
     }
 
     /**
@@ -110,7 +134,13 @@ public class CoordenadaService {
      * @throws SQLException Si hay error en la operación de base de datos
      */
     public boolean updateCoordenada(Coordenada coordenada) throws SQLException {
-        return coordenadaRepository.update(coordenada);
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        Coordenada anterior = coordenada != null ? almacenGeometria.buscarCoordenada(coordenada.getIdCoordenada()) : null;
+        boolean actualizada = coordenadaRepository.update(coordenada);
+        if (actualizada) {
+            almacenGeometria.reemplazar(anterior != null ? anterior.getIdRecorrido() : coordenada.getIdRecorrido(), coordenada);
+        }
+        return actualizada;
     }
 
     /**
@@ -125,7 +155,13 @@ public class CoordenadaService {
      * @throws SQLException Si hay error en la operación de base de datos
      */
     public boolean deleteCoordenada(int id) throws SQLException {
-        return coordenadaRepository.delete(id);
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        Coordenada anterior = almacenGeometria.buscarCoordenada(id);
+        boolean eliminada = coordenadaRepository.delete(id);
+        if (eliminada && anterior != null) {
+            almacenGeometria.quitar(anterior.getIdRecorrido(), id);
+        }
+        return eliminada;
     }
 
     /**
@@ -152,6 +188,222 @@ public class CoordenadaService {
      * @throws SQLException Si hay error en la consulta
      */
     public List<Coordenada> getCoordenadasByRecorrido(int recorridoId) throws SQLException {
-        return coordenadaRepository.findByRecorrido(recorridoId);
+        return getCoordenadasByRecorrido(recorridoId, null, null);
+    }
+
+    /**
+     * Obtiene las coordenadas de un recorrido simplificadas para un zoom o tolerancia.
+     *
+     * <pre>
+     * // Vista general de la ciudad: solo los puntos visibles a zoom 12
+     * List&lt;Coordenada&gt; trazado = coordenadaService.getCoordenadasByRecorrido(3, 12, null);
+     * </pre>
+     *
+     * @param recorridoId ID del recorrido
+     * @param zoom Nivel de zoom del mapa (0 a 22), o null
+     * @param toleranciaMetros Tolerancia de simplificación en metros, o null; se ignora si hay zoom
+     * @return Coordenadas conservadas, ordenadas por orden de punto
+     * @throws SQLException Si hay error al cargar el almacén de geometría
+     * @throws IllegalArgumentException Si el zoom o la tolerancia no son válidos
+     * @see GeometriaRecorrido#paraZoom(int)
+     */
+    public List<Coordenada> getCoordenadasByRecorrido(int recorridoId, Integer zoom, Double toleranciaMetros) throws SQLException {
+        return obtenerGeometria(recorridoId, zoom, toleranciaMetros).comoLista();
+    }
+
+    /**
+     * Obtiene todas las coordenadas simplificadas para un zoom o tolerancia.
+     *
+     * @param zoom Nivel de zoom del mapa (0 a 22), o null
+     * @param toleranciaMetros Tolerancia de simplificación en metros, o null; se ignora si hay zoom
+     * @return Coordenadas conservadas ordenadas por recorrido y orden de punto
+     * @throws SQLException Si hay error al cargar el almacén de geometría
+     * @throws IllegalArgumentException Si el zoom o la tolerancia no son válidos
+     */
+    public List<Coordenada> getAllCoordenadas(Integer zoom, Double toleranciaMetros) throws SQLException {
+        validarResolucion(zoom, toleranciaMetros);
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        List<GeometriaRecorrido> trazados = new ArrayList<>();
+        for (GeometriaRecorrido g : almacenGeometria.todas()) {
+            trazados.add(aplicarResolucion(g, zoom, toleranciaMetros));
+        }
+        return GeometriaRecorrido.concatenar(trazados);
+    }
+
+    /**
+     * Obtiene el trazado de un recorrido como polilínea codificada.
+     *
+     * <p>La codificación se memoriza por recorrido y se descarta automáticamente cuando
+     * cambia alguna de sus coordenadas.</p>
+     *
+     * @param recorridoId ID del recorrido
+     * @return Trazado codificado, con polilínea vacía si el recorrido no tiene coordenadas
+     * @throws SQLException Si hay error al cargar el almacén de geometría
+     * @see TrazadoCodificado
+     */
+    public TrazadoCodificado getTrazadoCodificado(int recorridoId) throws SQLException {
+        return getTrazadoCodificado(recorridoId, null, null);
+    }
+
+    /**
+     * Obtiene el trazado de un recorrido como polilínea codificada y simplificada.
+     *
+     * <p>Con zoom, tanto la simplificación como su codificación están precalculadas.</p>
+     *
+     * @param recorridoId ID del recorrido
+     * @param zoom Nivel de zoom del mapa (0 a 22), o null
+     * @param toleranciaMetros Tolerancia de simplificación en metros, o null; se ignora si hay zoom
+     * @return Trazado codificado
+     * @throws SQLException Si hay error al cargar el almacén de geometría
+     * @throws IllegalArgumentException Si el zoom o la tolerancia no son válidos
+     */
+    public TrazadoCodificado getTrazadoCodificado(int recorridoId, Integer zoom, Double toleranciaMetros) throws SQLException {
+        return obtenerGeometria(recorridoId, zoom, toleranciaMetros).getTrazadoCodificado();
+    }
+
+    /**
+     * Obtiene el trazado de todos los recorridos como polilíneas codificadas.
+     *
+     * @return Lista de trazados codificados ordenada por ID de recorrido
+     * @throws SQLException Si hay error al cargar el almacén de geometría
+     */
+    public List<TrazadoCodificado> getAllTrazadosCodificados() throws SQLException {
+        return getAllTrazadosCodificados(null, null);
+    }
+
+    /**
+     * Obtiene el trazado de todos los recorridos como polilíneas codificadas y simplificadas.
+     *
+     * @param zoom Nivel de zoom del mapa (0 a 22), o null
+     * @param toleranciaMetros Tolerancia de simplificación en metros, o null; se ignora si hay zoom
+     * @return Lista de trazados codificados ordenada por ID de recorrido
+     * @throws SQLException Si hay error al cargar el almacén de geometría
+     * @throws IllegalArgumentException Si el zoom o la tolerancia no son válidos
+     */
+    public List<TrazadoCodificado> getAllTrazadosCodificados(Integer zoom, Double toleranciaMetros) throws SQLException {
+        validarResolucion(zoom, toleranciaMetros);
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        List<TrazadoCodificado> trazados = new ArrayList<>();
+        for (GeometriaRecorrido g : almacenGeometria.todas()) {
+            trazados.add(aplicarResolucion(g, zoom, toleranciaMetros).getTrazadoCodificado());
+        }
+        return trazados;
+    }
+
+    /**
+     * Obtiene los recorridos que pasan por una vista del mapa.
+     *
+     * <p>Descarta primero por la caja envolvente mantenida por recorrido y solo verifica
+     * tramo por tramo los recorridos que cruzan el borde de la vista, en lugar de filtrar
+     * todas las coordenadas como {@link CoordenadaRepository#findByRangoGeografico}.</p>
+     *
+     * <pre>
+     * List&lt;ExtensionRecorrido&gt; visibles =
+     *     coordenadaService.getRecorridosEnVista(16.74, 16.77, -93.16, -93.10);
+     * </pre>
+     *
+     * @param latitudMin Latitud del borde sur
+     * @param latitudMax Latitud del borde norte
+     * @param longitudMin Longitud del borde oeste
+     * @param longitudMax Longitud del borde este
+     * @return Caja y número de puntos de cada recorrido visible, ordenados por ID
+     * @throws SQLException Si hay error al cargar el almacén de geometría
+     * @throws IllegalArgumentException Si los límites de la vista son inválidos
+     * @see AlmacenGeometria#recorridosEnCaja(CajaEnvolvente)
+     */
+    public List<ExtensionRecorrido> getRecorridosEnVista(double latitudMin, double latitudMax,
+                                                         double longitudMin, double longitudMax) throws SQLException {
+        CajaEnvolvente vista = CajaEnvolvente.vista(latitudMin, latitudMax, longitudMin, longitudMax);
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        List<ExtensionRecorrido> resultado = new ArrayList<>();
+        for (GeometriaRecorrido g : almacenGeometria.recorridosEnCaja(vista)) {
+            resultado.add(new ExtensionRecorrido(g));
+        }
+        return resultado;
+    }
+
+    /**
+     * Calcula la distancia a lo largo de un recorrido entre dos de sus puntos.
+     *
+     * <p>Usa las distancias acumuladas del trazado: localiza cada punto por búsqueda binaria
+     * sobre el orden y resta sus distancias, sin recorrer las coordenadas intermedias.</p>
+     *
+     * <pre>
+     * TramoRecorrido tramo = coordenadaService.getDistanciaEntre(4, 3, 40);
+     * </pre>
+     *
+     * @param recorridoId ID del recorrido
+     * @param ordenDesde Orden del punto inicial
+     * @param ordenHasta Orden del punto final
+     * @return Distancia entre los puntos, o null si el recorrido no tiene coordenadas
+     * @throws SQLException Si hay error al cargar el almacén de geometría
+     * @throws IllegalArgumentException Si algún orden no existe en el recorrido
+     * @see GeometriaRecorrido#distanciaEntre(int, int)
+     */
+    public TramoRecorrido getDistanciaEntre(int recorridoId, int ordenDesde, int ordenHasta) throws SQLException {
+        GeometriaRecorrido g = obtenerGeometria(recorridoId, null, null);
+        if (g.size() == 0) return null;
+        int desde = g.posicionDeOrden(ordenDesde);
+        int hasta = g.posicionDeOrden(ordenHasta);
+        if (desde < 0 || hasta < 0) {
+            throw new IllegalArgumentException("El recorrido no tiene un punto con el orden " + (desde < 0 ? ordenDesde : ordenHasta));
+        }
+        return new TramoRecorrido(recorridoId, ordenDesde, ordenHasta, g.distanciaEntre(desde, hasta), g.getLongitudMetros());
+    }
+
+    /**
+     * Localiza el punto de un recorrido que está a cierta distancia de su inicio.
+     *
+     * <pre>
+     * PuntoEnRecorrido punto = coordenadaService.getPuntoEnDistancia(4, 1500);
+     * </pre>
+     *
+     * @param recorridoId ID del recorrido
+     * @param metros Distancia desde el primer punto; se ajusta a la longitud del recorrido
+     * @return Punto interpolado, o null si el recorrido no tiene coordenadas
+     * @throws SQLException Si hay error al cargar el almacén de geometría
+     * @throws IllegalArgumentException Si la distancia no es válida
+     * @see GeometriaRecorrido#puntoEnDistancia(double)
+     */
+    public PuntoEnRecorrido getPuntoEnDistancia(int recorridoId, double metros) throws SQLException {
+        if (Double.isNaN(metros) || metros < 0) {
+            throw new IllegalArgumentException("La distancia no puede ser negativa");
+        }
+        return obtenerGeometria(recorridoId, null, null).puntoEnDistancia(metros);
+    }
+
+    /**
+     * Carga el almacén de geometría y precalcula las simplificaciones de todos los recorridos.
+     *
+     * <p>Se invoca al arrancar la aplicación para que las primeras consultas no paguen la
+     * lectura de la base de datos ni la simplificación.</p>
+     *
+     * @throws SQLException Si hay error al leer las coordenadas
+     * @see AlmacenGeometria#precalcularSimplificaciones()
+     */
+    public void precargarGeometria() throws SQLException {
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        almacenGeometria.precalcularSimplificaciones();
+    }
+
+    private GeometriaRecorrido obtenerGeometria(int recorridoId, Integer zoom, Double toleranciaMetros) throws SQLException {
+        validarResolucion(zoom, toleranciaMetros);
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        return aplicarResolucion(almacenGeometria.obtener(recorridoId), zoom, toleranciaMetros);
+    }
+
+    private static GeometriaRecorrido aplicarResolucion(GeometriaRecorrido g, Integer zoom, Double toleranciaMetros) {
+        if (zoom != null) return g.paraZoom(zoom);
+        if (toleranciaMetros != null) return g.simplificada(toleranciaMetros);
+        return g;
+    }
+
+    private static void validarResolucion(Integer zoom, Double toleranciaMetros) {
+        if (zoom != null && (zoom < 0 || zoom > 22)) {
+            throw new IllegalArgumentException("El zoom debe estar entre 0 y 22");
+        }
+        if (toleranciaMetros != null && (toleranciaMetros.isNaN() || toleranciaMetros < 0)) {
+            throw new IllegalArgumentException("La tolerancia no puede ser negativa");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.wheely.service;
+
+import com.wheely.geo.AlmacenGeometria;
+import com.wheely.geo.EmparejadorTrazas;
+import com.wheely.geo.PuntoGps;
+import com.wheely.geo.ResultadoEmparejamiento;
+import com.wheely.repository.CoordenadaRepository;
+
+import java.sql.SQLException;
+
+/**
+ * Servicio de ajuste de trazas GPS a los recorridos del sistema Wheely.
+ *
+ * <p>Recibe lotes de puntos enviados por vehículos o teléfonos y determina sobre qué
+ * recorrido circulan y cuánto han avanzado en él. Toda la consulta se resuelve contra el
+ * índice de segmentos del {@link AlmacenGeometria}, sin acceder a la base de datos una vez
+ * cargado el trazado.</p>
+ *
+ * <pre>
+ * ResultadoEmparejamiento r = emparejamientoService.emparejar(puntos);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see EmparejadorTrazas
+ * @see com.wheely.geo.IndiceSegmentos
+ */
+public class EmparejamientoService {
+
+    /**
+     * Número máximo de puntos aceptados en una traza.
+     */
+    public static final int MAXIMO_PUNTOS = 1000;
+
+    private final CoordenadaRepository coordenadaRepository;
+    private final AlmacenGeometria almacenGeometria;
+
+    /**
+     * Constructor que inicializa el servicio con sus dependencias.
+     *
+     * @param coordenadaRepository Repositorio para la carga inicial del trazado de recorridos
+     * @param almacenGeometria Almacén compartido del trazado de los recorridos
+     */
+    public EmparejamientoService(CoordenadaRepository coordenadaRepository, AlmacenGeometria almacenGeometria) {
+        this.coordenadaRepository = coordenadaRepository;
+        this.almacenGeometria = almacenGeometria;
+    }
+
+    /**
+     * Ajusta una traza GPS al recorrido más probable.
+     *
+     * @param puntos Puntos de la traza en orden temporal
+     * @return Ajuste sobre el mejor recorrido, o null si la traza no pasa cerca de ningún recorrido
+     * @throws SQLException Si hay error en la carga inicial del trazado
+     * @throws IllegalArgumentException Si la traza está vacía, es demasiado larga o tiene coordenadas inválidas
+     */
+    public ResultadoEmparejamiento emparejar(PuntoGps[] puntos) throws SQLException {
+        if (puntos == null || puntos.length == 0) {
+            throw new IllegalArgumentException("La traza debe tener al menos un punto");
+        }
+        if (puntos.length > MAXIMO_PUNTOS) {
+            throw new IllegalArgumentException("La traza no puede tener más de " + MAXIMO_PUNTOS + " puntos");
+        }
+        double[] latitudes = new double[puntos.length];
+        double[] longitudes = new double[puntos.length];
+        for (int i = 0; i < puntos.length; i++) {
+            PuntoGps punto = puntos[i];
+            if (punto == null || !(punto.getLatitud() >= -90 && punto.getLatitud() <= 90)
+                    || !(punto.getLongitud() >= -180 && punto.getLongitud() <= 180)) {
+                throw new IllegalArgumentException("Coordenadas inválidas en el punto " + i);
+            }
+            latitudes[i] = punto.getLatitud();
+            longitudes[i] = punto.getLongitud();
+        }
+
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        return new EmparejadorTrazas(almacenGeometria.getIndiceSegmentos()).emparejar(latitudes, longitudes);
+    }
+}
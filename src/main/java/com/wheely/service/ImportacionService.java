@@ -0,0 +1,385 @@
+package com.wheely.service;
+
+import com.wheely.config.DatabaseConfig;
+import com.wheely.geo.AlmacenGeometria;
+import com.wheely.geo.GeometriaRecorrido;
+import com.wheely.geo.GrafoTransbordos;
+import com.wheely.geo.IndiceEspacialParadas;
+import com.wheely.geo.LectorGeoJson;
+import com.wheely.model.Coordenada;
+import com.wheely.model.CoordenadaParada;
+import com.wheely.repository.CoordenadaParadaRepository;
+import com.wheely.repository.CoordenadaRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Servicio de importación masiva de geometría desde archivos GeoJSON.
+ *
+ * <p>Lee una {@code FeatureCollection} en flujo con {@link LectorGeoJson} y guarda las
+ * posiciones de cada entidad en lotes de {@value #TAMANO_LOTE} filas, en lugar de crear
+ * los puntos uno por uno desde la API. El destino de cada entidad se indica en sus
+ * propiedades:</p>
+ * <ul>
+ * <li>{@code idRecorrido}: las posiciones reemplazan las coordenadas del recorrido.</li>
+ * <li>{@code idParada}: las posiciones reemplazan las coordenadas de la parada.</li>
+ * </ul>
+ * <p>Se aceptan geometrías {@code Point}, {@code MultiPoint}, {@code LineString} y
+ * {@code MultiLineString}; las partes se concatenan en el orden del archivo.</p>
+ *
+ * <p>Cada entidad se guarda en su propia transacción: si una falla se revierte solo esa
+ * entidad y la importación continúa con la siguiente. Si las propiedades aparecen antes de
+ * la geometría, las posiciones se escriben conforme se leen y la memoria queda acotada al
+ * tamaño de un lote; si aparecen después, las posiciones de esa entidad se acumulan en
+ * arreglos primitivos hasta conocer su destino.</p>
+ *
+ * <p>Las entidades confirmadas se publican en el {@link AlmacenGeometria} y el
+ * {@link IndiceEspacialParadas} compartidos, si ya estaban cargados.</p>
+ *
+ * <pre>
+ * ImportacionService.ResultadoImportacion r = importacionService.importar(entrada);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see LectorGeoJson
+ * @see CoordenadaRepository#saveBatch(Connection, List)
+ * @see CoordenadaParadaRepository#saveBatch(Connection, List)
+ */
+public class ImportacionService {
+
+    /**
+     * Número de filas enviadas a la base de datos en cada lote.
+     */
+    public static final int TAMANO_LOTE = 1000;
+
+    /**
+     * Número máximo de mensajes de error conservados en el resultado.
+     */
+    public static final int MAXIMO_ERRORES = 100;
+
+    private static final Set<String> GEOMETRIAS_SOPORTADAS =
+            Set.of("Point", "MultiPoint", "LineString", "MultiLineString");
+
+    private final CoordenadaRepository coordenadaRepository;
+    private final CoordenadaParadaRepository coordenadaParadaRepository;
+    private final AlmacenGeometria almacenGeometria;
+    private final IndiceEspacialParadas indiceParadas;
+    private final GrafoTransbordos grafoTransbordos;
+
+    /**
+     * Constructor que inicializa el servicio con sus dependencias.
+     *
+     * @param coordenadaRepository Repositorio de coordenadas de recorrido
+     * @param coordenadaParadaRepository Repositorio de coordenadas de parada
+     * @param almacenGeometria Almacén compartido del trazado de los recorridos
+     * @param indiceParadas Índice espacial compartido de coordenadas de parada
+     * @param grafoTransbordos Grafo compartido de transbordos entre coordenadas de parada
+     */
+    public ImportacionService(CoordenadaRepository coordenadaRepository, CoordenadaParadaRepository coordenadaParadaRepository,
+                              AlmacenGeometria almacenGeometria, IndiceEspacialParadas indiceParadas,
+                              GrafoTransbordos grafoTransbordos) {
+        this.coordenadaRepository = coordenadaRepository;
+        this.coordenadaParadaRepository = coordenadaParadaRepository;
+        this.almacenGeometria = almacenGeometria;
+        this.indiceParadas = indiceParadas;
+        this.grafoTransbordos = grafoTransbordos;
+    }
+
+    /**
+     * Importa un documento GeoJSON.
+     *
+     * @param entrada Flujo con el documento; no se cierra
+     * @return Conteo de entidades y filas importadas, con los errores por entidad
+     * @throws IOException Si el flujo falla
+     * @throws IllegalArgumentException Si el documento no es JSON válido; las entidades
+     *         anteriores al error ya quedaron guardadas
+     */
+    public ResultadoImportacion importar(InputStream entrada) throws IOException {
+        Importacion importacion = new Importacion();
+        try {
+            new LectorGeoJson().leer(entrada, importacion);
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            importacion.descartar();
+            throw new IllegalArgumentException("GeoJSON mal formado: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            importacion.descartar();
+            throw e;
+        }
+        return importacion.resultado;
+    }
+
+    /**
+     * Resumen de una importación.
+     */
+    public static class ResultadoImportacion {
+        private int entidadesImportadas;
+        private int entidadesOmitidas;
+        private long coordenadasInsertadas;
+        private long coordenadasParadaInsertadas;
+        private final List<String> errores = new ArrayList<>();
+
+        public int getEntidadesImportadas() {
+            return entidadesImportadas;
+        }
+
+        public int getEntidadesOmitidas() {
+            return entidadesOmitidas;
+        }
+
+        public long getCoordenadasInsertadas() {
+            return coordenadasInsertadas;
+        }
+
+        public long getCoordenadasParadaInsertadas() {
+            return coordenadasParadaInsertadas;
+        }
+
+        public List<String> getErrores() {
+            return errores;
+        }
+
+        private void omitir(int indice, String motivo) {
+            entidadesOmitidas++;
+            if (errores.size() < MAXIMO_ERRORES) {
+                errores.add("Entidad " + indice + ": " + motivo);
+            }
+        }
+    }
+
+    /**
+     * Estado de una importación en curso; recibe los eventos del lector y administra la
+     * transacción de la entidad actual.
+     */
+    private final class Importacion implements LectorGeoJson.Receptor {
+        private final ResultadoImportacion resultado = new ResultadoImportacion();
+
+        private int indice;
+        private Integer idRecorrido;
+        private Integer idParada;
+        private String error;
+        private int pendientes;
+        private long[] latitudes = new long[TAMANO_LOTE];
+        private long[] longitudes = new long[TAMANO_LOTE];
+        private int escritos;
+        private int insertadas;
+        private Connection conn;
+        private GeometriaRecorrido.Builder trazado;
+        private List<CoordenadaParada> coordenadasParada;
+
+        @Override
+        public void iniciarEntidad(int indice) {
+            this.indice = indice;
+            idRecorrido = null;
+            idParada = null;
+            error = null;
+            pendientes = 0;
+            escritos = 0;
+            insertadas = 0;
+            trazado = null;
+            coordenadasParada = null;
+        }
+
+        @Override
+        public void propiedades(Map<String, Object> propiedades) {
+            try {
+                idRecorrido = identificador(propiedades.get("idRecorrido"));
+                idParada = identificador(propiedades.get("idParada"));
+            } catch (NumberFormatException e) {
+                fallar("identificador no numérico");
+                return;
+            }
+            if (idRecorrido != null && idParada != null) {
+                fallar("indica idRecorrido e idParada a la vez");
+            } else if (idRecorrido == null && idParada == null) {
+                fallar("falta la propiedad idRecorrido o idParada");
+            } else {
+                vaciarSiLleno();
+            }
+        }
+
+        @Override
+        public void tipoGeometria(String tipo) {
+            if (!GEOMETRIAS_SOPORTADAS.contains(tipo)) {
+                fallar("geometría " + tipo + " no soportada");
+            }
+        }
+
+        @Override
+        public void punto(BigDecimal longitud, BigDecimal latitud) {
+            if (error != null) return;
+            if (latitud.compareTo(BigDecimal.valueOf(90)) > 0 || latitud.compareTo(BigDecimal.valueOf(-90)) < 0
+                    || longitud.compareTo(BigDecimal.valueOf(180)) > 0 || longitud.compareTo(BigDecimal.valueOf(-180)) < 0) {
+                fallar("coordenada fuera de rango en la posición " + (escritos + pendientes));
+                return;
+            }
+            if (pendientes == latitudes.length) {
+                latitudes = Arrays.copyOf(latitudes, pendientes * 2);
+                longitudes = Arrays.copyOf(longitudes, pendientes * 2);
+            }
+            latitudes[pendientes] = GeometriaRecorrido.aPuntoFijo(latitud);
+            longitudes[pendientes] = GeometriaRecorrido.aPuntoFijo(longitud);
+            pendientes++;
+            vaciarSiLleno();
+        }
+
+        @Override
+        public void terminarEntidad() {
+            if (error == null && idRecorrido == null && idParada == null) {
+                fallar("falta la propiedad idRecorrido o idParada");
+            }
+            if (error == null) vaciar();
+            if (error != null) {
+                resultado.omitir(indice, error);
+                return;
+            }
+            try {
+                if (conn != null) {
+                    conn.commit();
+                    cerrar();
+                }
+            } catch (SQLException e) {
+                fallar(e.getMessage());
+                resultado.omitir(indice, error);
+                return;
+            }
+            resultado.entidadesImportadas++;
+            if (idRecorrido != null) {
+                resultado.coordenadasInsertadas += insertadas;
+            } else {
+                resultado.coordenadasParadaInsertadas += insertadas;
+            }
+            publicar();
+        }
+
+        /**
+         * Revierte la entidad en curso cuando la lectura se interrumpe.
+         */
+        private void descartar() {
+            fallar("lectura interrumpida");
+        }
+
+        private void vaciarSiLleno() {
+            if (error == null && pendientes >= TAMANO_LOTE && (idRecorrido != null || idParada != null)) {
+                vaciar();
+            }
+        }
+
+        /**
+         * Envía las posiciones pendientes en lotes dentro de la transacción de la entidad.
+         */
+        private void vaciar() {
+            try {
+                if (conn == null) {
+                    conn = DatabaseConfig.getDataSource().getConnection();
+                    conn.setAutoCommit(false);
+                    if (idRecorrido != null) {
+                        coordenadaRepository.deleteByRecorrido(conn, idRecorrido);
+                        trazado = new GeometriaRecorrido.Builder(idRecorrido);
+                    } else {
+                        coordenadaParadaRepository.deleteByParada(conn, idParada);
+                        coordenadasParada = new ArrayList<>();
+                    }
+                }
+                for (int desde = 0; desde < pendientes; desde += TAMANO_LOTE) {
+                    int hasta = Math.min(pendientes, desde + TAMANO_LOTE);
+                    if (idRecorrido != null) {
+                        guardarCoordenadas(desde, hasta);
+                    } else {
+                        guardarCoordenadasParada(desde, hasta);
+                    }
+                }
+                escritos += pendientes;
+                pendientes = 0;
+                if (latitudes.length > TAMANO_LOTE) {
+                    latitudes = new long[TAMANO_LOTE];
+                    longitudes = new long[TAMANO_LOTE];
+                }
+            } catch (SQLException | IllegalArgumentException e) {
+                fallar(e.getMessage());
+            }
+        }
+
+        private void guardarCoordenadas(int desde, int hasta) throws SQLException {
+            List<Coordenada> lote = new ArrayList<>(hasta - desde);
+            for (int i = desde; i < hasta; i++) {
+                lote.add(new Coordenada(idRecorrido, GeometriaRecorrido.aBigDecimal(latitudes[i]),
+                        GeometriaRecorrido.aBigDecimal(longitudes[i]), escritos + i + 1));
+            }
+            List<Integer> ids = coordenadaRepository.saveBatch(conn, lote);
+            for (int i = 0; i < lote.size(); i++) {
+                trazado.agregar(i < ids.size() ? ids.get(i) : 0, latitudes[desde + i], longitudes[desde + i],
+                        lote.get(i).getOrdenPunto());
+            }
+            insertadas += lote.size();
+        }
+
+        private void guardarCoordenadasParada(int desde, int hasta) throws SQLException {
+            List<CoordenadaParada> lote = new ArrayList<>(hasta - desde);
+            for (int i = desde; i < hasta; i++) {
+                lote.add(new CoordenadaParada(idParada, GeometriaRecorrido.aBigDecimal(latitudes[i]),
+                        GeometriaRecorrido.aBigDecimal(longitudes[i]), escritos + i + 1));
+            }
+            List<Integer> ids = coordenadaParadaRepository.saveBatch(conn, lote);
+            for (int i = 0; i < lote.size(); i++) {
+                CoordenadaParada c = lote.get(i);
+                if (i < ids.size()) c.setIdCoordenadaParada(ids.get(i));
+                coordenadasParada.add(c);
+            }
+            insertadas += lote.size();
+        }
+
+        /**
+         * Marca la entidad actual como fallida y revierte lo que haya escrito.
+         */
+        private void fallar(String motivo) {
+            if (error == null) error = motivo != null ? motivo : "error desconocido";
+            pendientes = 0;
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ignorada) {
+                    // La conexión se descarta igualmente
+                }
+                cerrar();
+            }
+        }
+
+        private void cerrar() {
+            try {
+                conn.close();
+            } catch (SQLException ignorada) {
+                // El pool recupera la conexión
+            } finally {
+                conn = null;
+            }
+        }
+
+        private void publicar() {
+            if (trazado != null && almacenGeometria.isCargado()) {
+                almacenGeometria.reemplazarTrazado(trazado.build());
+            }
+            if (coordenadasParada != null && indiceParadas.isCargado()) {
+                indiceParadas.reemplazarParada(idParada, coordenadasParada);
+                grafoTransbordos.reemplazarParada(idParada, coordenadasParada);
+            }
+        }
+
+        private Integer identificador(Object valor) {
+            if (valor == null) return null;
+            int id = valor instanceof Number n ? n.intValue() : Integer.parseInt(valor.toString().trim());
+            if (id <= 0) throw new NumberFormatException();
+            return id;
+        }
+    }
+}
@@ -1,17 +1,26 @@
 package com.wheely.service;
 
+import com.wheely.geo.GrafoTransbordos;
+import com.wheely.geo.IndiceEspacialParadas;
 import com.wheely.model.Parada;
 import com.wheely.repository.ParadaRepository;
 import com.wheely.repository.RecorridoRepository;
 
 import java.sql.SQLException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class ParadaService {
     private final ParadaRepository paradaRepository;
+    private final IndiceEspacialParadas indiceParadas;
+    private final GrafoTransbordos grafoTransbordos;
 
-    public ParadaService(ParadaRepository paradaRepository, RecorridoRepository recorridoRepository) {
+    public ParadaService(ParadaRepository paradaRepository, RecorridoRepository recorridoRepository,
+                         IndiceEspacialParadas indiceParadas, GrafoTransbordos grafoTransbordos) {
         this.paradaRepository = paradaRepository;
+        this.indiceParadas = indiceParadas;
+        this.grafoTransbordos = grafoTransbordos;
     }
 
     public List<Parada> getAllParadas() throws SQLException {
@@ -25,14 +34,40 @@ public class ParadaService {
     public Parada createParada(Parada parada) throws SQLException {
         int id = paradaRepository.save(parada);
         parada.setIdParada(id);
+        if (id > 0) grafoTransbordos.guardarParada(parada);
         return parada;
     }
 
     public boolean updateParada(Parada parada) throws SQLException {
-        return paradaRepository.update(parada);
+        boolean actualizada = paradaRepository.update(parada);
+        if (actualizada) grafoTransbordos.guardarParada(parada);
+        return actualizada;
     }
 
     public boolean deleteParada(int id) throws SQLException {
-        return paradaRepository.delete(id);
+        boolean eliminada = paradaRepository.delete(id);
+        if (eliminada) {
+            indiceParadas.reemplazarParada(id, List.of());
+            grafoTransbordos.eliminarParada(id);
+        }
+        return eliminada;
     }
-}
\ No newline at end of file
+
+    /**
+     * Quita de los índices en memoria las paradas que cayeron con el borrado en cascada de
+     * una ruta o un recorrido, junto con sus coordenadas.
+     *
+     * <p>Si ni el índice ni el grafo están cargados no consulta nada: su carga ya no las leerá.</p>
+     *
+     * @throws SQLException Si hay error al leer las paradas vigentes
+     */
+    public void descartarParadasEliminadas() throws SQLException {
+        if (!indiceParadas.isCargado() && !grafoTransbordos.isCargado()) return;
+        Set<Integer> vigentes = new HashSet<>();
+        for (Parada p : paradaRepository.findAll()) {
+            vigentes.add(p.getIdParada());
+        }
+        indiceParadas.retenerParadas(vigentes);
+        grafoTransbordos.retenerParadas(vigentes);
+    }
+}
@@ -1,5 +1,6 @@
 package com.wheely.service;
 
+import com.wheely.cache.ReplicaReferencia;
 import com.wheely.model.Periodo;
 import com.wheely.repository.PeriodoRepository;
 
@@ -23,6 +24,10 @@ import java.util.List;
  * <li>Aplicación de reglas de negocio para horarios válidos</li>
  * </ul>
  *
+ * <p>Las consultas y la validación de solapamientos usan la {@link ReplicaReferencia} en
+ * memoria; la unicidad del nombre se sigue comprobando en la base de datos, que es la que
+ * aplica la intercalación de MySQL. Cada escritura recarga la tabla en la réplica.</p>
+ *
  * @author Beebop
  * @version 1.0.0
  * @since 2025
@@ -32,14 +37,17 @@ import java.util.List;
  */
 public class PeriodoService {
     private final PeriodoRepository periodoRepository;
+    private final ReplicaReferencia replicaReferencia;
 
     /**
      * Constructor que inicializa el servicio con su repositorio.
      *
      * @param periodoRepository Repositorio para operaciones de periodos
+     * @param replicaReferencia Réplica en memoria de las tablas de referencia
      */
-    public PeriodoService(PeriodoRepository periodoRepository) {
+    public PeriodoService(PeriodoRepository periodoRepository, ReplicaReferencia replicaReferencia) {
         this.periodoRepository = periodoRepository;
+        this.replicaReferencia = replicaReferencia;
     }
 
     /**
@@ -53,7 +61,7 @@ public class PeriodoService {
      * @throws SQLException Si hay error en la consulta a base de datos
      */
     public List<Periodo> getAllPeriodos() throws SQLException {
-        return periodoRepository.findAll();
+        return replicaReferencia.actual().periodos();
     }
 
     /**
@@ -64,7 +72,7 @@ public class PeriodoService {
      * @throws SQLException Si hay error en la consulta a base de datos
      */
     public Periodo getPeriodoById(int id) throws SQLException {
-        return periodoRepository.findById(id);
+        return replicaReferencia.actual().periodo(id);
     }
 
     /**
@@ -91,7 +99,7 @@ public class PeriodoService {
         if (nombre == null || nombre.trim().isEmpty()) {
             throw new IllegalArgumentException("El nombre del periodo no puede estar vacío");
         }
-        return periodoRepository.findByNombre(nombre.trim());
+        return replicaReferencia.actual().periodoPorNombre(nombre.trim());
     }
 
     /**
@@ -135,7 +143,9 @@ public class PeriodoService {
         // Validar que no haya solapamiento de horarios
         validateNoOverlap(periodo);
 
-        return periodoRepository.save(periodo);
+        int id = periodoRepository.save(periodo);
+        replicaReferencia.recargarPeriodos();
+        return id;
     }
 
     /**
@@ -156,7 +166,7 @@ public class PeriodoService {
         validatePeriodo(periodo);
 
         // Verificar que el periodo existe
-        Periodo existente = periodoRepository.findById(periodo.getIdPeriodo());
+        Periodo existente = replicaReferencia.actual().periodo(periodo.getIdPeriodo());
         if (existente == null) {
             throw new IllegalArgumentException("Periodo no encontrado");
         }
@@ -170,7 +180,9 @@ public class PeriodoService {
         // Validar que no haya solapamiento de horarios con otros periodos
         validateNoOverlapForUpdate(periodo);
 
-        return periodoRepository.update(periodo);
+        boolean actualizado = periodoRepository.update(periodo);
+        if (actualizado) replicaReferencia.recargarPeriodos();
+        return actualizado;
     }
 
     /**
@@ -186,12 +198,17 @@ public class PeriodoService {
      * @throws IllegalArgumentException Si el periodo no existe
      */
     public boolean deletePeriodo(int id) throws SQLException {
-        Periodo periodo = periodoRepository.findById(id);
-        if (periodo == null) {
+        if (!replicaReferencia.actual().existePeriodo(id)) {
             throw new IllegalArgumentException("Periodo no encontrado");
         }
 
-        return periodoRepository.delete(id);
+        boolean eliminado = periodoRepository.delete(id);
+        if (eliminado) {
+            // La base de datos borra en cascada sus tiempos de ruta
+            replicaReferencia.recargarPeriodos();
+            replicaReferencia.recargarTiempos();
+        }
+        return eliminado;
     }
 
     /**
@@ -213,7 +230,7 @@ public class PeriodoService {
      * @throws SQLException Si hay error en la consulta de periodos
      */
     public Periodo getPeriodoActual() throws SQLException {
-        return periodoRepository.findPeriodoActual();
+        return replicaReferencia.actual().periodoEn(LocalTime.now());
     }
 
     /**
@@ -225,6 +242,7 @@ public class PeriodoService {
      * <li>Periodo no nulo</li>
      * <li>Nombre obligatorio y longitud máxima 20 caracteres</li>
      * <li>Horas de inicio y fin obligatorias</li>
+     * <li>Horas de inicio y fin distintas; si el fin es anterior al inicio, el periodo cruza la medianoche</li>
      * <li>Descripción opcional máximo 100 caracteres</li>
      * </ul>
      *
@@ -252,6 +270,10 @@ public class PeriodoService {
             throw new IllegalArgumentException("La hora de fin es obligatoria");
         }
 
+        if (periodo.getHoraInicio().equals(periodo.getHoraFin())) {
+            throw new IllegalArgumentException("La hora de inicio y la de fin no pueden ser iguales");
+        }
+
         if (periodo.getDescripcion() != null && periodo.getDescripcion().length() > 100) {
             throw new IllegalArgumentException("La descripción no puede exceder 100 caracteres");
         }
@@ -264,16 +286,14 @@ public class PeriodoService {
      * @param nuevoPeriodo Periodo a validar contra solapamientos
      * @throws SQLException Si hay error en consultas de validación
      * @throws IllegalArgumentException Si existe solapamiento de horarios
+     * @see com.wheely.cache.DatosReferencia#periodoSolapado(LocalTime, LocalTime, Integer)
      */
     private void validateNoOverlap(Periodo nuevoPeriodo) throws SQLException {
-        List<Periodo> periodosExistentes = periodoRepository.findAll();
-
-        for (Periodo existente : periodosExistentes) {
-            if (hasTimeOverlap(nuevoPeriodo.getHoraInicio(), nuevoPeriodo.getHoraFin(),
-                    existente.getHoraInicio(), existente.getHoraFin())) {
-                throw new IllegalArgumentException(
-                        "El horario del periodo se solapa con el periodo: " + existente.getNombrePeriodo());
-            }
+        Periodo existente = replicaReferencia.actual().periodoSolapado(
+                nuevoPeriodo.getHoraInicio(), nuevoPeriodo.getHoraFin(), null);
+        if (existente != null) {
+            throw new IllegalArgumentException(
+                    "El horario del periodo se solapa con el periodo: " + existente.getNombrePeriodo());
         }
     }
 
@@ -284,38 +304,14 @@ public class PeriodoService {
      * @param periodoActualizado Periodo siendo actualizado
      * @throws SQLException Si hay error en consultas de validación
      * @throws IllegalArgumentException Si existe solapamiento con otros periodos
+     * @see com.wheely.cache.DatosReferencia#periodoSolapado(LocalTime, LocalTime, Integer)
      */
     private void validateNoOverlapForUpdate(Periodo periodoActualizado) throws SQLException {
-        List<Periodo> periodosExistentes = periodoRepository.findAll();
-
-        for (Periodo existente : periodosExistentes) {
-            // Excluir el propio periodo de la validación
-            if (existente.getIdPeriodo() == periodoActualizado.getIdPeriodo()) {
-                continue;
-            }
-
-            if (hasTimeOverlap(periodoActualizado.getHoraInicio(), periodoActualizado.getHoraFin(),
-                    existente.getHoraInicio(), existente.getHoraFin())) {
-                throw new IllegalArgumentException(
-                        "El horario del periodo se solapa con el periodo: " + existente.getNombrePeriodo());
-            }
+        Periodo existente = replicaReferencia.actual().periodoSolapado(periodoActualizado.getHoraInicio(),
+                periodoActualizado.getHoraFin(), periodoActualizado.getIdPeriodo());
+        if (existente != null) {
+            throw new IllegalArgumentException(
+                    "El horario del periodo se solapa con el periodo: " + existente.getNombrePeriodo());
         }
     }
-
-    /**
-     * Verifica si dos rangos de tiempo se solapan.
-     * Método utilitario privado para detección de conflictos horarios.
-     *
-     * @param inicio1 Hora de inicio del primer rango
-     * @param fin1 Hora de fin del primer rango
-     * @param inicio2 Hora de inicio del segundo rango
-     * @param fin2 Hora de fin del segundo rango
-     * @return true si los rangos se solapan, false en caso contrario
-     */
-    private boolean hasTimeOverlap(LocalTime inicio1, LocalTime fin1,
-                                   LocalTime inicio2, LocalTime fin2) {
-        // Lógica de detección de solapamiento considerando rangos de 24 horas
-        return !(fin1.isBefore(inicio2) || fin1.equals(inicio2) ||
-                inicio1.isAfter(fin2) || inicio1.equals(fin2));
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,589 @@
+package com.wheely.service;
+
+import com.wheely.cache.MatrizTiempos;
+import com.wheely.cache.ReplicaReferencia;
+import com.wheely.cache.TablaReferencia;
+import com.wheely.geo.AlmacenGeometria;
+import com.wheely.geo.CajaEnvolvente;
+import com.wheely.geo.EstimacionLlegada;
+import com.wheely.geo.FilaMatriz;
+import com.wheely.geo.GrafoTransbordos;
+import com.wheely.geo.IndiceEspacialParadas;
+import com.wheely.geo.Isocrona;
+import com.wheely.geo.PlanificadorViajes;
+import com.wheely.geo.PuntoMatriz;
+import com.wheely.geo.RedTransporte;
+import com.wheely.geo.ViajePlanificado;
+import com.wheely.model.CoordenadaParada;
+import com.wheely.model.Parada;
+import com.wheely.model.Periodo;
+import com.wheely.model.Recorrido;
+import com.wheely.repository.CoordenadaParadaRepository;
+import com.wheely.repository.CoordenadaRepository;
+import com.wheely.repository.ParadaRepository;
+import com.wheely.util.GeoUtil;
+
+import java.sql.SQLException;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Servicio de planificación de viajes con transbordos del sistema Wheely.
+ *
+ * <p>Mantiene una {@link RedTransporte} construida a partir de los recorridos activos, su
+ * trazado, las coordenadas de sus paradas activas y el {@link GrafoTransbordos}, y la
+ * descarta cuando el {@link AlmacenGeometria} o el grafo avisan de un cambio (el grafo
+ * avisa también de cada alta, modificación o baja de una parada) o cuando cambia la
+ * versión de las tablas Recorrido o Ruta en la {@link ReplicaReferencia}. Cada
+ * consulta toma los tiempos promedio de las rutas en el periodo de la hora de salida y
+ * ejecuta el {@link PlanificadorViajes} sobre la red en memoria.</p>
+ *
+ * <p>Las isócronas se guardan en una caché LRU por celda del origen, periodo y minutos. Cada
+ * entrada recuerda la red y los tiempos con que se calculó, de modo que deja de usarse en
+ * cuanto la red se reconstruye o cambian los tiempos promedio del periodo.</p>
+ *
+ * <pre>
+ * List&lt;ViajePlanificado&gt; viajes = planificacionService.planear(16.7521, -93.1161, 16.7612, -93.0903, LocalTime.of(7, 30), 2);
+ * Isocrona isocrona = planificacionService.isocrona(16.7521, -93.1161, 20, 1);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see PlanificadorViajes
+ * @see RedTransporte
+ */
+public class PlanificacionService {
+
+    /**
+     * Transbordos máximos aceptados en una consulta.
+     */
+    public static final int MAXIMO_TRANSBORDOS = 5;
+
+    /**
+     * Velocidad en metros por segundo supuesta para rutas sin tiempo promedio en el periodo.
+     */
+    public static final double VELOCIDAD_AUTOBUS = 5.0;
+
+    /**
+     * Minutos máximos aceptados para una isócrona.
+     */
+    public static final int MAXIMO_MINUTOS_ISOCRONA = 90;
+
+    /**
+     * Orígenes o destinos máximos aceptados en una matriz de tiempos.
+     */
+    public static final int MAXIMO_PUNTOS_MATRIZ = 100;
+
+    /**
+     * Minutos máximos de viaje que se calculan en una matriz; los destinos más lejanos quedan sin tiempo.
+     */
+    public static final int MAXIMO_MINUTOS_MATRIZ = 180;
+
+    /**
+     * Isócronas que se conservan en la caché.
+     */
+    private static final int CAPACIDAD_ISOCRONAS = 256;
+
+    private static final double METROS_POR_GRADO = GeoUtil.KM_POR_GRADO * 1000.0;
+
+    private final ReplicaReferencia replicaReferencia;
+    private final ParadaRepository paradaRepository;
+    private final CoordenadaRepository coordenadaRepository;
+    private final CoordenadaParadaRepository coordenadaParadaRepository;
+    private final AlmacenGeometria almacenGeometria;
+    private final IndiceEspacialParadas indiceParadas;
+    private final GrafoTransbordos grafoTransbordos;
+    private volatile RedVigente red;
+    private volatile long version;
+    private final LinkedHashMap<String, IsocronaCalculada> isocronas = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * Constructor que inicializa el servicio con sus dependencias.
+     *
+     * @param replicaReferencia Réplica de referencia, para saber qué recorridos están activos, su ruta, los periodos del día y sus tiempos promedio
+     * @param paradaRepository Repositorio de paradas, para saber cuáles están activas y su recorrido
+     * @param coordenadaRepository Repositorio para la carga inicial del trazado de recorridos
+     * @param coordenadaParadaRepository Repositorio para la carga inicial del índice de paradas
+     * @param almacenGeometria Almacén compartido del trazado de los recorridos
+     * @param indiceParadas Índice espacial compartido de coordenadas de parada
+     * @param grafoTransbordos Grafo compartido de transbordos entre coordenadas de parada
+     */
+    public PlanificacionService(ReplicaReferencia replicaReferencia, ParadaRepository paradaRepository,
+                                CoordenadaRepository coordenadaRepository,
+                                CoordenadaParadaRepository coordenadaParadaRepository,
+                                AlmacenGeometria almacenGeometria, IndiceEspacialParadas indiceParadas,
+                                GrafoTransbordos grafoTransbordos) {
+        this.replicaReferencia = replicaReferencia;
+        this.paradaRepository = paradaRepository;
+        this.coordenadaRepository = coordenadaRepository;
+        this.coordenadaParadaRepository = coordenadaParadaRepository;
+        this.almacenGeometria = almacenGeometria;
+        this.indiceParadas = indiceParadas;
+        this.grafoTransbordos = grafoTransbordos;
+    }
+
+    /**
+     * Planifica los viajes entre dos ubicaciones.
+     *
+     * <p>Devuelve el frente de Pareto entre duración y transbordos: el viaje más rápido con
+     * cada número de transbordos, siempre que sea más rápido que todos los que usan menos.</p>
+     *
+     * @param latOrigen Latitud del origen
+     * @param lonOrigen Longitud del origen
+     * @param latDestino Latitud del destino
+     * @param lonDestino Longitud del destino
+     * @param salida Hora de salida; si es null se usa la hora actual
+     * @param maxTransbordos Transbordos máximos permitidos
+     * @return Viajes ordenados por número de transbordos, vacía si no hay forma de llegar
+     * @throws SQLException Si hay error al consultar la base de datos
+     * @throws IllegalArgumentException Si las coordenadas o los transbordos no son válidos
+     */
+    public List<ViajePlanificado> planear(double latOrigen, double lonOrigen, double latDestino, double lonDestino,
+                                          LocalTime salida, int maxTransbordos) throws SQLException {
+        validarCoordenadas(latOrigen, lonOrigen, "origen");
+        validarCoordenadas(latDestino, lonDestino, "destino");
+        if (maxTransbordos < 0 || maxTransbordos > MAXIMO_TRANSBORDOS) {
+            throw new IllegalArgumentException("Los transbordos deben estar entre 0 y " + MAXIMO_TRANSBORDOS);
+        }
+        LocalTime hora = salida != null ? salida : LocalTime.now().withNano(0);
+
+        RedTransporte actual = asegurarRed();
+        double[] segundosPorMetro = segundosPorMetro(actual, periodoDe(hora));
+        return new PlanificadorViajes(actual, segundosPorMetro)
+                .planear(latOrigen, lonOrigen, latDestino, lonDestino, hora, maxTransbordos);
+    }
+
+    /**
+     * Calcula el área alcanzable desde una ubicación en los minutos indicados.
+     *
+     * <p>El origen se ajusta al centro de su celda de {@value Isocrona#TAMANO_CELDA_METROS}
+     * metros, de modo que las consultas desde la misma celda comparten el resultado en caché.</p>
+     *
+     * @param lat Latitud del origen
+     * @param lon Longitud del origen
+     * @param minutos Minutos de viaje disponibles
+     * @param idPeriodo Periodo cuyos tiempos se usan; si es null, el de la hora actual
+     * @return Isócrona como {@code Feature} GeoJSON
+     * @throws SQLException Si hay error al consultar la base de datos
+     * @throws IllegalArgumentException Si las coordenadas, los minutos o el periodo no son válidos
+     */
+    public Isocrona isocrona(double lat, double lon, int minutos, Integer idPeriodo) throws SQLException {
+        validarCoordenadas(lat, lon, "origen");
+        if (minutos < 1 || minutos > MAXIMO_MINUTOS_ISOCRONA) {
+            throw new IllegalArgumentException("Los minutos deben estar entre 1 y " + MAXIMO_MINUTOS_ISOCRONA);
+        }
+        Periodo periodo;
+        if (idPeriodo != null) {
+            periodo = replicaReferencia.actual().periodo(idPeriodo);
+            if (periodo == null) {
+                throw new IllegalArgumentException("Periodo no encontrado");
+            }
+        } else {
+            periodo = periodoDe(LocalTime.now());
+        }
+
+        long fila = (long) Math.floor(lat * METROS_POR_GRADO / Isocrona.TAMANO_CELDA_METROS);
+        long columna = (long) Math.floor(lon * METROS_POR_GRADO / Isocrona.TAMANO_CELDA_METROS);
+        int id = periodo != null ? periodo.getIdPeriodo() : 0;
+        String clave = fila + ":" + columna + ":" + id + ":" + minutos;
+
+        RedTransporte actual = asegurarRed();
+        double[] segundosPorMetro = segundosPorMetro(actual, periodo);
+        synchronized (isocronas) {
+            IsocronaCalculada guardada = isocronas.get(clave);
+            if (guardada != null && guardada.red == actual && Arrays.equals(guardada.segundosPorMetro, segundosPorMetro)) {
+                return guardada.isocrona;
+            }
+        }
+
+        double latCentro = (fila + 0.5) * Isocrona.TAMANO_CELDA_METROS / METROS_POR_GRADO;
+        double lonCentro = (columna + 0.5) * Isocrona.TAMANO_CELDA_METROS / METROS_POR_GRADO;
+        int presupuesto = minutos * 60;
+        int[] tiempos = new PlanificadorViajes(actual, segundosPorMetro)
+                .tiemposDesde(latCentro, lonCentro, presupuesto, MAXIMO_TRANSBORDOS);
+        Isocrona isocrona = Isocrona.calcular(actual, tiempos, latCentro, lonCentro, presupuesto, id);
+
+        synchronized (isocronas) {
+            isocronas.put(clave, new IsocronaCalculada(actual, segundosPorMetro, isocrona));
+            Iterator<String> it = isocronas.keySet().iterator();
+            while (isocronas.size() > CAPACIDAD_ISOCRONAS && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        return isocrona;
+    }
+
+    /**
+     * Estima el tiempo de viaje entre dos paradas de un mismo recorrido.
+     *
+     * <p>Ambas paradas se toman de la red en memoria, donde ya están proyectadas sobre el
+     * trazado. Si una parada tiene varias coordenadas se usa el par más cercano en el que el
+     * destino queda después del origen.</p>
+     *
+     * @param idParadaOrigen Parada donde se aborda
+     * @param idParadaDestino Parada donde se baja
+     * @param hora Hora del viaje, para elegir el periodo; si es null se usa la hora actual
+     * @return Estimación del viaje, o null si alguna parada no está en un recorrido activo con trazado
+     * @throws SQLException Si hay error al consultar la base de datos
+     * @throws IllegalArgumentException Si los IDs no son válidos, las paradas son de recorridos
+     *         distintos o el destino está antes que el origen
+     */
+    public EstimacionLlegada estimarLlegada(int idParadaOrigen, int idParadaDestino, LocalTime hora)
+            throws SQLException {
+        if (idParadaOrigen <= 0 || idParadaDestino <= 0) {
+            throw new IllegalArgumentException("ID de parada no válido");
+        }
+        if (idParadaOrigen == idParadaDestino) {
+            throw new IllegalArgumentException("Las paradas de origen y destino deben ser distintas");
+        }
+        RedTransporte actual = asegurarRed();
+        int[] origenes = actual.puntosDeParada(idParadaOrigen);
+        int[] destinos = actual.puntosDeParada(idParadaDestino);
+        if (origenes.length == 0 || destinos.length == 0) return null;
+        int linea = actual.lineaDe(origenes[0]);
+        if (actual.lineaDe(destinos[0]) != linea) {
+            throw new IllegalArgumentException("Las paradas no pertenecen al mismo recorrido");
+        }
+
+        double metros = Double.MAX_VALUE;
+        for (int o : origenes) {
+            for (int d : destinos) {
+                double diferencia = actual.avanceMetros(d) - actual.avanceMetros(o);
+                if (d > o && diferencia < metros) metros = diferencia;
+            }
+        }
+        if (metros == Double.MAX_VALUE) {
+            throw new IllegalArgumentException("La parada destino está antes que la de origen en el recorrido");
+        }
+
+        int idRuta = actual.idRuta(linea);
+        Periodo periodo = periodoDe(hora != null ? hora : LocalTime.now());
+        int promedio = periodo != null
+                ? replicaReferencia.actual().tiempos().minutos(idRuta, periodo.getIdPeriodo())
+                : -1;
+        Integer minutos = promedio > 0 ? promedio : null;
+        double longitud = actual.longitudMetros(linea);
+        double fraccion = longitud > 0 ? metros / longitud : 0;
+        double segundos = minutos != null ? minutos * 60.0 * fraccion : metros / VELOCIDAD_AUTOBUS;
+        return new EstimacionLlegada(idParadaOrigen, idParadaDestino, actual.idRecorrido(linea), idRuta,
+                periodo != null ? periodo.getIdPeriodo() : null, minutos, (int) Math.round(metros),
+                Math.round(fraccion * 1000) / 1000.0, (int) Math.round(segundos));
+    }
+
+    /**
+     * Calcula los tiempos de viaje desde varios orígenes hasta varios destinos.
+     *
+     * <p>Se hace una sola búsqueda por rondas por origen, sembrada a la vez desde todas sus
+     * ubicaciones (las coordenadas de la parada, o el punto dado), que da la llegada a todos
+     * los puntos de parada; de ahí cada destino toma el mejor punto de parada a distancia de
+     * caminata, o la caminata directa si es más corta. Las búsquedas de los orígenes se
+     * reparten en el {@link java.util.concurrent.ForkJoinPool#commonPool()}.</p>
+     *
+     * <p>La validación, la carga de la red y la ubicación de los destinos ocurren antes de
+     * devolver el flujo; el flujo entrega cada fila en cuanto termina su origen, así que la
+     * respuesta se puede escribir mientras se calculan las demás. Un origen cuyo cálculo falla
+     * se entrega como fila con {@code error}, sin cortar el flujo. Cerrar el flujo antes de
+     * terminarlo (por ejemplo, si el cliente se desconecta) cancela los orígenes que aún no
+     * empiezan.</p>
+     *
+     * @param origenes Orígenes, cada uno como ubicación o como parada
+     * @param destinos Destinos, cada uno como ubicación o como parada
+     * @param salida Hora de salida, para elegir el periodo; si es null se usa la hora actual
+     * @param maxTransbordos Transbordos máximos permitidos
+     * @return Flujo con una fila por origen, en el orden en que se terminan de calcular; se
+     *         debe cerrar
+     * @throws SQLException Si hay error al consultar la base de datos
+     * @throws IllegalArgumentException Si las listas están vacías o son demasiado grandes, algún
+     *         punto no es válido, alguna parada no está en un recorrido activo o los transbordos
+     *         están fuera de rango
+     */
+    public Stream<FilaMatriz> matrizTiempos(List<PuntoMatriz> origenes, List<PuntoMatriz> destinos,
+                                            LocalTime salida, int maxTransbordos) throws SQLException {
+        validarPuntos(origenes, "orígenes");
+        validarPuntos(destinos, "destinos");
+        if (maxTransbordos < 0 || maxTransbordos > MAXIMO_TRANSBORDOS) {
+            throw new IllegalArgumentException("Los transbordos deben estar entre 0 y " + MAXIMO_TRANSBORDOS);
+        }
+        RedTransporte actual = asegurarRed();
+        Ubicaciones[] desde = new Ubicaciones[origenes.size()];
+        for (int o = 0; o < desde.length; o++) {
+            desde[o] = ubicar(actual, origenes.get(o), "origen");
+        }
+        Ubicaciones[] hasta = new Ubicaciones[destinos.size()];
+        for (int d = 0; d < hasta.length; d++) {
+            hasta[d] = ubicar(actual, destinos.get(d), "destino");
+        }
+        PlanificadorViajes planificador = new PlanificadorViajes(actual,
+                segundosPorMetro(actual, periodoDe(salida != null ? salida : LocalTime.now())));
+
+        AtomicBoolean cancelada = new AtomicBoolean();
+        List<CompletableFuture<FilaMatriz>> pendientes = new ArrayList<>(desde.length);
+        BlockingQueue<CompletableFuture<FilaMatriz>> terminadas = new LinkedBlockingQueue<>();
+        for (int o = 0; o < desde.length; o++) {
+            int origen = o;
+            CompletableFuture<FilaMatriz> fila = CompletableFuture.supplyAsync(() -> {
+                if (cancelada.get()) throw new CancellationException();
+                return filaMatriz(origen, desde[origen], hasta, planificador, maxTransbordos);
+            }).exceptionally(e -> filaFallida(origen, e));
+            fila.whenComplete((resultado, error) -> terminadas.add(fila));
+            pendientes.add(fila);
+        }
+        return IntStream.range(0, desde.length).mapToObj(i -> siguiente(terminadas))
+                .onClose(() -> {
+                    cancelada.set(true);
+                    pendientes.forEach(f -> f.cancel(false));
+                });
+    }
+
+    /**
+     * Descarta la red para que se reconstruya en la siguiente consulta.
+     *
+     * <p>Se registra como oyente del almacén de geometría y del grafo de transbordos.</p>
+     *
+     * @param zona Zona modificada; la red se descarta completa
+     */
+    public void invalidarRed(CajaEnvolvente zona) {
+        synchronized (this) {
+            version++;
+            red = null;
+        }
+    }
+
+    /**
+     * Calcula los segundos por metro de cada línea con los tiempos promedio de un periodo.
+     */
+    private double[] segundosPorMetro(RedTransporte actual, Periodo periodo) throws SQLException {
+        MatrizTiempos tiempos = replicaReferencia.actual().tiempos();
+        double[] resultado = new double[actual.lineas()];
+        for (int r = 0; r < resultado.length; r++) {
+            int minutos = periodo != null ? tiempos.minutos(actual.idRuta(r), periodo.getIdPeriodo()) : -1;
+            double longitud = actual.longitudMetros(r);
+            resultado[r] = minutos > 0 && longitud > 0
+                    ? minutos * 60.0 / longitud
+                    : 1.0 / VELOCIDAD_AUTOBUS;
+        }
+        return resultado;
+    }
+
+    /**
+     * Busca el periodo que contiene una hora, incluidos los que cruzan la medianoche.
+     */
+    private Periodo periodoDe(LocalTime hora) throws SQLException {
+        return replicaReferencia.actual().periodoEn(hora);
+    }
+
+    /**
+     * Obtiene la red vigente, construyéndola si fue descartada o si las tablas Recorrido o
+     * Ruta de la réplica cambiaron desde que se construyó.
+     *
+     * <p>Si llega un aviso de cambio mientras se construye, la red construida responde la
+     * consulta en curso pero no se publica, para no conservar un estado anterior al cambio.</p>
+     *
+     * @throws SQLException Si hay error al leer la base de datos
+     */
+    private RedTransporte asegurarRed() throws SQLException {
+        long versionRecorridos = replicaReferencia.version(TablaReferencia.RECORRIDO);
+        long versionRutas = replicaReferencia.version(TablaReferencia.RUTA);
+        RedVigente vigente = red;
+        if (vigente != null && vigente.versionRecorridos == versionRecorridos && vigente.versionRutas == versionRutas) {
+            return vigente.red;
+        }
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        grafoTransbordos.asegurarCargado(coordenadaParadaRepository::findAll, paradaRepository::findAll);
+        List<Parada> paradas = paradaRepository.findAll();
+        long inicio = version;
+
+        Map<Integer, Integer> rutaPorRecorrido = new HashMap<>();
+        for (Recorrido r : replicaReferencia.actual().recorridosActivos()) {
+            rutaPorRecorrido.put(r.getIdRecorrido(), r.getIdRuta());
+        }
+        Map<Integer, List<CoordenadaParada>> paradasPorRecorrido = new HashMap<>();
+        for (Parada p : paradas) {
+            if (!p.isActivo() || !rutaPorRecorrido.containsKey(p.getIdRecorrido())) continue;
+            paradasPorRecorrido.computeIfAbsent(p.getIdRecorrido(), k -> new ArrayList<>())
+                    .addAll(indiceParadas.coordenadasDeParada(p.getIdParada()));
+        }
+        RedTransporte nueva = new RedTransporte(almacenGeometria.todas(), rutaPorRecorrido, paradasPorRecorrido,
+                grafoTransbordos.getCsr());
+
+        synchronized (this) {
+            if (version == inicio) red = new RedVigente(nueva, versionRecorridos, versionRutas);
+        }
+        return nueva;
+    }
+
+    /**
+     * Red publicada junto con las versiones de las tablas Recorrido y Ruta de las que salió.
+     */
+    private static final class RedVigente {
+        private final RedTransporte red;
+        private final long versionRecorridos;
+        private final long versionRutas;
+
+        private RedVigente(RedTransporte red, long versionRecorridos, long versionRutas) {
+            this.red = red;
+            this.versionRecorridos = versionRecorridos;
+            this.versionRutas = versionRutas;
+        }
+    }
+
+    /**
+     * Isócrona guardada junto con la red y los tiempos con que se calculó.
+     */
+    private static final class IsocronaCalculada {
+        private final RedTransporte red;
+        private final double[] segundosPorMetro;
+        private final Isocrona isocrona;
+
+        private IsocronaCalculada(RedTransporte red, double[] segundosPorMetro, Isocrona isocrona) {
+            this.red = red;
+            this.segundosPorMetro = segundosPorMetro;
+            this.isocrona = isocrona;
+        }
+    }
+
+    /**
+     * Calcula la fila de un origen: una búsqueda desde sus ubicaciones y el mejor acceso a cada destino.
+     */
+    private static FilaMatriz filaMatriz(int origen, Ubicaciones desde, Ubicaciones[] hasta,
+                                         PlanificadorViajes planificador, int maxTransbordos) {
+        int presupuesto = MAXIMO_MINUTOS_MATRIZ * 60;
+        int[] tiempos = planificador.tiemposDesde(desde.lats, desde.lons, presupuesto, maxTransbordos);
+        Integer[] segundos = new Integer[hasta.length];
+        for (int d = 0; d < hasta.length; d++) {
+            Ubicaciones destino = hasta[d];
+            int mejor = Integer.MAX_VALUE;
+            for (int i = 0; i < destino.puntos.length; i++) {
+                int t = tiempos[destino.puntos[i]];
+                if (t >= 0) mejor = Math.min(mejor, t + destino.caminata[i]);
+            }
+            for (int a = 0; a < desde.lats.length; a++) {
+                for (int b = 0; b < destino.lats.length; b++) {
+                    double metros = GeoUtil.distanciaKm(desde.lats[a], desde.lons[a], destino.lats[b], destino.lons[b]) * 1000;
+                    if (metros <= PlanificadorViajes.CAMINATA_DIRECTA_MAXIMA_METROS) {
+                        mejor = Math.min(mejor, RedTransporte.segundosCaminando(metros));
+                    }
+                }
+            }
+            segundos[d] = mejor <= presupuesto ? mejor : null;
+        }
+        return new FilaMatriz(origen, segundos);
+    }
+
+    /**
+     * Convierte el fallo del cálculo de un origen en una fila con error.
+     */
+    private static FilaMatriz filaFallida(int origen, Throwable error) {
+        Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!(causa instanceof CancellationException)) {
+            System.err.println("Error en el origen " + origen + " de la matriz de tiempos: " + causa);
+        }
+        return new FilaMatriz(origen, "No se pudo calcular la fila de este origen");
+    }
+
+    /**
+     * Espera la siguiente fila terminada de una matriz.
+     */
+    private static FilaMatriz siguiente(BlockingQueue<CompletableFuture<FilaMatriz>> terminadas) {
+        try {
+            return terminadas.take().join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cálculo de la matriz interrumpido", e);
+        }
+    }
+
+    /**
+     * Obtiene las ubicaciones de un punto de la matriz y los puntos de parada a los que se
+     * llega caminando desde alguna de ellas, con la menor caminata.
+     */
+    private static Ubicaciones ubicar(RedTransporte red, PuntoMatriz punto, String nombre) {
+        double[] lats;
+        double[] lons;
+        if (punto.getIdParada() != null) {
+            int[] propios = red.puntosDeParada(punto.getIdParada());
+            if (propios.length == 0) {
+                throw new IllegalArgumentException("La parada " + punto.getIdParada() + " no está en un recorrido activo");
+            }
+            lats = new double[propios.length];
+            lons = new double[propios.length];
+            for (int i = 0; i < propios.length; i++) {
+                lats[i] = red.latitud(propios[i]);
+                lons[i] = red.longitud(propios[i]);
+            }
+        } else {
+            if (punto.getLat() == null || punto.getLon() == null) {
+                throw new IllegalArgumentException("Cada " + nombre + " requiere lat y lon o idParada");
+            }
+            validarCoordenadas(punto.getLat(), punto.getLon(), nombre);
+            lats = new double[]{punto.getLat()};
+            lons = new double[]{punto.getLon()};
+        }
+        Map<Integer, Integer> caminata = new HashMap<>();
+        for (int i = 0; i < lats.length; i++) {
+            for (int s : red.cercanas(lats[i], lons[i], PlanificadorViajes.RADIO_ACCESO_METROS)) {
+                double metros = red.metrosHasta(s, lats[i], lons[i]);
+                if (metros > PlanificadorViajes.RADIO_ACCESO_METROS) continue;
+                caminata.merge(s, RedTransporte.segundosCaminando(metros), Math::min);
+            }
+        }
+        int[] puntos = new int[caminata.size()];
+        int[] segundos = new int[caminata.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> e : caminata.entrySet()) {
+            puntos[i] = e.getKey();
+            segundos[i++] = e.getValue();
+        }
+        return new Ubicaciones(lats, lons, puntos, segundos);
+    }
+
+    private static void validarPuntos(List<PuntoMatriz> puntos, String nombre) {
+        if (puntos == null || puntos.isEmpty() || puntos.size() > MAXIMO_PUNTOS_MATRIZ) {
+            throw new IllegalArgumentException("Los " + nombre + " deben ser entre 1 y " + MAXIMO_PUNTOS_MATRIZ);
+        }
+        for (PuntoMatriz p : puntos) {
+            if (p == null) {
+                throw new IllegalArgumentException("Los " + nombre + " no pueden contener puntos nulos");
+            }
+        }
+    }
+
+    /**
+     * Ubicaciones de un origen o destino de la matriz y los puntos de parada a pie desde ellas.
+     */
+    private static final class Ubicaciones {
+        private final double[] lats;
+        private final double[] lons;
+        private final int[] puntos;
+        private final int[] caminata;
+
+        private Ubicaciones(double[] lats, double[] lons, int[] puntos, int[] caminata) {
+            this.lats = lats;
+            this.lons = lons;
+            this.puntos = puntos;
+            this.caminata = caminata;
+        }
+    }
+
+    private static void validarCoordenadas(double latitud, double longitud, String nombre) {
+        if (!(latitud >= -90 && latitud <= 90) || !(longitud >= -180 && longitud <= 180)) {
+            throw new IllegalArgumentException("Coordenadas de " + nombre + " inválidas");
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.wheely.service;
+
+import com.wheely.geo.AlmacenGeometria;
+import com.wheely.geo.PosicionVehiculo;
+import com.wheely.geo.PosicionesEnVivo;
+import com.wheely.repository.CoordenadaRepository;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Servicio de posiciones en vivo de los vehículos del sistema Wheely.
+ *
+ * <p>Recibe lotes de posiciones enviados por los dispositivos GPS de los autobuses y los
+ * guarda en los búferes circulares de {@link PosicionesEnVivo}. Ni la recepción ni la
+ * consulta tocan la base de datos: el recorrido de cada posición se valida contra el
+ * trazado en memoria del {@link AlmacenGeometria}, que solo se lee de MySQL la primera vez.</p>
+ *
+ * <pre>
+ * posicionService.registrarPosiciones(List.of(
+ *     new PosicionVehiculo("ECO-112", 7, 16.7531, -93.1159, System.currentTimeMillis())));
+ * List&lt;PosicionVehiculo&gt; enServicio = posicionService.getVehiculosEnRecorrido(7);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see PosicionesEnVivo
+ * @see PosicionVehiculo
+ */
+public class PosicionService {
+
+    /**
+     * Posiciones máximas aceptadas en un lote.
+     */
+    public static final int MAXIMO_POSICIONES_POR_LOTE = 5000;
+
+    /**
+     * Antigüedad máxima, en milisegundos, de la última posición de un vehículo en servicio.
+     */
+    public static final long MAXIMA_ANTIGUEDAD_MS = 5 * 60 * 1000L;
+
+    /**
+     * Adelanto máximo, en milisegundos, que se tolera en la marca de tiempo de un dispositivo.
+     */
+    public static final long MAXIMO_ADELANTO_MS = 60 * 1000L;
+
+    private static final int MAXIMO_LARGO_ID_VEHICULO = 32;
+
+    private final CoordenadaRepository coordenadaRepository;
+    private final AlmacenGeometria almacenGeometria;
+    private final PosicionesEnVivo posicionesEnVivo;
+
+    /**
+     * Constructor que inicializa el servicio con sus dependencias.
+     *
+     * @param coordenadaRepository Repositorio para la carga inicial del trazado de recorridos
+     * @param almacenGeometria Almacén compartido del trazado de recorridos
+     * @param posicionesEnVivo Búferes compartidos de posiciones por recorrido
+     */
+    public PosicionService(CoordenadaRepository coordenadaRepository, AlmacenGeometria almacenGeometria,
+                           PosicionesEnVivo posicionesEnVivo) {
+        this.coordenadaRepository = coordenadaRepository;
+        this.almacenGeometria = almacenGeometria;
+        this.posicionesEnVivo = posicionesEnVivo;
+    }
+
+    /**
+     * Registra un lote de posiciones.
+     *
+     * <p>El lote se valida completo antes de guardar nada: si una posición es inválida no se
+     * registra ninguna.</p>
+     *
+     * @param posiciones Posiciones reportadas, hasta {@value #MAXIMO_POSICIONES_POR_LOTE}
+     * @return Número de posiciones registradas
+     * @throws SQLException Si hay error en la carga inicial del trazado
+     * @throws IllegalArgumentException Si el lote está vacío, es demasiado grande o alguna posición es inválida
+     */
+    public int registrarPosiciones(List<PosicionVehiculo> posiciones) throws SQLException {
+        if (posiciones == null || posiciones.isEmpty()) {
+            throw new IllegalArgumentException("El lote de posiciones está vacío");
+        }
+        if (posiciones.size() > MAXIMO_POSICIONES_POR_LOTE) {
+            throw new IllegalArgumentException("El lote no puede tener más de " + MAXIMO_POSICIONES_POR_LOTE + " posiciones");
+        }
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        long limite = System.currentTimeMillis() + MAXIMO_ADELANTO_MS;
+        for (int i = 0; i < posiciones.size(); i++) {
+            validarPosicion(i, posiciones.get(i), limite);
+        }
+        for (PosicionVehiculo p : posiciones) {
+            posicionesEnVivo.registrar(p);
+        }
+        return posiciones.size();
+    }
+
+    /**
+     * Obtiene la última posición de cada vehículo en servicio en un recorrido.
+     *
+     * <p>Se considera en servicio un vehículo que reportó en el recorrido durante los
+     * últimos {@value #MAXIMA_ANTIGUEDAD_MS} ms.</p>
+     *
+     * @param idRecorrido ID del recorrido
+     * @return Una posición por vehículo, de la más reciente a la más antigua
+     * @throws IllegalArgumentException Si el ID de recorrido no es válido
+     */
+    public List<PosicionVehiculo> getVehiculosEnRecorrido(int idRecorrido) {
+        if (idRecorrido <= 0) {
+            throw new IllegalArgumentException("ID de recorrido no válido");
+        }
+        return posicionesEnVivo.vehiculosEn(idRecorrido, System.currentTimeMillis() - MAXIMA_ANTIGUEDAD_MS);
+    }
+
+    /**
+     * Valida una posición del lote.
+     */
+    private void validarPosicion(int i, PosicionVehiculo p, long limite) {
+        if (p == null) {
+            throw new IllegalArgumentException("La posición " + i + " es nula");
+        }
+        if (p.getIdVehiculo() == null || p.getIdVehiculo().isBlank() || p.getIdVehiculo().length() > MAXIMO_LARGO_ID_VEHICULO) {
+            throw new IllegalArgumentException("La posición " + i + " tiene un ID de vehículo inválido");
+        }
+        if (!(p.getLatitud() >= -90 && p.getLatitud() <= 90 && p.getLongitud() >= -180 && p.getLongitud() <= 180)) {
+            throw new IllegalArgumentException("La posición " + i + " tiene coordenadas fuera de rango");
+        }
+        if (p.getMarcaTiempo() > limite) {
+            throw new IllegalArgumentException("La posición " + i + " tiene una marca de tiempo futura");
+        }
+        if (almacenGeometria.obtener(p.getIdRecorrido()).size() == 0) {
+            throw new IllegalArgumentException("La posición " + i + " es de un recorrido sin trazado: " + p.getIdRecorrido());
+        }
+    }
+}
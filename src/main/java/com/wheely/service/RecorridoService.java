@@ -1,6 +1,12 @@
 package com.wheely.service;
 
+import com.wheely.cache.ReplicaReferencia;
+import com.wheely.geo.AlmacenGeometria;
+import com.wheely.geo.GeometriaRecorrido;
+import com.wheely.geo.RecorridoCercano;
+import com.wheely.geo.RecorridosCercanos;
 import com.wheely.model.Recorrido;
+import com.wheely.repository.CoordenadaRepository;
 import com.wheely.repository.RecorridoRepository;
 import com.wheely.repository.RutaRepository;
 
@@ -23,6 +29,17 @@ import java.util.List;
  * <li>Búsqueda por nombre de archivo GeoJSON</li>
  * </ul>
  *
+ * <p>Los recorridos consultados incluyen su longitud en metros, tomada de las distancias
+ * acumuladas del {@link AlmacenGeometria} compartido.</p>
+ *
+ * <p>Cada alta, modificación, baja o cambio de estado recarga la tabla en la
+ * {@link ReplicaReferencia}, de la que se responden todas las consultas y de la que
+ * {@link RecorridosCercanos} toma los recorridos activos.</p>
+ *
+ * <p>Borrar un recorrido borra en cascada sus coordenadas y sus paradas: la baja quita
+ * también su trazado del {@link AlmacenGeometria} y las paradas caídas de los índices
+ * espaciales, a través de {@link ParadaService#descartarParadasEliminadas()}.</p>
+ *
  * @author Beebop
  * @version 1.0.0
  * @since 2025
@@ -32,16 +49,40 @@ import java.util.List;
  * @see com.wheely.model.Ruta
  */
 public class RecorridoService {
+
+    /**
+     * Radio máximo, en metros, de la búsqueda de recorridos cercanos a un punto.
+     */
+    public static final double MAXIMO_RADIO_METROS = 2000;
+
     private final RecorridoRepository recorridoRepository;
+    private final CoordenadaRepository coordenadaRepository;
+    private final AlmacenGeometria almacenGeometria;
+    private final RecorridosCercanos recorridosCercanos;
+    private final ReplicaReferencia replicaReferencia;
+    private final ParadaService paradaService;
 
     /**
      * Constructor que inicializa el servicio con sus dependencias.
      *
      * @param recorridoRepository Repositorio principal para operaciones de recorridos
      * @param rutaRepository Repositorio de rutas para validaciones de integridad
+     * @param coordenadaRepository Repositorio para la carga inicial del trazado de recorridos
+     * @param almacenGeometria Almacén compartido del trazado de los recorridos
+     * @param recorridosCercanos Búsqueda compartida de recorridos activos cercanos a un punto
+     * @param replicaReferencia Réplica compartida de las tablas de referencia
+     * @param paradaService Servicio de paradas, que descarta las que caen con una baja en cascada
      */
-    public RecorridoService(RecorridoRepository recorridoRepository, RutaRepository rutaRepository) {
+    public RecorridoService(RecorridoRepository recorridoRepository, RutaRepository rutaRepository,
+                            CoordenadaRepository coordenadaRepository, AlmacenGeometria almacenGeometria,
+                            RecorridosCercanos recorridosCercanos, ReplicaReferencia replicaReferencia,
+                            ParadaService paradaService) {
         this.recorridoRepository = recorridoRepository;
+        this.coordenadaRepository = coordenadaRepository;
+        this.almacenGeometria = almacenGeometria;
+        this.recorridosCercanos = recorridosCercanos;
+        this.replicaReferencia = replicaReferencia;
+        this.paradaService = paradaService;
     }
 
     /**
@@ -55,7 +96,7 @@ public class RecorridoService {
      * @throws SQLException Si hay error en la consulta a base de datos
      */
     public List<Recorrido> getAllRecorridos() throws SQLException {
-        return recorridoRepository.findAll();
+        return conLongitud(replicaReferencia.actual().recorridos());
     }
 
     /**
@@ -66,7 +107,9 @@ public class RecorridoService {
      * @throws SQLException Si hay error en la consulta a base de datos
      */
     public Recorrido getRecorridoById(int id) throws SQLException {
-        return recorridoRepository.findById(id);
+        Recorrido recorrido = replicaReferencia.actual().recorrido(id);
+        if (recorrido != null) conLongitud(List.of(recorrido));
+        return recorrido;
     }
 
     /**
@@ -101,7 +144,12 @@ public class RecorridoService {
      */
     public int createRecorrido(Recorrido recorrido) throws SQLException {
         validateRecorrido(recorrido);
-        return recorridoRepository.save(recorrido);
+        int id = recorridoRepository.save(recorrido);
+        if (id > 0) {
+            recorrido.setIdRecorrido(id);
+            replicaReferencia.recargarRecorridos();
+        }
+        return id;
     }
 
     /**
@@ -119,7 +167,11 @@ public class RecorridoService {
      */
     public boolean updateRecorrido(Recorrido recorrido) throws SQLException {
         validateRecorrido(recorrido);
-        return recorridoRepository.update(recorrido);
+        boolean actualizado = recorridoRepository.update(recorrido);
+        if (actualizado) {
+            replicaReferencia.recargarRecorridos();
+        }
+        return actualizado;
     }
 
     /**
@@ -134,7 +186,13 @@ public class RecorridoService {
      * @throws SQLException Si hay error en la operación de base de datos
      */
     public boolean deleteRecorrido(int id) throws SQLException {
-        return recorridoRepository.delete(id);
+        boolean eliminado = recorridoRepository.delete(id);
+        if (eliminado) {
+            replicaReferencia.recargarRecorridos();
+            almacenGeometria.eliminarRecorrido(id);
+            paradaService.descartarParadasEliminadas();
+        }
+        return eliminado;
     }
 
     /**
@@ -158,7 +216,7 @@ public class RecorridoService {
      * @throws SQLException Si hay error en la consulta
      */
     public List<Recorrido> getRecorridosByRuta(int rutaId) throws SQLException {
-        return recorridoRepository.findByRuta(rutaId);
+        return conLongitud(replicaReferencia.actual().recorridosDeRuta(rutaId));
     }
 
     /**
@@ -178,9 +236,13 @@ public class RecorridoService {
      * @param nombreArchivo Nombre o parte del nombre del archivo GeoJSON a buscar
      * @return Lista de recorridos que coinciden con el criterio de búsqueda
      * @throws SQLException Si hay error en la consulta
+     * @throws IllegalArgumentException Si el nombre es nulo o vacío
      */
     public List<Recorrido> buscarRecorridosPorArchivo(String nombreArchivo) throws SQLException {
-        return recorridoRepository.findByNombreArchivo(nombreArchivo);
+        if (nombreArchivo == null || nombreArchivo.trim().isEmpty()) {
+            throw new IllegalArgumentException("El nombre de archivo a buscar no puede ser nulo o vacío");
+        }
+        return conLongitud(replicaReferencia.actual().recorridosPorArchivo(nombreArchivo));
     }
 
     /**
@@ -208,7 +270,43 @@ public class RecorridoService {
      * @throws SQLException Si hay error en la operación de base de datos
      */
     public boolean updateEstadoRecorrido(int idRecorrido, boolean activo) throws SQLException {
-        return recorridoRepository.updateEstado(idRecorrido, activo);
+        boolean actualizado = recorridoRepository.updateEstado(idRecorrido, activo);
+        if (actualizado) {
+            replicaReferencia.recargarRecorridos();
+        }
+        return actualizado;
+    }
+
+    /**
+     * Obtiene los recorridos activos que pasan cerca de un punto.
+     *
+     * <p>La distancia se mide contra el trazado completo, incluidos los tramos entre
+     * coordenadas registradas, y cada recorrido aparece una vez con su punto más cercano y
+     * el rumbo del autobús en ese punto. Los recorridos de ida y de vuelta de una ruta
+     * aparecen por separado, cada uno con su sentido.</p>
+     *
+     * <p>Ejemplo de uso:</p>
+     * <pre>
+     * List&lt;RecorridoCercano&gt; pasan = recorridoService.getRecorridosCercanos(16.7531, -93.1159, 300);
+     * </pre>
+     *
+     * @param latitud Latitud del punto (-90 a 90)
+     * @param longitud Longitud del punto (-180 a 180)
+     * @param radioMetros Distancia máxima al trazado, de 1 a {@value #MAXIMO_RADIO_METROS} metros
+     * @return Recorridos cercanos, del más cercano al más lejano
+     * @throws SQLException Si hay error en la carga inicial del trazado o de los recorridos
+     * @throws IllegalArgumentException Si las coordenadas o el radio son inválidos
+     * @see RecorridosCercanos#buscar(double, double, double)
+     */
+    public List<RecorridoCercano> getRecorridosCercanos(double latitud, double longitud, double radioMetros) throws SQLException {
+        if (latitud < -90 || latitud > 90 || longitud < -180 || longitud > 180) {
+            throw new IllegalArgumentException("Coordenadas fuera de rango");
+        }
+        if (!(radioMetros >= 1 && radioMetros <= MAXIMO_RADIO_METROS)) {
+            throw new IllegalArgumentException("El radio debe estar entre 1 y " + (int) MAXIMO_RADIO_METROS + " metros");
+        }
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        return recorridosCercanos.buscar(latitud, longitud, radioMetros);
     }
 
     /**
@@ -230,4 +328,20 @@ public class RecorridoService {
             throw new IllegalArgumentException("Archivo GeoJSON es requerido");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Completa la longitud de cada recorrido a partir de su trazado en memoria.
+     *
+     * @param recorridos Recorridos leídos de la base de datos
+     * @return La misma lista, con {@code longitudMetros} asignada
+     * @throws SQLException Si hay error en la carga inicial del trazado
+     */
+    private List<Recorrido> conLongitud(List<Recorrido> recorridos) throws SQLException {
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        for (Recorrido r : recorridos) {
+            GeometriaRecorrido g = almacenGeometria.obtener(r.getIdRecorrido());
+            r.setLongitudMetros(g.size() > 0 ? g.getLongitudMetros() : null);
+        }
+        return recorridos;
+    }
+}
@@ -1,9 +1,10 @@
 package com.wheely.service;
 
+import com.wheely.busqueda.Autocompletado;
+import com.wheely.cache.ReplicaReferencia;
 import com.wheely.model.RutaFavorita;
 import com.wheely.repository.RutaFavoritaRepository;
 import com.wheely.repository.UsuarioRepository;
-import com.wheely.repository.RutaRepository;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -23,32 +24,39 @@ import java.util.List;
  * <li>Control de unicidad en relaciones de favoritos</li>
  * </ul>
  *
+ * <p>Cada alta y baja actualiza la popularidad que usa el {@link Autocompletado}. La
+ * existencia de la ruta se valida contra la {@link ReplicaReferencia} en memoria.</p>
+ *
  * @author Beebop
  * @version 1.0.0
  * @since 2025
  * @see RutaFavorita
  * @see RutaFavoritaRepository
  * @see UsuarioRepository
- * @see RutaRepository
+ * @see ReplicaReferencia
  */
 public class RutaFavoritaService {
     private final RutaFavoritaRepository rutaFavoritaRepository;
     private final UsuarioRepository usuarioRepository;
-    private final RutaRepository rutaRepository;
+    private final ReplicaReferencia replicaReferencia;
+    private final Autocompletado autocompletado;
 
     /**
      * Constructor que inicializa el servicio con sus dependencias.
      *
      * @param rutaFavoritaRepository Repositorio principal para operaciones de rutas favoritas
      * @param usuarioRepository Repositorio de usuarios para validaciones de integridad
-     * @param rutaRepository Repositorio de rutas para validaciones de integridad
+     * @param replicaReferencia Réplica de rutas para validaciones de integridad
+     * @param autocompletado Autocompletado compartido cuya popularidad depende de los favoritos
      */
     public RutaFavoritaService(RutaFavoritaRepository rutaFavoritaRepository,
                                UsuarioRepository usuarioRepository,
-                               RutaRepository rutaRepository) {
+                               ReplicaReferencia replicaReferencia,
+                               Autocompletado autocompletado) {
         this.rutaFavoritaRepository = rutaFavoritaRepository;
         this.usuarioRepository = usuarioRepository;
-        this.rutaRepository = rutaRepository;
+        this.replicaReferencia = replicaReferencia;
+        this.autocompletado = autocompletado;
     }
 
     /**
@@ -151,7 +159,9 @@ public class RutaFavoritaService {
             throw new IllegalArgumentException("La ruta ya está en favoritos");
         }
 
-        return rutaFavoritaRepository.save(rutaFavorita);
+        int id = rutaFavoritaRepository.save(rutaFavorita);
+        autocompletado.cambiarFavoritos(rutaFavorita.getIdRuta(), 1);
+        return id;
     }
 
     /**
@@ -175,7 +185,11 @@ public class RutaFavoritaService {
      * @throws SQLException Si hay error en la operación de base de datos
      */
     public boolean deleteRutaFavorita(int usuarioId, int rutaId) throws SQLException {
-        return rutaFavoritaRepository.deleteByUsuarioAndRuta(usuarioId, rutaId);
+        boolean eliminada = rutaFavoritaRepository.deleteByUsuarioAndRuta(usuarioId, rutaId);
+        if (eliminada) {
+            autocompletado.cambiarFavoritos(rutaId, -1);
+        }
+        return eliminada;
     }
 
     /**
@@ -223,7 +237,7 @@ public class RutaFavoritaService {
         if (usuarioRepository.findById(rutaFavorita.getIdUsuario()) == null) {
             throw new IllegalArgumentException("Usuario no encontrado");
         }
-        if (rutaRepository.findById(rutaFavorita.getIdRuta()) == null) {
+        if (!replicaReferencia.actual().existeRuta(rutaFavorita.getIdRuta())) {
             throw new IllegalArgumentException("Ruta no encontrada");
         }
     }
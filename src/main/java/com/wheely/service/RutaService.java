@@ -1,5 +1,9 @@
 package com.wheely.service;
 
+import com.wheely.busqueda.IndiceRutas;
+import com.wheely.cache.ReplicaReferencia;
+import com.wheely.geo.AlmacenGeometria;
+import com.wheely.model.Recorrido;
 import com.wheely.model.Ruta;
 import com.wheely.repository.RutaRepository;
 
@@ -27,6 +31,18 @@ import java.util.List;
  * las responsabilidades de acceso a datos (repositorio) de la lógica de negocio (servicio).
  * Actualizado para nueva estructura sin tiempo_promedio.</p>
  *
+ * <p>Las búsquedas por nombre, origen y destino se responden desde un {@link IndiceRutas}
+ * en memoria, que se carga con la primera búsqueda y se mantiene al día con cada alta,
+ * modificación y baja hecha a través de este servicio.</p>
+ *
+ * <p>Las consultas por ID y el listado completo se responden desde la {@link ReplicaReferencia}
+ * en memoria, que se recarga tras cada escritura; la unicidad del nombre se sigue comprobando
+ * en la base de datos.</p>
+ *
+ * <p>Borrar una ruta borra en cascada sus recorridos, con sus coordenadas y paradas: la baja
+ * quita sus trazados del {@link AlmacenGeometria} y las paradas caídas de los índices
+ * espaciales, igual que la baja de un recorrido.</p>
+ *
  * @author Beebop
  * @version 1.0.0
  * @since 2025
@@ -42,6 +58,26 @@ public class RutaService {
      */
     private final RutaRepository rutaRepository;
 
+    /**
+     * Índice de trigramas que responde las búsquedas de texto sin consultar la base de datos.
+     */
+    private final IndiceRutas indiceRutas;
+
+    /**
+     * Réplica en memoria de las tablas de referencia, de la que se leen las rutas.
+     */
+    private final ReplicaReferencia replicaReferencia;
+
+    /**
+     * Almacén del trazado de los recorridos, del que se quitan los que caen con una baja.
+     */
+    private final AlmacenGeometria almacenGeometria;
+
+    /**
+     * Servicio de paradas, que descarta de los índices espaciales las que caen con una baja.
+     */
+    private final ParadaService paradaService;
+
     /**
      * <p>Constructor que inicializa el servicio de rutas con su repositorio correspondiente.</p>
      *
@@ -51,16 +87,26 @@ public class RutaService {
      *
      * @param rutaRepository Instancia del repositorio de rutas previamente configurado.
      *                       No debe ser {@code null}.
+     * @param indiceRutas Índice de búsqueda compartido de rutas.
+     * @param replicaReferencia Réplica compartida de las tablas de referencia.
+     * @param almacenGeometria Almacén compartido del trazado de los recorridos.
+     * @param paradaService Servicio de paradas compartido con los recorridos.
      * @see com.wheely.di.AppModule#initRutas()
      *
      * <pre>
      * // Ejemplo de inicialización en AppModule
      * RutaRepository rutaRepository = new RutaRepository();
-     * RutaService rutaService = new RutaService(rutaRepository);
+     * RutaService rutaService = new RutaService(rutaRepository, new IndiceRutas(), replicaReferencia,
+     *         almacenGeometria, paradaService);
      * </pre>
      */
-    public RutaService(RutaRepository rutaRepository) {
+    public RutaService(RutaRepository rutaRepository, IndiceRutas indiceRutas, ReplicaReferencia replicaReferencia,
+                       AlmacenGeometria almacenGeometria, ParadaService paradaService) {
         this.rutaRepository = rutaRepository;
+        this.indiceRutas = indiceRutas;
+        this.replicaReferencia = replicaReferencia;
+        this.almacenGeometria = almacenGeometria;
+        this.paradaService = paradaService;
     }
 
     /**
@@ -103,7 +149,7 @@ public class RutaService {
      * </pre>
      */
     public List<Ruta> getAllRutas() throws SQLException {
-        return rutaRepository.findAll();
+        return replicaReferencia.actual().rutas();
     }
 
     /**
@@ -148,7 +194,7 @@ public class RutaService {
      * </pre>
      */
     public Ruta getRutaById(int id) throws SQLException {
-        return rutaRepository.findById(id);
+        return replicaReferencia.actual().ruta(id);
     }
 
     /**
@@ -205,7 +251,12 @@ public class RutaService {
             throw new IllegalArgumentException("Ya existe una ruta con ese nombre");
         }
 
-        return rutaRepository.save(ruta);
+        int id = rutaRepository.save(ruta);
+        if (id > 0) {
+            replicaReferencia.recargarRutas();
+            indiceRutas.guardar(new Ruta(id, ruta.getNombreRuta(), ruta.getOrigen(), ruta.getDestino()));
+        }
+        return id;
     }
 
     /**
@@ -265,8 +316,7 @@ public class RutaService {
         validateRuta(ruta);
 
         // Verificar que la ruta existe
-        Ruta existente = rutaRepository.findById(ruta.getIdRuta());
-        if (existente == null) {
+        if (!replicaReferencia.actual().existeRuta(ruta.getIdRuta())) {
             throw new IllegalArgumentException("Ruta no encontrada");
         }
 
@@ -275,7 +325,12 @@ public class RutaService {
             throw new IllegalArgumentException("Ya existe otra ruta con ese nombre");
         }
 
-        return rutaRepository.update(ruta);
+        boolean actualizada = rutaRepository.update(ruta);
+        if (actualizada) {
+            replicaReferencia.recargarRutas();
+            indiceRutas.guardar(ruta);
+        }
+        return actualizada;
     }
 
     /**
@@ -327,12 +382,23 @@ public class RutaService {
      * </pre>
      */
     public boolean deleteRuta(int id) throws SQLException {
-        Ruta ruta = rutaRepository.findById(id);
-        if (ruta == null) {
+        if (!replicaReferencia.actual().existeRuta(id)) {
             throw new IllegalArgumentException("Ruta no encontrada");
         }
 
-        return rutaRepository.delete(id);
+        List<Recorrido> recorridos = replicaReferencia.actual().recorridosDeRuta(id);
+        boolean eliminada = rutaRepository.delete(id);
+        if (eliminada) {
+            replicaReferencia.recargarRutas();
+            replicaReferencia.recargarRecorridos();
+            replicaReferencia.recargarTiempos();
+            indiceRutas.eliminar(id);
+            for (Recorrido r : recorridos) {
+                almacenGeometria.eliminarRecorrido(r.getIdRecorrido());
+            }
+            paradaService.descartarParadasEliminadas();
+        }
+        return eliminada;
     }
 
     /**
@@ -350,8 +416,8 @@ public class RutaService {
      * @param nombre Término de búsqueda que puede ser parte del nombre de la ruta.
      *               No distingue entre mayúsculas y minúsculas.
      *               No puede ser {@code null} o vacío.
-     * @return Lista de rutas que contienen el término buscado en su nombre,
-     *         ordenada alfabéticamente para facilitar la selección.
+     * @return Lista de rutas cuyo nombre contiene el término buscado o se le parece,
+     *         de mayor a menor coincidencia.
      * @throws SQLException Si hay problemas de conectividad o ejecución de consulta.
      * @throws IllegalArgumentException Si el nombre de búsqueda es {@code null} o vacío.
      * @see #searchByOrigen(String)
@@ -382,7 +448,8 @@ public class RutaService {
         if (nombre == null || nombre.trim().isEmpty()) {
             throw new IllegalArgumentException("El nombre de búsqueda no puede estar vacío");
         }
-        return rutaRepository.findByOrigen(nombre.trim());
+        indiceRutas.asegurarCargado(() -> replicaReferencia.actual().rutas());
+        return indiceRutas.buscar(nombre, IndiceRutas.NOMBRE);
     }
 
     /**
@@ -399,7 +466,7 @@ public class RutaService {
      *               Acepta nombres parciales de lugares, colonias o puntos de referencia.
      *               No puede ser {@code null} o vacío.
      * @return Lista de rutas que incluyen el origen especificado,
-     *         ordenada por nombre para facilitar comparación de opciones.
+     *         de mayor a menor coincidencia.
      * @throws SQLException Si hay errores de conectividad o consulta de base de datos.
      * @throws IllegalArgumentException Si el origen es {@code null} o vacío.
      * @see #searchByNombre(String)
@@ -424,7 +491,8 @@ public class RutaService {
         if (origen == null || origen.trim().isEmpty()) {
             throw new IllegalArgumentException("El origen de búsqueda no puede estar vacío");
         }
-        return rutaRepository.findByOrigen(origen.trim());
+        indiceRutas.asegurarCargado(() -> replicaReferencia.actual().rutas());
+        return indiceRutas.buscar(origen, IndiceRutas.ORIGEN);
     }
 
     /**
@@ -442,15 +510,15 @@ public class RutaService {
      *   <li>Coincidencias parciales en ambos campos usando contenido de cadenas</li>
      * </ul>
      *
-     * <p>La búsqueda es case-insensitive y utiliza filtrado en memoria para mayor flexibilidad
-     * en las coincidencias parciales.</p>
+     * <p>La búsqueda ignora mayúsculas y acentos y se resuelve en el índice de trigramas, que
+     * tolera errores de escritura y ordena las rutas de mayor a menor coincidencia.</p>
      *
      * @param origen Punto de partida o ubicación de origen. Puede ser {@code null} o vacío
      *               para buscar solo por destino.
      * @param destino Punto de llegada o destino final. Puede ser {@code null} o vacío
      *                para buscar solo por origen.
-     * @return Lista filtrada de rutas que coinciden con los criterios especificados.
-     *         Si ambos parámetros son null o vacíos, retorna todas las rutas.
+     * @return Lista de rutas que coinciden con los criterios especificados, de mayor a menor
+     *         coincidencia. Si ambos parámetros son null o vacíos, retorna todas las rutas.
      * @throws SQLException Si hay problemas de conectividad con la base de datos
      *                      o errores durante la consulta.
      * @see #searchByOrigen(String)
@@ -479,12 +547,32 @@ public class RutaService {
      * </pre>
      */
     public List<Ruta> buscarRutasPorOrigenDestino(String origen, String destino) throws SQLException {
-        return getAllRutas().stream()
-                .filter(ruta -> (origen == null || origen.trim().isEmpty() ||
-                        ruta.getOrigen().toLowerCase().contains(origen.toLowerCase())) &&
-                        (destino == null || destino.trim().isEmpty() ||
-                                ruta.getDestino().toLowerCase().contains(destino.toLowerCase())))
-                .collect(java.util.stream.Collectors.toList());
+        indiceRutas.asegurarCargado(() -> replicaReferencia.actual().rutas());
+        return indiceRutas.buscar(origen, destino);
+    }
+
+    /**
+     * <p>Busca rutas por un texto libre en su nombre, origen o destino.</p>
+     *
+     * <p>Cada ruta se califica con el campo que mejor coincide, de modo que "teran" encuentra
+     * tanto la "Ruta Terán" como las que salen de o llegan a Terán.</p>
+     *
+     * @param texto Texto buscado. No puede ser {@code null} o vacío.
+     * @return Lista de rutas coincidentes, de mayor a menor coincidencia.
+     * @throws SQLException Si hay problemas en la carga inicial del índice.
+     * @throws IllegalArgumentException Si el texto es {@code null} o vacío.
+     * @see #buscarRutasPorOrigenDestino(String, String)
+     *
+     * <pre>
+     * List&lt;Ruta&gt; rutas = rutaService.buscarRutas("plan de ayala");
+     * </pre>
+     */
+    public List<Ruta> buscarRutas(String texto) throws SQLException {
+        if (texto == null || texto.trim().isEmpty()) {
+            throw new IllegalArgumentException("El texto de búsqueda no puede estar vacío");
+        }
+        indiceRutas.asegurarCargado(() -> replicaReferencia.actual().rutas());
+        return indiceRutas.buscar(texto, IndiceRutas.CUALQUIERA);
     }
 
     /**
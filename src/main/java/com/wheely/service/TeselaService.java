@@ -0,0 +1,80 @@
+package com.wheely.service;
+
+import com.wheely.cache.CacheTeselas;
+import com.wheely.geo.AlmacenGeometria;
+import com.wheely.geo.GeneradorTeselas;
+import com.wheely.geo.IndiceEspacialParadas;
+import com.wheely.geo.Tesela;
+import com.wheely.repository.CoordenadaParadaRepository;
+import com.wheely.repository.CoordenadaRepository;
+
+import java.sql.SQLException;
+
+/**
+ * Servicio de teselas vectoriales del mapa del sistema Wheely.
+ *
+ * <p>Entrega teselas en formato Mapbox Vector Tile con los recorridos y paradas, de modo
+ * que el mapa web solo descarga la geometría visible en lugar de las tablas completas de
+ * coordenadas. Las teselas se generan a partir de las estructuras en memoria y se guardan
+ * en una {@link CacheTeselas} que se invalida por zona cuando cambia la geometría.</p>
+ *
+ * <pre>
+ * byte[] mvt = teselaService.getTesela(14, 3859, 7524);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see GeneradorTeselas
+ * @see CacheTeselas
+ */
+public class TeselaService {
+    private final CoordenadaRepository coordenadaRepository;
+    private final CoordenadaParadaRepository coordenadaParadaRepository;
+    private final AlmacenGeometria almacenGeometria;
+    private final IndiceEspacialParadas indiceParadas;
+    private final CacheTeselas cacheTeselas;
+    private final GeneradorTeselas generador;
+
+    /**
+     * Constructor que inicializa el servicio con sus dependencias.
+     *
+     * @param coordenadaRepository Repositorio para la carga inicial del trazado de recorridos
+     * @param coordenadaParadaRepository Repositorio para la carga inicial de coordenadas de parada
+     * @param almacenGeometria Almacén compartido del trazado de los recorridos
+     * @param indiceParadas Índice espacial compartido de coordenadas de parada
+     * @param cacheTeselas Caché compartida de teselas generadas
+     */
+    public TeselaService(CoordenadaRepository coordenadaRepository, CoordenadaParadaRepository coordenadaParadaRepository,
+                         AlmacenGeometria almacenGeometria, IndiceEspacialParadas indiceParadas, CacheTeselas cacheTeselas) {
+        this.coordenadaRepository = coordenadaRepository;
+        this.coordenadaParadaRepository = coordenadaParadaRepository;
+        this.almacenGeometria = almacenGeometria;
+        this.indiceParadas = indiceParadas;
+        this.cacheTeselas = cacheTeselas;
+        this.generador = new GeneradorTeselas(almacenGeometria, indiceParadas);
+    }
+
+    /**
+     * Obtiene una tesela vectorial, generándola solo si no está en caché.
+     *
+     * @param z Nivel de zoom
+     * @param x Columna de la tesela
+     * @param y Fila de la tesela
+     * @return Bytes de la tesela; arreglo vacío si no contiene geometría
+     * @throws SQLException Si hay error en la carga inicial de la geometría
+     * @throws IllegalArgumentException Si la tesela está fuera de rango
+     */
+    public byte[] getTesela(int z, int x, int y) throws SQLException {
+        Tesela tesela = new Tesela(z, x, y);
+        byte[] datos = cacheTeselas.obtener(tesela);
+        if (datos != null) return datos;
+
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        indiceParadas.asegurarCargado(coordenadaParadaRepository::findAll);
+        long version = cacheTeselas.getVersion();
+        datos = generador.generar(tesela);
+        cacheTeselas.guardar(tesela, datos, version);
+        return datos;
+    }
+}
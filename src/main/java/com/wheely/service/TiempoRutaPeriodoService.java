@@ -1,11 +1,11 @@
 package com.wheely.service;
 
+import com.wheely.cache.ReplicaReferencia;
 import com.wheely.model.TiempoRutaPeriodo;
 import com.wheely.repository.TiempoRutaPeriodoRepository;
-import com.wheely.repository.RutaRepository;
-import com.wheely.repository.PeriodoRepository;
 
 import java.sql.SQLException;
+import java.time.LocalTime;
 import java.util.List;
 
 /**
@@ -24,32 +24,32 @@ import java.util.List;
  * <li>Análisis de patrones temporales de tráfico</li>
  * </ul>
  *
+ * <p>Las consultas se responden desde la {@link com.wheely.cache.MatrizTiempos} de la
+ * {@link ReplicaReferencia}, sin consultar la base de datos, y las rutas y periodos
+ * referenciados se validan contra la misma réplica. Cada alta o modificación se aplica
+ * a la matriz en cuanto se guarda.</p>
+ *
  * @author Beebop
  * @version 1.0.0
  * @since 2025
  * @see TiempoRutaPeriodo
  * @see TiempoRutaPeriodoRepository
- * @see RutaRepository
- * @see PeriodoRepository
+ * @see ReplicaReferencia
  */
 public class TiempoRutaPeriodoService {
     private final TiempoRutaPeriodoRepository tiempoRutaPeriodoRepository;
-    private final RutaRepository rutaRepository;
-    private final PeriodoRepository periodoRepository;
+    private final ReplicaReferencia replicaReferencia;
 
     /**
      * Constructor que inicializa el servicio con todas sus dependencias.
      *
      * @param tiempoRutaPeriodoRepository Repositorio principal para tiempos
-     * @param rutaRepository Repositorio de rutas para validaciones
-     * @param periodoRepository Repositorio de periodos para validaciones
+     * @param replicaReferencia Réplica de rutas y periodos para validaciones, y de los tiempos para consultas
      */
     public TiempoRutaPeriodoService(TiempoRutaPeriodoRepository tiempoRutaPeriodoRepository,
-                                    RutaRepository rutaRepository,
-                                    PeriodoRepository periodoRepository) {
+                                    ReplicaReferencia replicaReferencia) {
         this.tiempoRutaPeriodoRepository = tiempoRutaPeriodoRepository;
-        this.rutaRepository = rutaRepository;
-        this.periodoRepository = periodoRepository;
+        this.replicaReferencia = replicaReferencia;
     }
 
     /**
@@ -60,10 +60,10 @@ public class TiempoRutaPeriodoService {
      * reportes de rendimiento del sistema de transporte.</p>
      *
      * @return Lista completa de tiempos ruta-periodo
-     * @throws SQLException Si hay error en la consulta a base de datos
+     * @throws SQLException Si hay error en la carga inicial de la réplica
      */
     public List<TiempoRutaPeriodo> getAllTiempos() throws SQLException {
-        return tiempoRutaPeriodoRepository.findAll();
+        return replicaReferencia.actual().tiempos().todos();
     }
 
     /**
@@ -71,10 +71,10 @@ public class TiempoRutaPeriodoService {
      *
      * @param id ID único del tiempo ruta-periodo
      * @return TiempoRutaPeriodo encontrado o null si no existe
-     * @throws SQLException Si hay error en la consulta a base de datos
+     * @throws SQLException Si hay error en la carga inicial de la réplica
      */
     public TiempoRutaPeriodo getTiempoById(int id) throws SQLException {
-        return tiempoRutaPeriodoRepository.findById(id);
+        return replicaReferencia.actual().tiempos().porId(id);
     }
 
     /**
@@ -93,14 +93,14 @@ public class TiempoRutaPeriodoService {
      *
      * @param idRuta ID de la ruta para consultar tiempos
      * @return Lista de tiempos para la ruta en diferentes periodos
-     * @throws SQLException Si hay error en la consulta
+     * @throws SQLException Si hay error en la carga inicial de la réplica
      * @throws IllegalArgumentException Si el ID de ruta no es válido (≤ 0)
      */
     public List<TiempoRutaPeriodo> getTiemposByRuta(int idRuta) throws SQLException {
         if (idRuta <= 0) {
             throw new IllegalArgumentException("ID de ruta no válido");
         }
-        return tiempoRutaPeriodoRepository.findByRuta(idRuta);
+        return replicaReferencia.actual().tiempos().deRuta(idRuta);
     }
 
     /**
@@ -112,14 +112,14 @@ public class TiempoRutaPeriodoService {
      *
      * @param idPeriodo ID del periodo temporal a consultar
      * @return Lista de tiempos para el periodo en todas las rutas
-     * @throws SQLException Si hay error en la consulta
+     * @throws SQLException Si hay error en la carga inicial de la réplica
      * @throws IllegalArgumentException Si el ID de periodo no es válido (≤ 0)
      */
     public List<TiempoRutaPeriodo> getTiemposByPeriodo(int idPeriodo) throws SQLException {
         if (idPeriodo <= 0) {
             throw new IllegalArgumentException("ID de periodo no válido");
         }
-        return tiempoRutaPeriodoRepository.findByPeriodo(idPeriodo);
+        return replicaReferencia.actual().tiempos().dePeriodo(idPeriodo);
     }
 
     /**
@@ -132,14 +132,14 @@ public class TiempoRutaPeriodoService {
      * @param idRuta ID de la ruta a consultar
      * @param idPeriodo ID del periodo temporal
      * @return TiempoRutaPeriodo encontrado o null si no existe la combinación
-     * @throws SQLException Si hay error en la consulta
+     * @throws SQLException Si hay error en la carga inicial de la réplica
      * @throws IllegalArgumentException Si algún ID no es válido (≤ 0)
      */
     public TiempoRutaPeriodo getTiempoByRutaAndPeriodo(int idRuta, int idPeriodo) throws SQLException {
         if (idRuta <= 0 || idPeriodo <= 0) {
             throw new IllegalArgumentException("IDs de ruta y periodo deben ser válidos");
         }
-        return tiempoRutaPeriodoRepository.findByRutaAndPeriodo(idRuta, idPeriodo);
+        return replicaReferencia.actual().tiempos().tiempo(idRuta, idPeriodo);
     }
 
     /**
@@ -174,7 +174,10 @@ public class TiempoRutaPeriodoService {
             throw new IllegalArgumentException("Ya existe un tiempo para esta combinación de ruta y periodo");
         }
 
-        return tiempoRutaPeriodoRepository.save(tiempoRutaPeriodo);
+        int id = tiempoRutaPeriodoRepository.save(tiempoRutaPeriodo);
+        tiempoRutaPeriodo.setIdTiempoRutaPeriodo(id);
+        replicaReferencia.guardarTiempo(tiempoRutaPeriodo);
+        return id;
     }
 
     /**
@@ -203,7 +206,9 @@ public class TiempoRutaPeriodoService {
         if (existente != null) {
             // Actualizar tiempo existente
             existente.setTiempoPromedio(tiempoPromedio);
-            tiempoRutaPeriodoRepository.update(existente);
+            if (tiempoRutaPeriodoRepository.update(existente)) {
+                replicaReferencia.guardarTiempo(existente);
+            }
             return existente.getIdTiempoRutaPeriodo();
         } else {
             // Crear nuevo tiempo
@@ -230,14 +235,13 @@ public class TiempoRutaPeriodoService {
         }
 
         // Obtener el periodo actual
-        var periodoActual = periodoRepository.findPeriodoActual();
+        var periodoActual = replicaReferencia.actual().periodoEn(LocalTime.now());
         if (periodoActual == null) {
             return -1; // No hay periodo definido para la hora actual
         }
 
         // Obtener el tiempo para la ruta en el periodo actual
-        TiempoRutaPeriodo tiempo = tiempoRutaPeriodoRepository.findByRutaAndPeriodo(idRuta, periodoActual.getIdPeriodo());
-        return tiempo != null ? tiempo.getTiempoPromedio() : -1;
+        return replicaReferencia.actual().tiempos().minutos(idRuta, periodoActual.getIdPeriodo());
     }
 
     /**
@@ -274,17 +278,19 @@ public class TiempoRutaPeriodoService {
      * Método privado que verifica integridad referencial.
      *
      * @param tiempoRutaPeriodo Tiempo a validar
-     * @throws SQLException Si hay error en las consultas de validación
+     * @throws SQLException Si hay error en la carga inicial de la réplica
      * @throws IllegalArgumentException Si alguna referencia no existe
      */
     private void validateReferences(TiempoRutaPeriodo tiempoRutaPeriodo) throws SQLException {
+        var datos = replicaReferencia.actual();
+
         // Verificar que existe la ruta
-        if (rutaRepository.findById(tiempoRutaPeriodo.getIdRuta()) == null) {
+        if (!datos.existeRuta(tiempoRutaPeriodo.getIdRuta())) {
             throw new IllegalArgumentException("La ruta especificada no existe");
         }
 
         // Verificar que existe el periodo
-        if (periodoRepository.findById(tiempoRutaPeriodo.getIdPeriodo()) == null) {
+        if (!datos.existePeriodo(tiempoRutaPeriodo.getIdPeriodo())) {
             throw new IllegalArgumentException("El periodo especificado no existe");
         }
     }
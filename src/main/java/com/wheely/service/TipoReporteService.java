@@ -1,5 +1,6 @@
 package com.wheely.service;
 
+import com.wheely.cache.ReplicaReferencia;
 import com.wheely.model.TipoReporte;
 import com.wheely.repository.TipoReporteRepository;
 import java.sql.SQLException;
@@ -20,6 +21,9 @@ import java.util.List;
  * <li>Soporte para categorización de reportes</li>
  * </ul>
  *
+ * <p>Las consultas se responden desde la {@link ReplicaReferencia} en memoria; cada
+ * escritura se hace en la base de datos y después recarga la tabla en la réplica.</p>
+ *
  * @author Beebop
  * @version 1.0.0
  * @since 2025
@@ -28,14 +32,17 @@ import java.util.List;
  */
 public class TipoReporteService {
     private final TipoReporteRepository tipoReporteRepository;
+    private final ReplicaReferencia replicaReferencia;
 
     /**
      * Constructor que inicializa el servicio con su repositorio.
      *
      * @param tipoReporteRepository Repositorio para operaciones de tipos de reporte
+     * @param replicaReferencia Réplica en memoria de las tablas de referencia
      */
-    public TipoReporteService(TipoReporteRepository tipoReporteRepository) {
+    public TipoReporteService(TipoReporteRepository tipoReporteRepository, ReplicaReferencia replicaReferencia) {
         this.tipoReporteRepository = tipoReporteRepository;
+        this.replicaReferencia = replicaReferencia;
     }
 
     /**
@@ -45,7 +52,7 @@ public class TipoReporteService {
      * @throws SQLException Si hay error en la consulta a base de datos
      */
     public List<TipoReporte> getAllTiposReporte() throws SQLException {
-        return tipoReporteRepository.findAll();
+        return replicaReferencia.actual().tiposReporte();
     }
 
     /**
@@ -56,7 +63,7 @@ public class TipoReporteService {
      * @throws SQLException Si hay error en la consulta
      */
     public TipoReporte getTipoReporteById(int id) throws SQLException {
-        return tipoReporteRepository.findById(id);
+        return replicaReferencia.actual().tipoReporte(id);
     }
 
     /**
@@ -72,7 +79,9 @@ public class TipoReporteService {
      */
     public int createTipoReporte(TipoReporte tipoReporte) throws SQLException {
         validateTipoReporte(tipoReporte);
-        return tipoReporteRepository.save(tipoReporte);
+        int id = tipoReporteRepository.save(tipoReporte);
+        replicaReferencia.recargarTiposReporte();
+        return id;
     }
 
     /**
@@ -85,7 +94,9 @@ public class TipoReporteService {
      */
     public boolean updateTipoReporte(TipoReporte tipoReporte) throws SQLException {
         validateTipoReporte(tipoReporte);
-        return tipoReporteRepository.update(tipoReporte);
+        boolean actualizado = tipoReporteRepository.update(tipoReporte);
+        if (actualizado) replicaReferencia.recargarTiposReporte();
+        return actualizado;
     }
 
     /**
@@ -96,7 +107,9 @@ public class TipoReporteService {
      * @throws SQLException Si hay error en la operación
      */
     public boolean deleteTipoReporte(int id) throws SQLException {
-        return tipoReporteRepository.delete(id);
+        boolean eliminado = tipoReporteRepository.delete(id);
+        if (eliminado) replicaReferencia.recargarTiposReporte();
+        return eliminado;
     }
 
     /**
@@ -107,10 +120,14 @@ public class TipoReporteService {
      *
      * @param nombre Texto a buscar en nombres de tipos
      * @return Lista de tipos que coinciden con el criterio
-     * @throws SQLException Si hay error en la consulta
+     * @throws SQLException Si hay error en la carga inicial de la réplica
+     * @throws IllegalArgumentException Si el nombre es null o vacío
      */
     public List<TipoReporte> buscarTiposPorNombre(String nombre) throws SQLException {
-        return tipoReporteRepository.findByNombre(nombre);
+        if (nombre == null || nombre.trim().isEmpty()) {
+            throw new IllegalArgumentException("El nombre no puede ser nulo o vacío");
+        }
+        return replicaReferencia.actual().tiposReportePorNombre(nombre);
     }
 
     /**
@@ -0,0 +1,62 @@
+package com.wheely.service;
+
+import com.wheely.geo.GrafoTransbordos;
+import com.wheely.geo.Transbordo;
+import com.wheely.repository.CoordenadaParadaRepository;
+import com.wheely.repository.ParadaRepository;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Servicio de consulta de transbordos a pie entre paradas del sistema Wheely.
+ *
+ * <p>Responde desde el {@link GrafoTransbordos} compartido, que se construye la primera vez
+ * que se necesita y después se mantiene al día con cada escritura de coordenadas de parada.</p>
+ *
+ * <pre>
+ * List&lt;Transbordo&gt; transbordos = transbordoService.getTransbordosDeParada(12);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see GrafoTransbordos
+ * @see CoordenadaParadaService
+ */
+public class TransbordoService {
+
+    private final ParadaRepository paradaRepository;
+    private final CoordenadaParadaRepository coordenadaParadaRepository;
+    private final GrafoTransbordos grafoTransbordos;
+
+    /**
+     * Constructor que inicializa el servicio con sus dependencias.
+     *
+     * @param paradaRepository Repositorio de paradas, para conocer el recorrido de cada una
+     * @param coordenadaParadaRepository Repositorio para la carga inicial del índice de paradas
+     * @param grafoTransbordos Grafo compartido de transbordos entre coordenadas de parada
+     */
+    public TransbordoService(ParadaRepository paradaRepository, CoordenadaParadaRepository coordenadaParadaRepository,
+                             GrafoTransbordos grafoTransbordos) {
+        this.paradaRepository = paradaRepository;
+        this.coordenadaParadaRepository = coordenadaParadaRepository;
+        this.grafoTransbordos = grafoTransbordos;
+    }
+
+    /**
+     * Obtiene los transbordos a pie desde las coordenadas de una parada hacia paradas de otros recorridos.
+     *
+     * @param idParada ID de la parada
+     * @return Transbordos ordenados por coordenada de origen y distancia, vacía si no tiene
+     * @throws SQLException Si hay error en la carga inicial del grafo
+     * @throws IllegalArgumentException Si el ID de parada no es válido
+     */
+    public List<Transbordo> getTransbordosDeParada(int idParada) throws SQLException {
+        if (idParada <= 0) {
+            throw new IllegalArgumentException("ID de parada no válido");
+        }
+        grafoTransbordos.asegurarCargado(coordenadaParadaRepository::findAll, paradaRepository::findAll);
+        return grafoTransbordos.transbordosDeParada(idParada);
+    }
+}
@@ -0,0 +1,114 @@
+package com.wheely.service;
+
+import com.wheely.geo.AlmacenGeometria;
+import com.wheely.geo.CajaEnvolvente;
+import com.wheely.geo.MatrizTraslapes;
+import com.wheely.geo.Traslape;
+import com.wheely.repository.CoordenadaRepository;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Servicio de análisis de recorridos que comparten calles en el sistema Wheely.
+ *
+ * <p>Sirve para detectar corredores con servicio duplicado y para sugerir recorridos
+ * alternativos. La {@link MatrizTraslapes} se calcula en paralelo la primera vez que se
+ * consulta y se conserva en memoria; cualquier cambio en los trazados la descarta y se
+ * recalcula en la siguiente consulta.</p>
+ *
+ * <pre>
+ * List&lt;Traslape&gt; alternativas = traslapeService.getTraslapesDeRecorrido(4);
+ * List&lt;Traslape&gt; corredores = traslapeService.getTraslapes(0.5);
+ * </pre>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see MatrizTraslapes
+ * @see AlmacenGeometria
+ */
+public class TraslapeService {
+
+    private final CoordenadaRepository coordenadaRepository;
+    private final AlmacenGeometria almacenGeometria;
+    private volatile MatrizTraslapes matriz;
+    private volatile long version;
+
+    /**
+     * Constructor que inicializa el servicio con sus dependencias.
+     *
+     * @param coordenadaRepository Repositorio para la carga inicial del trazado de recorridos
+     * @param almacenGeometria Almacén compartido del trazado de recorridos
+     */
+    public TraslapeService(CoordenadaRepository coordenadaRepository, AlmacenGeometria almacenGeometria) {
+        this.coordenadaRepository = coordenadaRepository;
+        this.almacenGeometria = almacenGeometria;
+    }
+
+    /**
+     * Obtiene los recorridos que comparten calles con uno dado.
+     *
+     * @param idRecorrido ID del recorrido
+     * @return Traslapes de mayor a menor fracción compartida, vacía si no tiene
+     * @throws SQLException Si hay error en la carga inicial del trazado
+     * @throws IllegalArgumentException Si el ID de recorrido no es válido
+     */
+    public List<Traslape> getTraslapesDeRecorrido(int idRecorrido) throws SQLException {
+        if (idRecorrido <= 0) {
+            throw new IllegalArgumentException("ID de recorrido no válido");
+        }
+        return asegurarMatriz().deRecorrido(idRecorrido);
+    }
+
+    /**
+     * Obtiene los pares de recorridos que comparten al menos una fracción de su trazado.
+     *
+     * @param minimo Fracción que debe compartir al menos uno de los dos, entre
+     *               {@link MatrizTraslapes#FRACCION_MINIMA} y 1
+     * @return Pares de mayor a menor fracción compartida
+     * @throws SQLException Si hay error en la carga inicial del trazado
+     * @throws IllegalArgumentException Si la fracción está fuera de rango
+     */
+    public List<Traslape> getTraslapes(double minimo) throws SQLException {
+        if (Double.isNaN(minimo) || minimo < MatrizTraslapes.FRACCION_MINIMA || minimo > 1) {
+            throw new IllegalArgumentException("La fracción mínima debe estar entre "
+                    + MatrizTraslapes.FRACCION_MINIMA + " y 1");
+        }
+        return asegurarMatriz().pares(minimo);
+    }
+
+    /**
+     * Descarta la matriz para que se recalcule en la siguiente consulta.
+     *
+     * <p>Se registra como oyente del almacén de geometría.</p>
+     *
+     * @param zona Zona modificada; la matriz se descarta completa
+     */
+    public void invalidar(CajaEnvolvente zona) {
+        synchronized (this) {
+            version++;
+            matriz = null;
+        }
+    }
+
+    /**
+     * Obtiene la matriz vigente, calculándola si fue descartada.
+     *
+     * <p>Si llega un aviso de cambio mientras se calcula, la matriz responde la consulta en
+     * curso pero no se publica.</p>
+     *
+     * @throws SQLException Si hay error al leer la base de datos
+     */
+    private MatrizTraslapes asegurarMatriz() throws SQLException {
+        MatrizTraslapes actual = matriz;
+        if (actual != null) return actual;
+        almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+        long inicio = version;
+        MatrizTraslapes nueva = new MatrizTraslapes(almacenGeometria.todas());
+        synchronized (this) {
+            if (version == inicio) matriz = nueva;
+        }
+        return nueva;
+    }
+}
@@ -1,6 +1,9 @@
 package com.wheely.service;
 
+import com.wheely.busqueda.Autocompletado;
+import com.wheely.model.RutaFavorita;
 import com.wheely.model.Usuario;
+import com.wheely.repository.RutaFavoritaRepository;
 import com.wheely.repository.UsuarioRepository;
 import com.wheely.util.PasswordUtil;
 
@@ -34,14 +37,21 @@ import java.util.List;
  */
 public class UsuarioService {
     private final UsuarioRepository usuarioRepository;
+    private final RutaFavoritaRepository rutaFavoritaRepository;
+    private final Autocompletado autocompletado;
 
     /**
-     * Constructor que inicializa el servicio con su repositorio.
+     * Constructor que inicializa el servicio con sus dependencias.
      *
      * @param usuarioRepository Repositorio para operaciones de usuarios
+     * @param rutaFavoritaRepository Repositorio de favoritos, que se borran en cascada con el usuario
+     * @param autocompletado Autocompletado compartido cuya popularidad depende de los favoritos
      */
-    public UsuarioService(UsuarioRepository usuarioRepository) {
+    public UsuarioService(UsuarioRepository usuarioRepository, RutaFavoritaRepository rutaFavoritaRepository,
+                          Autocompletado autocompletado) {
         this.usuarioRepository = usuarioRepository;
+        this.rutaFavoritaRepository = rutaFavoritaRepository;
+        this.autocompletado = autocompletado;
     }
 
     /**
@@ -156,12 +166,22 @@ public class UsuarioService {
      * debe usarse con precaución ya que puede afectar datos relacionados
      * como reportes y rutas favoritas del usuario.</p>
      *
+     * <p>Las rutas favoritas se borran en cascada en la base de datos, así que antes se leen
+     * para restar sus favoritos del autocompletado.</p>
+     *
      * @param id ID único del usuario a eliminar
      * @return true si la eliminación fue exitosa, false si no se encontró
      * @throws SQLException Si hay error en la operación de base de datos
      */
     public boolean deleteUsuario(int id) throws SQLException {
-        return usuarioRepository.delete(id);
+        List<RutaFavorita> favoritas = rutaFavoritaRepository.findByUsuario(id);
+        boolean eliminado = usuarioRepository.delete(id);
+        if (eliminado) {
+            for (RutaFavorita favorita : favoritas) {
+                autocompletado.cambiarFavoritos(favorita.getIdRuta(), -1);
+            }
+        }
+        return eliminado;
     }
 
     /**
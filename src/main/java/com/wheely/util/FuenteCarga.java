@@ -0,0 +1,33 @@
+package com.wheely.util;
+
+import java.sql.SQLException;
+
+/**
+ * Consulta que entrega el contenido completo de un almacén en memoria en su carga perezosa.
+ *
+ * <p>Cada almacén compartido ({@code AlmacenGeometria}, {@code IndiceEspacialParadas},
+ * {@code IndiceRutas}, etc.) expone un {@code asegurarCargado} que recibe esta consulta y la
+ * ejecuta una sola vez, bajo el monitor del propio almacén, la primera vez que se necesita.
+ * Así ningún servicio repite el bloque de doble verificación.</p>
+ *
+ * <pre>
+ * almacenGeometria.asegurarCargado(coordenadaRepository::findAllGeometrias);
+ * </pre>
+ *
+ * @param <T> Tipo del contenido que se carga
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see com.wheely.geo.AlmacenGeometria#asegurarCargado(FuenteCarga)
+ */
+@FunctionalInterface
+public interface FuenteCarga<T> {
+
+    /**
+     * Lee el contenido completo desde la base de datos o la réplica de referencia.
+     *
+     * @return Contenido a cargar
+     * @throws SQLException Si falla la consulta
+     */
+    T leer() throws SQLException;
+}
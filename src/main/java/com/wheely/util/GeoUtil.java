@@ -0,0 +1,102 @@
+package com.wheely.util;
+
+/**
+ * <p>
+ * Utilidad de cálculos geográficos para el sistema WHEELY.
+ * Centraliza las fórmulas de distancia y de cajas envolventes usadas por los índices en memoria
+ * de paradas y recorridos del transporte público de Tuxtla Gutiérrez, Chiapas.
+ * </p>
+ * <p>
+ * <b>Propósito en WHEELY:</b>
+ * <ul>
+ *   <li>Calcular distancias de gran círculo (Haversine) sin recurrir a la base de datos.</li>
+ *   <li>Convertir un radio en kilómetros a una caja envolvente en grados para prefiltrar candidatos.</li>
+ *   <li>Mantener el mismo radio terrestre (6371 km) que las consultas SQL existentes.</li>
+ * </ul>
+ * <p>
+ * <b>Ejemplo de uso:</b>
+ * <pre>
+ * double km = GeoUtil.distanciaKm(16.7569, -93.1292, 16.7610, -93.1150);
+ * double dLat = GeoUtil.deltaLatitud(0.5);
+ * double dLon = GeoUtil.deltaLongitud(0.5, 16.7569);
+ * </pre>
+ * </p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see com.wheely.repository.CoordenadaParadaRepository#findCercanas(java.math.BigDecimal, java.math.BigDecimal, double)
+ */
+public class GeoUtil {
+
+    /**
+     * Radio medio de la Tierra en kilómetros, idéntico al usado en las consultas SQL.
+     */
+    public static final double RADIO_TIERRA_KM = 6371.0;
+
+    /**
+     * Kilómetros que abarca un grado de latitud con el radio {@link #RADIO_TIERRA_KM}.
+     */
+    public static final double KM_POR_GRADO = Math.PI * RADIO_TIERRA_KM / 180.0;
+
+    private GeoUtil() {
+    }
+
+    /**
+     * <p>
+     * Calcula la distancia de gran círculo entre dos puntos usando la fórmula Haversine.
+     * <ul>
+     *   <li>Es numéricamente estable para distancias cortas, a diferencia de la ley de cosenos.</li>
+     *   <li>Retorna el mismo valor (salvo redondeo) que la expresión ACOS usada en MySQL.</li>
+     * </ul>
+     * </p>
+     *
+     * @param lat1 Latitud del primer punto en grados decimales.
+     * @param lon1 Longitud del primer punto en grados decimales.
+     * @param lat2 Latitud del segundo punto en grados decimales.
+     * @param lon2 Longitud del segundo punto en grados decimales.
+     * @return {@code double} Distancia en kilómetros.
+     */
+    public static double distanciaKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * RADIO_TIERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * <p>
+     * Obtiene la mitad del alto, en grados de latitud, de la caja envolvente de un radio dado.
+     * </p>
+     *
+     * @param radioKm Radio de búsqueda en kilómetros.
+     * @return {@code double} Grados de latitud que cubren el radio.
+     */
+    public static double deltaLatitud(double radioKm) {
+        return radioKm / KM_POR_GRADO;
+    }
+
+    /**
+     * <p>
+     * Obtiene la mitad del ancho, en grados de longitud, de la caja envolvente de un radio dado.
+     * <ul>
+     *   <li>Se ensancha con la latitud porque los meridianos convergen hacia los polos.</li>
+     *   <li>Cerca de los polos retorna 180 para cubrir todas las longitudes.</li>
+     * </ul>
+     * </p>
+     *
+     * @param radioKm Radio de búsqueda en kilómetros.
+     * @param latitud Latitud del centro de la búsqueda en grados decimales.
+     * @return {@code double} Grados de longitud que cubren el radio.
+     */
+    public static double deltaLongitud(double radioKm, double latitud) {
+        double cos = Math.cos(Math.toRadians(latitud));
+        if (cos < 1e-6) {
+            return 180.0;
+        }
+        return Math.min(180.0, radioKm / (KM_POR_GRADO * cos));
+    }
+}
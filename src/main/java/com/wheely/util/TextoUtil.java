@@ -0,0 +1,69 @@
+package com.wheely.util;
+
+import java.text.Normalizer;
+
+/**
+ * <p>
+ * Utilidad de normalización de texto para las búsquedas en memoria del sistema WHEELY.
+ * Lleva nombres de rutas, colonias y puntos de referencia a una forma comparable sin
+ * importar acentos, mayúsculas ni signos de puntuación.
+ * </p>
+ * <p>
+ * <b>Propósito en WHEELY:</b>
+ * <ul>
+ *   <li>Que "Terán", "TERAN" y "teran" se consideren el mismo texto al buscar.</li>
+ *   <li>Convertir la ñ en n y descartar cualquier otra marca diacrítica.</li>
+ *   <li>Reducir signos y espacios repetidos a un solo espacio entre palabras.</li>
+ * </ul>
+ * <p>
+ * <b>Ejemplo de uso:</b>
+ * <pre>
+ * String clave = TextoUtil.normalizar("  Plaza Cristóbal   Colón, Ñandú ");
+ * // "plaza cristobal colon nandu"
+ * </pre>
+ * </p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ * @see com.wheely.busqueda.IndiceRutas
+ */
+public class TextoUtil {
+
+    private TextoUtil() {
+    }
+
+    /**
+     * <p>
+     * Normaliza un texto para compararlo.
+     * <ul>
+     *   <li>Descompone en forma NFD y elimina las marcas diacríticas.</li>
+     *   <li>Convierte a minúsculas sin depender de la configuración regional.</li>
+     *   <li>Sustituye todo lo que no sea letra o dígito por un espacio y colapsa los espacios.</li>
+     * </ul>
+     * </p>
+     *
+     * @param texto Texto original; puede ser {@code null}.
+     * @return {@code String} Texto normalizado, vacío si el original es {@code null} o no tiene letras ni dígitos.
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) return "";
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(descompuesto.length());
+        boolean espacio = true;
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char c = descompuesto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+                espacio = false;
+            } else if (!espacio) {
+                sb.append(' ');
+                espacio = true;
+            }
+        }
+        int fin = sb.length();
+        if (fin > 0 && sb.charAt(fin - 1) == ' ') sb.setLength(fin - 1);
+        return sb.toString();
+    }
+}
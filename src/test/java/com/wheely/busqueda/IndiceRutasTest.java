@@ -0,0 +1,66 @@
+package com.wheely.busqueda;
+
+import com.wheely.model.Ruta;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link IndiceRutas}.
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ */
+class IndiceRutasTest {
+
+    private static IndiceRutas indice() {
+        IndiceRutas indice = new IndiceRutas();
+        indice.cargar(List.of(
+                new Ruta(1, "Ruta 1", "Centro", "Terán"),
+                new Ruta(2, "Ruta 2", "Plan de Ayala", "Centro"),
+                new Ruta(3, "Ruta 3", "Copoya", "Las Granjas")));
+        return indice;
+    }
+
+    private static List<Integer> ids(List<Ruta> rutas) {
+        return rutas.stream().map(Ruta::getIdRuta).collect(Collectors.toList());
+    }
+
+    @Test
+    void unTextoCortoDentroDeUnaPalabraCoincide() {
+        IndiceRutas indice = indice();
+
+        assertEquals(List.of(1), ids(indice.buscar("tr", null)));
+        assertEquals(2, indice.buscar(null, "tr").get(0).getIdRuta());
+        assertEquals(List.of(3), ids(indice.buscar("oy", IndiceRutas.ORIGEN)));
+    }
+
+    @Test
+    void unTextoCortoSinCoincidenciasNoDevuelveRutas() {
+        assertTrue(indice().buscar("xz", IndiceRutas.CUALQUIERA).isEmpty());
+    }
+
+    @Test
+    void unTextoCortoEnCualquierCampoTomaTodasLasRutasQueLoContienen() {
+        assertEquals(List.of(1, 2), ids(indice().buscar("ntr", IndiceRutas.CUALQUIERA)));
+        assertEquals(List.of(1, 2), ids(indice().buscar("tr", IndiceRutas.CUALQUIERA)));
+    }
+
+    @Test
+    void toleraErroresDeEscrituraYAcentos() {
+        IndiceRutas indice = indice();
+
+        assertEquals(List.of(1), ids(indice.buscar(null, "teran")));
+        assertEquals(List.of(2), ids(indice.buscar("plan de ayaal", null)));
+    }
+
+    @Test
+    void combinaOrigenYDestino() {
+        assertEquals(List.of(2), ids(indice().buscar("ayala", "tr")));
+    }
+}
@@ -0,0 +1,172 @@
+package com.wheely.cache;
+
+import com.wheely.model.TiempoRutaPeriodo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link MatrizTiempos}.
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ */
+class MatrizTiemposTest {
+
+    private final MatrizTiempos matriz = new MatrizTiempos(List.of(
+            new TiempoRutaPeriodo(10, 30, 2, 45),
+            new TiempoRutaPeriodo(11, 3, 1, 25),
+            new TiempoRutaPeriodo(12, 3, 2, 38),
+            new TiempoRutaPeriodo(13, 30, 7, 20)));
+
+    @Test
+    void buscaLosMinutosPorRutaYPeriodo() {
+        assertEquals(25, matriz.minutos(3, 1));
+        assertEquals(20, matriz.minutos(30, 7));
+        // Ruta y periodo existen, pero la combinación no
+        assertEquals(-1, matriz.minutos(30, 1));
+        assertEquals(-1, matriz.minutos(4, 1));
+        assertEquals(-1, matriz.minutos(3, 5));
+        assertEquals(4, matriz.size());
+    }
+
+    @Test
+    void entregaRegistrosCompletosPorCeldaYPorId() {
+        TiempoRutaPeriodo tiempo = matriz.tiempo(3, 2);
+        assertEquals(12, tiempo.getIdTiempoRutaPeriodo());
+        assertEquals(38, tiempo.getTiempoPromedio());
+
+        TiempoRutaPeriodo porId = matriz.porId(13);
+        assertEquals(30, porId.getIdRuta());
+        assertEquals(7, porId.getIdPeriodo());
+        assertNull(matriz.porId(99));
+        assertNull(matriz.tiempo(30, 1));
+    }
+
+    @Test
+    void recorreFilasYColumnasEnOrdenDeId() {
+        assertEquals(List.of(11, 12, 10, 13), ids(matriz.todos()));
+        assertEquals(List.of(11, 12), ids(matriz.deRuta(3)));
+        assertEquals(List.of(12, 10), ids(matriz.dePeriodo(2)));
+        assertTrue(matriz.deRuta(4).isEmpty());
+        assertTrue(matriz.dePeriodo(5).isEmpty());
+    }
+
+    @Test
+    void cadaConsultaCreaObjetosNuevos() {
+        matriz.tiempo(3, 1).setTiempoPromedio(99);
+        matriz.todos().get(0).setTiempoPromedio(99);
+
+        assertEquals(25, matriz.minutos(3, 1));
+    }
+
+    @Test
+    void conReemplazaSinModificarLaOriginal() {
+        MatrizTiempos nueva = matriz.con(new TiempoRutaPeriodo(12, 3, 2, 40))
+                .con(new TiempoRutaPeriodo(14, 3, 7, 15));
+
+        assertEquals(40, nueva.minutos(3, 2));
+        assertEquals(15, nueva.minutos(3, 7));
+        assertEquals(5, nueva.size());
+        assertEquals(38, matriz.minutos(3, 2));
+        assertEquals(-1, matriz.minutos(3, 7));
+
+        // Un registro nuevo para una celda ocupada sustituye al anterior
+        MatrizTiempos sustituida = nueva.con(new TiempoRutaPeriodo(15, 30, 2, 50));
+        assertEquals(50, sustituida.minutos(30, 2));
+        assertNull(sustituida.porId(10));
+        assertEquals(5, sustituida.size());
+    }
+
+    @Test
+    void unTiempoDeCeroMinutosSigueRegistrado() {
+        MatrizTiempos conCero = new MatrizTiempos(List.of(
+                new TiempoRutaPeriodo(1, 3, 1, 0),
+                new TiempoRutaPeriodo(2, 3, 2, 12)));
+
+        assertEquals(0, conCero.minutos(3, 1));
+        assertEquals(1, conCero.tiempo(3, 1).getIdTiempoRutaPeriodo());
+        assertEquals(List.of(1, 2), ids(conCero.todos()));
+        assertEquals(List.of(1, 2), ids(conCero.deRuta(3)));
+        assertEquals(List.of(1), ids(conCero.dePeriodo(1)));
+        assertEquals(2, conCero.size());
+
+        MatrizTiempos actualizada = conCero.con(new TiempoRutaPeriodo(2, 3, 2, 0));
+        assertEquals(0, actualizada.minutos(3, 2));
+        assertEquals(List.of(1, 2), ids(actualizada.todos()));
+    }
+
+    @Test
+    void losMinutosFueraDeRangoSeSaturan() {
+        MatrizTiempos extremos = new MatrizTiempos(List.of(
+                new TiempoRutaPeriodo(1, 3, 1, 40000),
+                new TiempoRutaPeriodo(2, 3, 2, -40000)));
+
+        assertEquals(Short.MAX_VALUE, extremos.minutos(3, 1));
+        assertEquals(Short.MIN_VALUE, extremos.minutos(3, 2));
+        assertEquals(Short.MAX_VALUE, extremos.con(new TiempoRutaPeriodo(2, 3, 2, 70000)).minutos(3, 2));
+    }
+
+    @Test
+    void conMueveUnRegistroEntreCeldasExistentes() {
+        // El registro 11 pasa de (3, 1) a (30, 1): ruta y periodo ya tienen ordinal
+        MatrizTiempos movida = matriz.con(new TiempoRutaPeriodo(11, 30, 1, 33));
+
+        assertEquals(-1, movida.minutos(3, 1));
+        assertNull(movida.tiempo(3, 1));
+        assertEquals(33, movida.minutos(30, 1));
+        assertEquals(30, movida.porId(11).getIdRuta());
+        assertEquals(List.of(12, 11, 10, 13), ids(movida.todos()));
+        assertEquals(4, movida.size());
+        assertEquals(25, matriz.minutos(3, 1));
+    }
+
+    @Test
+    void conAgregaRutasYPeriodosNuevosEnOrden() {
+        MatrizTiempos ampliada = matriz.con(new TiempoRutaPeriodo(20, 5, 4, 18));
+
+        assertEquals(18, ampliada.minutos(5, 4));
+        assertEquals(List.of(11, 12, 20, 10, 13), ids(ampliada.todos()));
+        assertEquals(List.of(20), ids(ampliada.dePeriodo(4)));
+        assertEquals(5, ampliada.size());
+        assertEquals(-1, matriz.minutos(5, 4));
+    }
+
+    @Test
+    void conCoincideConReconstruirLaMatriz() {
+        Random aleatorio = new Random(5);
+        MatrizTiempos actual = matriz;
+        List<TiempoRutaPeriodo> registros = new ArrayList<>(matriz.todos());
+        for (int paso = 0; paso < 300; paso++) {
+            TiempoRutaPeriodo nuevo = new TiempoRutaPeriodo(10 + aleatorio.nextInt(12), 1 + aleatorio.nextInt(6),
+                    1 + aleatorio.nextInt(5), aleatorio.nextInt(300));
+            registros.removeIf(t -> t.getIdTiempoRutaPeriodo() == nuevo.getIdTiempoRutaPeriodo()
+                    || (t.getIdRuta() == nuevo.getIdRuta() && t.getIdPeriodo() == nuevo.getIdPeriodo()));
+            registros.add(nuevo);
+            actual = actual.con(nuevo);
+            MatrizTiempos reconstruida = new MatrizTiempos(registros);
+
+            assertEquals(ids(reconstruida.todos()), ids(actual.todos()));
+            assertEquals(reconstruida.size(), actual.size());
+            for (TiempoRutaPeriodo t : registros) {
+                assertEquals(t.getTiempoPromedio(), actual.minutos(t.getIdRuta(), t.getIdPeriodo()));
+                assertEquals(t.getIdRuta(), actual.porId(t.getIdTiempoRutaPeriodo()).getIdRuta());
+            }
+        }
+    }
+
+    private static List<Integer> ids(List<TiempoRutaPeriodo> tiempos) {
+        List<Integer> ids = new ArrayList<>();
+        for (TiempoRutaPeriodo t : tiempos) {
+            ids.add(t.getIdTiempoRutaPeriodo());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,114 @@
+package com.wheely.cache;
+
+import com.wheely.model.Periodo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link TablaPeriodos}.
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ */
+class TablaPeriodosTest {
+
+    private final List<Periodo> periodos = List.of(
+            periodo(1, "06:00", "09:00"),
+            periodo(2, "09:00", "15:00"),
+            periodo(3, "22:00", "05:00"),
+            periodo(4, null, "12:00"));
+    private final TablaPeriodos tabla = new TablaPeriodos(periodos);
+
+    @Test
+    void encuentraElPeriodoDeUnaHora() {
+        assertEquals(0, tabla.indiceEn(LocalTime.parse("07:30")));
+        assertEquals(0, tabla.indiceEn(LocalTime.parse("08:59:59")));
+        assertEquals(1, tabla.indiceEn(LocalTime.parse("09:00")));
+        assertEquals(-1, tabla.indiceEn(LocalTime.parse("18:00")));
+    }
+
+    @Test
+    void losPeriodosPuedenCruzarLaMedianoche() {
+        assertEquals(2, tabla.indiceEn(LocalTime.parse("23:30")));
+        assertEquals(2, tabla.indiceEn(LocalTime.MIDNIGHT));
+        assertEquals(2, tabla.indiceEn(LocalTime.parse("04:59:59.999")));
+    }
+
+    @Test
+    void aceptaElPeriodoQueTerminaJustoEnLaHora() {
+        assertEquals(1, tabla.indiceEn(LocalTime.parse("15:00")));
+        assertEquals(2, tabla.indiceEn(LocalTime.parse("05:00")));
+        assertEquals(-1, tabla.indiceEn(LocalTime.parse("05:00:30")));
+    }
+
+    @Test
+    void detectaHorariosSolapados() {
+        assertTrue(tabla.indiceSolapado(LocalTime.parse("08:00"), LocalTime.parse("10:00"), null) >= 0);
+        assertEquals(2, tabla.indiceSolapado(LocalTime.parse("04:00"), LocalTime.parse("06:00"), null));
+        assertEquals(2, tabla.indiceSolapado(LocalTime.parse("23:00"), LocalTime.parse("01:00"), null));
+        // Tocarse en el borde no es solaparse
+        assertEquals(-1, tabla.indiceSolapado(LocalTime.parse("15:00"), LocalTime.parse("22:00"), null));
+        // El periodo que se actualiza no choca consigo mismo
+        assertEquals(-1, tabla.indiceSolapado(LocalTime.parse("06:30"), LocalTime.parse("08:00"), 1));
+    }
+
+    @Test
+    void coincideConLaBusquedaLineal() {
+        Random aleatorio = new Random(5);
+        for (int prueba = 0; prueba < 200; prueba++) {
+            List<Periodo> aleatorios = new ArrayList<>();
+            int n = aleatorio.nextInt(6);
+            for (int i = 0; i < n; i++) {
+                aleatorios.add(new Periodo(i + 1, "P" + i, hora(aleatorio), hora(aleatorio), null));
+            }
+            TablaPeriodos aleatoria = new TablaPeriodos(aleatorios);
+            for (int consulta = 0; consulta < 50; consulta++) {
+                LocalTime hora = consulta % 2 == 0 ? hora(aleatorio)
+                        : aleatorios.isEmpty() ? LocalTime.NOON : aleatorios.get(consulta % aleatorios.size()).getHoraFin();
+                assertEquals(lineal(aleatorios, hora), aleatoria.indiceEn(hora), "hora " + hora);
+            }
+        }
+    }
+
+    private static Periodo periodo(int id, String inicio, String fin) {
+        return new Periodo(id, "P" + id, inicio != null ? LocalTime.parse(inicio) : null,
+                fin != null ? LocalTime.parse(fin) : null, null);
+    }
+
+    private static LocalTime hora(Random aleatorio) {
+        return LocalTime.ofSecondOfDay(aleatorio.nextInt(48) * 1800L + (aleatorio.nextInt(4) == 0 ? aleatorio.nextInt(60) : 0));
+    }
+
+    /**
+     * Referencia: el periodo que contiene la hora y empieza antes; si no hay, el que termina en ella.
+     */
+    private static int lineal(List<Periodo> periodos, LocalTime hora) {
+        int mejor = -1;
+        for (int i = 0; i < periodos.size(); i++) {
+            Periodo p = periodos.get(i);
+            LocalTime a = p.getHoraInicio();
+            LocalTime b = p.getHoraFin();
+            boolean contiene = a.isBefore(b)
+                    ? !hora.isBefore(a) && hora.isBefore(b)
+                    : a.isAfter(b) && (!hora.isBefore(a) || hora.isBefore(b));
+            if (contiene && (mejor < 0 || a.isBefore(periodos.get(mejor).getHoraInicio()))) mejor = i;
+        }
+        if (mejor >= 0) return mejor;
+        for (int i = 0; i < periodos.size(); i++) {
+            Periodo p = periodos.get(i);
+            if (p.getHoraFin().equals(hora)
+                    && (mejor < 0 || p.getHoraInicio().isBefore(periodos.get(mejor).getHoraInicio()))) {
+                mejor = i;
+            }
+        }
+        return mejor;
+    }
+}
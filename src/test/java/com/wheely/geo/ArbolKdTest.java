@@ -0,0 +1,116 @@
+package com.wheely.geo;
+
+import com.wheely.util.GeoUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link ArbolKd}.
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ */
+class ArbolKdTest {
+
+    @Test
+    void unArbolVacioNoVisitaNada() {
+        ArbolKd arbol = new ArbolKd(new double[0], new double[0]);
+        List<Integer> visitados = new ArrayList<>();
+
+        arbol.recorrerPorCercania(16.75, -93.11, (indice, km) -> visitados.add(indice));
+
+        assertTrue(visitados.isEmpty());
+    }
+
+    @Test
+    void recorreTodosLosPuntosEnOrdenDeDistancia() {
+        Random aleatorio = new Random(3);
+        for (int n : new int[]{1, 2, 7, 8, 9, 33, 250}) {
+            double[] lat = new double[n];
+            double[] lon = new double[n];
+            for (int i = 0; i < n; i++) {
+                lat[i] = 16.70 + aleatorio.nextDouble() * 0.1;
+                lon[i] = -93.20 + aleatorio.nextDouble() * 0.1;
+            }
+            double qLat = 16.75;
+            double qLon = -93.15;
+            List<Integer> indices = new ArrayList<>();
+            List<Double> distancias = new ArrayList<>();
+
+            new ArbolKd(lat, lon).recorrerPorCercania(qLat, qLon, (indice, km) -> {
+                indices.add(indice);
+                distancias.add(km);
+                return true;
+            });
+
+            assertEquals(n, indices.size());
+            int[] ordenados = indices.stream().mapToInt(Integer::intValue).sorted().toArray();
+            int[] todos = new int[n];
+            Arrays.setAll(todos, i -> i);
+            assertArrayEquals(todos, ordenados);
+            for (int k = 0; k < n; k++) {
+                int i = indices.get(k);
+                assertEquals(GeoUtil.distanciaKm(qLat, qLon, lat[i], lon[i]), distancias.get(k), 1e-9);
+                if (k > 0) assertTrue(distancias.get(k - 1) <= distancias.get(k));
+            }
+        }
+    }
+
+    @Test
+    void losPrimerosCoincidenConLaBusquedaExhaustiva() {
+        Random aleatorio = new Random(11);
+        int n = 500;
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            lat[i] = 16.70 + aleatorio.nextDouble() * 0.1;
+            lon[i] = -93.20 + aleatorio.nextDouble() * 0.1;
+        }
+        ArbolKd arbol = new ArbolKd(lat, lon);
+        for (int consulta = 0; consulta < 20; consulta++) {
+            double qLat = 16.70 + aleatorio.nextDouble() * 0.1;
+            double qLon = -93.20 + aleatorio.nextDouble() * 0.1;
+            double[] exhaustiva = new double[n];
+            for (int i = 0; i < n; i++) {
+                exhaustiva[i] = GeoUtil.distanciaKm(qLat, qLon, lat[i], lon[i]);
+            }
+            Arrays.sort(exhaustiva);
+            List<Double> distancias = new ArrayList<>();
+
+            arbol.recorrerPorCercania(qLat, qLon, (indice, km) -> {
+                distancias.add(km);
+                return distancias.size() < 5;
+            });
+
+            assertEquals(5, distancias.size());
+            for (int k = 0; k < 5; k++) {
+                assertEquals(exhaustiva[k], distancias.get(k), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void admitePuntosRepetidos() {
+        double[] lat = new double[20];
+        double[] lon = new double[20];
+        Arrays.fill(lat, 16.75);
+        Arrays.fill(lon, -93.11);
+        List<Double> distancias = new ArrayList<>();
+
+        new ArbolKd(lat, lon).recorrerPorCercania(16.75, -93.11, (indice, km) -> distancias.add(km));
+
+        assertEquals(20, distancias.size());
+        for (double km : distancias) {
+            assertEquals(0, km, 1e-12);
+        }
+    }
+}
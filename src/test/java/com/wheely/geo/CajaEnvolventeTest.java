@@ -0,0 +1,106 @@
+package com.wheely.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link CajaEnvolvente}.
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ */
+class CajaEnvolventeTest {
+
+    private final CajaEnvolvente caja = new CajaEnvolvente(16.70, -93.20, 16.80, -93.10);
+
+    @Test
+    void laVistaRechazaLimitesFueraDeRangoOInvertidos() {
+        assertThrows(IllegalArgumentException.class, () -> CajaEnvolvente.vista(-91, 10, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> CajaEnvolvente.vista(0, 1, 0, 181));
+        assertThrows(IllegalArgumentException.class, () -> CajaEnvolvente.vista(10, 9, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> CajaEnvolvente.vista(0, 1, Double.NaN, 1));
+
+        CajaEnvolvente vista = CajaEnvolvente.vista(16.70, 16.80, -93.20, -93.10);
+        assertEquals(16.70, vista.getLatitudMinima(), 0);
+        assertEquals(-93.10, vista.getLongitudMaxima(), 0);
+    }
+
+    @Test
+    void contieneIncluyeLosBordes() {
+        assertTrue(caja.contiene(16.75, -93.15));
+        assertTrue(caja.contiene(16.70, -93.20));
+        assertTrue(caja.contiene(16.80, -93.10));
+        assertFalse(caja.contiene(16.81, -93.15));
+        assertFalse(caja.contiene(16.75, -93.09));
+
+        assertTrue(caja.contiene(new CajaEnvolvente(16.71, -93.19, 16.79, -93.11)));
+        assertTrue(caja.contiene(caja));
+        assertFalse(caja.contiene(new CajaEnvolvente(16.71, -93.19, 16.81, -93.11)));
+    }
+
+    @Test
+    void intersectaCuandoSeTocanOSeSolapan() {
+        assertTrue(caja.intersecta(new CajaEnvolvente(16.75, -93.15, 16.90, -93.00)));
+        assertTrue(caja.intersecta(new CajaEnvolvente(16.80, -93.10, 16.90, -93.00)));
+        assertTrue(caja.intersecta(CajaEnvolvente.MUNDO));
+        assertFalse(caja.intersecta(new CajaEnvolvente(16.81, -93.15, 16.90, -93.00)));
+        assertFalse(caja.intersecta(new CajaEnvolvente(16.75, -93.09, 16.90, -93.00)));
+    }
+
+    @Test
+    void detectaSegmentosQueCruzanSinExtremosDentro() {
+        // Cruza de oeste a este por el centro
+        assertTrue(caja.intersectaSegmento(16.75, -93.30, 16.75, -93.00));
+        // Diagonal que atraviesa una esquina
+        assertTrue(caja.intersectaSegmento(16.65, -93.15, 16.75, -93.25));
+        // Un extremo dentro
+        assertTrue(caja.intersectaSegmento(16.75, -93.15, 17.00, -93.15));
+        // Segmento degenerado dentro
+        assertTrue(caja.intersectaSegmento(16.75, -93.15, 16.75, -93.15));
+        // Paralelo a un borde, por fuera
+        assertFalse(caja.intersectaSegmento(16.85, -93.30, 16.85, -93.00));
+        // Diagonal que pasa junto a una esquina sin tocarla
+        assertFalse(caja.intersectaSegmento(16.60, -93.15, 16.75, -93.30));
+        // Recta que cruzaría la caja, pero el segmento termina antes
+        assertFalse(caja.intersectaSegmento(16.75, -93.40, 16.75, -93.25));
+    }
+
+    @Test
+    void laUnionAceptaNulos() {
+        CajaEnvolvente otra = CajaEnvolvente.punto(16.90, -93.30);
+
+        CajaEnvolvente union = CajaEnvolvente.union(caja, otra);
+
+        assertEquals(16.70, union.getLatitudMinima(), 0);
+        assertEquals(-93.30, union.getLongitudMinima(), 0);
+        assertEquals(16.90, union.getLatitudMaxima(), 0);
+        assertEquals(-93.10, union.getLongitudMaxima(), 0);
+        assertSame(caja, CajaEnvolvente.union(caja, null));
+        assertSame(caja, CajaEnvolvente.union(null, caja));
+        assertNull(CajaEnvolvente.union(null, null));
+    }
+
+    @Test
+    void laCajaDeUnTrazadoEnvuelveTodosSusPuntos() {
+        GeometriaRecorrido geometria = new GeometriaRecorrido.Builder(1)
+                .agregar(1, 1_675_000_000L, -9_311_000_000L, 1)
+                .agregar(2, 1_676_500_000L, -9_312_500_000L, 2)
+                .agregar(3, 1_674_000_000L, -9_310_000_000L, 3)
+                .build();
+
+        CajaEnvolvente zona = CajaEnvolvente.de(geometria);
+
+        assertEquals(16.74, zona.getLatitudMinima(), 1e-12);
+        assertEquals(-93.125, zona.getLongitudMinima(), 1e-12);
+        assertEquals(16.765, zona.getLatitudMaxima(), 1e-12);
+        assertEquals(-93.10, zona.getLongitudMaxima(), 1e-12);
+        assertNull(CajaEnvolvente.de(GeometriaRecorrido.vacia(1)));
+    }
+}
@@ -0,0 +1,309 @@
+package com.wheely.geo;
+
+import com.wheely.model.CoordenadaParada;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Pruebas de {@link CodificadorMvt} y {@link GeneradorTeselas}.
+ *
+ * <p>Las teselas se leen con un decodificador mínimo de protocol buffers escrito según
+ * {@code vector_tile.proto}, independiente del codificador.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ */
+class CodificadorMvtTest {
+
+    @Test
+    void unPuntoSeCodificaConMoverYCoordenadasZigzag() {
+        CodificadorMvt.Capa capa = new CodificadorMvt.Capa("paradas", "idParada");
+        capa.agregarPunto(300, 7, 2048, -5);
+
+        List<Capa> capas = decodificar(CodificadorMvt.codificar(List.of(capa)));
+
+        assertEquals(1, capas.size());
+        Capa leida = capas.get(0);
+        assertEquals(2, leida.version);
+        assertEquals("paradas", leida.nombre);
+        assertEquals(Tesela.EXTENSION, leida.extension);
+        assertEquals(List.of("idParada"), leida.claves);
+        assertEquals(List.of(7L), leida.valores);
+        assertEquals(1, leida.entidades.size());
+        Entidad punto = leida.entidades.get(0);
+        assertEquals(300, punto.id);
+        assertEquals(1, punto.tipo);
+        assertEquals(List.of(0L, 0L), punto.etiquetas);
+        assertEquals(List.of(9L, 4096L, 9L), punto.geometria);
+    }
+
+    @Test
+    void lasLineasUsanDesplazamientosRelativosEntrePartes() {
+        List<int[]> partes = List.of(new int[]{10, 20, 4000, 20, 4000, 3000}, new int[]{-64, 4160, 100, 90});
+        CodificadorMvt.Capa capa = new CodificadorMvt.Capa("recorridos", "idRecorrido");
+        capa.agregarLineas(5, 5, partes);
+
+        Entidad linea = decodificar(CodificadorMvt.codificar(List.of(capa))).get(0).entidades.get(0);
+
+        assertEquals(2, linea.tipo);
+        assertEquals(9L, linea.geometria.get(0).longValue());
+        assertEquals(2 | 2 << 3, linea.geometria.get(3).longValue());
+        List<int[]> leidas = partes(linea.geometria);
+        assertEquals(partes.size(), leidas.size());
+        for (int i = 0; i < partes.size(); i++) {
+            assertArrayEquals(partes.get(i), leidas.get(i));
+        }
+    }
+
+    @Test
+    void losValoresRepetidosCompartenIndice() {
+        CodificadorMvt.Capa capa = new CodificadorMvt.Capa("paradas", "idParada");
+        capa.agregarPunto(1, 5, 0, 0);
+        capa.agregarPunto(2, 200000, 1, 1);
+        capa.agregarPunto(3, 5, 2, 2);
+
+        Capa leida = decodificar(CodificadorMvt.codificar(List.of(capa))).get(0);
+
+        assertEquals(List.of(5L, 200000L), leida.valores);
+        assertEquals(List.of(0L, 0L), leida.entidades.get(0).etiquetas);
+        assertEquals(List.of(0L, 1L), leida.entidades.get(1).etiquetas);
+        assertEquals(List.of(0L, 0L), leida.entidades.get(2).etiquetas);
+    }
+
+    @Test
+    void lasCapasVaciasSeOmiten() {
+        CodificadorMvt.Capa vacia = new CodificadorMvt.Capa("recorridos", "idRecorrido");
+        CodificadorMvt.Capa paradas = new CodificadorMvt.Capa("paradas", "idParada");
+
+        assertEquals(0, CodificadorMvt.codificar(List.of(vacia, paradas)).length);
+
+        paradas.agregarPunto(1, 1, 10, 10);
+        List<Capa> capas = decodificar(CodificadorMvt.codificar(List.of(vacia, paradas)));
+        assertEquals(1, capas.size());
+        assertEquals("paradas", capas.get(0).nombre);
+    }
+
+    @Test
+    void unaTeselaGeneradaSeDecodificaConSusRecorridosYParadas() {
+        double lat = 16.7528;
+        double lon = -93.1152;
+        int z = 15;
+        int limite = 1 << z;
+        double radianes = Math.toRadians(lat);
+        Tesela tesela = new Tesela(z, (int) Math.floor((lon + 180.0) / 360.0 * limite),
+                (int) Math.floor((1.0 - Math.log(Math.tan(radianes) + 1.0 / Math.cos(radianes)) / Math.PI) / 2.0 * limite));
+
+        List<GeometriaRecorrido> trazados = new ArrayList<>();
+        trazados.add(trazado(1, 100, lat - 0.02, lon, lat + 0.02, lon));
+        trazados.add(trazado(2, 200, lat, lon - 0.02, lat, lon + 0.02));
+        trazados.add(trazado(3, 300, lat + 1, lon + 1, lat + 1.01, lon + 1));
+        AlmacenGeometria almacen = new AlmacenGeometria();
+        almacen.cargar(trazados);
+        IndiceEspacialParadas indice = new IndiceEspacialParadas();
+        BigDecimal latParada = BigDecimal.valueOf(lat);
+        BigDecimal lonParada = BigDecimal.valueOf(lon);
+        indice.cargar(List.of(new CoordenadaParada(41, 4, latParada, lonParada, 1)));
+
+        List<Capa> capas = decodificar(new GeneradorTeselas(almacen, indice).generar(tesela));
+
+        assertEquals(2, capas.size());
+        Capa recorridos = capas.get(0);
+        assertEquals("recorridos", recorridos.nombre);
+        assertEquals(List.of("idRecorrido"), recorridos.claves);
+        assertEquals(Tesela.EXTENSION, recorridos.extension);
+        assertEquals(2, recorridos.entidades.size());
+        for (int i = 0; i < recorridos.entidades.size(); i++) {
+            Entidad e = recorridos.entidades.get(i);
+            assertEquals(i + 1, e.id);
+            assertEquals(e.id, recorridos.valores.get(e.etiquetas.get(1).intValue()).longValue());
+            for (int[] parte : partes(e.geometria)) {
+                for (int c : parte) {
+                    assertTrue(c >= -GeneradorTeselas.BORDE && c <= Tesela.EXTENSION + GeneradorTeselas.BORDE);
+                }
+            }
+        }
+
+        Capa paradas = capas.get(1);
+        assertEquals("paradas", paradas.nombre);
+        assertEquals(List.of(4L), paradas.valores);
+        Entidad parada = paradas.entidades.get(0);
+        assertEquals(41, parada.id);
+        int[] punto = partes(parada.geometria).get(0);
+        assertEquals(Math.round(tesela.proyectarX(lon)), punto[0]);
+        assertEquals(Math.round(tesela.proyectarY(lat)), punto[1]);
+    }
+
+    private static GeometriaRecorrido trazado(int idRecorrido, int primerId,
+                                              double lat0, double lon0, double lat1, double lon1) {
+        GeometriaRecorrido.Builder b = new GeometriaRecorrido.Builder(idRecorrido);
+        for (int i = 0; i <= 20; i++) {
+            double t = i / 20.0;
+            b.agregar(primerId + i, GeometriaRecorrido.aPuntoFijo(BigDecimal.valueOf(lat0 + (lat1 - lat0) * t)),
+                    GeometriaRecorrido.aPuntoFijo(BigDecimal.valueOf(lon0 + (lon1 - lon0) * t)), i + 1);
+        }
+        return b.build();
+    }
+
+    /**
+     * Interpreta los comandos de geometría y devuelve cada parte en coordenadas absolutas.
+     */
+    private static List<int[]> partes(List<Long> geometria) {
+        List<int[]> partes = new ArrayList<>();
+        List<Integer> actual = null;
+        int x = 0;
+        int y = 0;
+        int i = 0;
+        while (i < geometria.size()) {
+            long comando = geometria.get(i++);
+            int id = (int) (comando & 0x7);
+            int cantidad = (int) (comando >>> 3);
+            if (id == 1) {
+                if (actual != null) partes.add(aArreglo(actual));
+                actual = new ArrayList<>();
+            } else if (id != 2 || actual == null) {
+                fail("Comando inesperado " + id);
+            }
+            for (int k = 0; k < cantidad; k++) {
+                x += dezigzag(geometria.get(i++));
+                y += dezigzag(geometria.get(i++));
+                actual.add(x);
+                actual.add(y);
+            }
+        }
+        if (actual != null) partes.add(aArreglo(actual));
+        return partes;
+    }
+
+    private static int[] aArreglo(List<Integer> valores) {
+        return valores.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int dezigzag(long n) {
+        return (int) ((n >>> 1) ^ -(n & 1));
+    }
+
+    private static List<Capa> decodificar(byte[] tesela) {
+        List<Capa> capas = new ArrayList<>();
+        Lector lector = new Lector(tesela, 0, tesela.length);
+        while (lector.hayMas()) {
+            long tag = lector.varint();
+            if (tag != (3 << 3 | 2)) fail("Campo inesperado en la tesela: " + tag);
+            capas.add(capa(lector.mensaje()));
+        }
+        return capas;
+    }
+
+    private static Capa capa(Lector lector) {
+        Capa capa = new Capa();
+        while (lector.hayMas()) {
+            long tag = lector.varint();
+            switch ((int) (tag >>> 3)) {
+                case 15 -> capa.version = (int) lector.varint();
+                case 1 -> capa.nombre = lector.texto();
+                case 2 -> capa.entidades.add(entidad(lector.mensaje()));
+                case 3 -> capa.claves.add(lector.texto());
+                case 4 -> {
+                    Lector valor = lector.mensaje();
+                    assertEquals(5 << 3, valor.varint());
+                    capa.valores.add(valor.varint());
+                    assertTrue(!valor.hayMas());
+                }
+                case 5 -> capa.extension = (int) lector.varint();
+                default -> fail("Campo inesperado en la capa: " + tag);
+            }
+        }
+        return capa;
+    }
+
+    private static Entidad entidad(Lector lector) {
+        Entidad entidad = new Entidad();
+        while (lector.hayMas()) {
+            long tag = lector.varint();
+            switch ((int) (tag >>> 3)) {
+                case 1 -> entidad.id = lector.varint();
+                case 2 -> entidad.etiquetas = lector.empacados();
+                case 3 -> entidad.tipo = (int) lector.varint();
+                case 4 -> entidad.geometria = lector.empacados();
+                default -> fail("Campo inesperado en la entidad: " + tag);
+            }
+        }
+        return entidad;
+    }
+
+    private static final class Capa {
+        private int version;
+        private String nombre;
+        private int extension;
+        private final List<String> claves = new ArrayList<>();
+        private final List<Long> valores = new ArrayList<>();
+        private final List<Entidad> entidades = new ArrayList<>();
+    }
+
+    private static final class Entidad {
+        private long id;
+        private int tipo;
+        private List<Long> etiquetas = new ArrayList<>();
+        private List<Long> geometria = new ArrayList<>();
+    }
+
+    /**
+     * Lector de varints y campos delimitados por longitud sobre un rango de bytes.
+     */
+    private static final class Lector {
+        private final byte[] datos;
+        private final int fin;
+        private int posicion;
+
+        private Lector(byte[] datos, int inicio, int fin) {
+            this.datos = datos;
+            this.posicion = inicio;
+            this.fin = fin;
+        }
+
+        private boolean hayMas() {
+            return posicion < fin;
+        }
+
+        private long varint() {
+            long valor = 0;
+            for (int desplazamiento = 0; ; desplazamiento += 7) {
+                if (posicion >= fin) fail("Varint truncado");
+                byte b = datos[posicion++];
+                valor |= (long) (b & 0x7F) << desplazamiento;
+                if ((b & 0x80) == 0) return valor;
+            }
+        }
+
+        private Lector mensaje() {
+            int longitud = (int) varint();
+            if (posicion + longitud > fin) fail("Mensaje truncado");
+            Lector contenido = new Lector(datos, posicion, posicion + longitud);
+            posicion += longitud;
+            return contenido;
+        }
+
+        private String texto() {
+            Lector contenido = mensaje();
+            return new String(datos, contenido.posicion, contenido.fin - contenido.posicion, StandardCharsets.UTF_8);
+        }
+
+        private List<Long> empacados() {
+            Lector contenido = mensaje();
+            List<Long> valores = new ArrayList<>();
+            while (contenido.hayMas()) {
+                valores.add(contenido.varint());
+            }
+            return valores;
+        }
+    }
+}
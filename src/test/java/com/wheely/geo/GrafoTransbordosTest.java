@@ -0,0 +1,141 @@
+package com.wheely.geo;
+
+import com.wheely.model.CoordenadaParada;
+import com.wheely.model.Parada;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link GrafoTransbordos}.
+ *
+ * <p>Las escrituras incrementales se comparan, paso a paso, con el grafo que construye
+ * {@link GrafoTransbordos#cargar(Map)} desde cero sobre el mismo índice de paradas.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ */
+class GrafoTransbordosTest {
+
+    private static final double LAT_BASE = 16.75;
+    private static final double LON_BASE = -93.11;
+
+    @Test
+    void conectaParadasCercanasDeRecorridosDistintos() {
+        IndiceEspacialParadas indice = new IndiceEspacialParadas();
+        indice.cargar(List.of(
+                coordenada(1, 10, 0, 0),
+                coordenada(2, 20, 0, 0.001),
+                coordenada(3, 30, 0, 0.002),
+                coordenada(4, 40, 0.01, 0)));
+        GrafoTransbordos grafo = new GrafoTransbordos(indice);
+        grafo.cargar(Map.of(10, 1, 20, 2, 30, 1, 40, 3));
+
+        assertEquals(List.of("2:106"), vecinas(grafo.getCsr(), 1));
+        assertEquals(List.of("1:106", "3:106"), vecinas(grafo.getCsr(), 2));
+        assertTrue(vecinas(grafo.getCsr(), 4).isEmpty());
+    }
+
+    @Test
+    void lasEscriturasIncrementalesCoincidenConUnaCargaCompleta() {
+        Random aleatorio = new Random(17);
+        IndiceEspacialParadas indice = new IndiceEspacialParadas();
+        Map<Integer, Integer> recorridoPorParada = new HashMap<>();
+        List<CoordenadaParada> iniciales = new ArrayList<>();
+        for (int id = 1; id <= 30; id++) {
+            int parada = 100 + aleatorio.nextInt(15);
+            recorridoPorParada.putIfAbsent(parada, 1 + aleatorio.nextInt(4));
+            iniciales.add(coordenada(id, parada, aleatorio.nextDouble() * 0.008, aleatorio.nextDouble() * 0.008));
+        }
+        indice.cargar(iniciales);
+        GrafoTransbordos grafo = new GrafoTransbordos(indice);
+        grafo.cargar(recorridoPorParada);
+
+        List<Integer> vivas = new ArrayList<>();
+        for (CoordenadaParada c : iniciales) {
+            vivas.add(c.getIdCoordenadaParada());
+        }
+        int siguienteId = 31;
+        boolean compactado = false;
+        for (int paso = 0; paso < 600; paso++) {
+            int nodosAntes = grafo.getCsr().nodos();
+            int operacion = aleatorio.nextInt(10);
+            if (operacion < 4 || vivas.isEmpty()) {
+                boolean nueva = vivas.isEmpty() || aleatorio.nextInt(3) > 0;
+                int id = nueva ? siguienteId++ : vivas.get(aleatorio.nextInt(vivas.size()));
+                int parada = 100 + aleatorio.nextInt(20);
+                CoordenadaParada c = coordenada(id, parada, aleatorio.nextDouble() * 0.008, aleatorio.nextDouble() * 0.008);
+                int recorrido = 0;
+                if (aleatorio.nextInt(4) > 0) {
+                    recorridoPorParada.putIfAbsent(parada, 1 + aleatorio.nextInt(4));
+                    recorrido = recorridoPorParada.get(parada);
+                }
+                indice.guardar(c);
+                grafo.guardar(c, recorrido);
+                if (nueva) vivas.add(id);
+            } else if (operacion < 8) {
+                Integer id = vivas.remove(aleatorio.nextInt(vivas.size()));
+                indice.eliminar(id);
+                grafo.eliminar(id);
+            } else {
+                int parada = 100 + aleatorio.nextInt(20);
+                int recorrido = 1 + aleatorio.nextInt(4);
+                recorridoPorParada.put(parada, recorrido);
+                grafo.guardarParada(new Parada(parada, recorrido, "paradas.geojson", true));
+            }
+            compactado |= grafo.getCsr().nodos() < nodosAntes;
+
+            GrafoTransbordos completo = new GrafoTransbordos(indice);
+            completo.cargar(recorridoPorParada);
+            assertIguales(completo.getCsr(), grafo.getCsr(), paso);
+        }
+        assertTrue(compactado);
+    }
+
+    private static void assertIguales(GrafoTransbordos.Csr esperado, GrafoTransbordos.Csr actual, int paso) {
+        TreeSet<Integer> idsEsperados = new TreeSet<>();
+        for (int n = 0; n < esperado.nodos(); n++) {
+            idsEsperados.add(esperado.idCoordenadaParada(n));
+        }
+        TreeSet<Integer> idsVivos = new TreeSet<>();
+        for (int n = 0; n < actual.nodos(); n++) {
+            if (actual.vivo(n)) idsVivos.add(actual.idCoordenadaParada(n));
+        }
+        assertEquals(idsEsperados, idsVivos, "paso " + paso);
+        for (int id : idsEsperados) {
+            assertEquals(vecinas(esperado, id), vecinas(actual, id), "paso " + paso + ", coordenada " + id);
+        }
+    }
+
+    /**
+     * Vecinas de una coordenada como {@code "id:metros"}, ordenadas.
+     */
+    private static List<String> vecinas(GrafoTransbordos.Csr csr, int idCoordenadaParada) {
+        int nodo = csr.nodo(idCoordenadaParada);
+        List<String> resultado = new ArrayList<>();
+        for (int e = csr.inicio(nodo); e < csr.inicio(nodo + 1); e++) {
+            int destino = csr.destino(e);
+            assertTrue(csr.vivo(destino));
+            resultado.add(csr.idCoordenadaParada(destino) + ":" + csr.metros(e));
+        }
+        resultado.sort(null);
+        return resultado;
+    }
+
+    private static CoordenadaParada coordenada(int id, int idParada, double dLat, double dLon) {
+        return new CoordenadaParada(id, idParada,
+                BigDecimal.valueOf(LAT_BASE + dLat).setScale(GeometriaRecorrido.ESCALA, RoundingMode.HALF_UP),
+                BigDecimal.valueOf(LON_BASE + dLon).setScale(GeometriaRecorrido.ESCALA, RoundingMode.HALF_UP), 1);
+    }
+}
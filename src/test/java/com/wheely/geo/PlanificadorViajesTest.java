@@ -0,0 +1,254 @@
+package com.wheely.geo;
+
+import com.wheely.model.CoordenadaParada;
+import com.wheely.util.GeoUtil;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link PlanificadorViajes} sobre redes pequeñas construidas a mano.
+ *
+ * <p>Los viajes se comparan con una búsqueda exhaustiva que enumera todas las combinaciones
+ * de recorridos y transbordos con el mismo modelo de costos.</p>
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ */
+class PlanificadorViajesTest {
+
+    private static final double LAT_BASE = 16.75;
+    private static final double LON_BASE = -93.11;
+    private static final double METROS_POR_GRADO = GeoUtil.KM_POR_GRADO * 1000.0;
+    private static final int INFINITO = Integer.MAX_VALUE / 2;
+    private static final LocalTime SALIDA = LocalTime.of(7, 30);
+
+    @Test
+    void unViajeMasRapidoReemplazaALaCaminataDirecta() {
+        Red red = new Red();
+        red.linea(1, new double[][]{{0, 0}, {500, 0}, {1000, 0}, {1500, 0}});
+        PlanificadorViajes planificador = red.planificador(0.05);
+
+        List<ViajePlanificado> viajes = planificador.planear(lat(0), lon(0), lat(1500), lon(0), SALIDA, 2);
+
+        assertEquals(1, viajes.size());
+        assertEquals(0, viajes.get(0).getTransbordos());
+        assertEquals(1, recorridos(viajes.get(0)));
+        assertTrue(viajes.get(0).getDuracionSegundos() < RedTransporte.segundosCaminando(1500));
+    }
+
+    @Test
+    void laCaminataDirectaSeConservaSiNingunViajeLaMejora() {
+        Red red = new Red();
+        red.linea(1, new double[][]{{0, 0}, {500, 0}, {1000, 0}, {1500, 0}});
+        PlanificadorViajes planificador = red.planificador(1.0);
+
+        List<ViajePlanificado> viajes = planificador.planear(lat(0), lon(0), lat(1500), lon(0), SALIDA, 2);
+
+        assertEquals(1, viajes.size());
+        assertEquals(0, viajes.get(0).getTransbordos());
+        assertEquals(0, recorridos(viajes.get(0)));
+        assertEquals(RedTransporte.segundosCaminando(distancia(0, 0, 1500, 0)), viajes.get(0).getDuracionSegundos());
+    }
+
+    @Test
+    void coincideConLaBusquedaExhaustivaYNoDevuelveViajesDominados() {
+        Random aleatorio = new Random(11);
+        int conTransbordos = 0;
+        for (int caso = 0; caso < 40; caso++) {
+            Red red = new Red();
+            int lineas = 3 + aleatorio.nextInt(3);
+            for (int l = 1; l <= lineas; l++) {
+                double[][] puntos = new double[4 + aleatorio.nextInt(4)][];
+                double y = aleatorio.nextDouble() * 3000;
+                double x = aleatorio.nextDouble() * 3000;
+                double rumbo = aleatorio.nextDouble() * 2 * Math.PI;
+                for (int i = 0; i < puntos.length; i++) {
+                    puntos[i] = new double[]{y, x};
+                    rumbo += (aleatorio.nextDouble() - 0.5);
+                    double paso = 250 + aleatorio.nextDouble() * 350;
+                    y += paso * Math.sin(rumbo);
+                    x += paso * Math.cos(rumbo);
+                }
+                red.linea(l, puntos);
+            }
+            PlanificadorViajes planificador = red.planificador(0.05 + aleatorio.nextDouble() * 0.2);
+            RedTransporte transporte = red.transporte;
+
+            for (int consulta = 0; consulta < 10; consulta++) {
+                int desde = aleatorio.nextInt(transporte.paradas());
+                int hasta = aleatorio.nextInt(transporte.paradas());
+                double latOrigen = transporte.latitud(desde) + (aleatorio.nextDouble() - 0.5) * 0.003;
+                double lonOrigen = transporte.longitud(desde) + (aleatorio.nextDouble() - 0.5) * 0.003;
+                double latDestino = transporte.latitud(hasta) + (aleatorio.nextDouble() - 0.5) * 0.003;
+                double lonDestino = transporte.longitud(hasta) + (aleatorio.nextDouble() - 0.5) * 0.003;
+                int maxTransbordos = aleatorio.nextInt(3);
+
+                List<ViajePlanificado> viajes = planificador.planear(latOrigen, lonOrigen, latDestino, lonDestino,
+                        SALIDA, maxTransbordos);
+                List<int[]> esperado = frente(fuerzaBruta(transporte, red.segundosPorMetro,
+                        latOrigen, lonOrigen, latDestino, lonDestino, maxTransbordos + 1),
+                        caminataDirecta(latOrigen, lonOrigen, latDestino, lonDestino));
+
+                assertEquals(esperado.size(), viajes.size(), "caso " + caso + ", consulta " + consulta);
+                for (int i = 0; i < viajes.size(); i++) {
+                    ViajePlanificado v = viajes.get(i);
+                    assertEquals(esperado.get(i)[0], v.getTransbordos());
+                    assertEquals(esperado.get(i)[1], v.getDuracionSegundos());
+                    int tramosEnRecorrido = recorridos(v);
+                    assertTrue(tramosEnRecorrido == v.getTransbordos() + 1
+                            || (tramosEnRecorrido == 0 && v.getTransbordos() == 0));
+                    if (i > 0) {
+                        assertTrue(v.getTransbordos() > viajes.get(i - 1).getTransbordos());
+                        assertTrue(v.getDuracionSegundos() < viajes.get(i - 1).getDuracionSegundos());
+                    }
+                    if (v.getTransbordos() > 0) conTransbordos++;
+                }
+            }
+        }
+        assertTrue(conTransbordos > 0);
+    }
+
+    /**
+     * Mejor duración al destino usando exactamente {@code n} recorridos, para cada {@code n}.
+     */
+    private static int[] fuerzaBruta(RedTransporte red, double[] segundosPorMetro,
+                                     double latOrigen, double lonOrigen, double latDestino, double lonDestino,
+                                     int maxRecorridos) {
+        int[] mejor = new int[maxRecorridos + 1];
+        Arrays.fill(mejor, INFINITO);
+        int[] egreso = new int[red.paradas()];
+        for (int s = 0; s < red.paradas(); s++) {
+            double metros = red.metrosHasta(s, latDestino, lonDestino);
+            egreso[s] = metros <= PlanificadorViajes.RADIO_ACCESO_METROS ? RedTransporte.segundosCaminando(metros) : -1;
+        }
+        for (int s = 0; s < red.paradas(); s++) {
+            double metros = red.metrosHasta(s, latOrigen, lonOrigen);
+            if (metros > PlanificadorViajes.RADIO_ACCESO_METROS) continue;
+            abordar(red, segundosPorMetro, egreso, s, RedTransporte.segundosCaminando(metros), 0, mejor);
+        }
+        return mejor;
+    }
+
+    private static void abordar(RedTransporte red, double[] segundosPorMetro, int[] egreso,
+                                int p, int llegada, int usados, int[] mejor) {
+        if (usados == mejor.length - 1) return;
+        int linea = red.lineaDe(p);
+        double spm = segundosPorMetro[linea];
+        double base = llegada + PlanificadorViajes.ESPERA_SEGUNDOS - red.avanceMetros(p) * spm;
+        for (int q = p + 1; q < red.inicioParadas(linea + 1); q++) {
+            int t = (int) Math.ceil(base + red.avanceMetros(q) * spm);
+            if (egreso[q] >= 0) mejor[usados + 1] = Math.min(mejor[usados + 1], t + egreso[q]);
+            abordar(red, segundosPorMetro, egreso, q, t, usados + 1, mejor);
+            for (int a = red.inicioTransbordos(q); a < red.inicioTransbordos(q + 1); a++) {
+                int destino = red.destinoTransbordo(a);
+                int tq = t + red.segundosTransbordo(a);
+                if (egreso[destino] >= 0) mejor[usados + 1] = Math.min(mejor[usados + 1], tq + egreso[destino]);
+                abordar(red, segundosPorMetro, egreso, destino, tq, usados + 1, mejor);
+            }
+        }
+    }
+
+    /**
+     * Frente de Pareto esperado como pares {@code {transbordos, duración}}; la caminata
+     * directa compite con los viajes de un solo recorrido.
+     */
+    private static List<int[]> frente(int[] mejor, int caminata) {
+        List<int[]> resultado = new ArrayList<>();
+        int anterior = INFINITO;
+        for (int n = 1; n < mejor.length; n++) {
+            int duracion = n == 1 ? Math.min(caminata, mejor[n]) : mejor[n];
+            if (duracion < anterior) {
+                resultado.add(new int[]{n - 1, duracion});
+                anterior = duracion;
+            }
+        }
+        return resultado;
+    }
+
+    private static int caminataDirecta(double latOrigen, double lonOrigen, double latDestino, double lonDestino) {
+        double metros = GeoUtil.distanciaKm(latOrigen, lonOrigen, latDestino, lonDestino) * 1000.0;
+        return metros <= PlanificadorViajes.CAMINATA_DIRECTA_MAXIMA_METROS
+                ? RedTransporte.segundosCaminando(metros) : INFINITO;
+    }
+
+    private static int recorridos(ViajePlanificado viaje) {
+        int n = 0;
+        for (ViajePlanificado.TramoViaje tramo : viaje.getTramos()) {
+            if (ViajePlanificado.RECORRIDO.equals(tramo.getTipo())) n++;
+        }
+        return n;
+    }
+
+    private static double lat(double metrosNorte) {
+        return LAT_BASE + metrosNorte / METROS_POR_GRADO;
+    }
+
+    private static double lon(double metrosEste) {
+        return LON_BASE + metrosEste / (METROS_POR_GRADO * Math.cos(Math.toRadians(LAT_BASE)));
+    }
+
+    private static double distancia(double norte1, double este1, double norte2, double este2) {
+        return GeoUtil.distanciaKm(lat(norte1), lon(este1), lat(norte2), lon(este2)) * 1000.0;
+    }
+
+    /**
+     * Red de prueba: cada línea tiene una parada en cada punto de su trazado.
+     */
+    private static final class Red {
+        private final List<GeometriaRecorrido> trazados = new ArrayList<>();
+        private final Map<Integer, Integer> rutaPorRecorrido = new HashMap<>();
+        private final Map<Integer, List<CoordenadaParada>> paradasPorRecorrido = new HashMap<>();
+        private final Map<Integer, Integer> recorridoPorParada = new HashMap<>();
+        private final List<CoordenadaParada> coordenadas = new ArrayList<>();
+        private RedTransporte transporte;
+        private double[] segundosPorMetro;
+
+        void linea(int idRecorrido, double[][] puntos) {
+            GeometriaRecorrido.Builder trazado = new GeometriaRecorrido.Builder(idRecorrido);
+            List<CoordenadaParada> paradas = new ArrayList<>();
+            for (int i = 0; i < puntos.length; i++) {
+                BigDecimal latitud = grados(lat(puntos[i][0]));
+                BigDecimal longitud = grados(lon(puntos[i][1]));
+                int id = idRecorrido * 100 + i + 1;
+                trazado.agregar(id, GeometriaRecorrido.aPuntoFijo(latitud), GeometriaRecorrido.aPuntoFijo(longitud), i + 1);
+                CoordenadaParada c = new CoordenadaParada(id, id, latitud, longitud, i + 1);
+                paradas.add(c);
+                coordenadas.add(c);
+                recorridoPorParada.put(id, idRecorrido);
+            }
+            trazados.add(trazado.build());
+            rutaPorRecorrido.put(idRecorrido, 1000 + idRecorrido);
+            paradasPorRecorrido.put(idRecorrido, paradas);
+        }
+
+        PlanificadorViajes planificador(double spm) {
+            IndiceEspacialParadas indice = new IndiceEspacialParadas();
+            indice.cargar(coordenadas);
+            GrafoTransbordos grafo = new GrafoTransbordos(indice);
+            grafo.cargar(recorridoPorParada);
+            transporte = new RedTransporte(trazados, rutaPorRecorrido, paradasPorRecorrido, grafo.getCsr());
+            segundosPorMetro = new double[transporte.lineas()];
+            for (int r = 0; r < segundosPorMetro.length; r++) {
+                segundosPorMetro[r] = spm * (1 + (transporte.idRecorrido(r) % 3) * 0.5);
+            }
+            return new PlanificadorViajes(transporte, segundosPorMetro);
+        }
+
+        private static BigDecimal grados(double valor) {
+            return BigDecimal.valueOf(valor).setScale(GeometriaRecorrido.ESCALA, RoundingMode.HALF_UP);
+        }
+    }
+}
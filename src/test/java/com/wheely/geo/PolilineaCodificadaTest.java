@@ -0,0 +1,95 @@
+package com.wheely.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas de {@link PolilineaCodificada}.
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ */
+class PolilineaCodificadaTest {
+
+    @Test
+    void codificaElEjemploDeLaEspecificacion() {
+        GeometriaRecorrido geometria = trazado("38.5", "-120.2", "40.7", "-120.95", "43.252", "-126.453");
+
+        assertEquals("_p~iF~ps|U_ulLnnqC_mqNvxq`@", PolilineaCodificada.codificar(geometria));
+    }
+
+    @Test
+    void recorridoSinPuntosDaCadenaVacia() {
+        assertEquals("", PolilineaCodificada.codificar(GeometriaRecorrido.vacia(1)));
+    }
+
+    @Test
+    void redondeaLaMitadHaciaArriba() {
+        assertEquals("A?", PolilineaCodificada.codificar(trazado("0.000005", "0")));
+        assertEquals("??", PolilineaCodificada.codificar(trazado("-0.000005", "0")));
+        assertEquals("@?", PolilineaCodificada.codificar(trazado("-0.000006", "0")));
+    }
+
+    @Test
+    void lasDiferenciasSeTomanSobreLosValoresRedondeados() {
+        // 0.000004 se redondea a 0 y 0.000008 a 1: la segunda diferencia es 1, no 0.4 acumulado
+        assertEquals("??A?", PolilineaCodificada.codificar(trazado("0.000004", "0", "0.000008", "0")));
+    }
+
+    @Test
+    void seDecodificaAlTrazadoRedondeado() {
+        GeometriaRecorrido geometria = trazado("16.75361234", "-93.11587654", "16.75402", "-93.1149", "16.7489", "-93.12001");
+
+        long[] puntos = decodificar(PolilineaCodificada.codificar(geometria));
+
+        assertEquals(6, puntos.length);
+        for (int i = 0; i < geometria.size(); i++) {
+            assertEquals(Math.round(geometria.latitud(i) * 1e5), puntos[2 * i]);
+            assertEquals(Math.round(geometria.longitud(i) * 1e5), puntos[2 * i + 1]);
+        }
+    }
+
+    private static GeometriaRecorrido trazado(String... latLon) {
+        GeometriaRecorrido.Builder builder = new GeometriaRecorrido.Builder(1);
+        for (int i = 0; i < latLon.length; i += 2) {
+            builder.agregar(i / 2 + 1, GeometriaRecorrido.aPuntoFijo(new BigDecimal(latLon[i])),
+                    GeometriaRecorrido.aPuntoFijo(new BigDecimal(latLon[i + 1])), i / 2 + 1);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Decodificador de referencia del formato, en unidades de 1e-5 grados.
+     */
+    private static long[] decodificar(String polilinea) {
+        long[] valores = new long[polilinea.length()];
+        int n = 0;
+        long anterior0 = 0;
+        long anterior1 = 0;
+        int i = 0;
+        while (i < polilinea.length()) {
+            long resultado = 0;
+            int desplazamiento = 0;
+            int b;
+            do {
+                b = polilinea.charAt(i++) - 63;
+                resultado |= (long) (b & 0x1f) << desplazamiento;
+                desplazamiento += 5;
+            } while (b >= 0x20);
+            long delta = (resultado & 1) != 0 ? ~(resultado >> 1) : resultado >> 1;
+            if (n % 2 == 0) {
+                anterior0 += delta;
+                valores[n++] = anterior0;
+            } else {
+                anterior1 += delta;
+                valores[n++] = anterior1;
+            }
+        }
+        return Arrays.copyOf(valores, n);
+    }
+}
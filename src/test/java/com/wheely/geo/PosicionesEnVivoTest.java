@@ -0,0 +1,94 @@
+package com.wheely.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link PosicionesEnVivo}.
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ */
+class PosicionesEnVivoTest {
+
+    @Test
+    void entregaLaUltimaPosicionDeCadaVehiculo() {
+        PosicionesEnVivo posiciones = new PosicionesEnVivo();
+        posiciones.registrar(new PosicionVehiculo("ECO-1", 7, 16.750, -93.110, 1_000));
+        posiciones.registrar(new PosicionVehiculo("ECO-2", 7, 16.760, -93.120, 2_000));
+        posiciones.registrar(new PosicionVehiculo("ECO-1", 7, 16.751, -93.111, 3_000));
+        // Llega tarde un reporte más antiguo de ECO-1
+        posiciones.registrar(new PosicionVehiculo("ECO-1", 7, 16.749, -93.109, 1_500));
+
+        List<PosicionVehiculo> vehiculos = posiciones.vehiculosEn(7, 0);
+
+        assertEquals(2, vehiculos.size());
+        assertEquals("ECO-1", vehiculos.get(0).getIdVehiculo());
+        assertEquals(3_000, vehiculos.get(0).getMarcaTiempo());
+        assertEquals("ECO-2", vehiculos.get(1).getIdVehiculo());
+    }
+
+    @Test
+    void filtraPorMarcaDeTiempoYRecorrido() {
+        PosicionesEnVivo posiciones = new PosicionesEnVivo();
+        posiciones.registrar(new PosicionVehiculo("ECO-1", 7, 16.750, -93.110, 1_000));
+        posiciones.registrar(new PosicionVehiculo("ECO-2", 7, 16.760, -93.120, 5_000));
+        posiciones.registrar(new PosicionVehiculo("ECO-3", 8, 16.770, -93.130, 5_000));
+
+        List<PosicionVehiculo> vehiculos = posiciones.vehiculosEn(7, 2_000);
+
+        assertEquals(1, vehiculos.size());
+        assertEquals("ECO-2", vehiculos.get(0).getIdVehiculo());
+        assertTrue(posiciones.vehiculosEn(9, 0).isEmpty());
+    }
+
+    @Test
+    void alDarLaVueltaSobrescribeLasMasAntiguas() {
+        PosicionesEnVivo posiciones = new PosicionesEnVivo();
+        posiciones.registrar(new PosicionVehiculo("ANTIGUO", 7, 16.750, -93.110, 1));
+        for (int i = 0; i < PosicionesEnVivo.CAPACIDAD_POR_RECORRIDO; i++) {
+            posiciones.registrar(new PosicionVehiculo("ECO-" + (i % 10), 7, 16.750, -93.110, 10 + i));
+        }
+
+        List<PosicionVehiculo> vehiculos = posiciones.vehiculosEn(7, 0);
+
+        assertEquals(10, vehiculos.size());
+        assertEquals(PosicionesEnVivo.CAPACIDAD_POR_RECORRIDO + 9, vehiculos.get(0).getMarcaTiempo());
+        assertEquals(PosicionesEnVivo.CAPACIDAD_POR_RECORRIDO + 1L, posiciones.totalRegistradas());
+    }
+
+    @Test
+    void losEscritoresConcurrentesNoPierdenPosiciones() throws InterruptedException {
+        PosicionesEnVivo posiciones = new PosicionesEnVivo();
+        int hilos = 4;
+        int porHilo = 1000;
+        List<Thread> escritores = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            String vehiculo = "ECO-" + h;
+            Thread hilo = new Thread(() -> {
+                for (int i = 1; i <= porHilo; i++) {
+                    posiciones.registrar(new PosicionVehiculo(vehiculo, 7, 16.750, -93.110, i));
+                }
+            });
+            escritores.add(hilo);
+            hilo.start();
+        }
+        for (Thread hilo : escritores) {
+            hilo.join();
+        }
+
+        List<PosicionVehiculo> vehiculos = posiciones.vehiculosEn(7, 0);
+
+        assertEquals(hilos * porHilo, posiciones.totalRegistradas());
+        assertEquals(hilos, vehiculos.size());
+        for (PosicionVehiculo p : vehiculos) {
+            assertEquals(porHilo, p.getMarcaTiempo());
+        }
+    }
+}
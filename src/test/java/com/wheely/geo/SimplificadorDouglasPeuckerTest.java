@@ -0,0 +1,152 @@
+package com.wheely.geo;
+
+import com.wheely.util.GeoUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de {@link SimplificadorDouglasPeucker} y de la simplificación de {@link GeometriaRecorrido}.
+ *
+ * @author Beebop
+ * @version 1.0.0
+ * @since 2025
+ */
+class SimplificadorDouglasPeuckerTest {
+
+    private static final double METROS_POR_GRADO = GeoUtil.KM_POR_GRADO * 1000.0;
+
+    @Test
+    void losExtremosSiempreSeConservan() {
+        double[] importancias = SimplificadorDouglasPeucker.importancias(trazado(16.75, -93.11, 16.76, -93.10));
+
+        assertEquals(Double.POSITIVE_INFINITY, importancias[0], 0);
+        assertEquals(Double.POSITIVE_INFINITY, importancias[1], 0);
+        assertEquals(0, SimplificadorDouglasPeucker.importancias(GeometriaRecorrido.vacia(1)).length);
+    }
+
+    @Test
+    void laImportanciaEsLaDistanciaAlTramo() {
+        // El punto central se separa 0.0001 grados de latitud de un tramo sobre el ecuador
+        double[] importancias = SimplificadorDouglasPeucker.importancias(
+                trazado(0, 0, 0.0001, 0.001, 0, 0.002));
+
+        assertEquals(0.0001 * METROS_POR_GRADO, importancias[1], 1e-6);
+    }
+
+    @Test
+    void descartaLosPuntosAlineados() {
+        GeometriaRecorrido geometria = trazado(16.75, -93.11, 16.751, -93.109, 16.752, -93.108, 16.753, -93.107);
+
+        GeometriaRecorrido simplificada = geometria.simplificada(0.5);
+
+        assertEquals(2, simplificada.size());
+        assertEquals(geometria.idCoordenada(0), simplificada.idCoordenada(0));
+        assertEquals(geometria.idCoordenada(3), simplificada.idCoordenada(1));
+    }
+
+    @Test
+    void equivaleADouglasPeuckerConCadaTolerancia() {
+        Random aleatorio = new Random(7);
+        for (int prueba = 0; prueba < 50; prueba++) {
+            int n = 3 + aleatorio.nextInt(80);
+            double[] latLon = new double[2 * n];
+            double lat = 16.75;
+            double lon = -93.11;
+            for (int i = 0; i < n; i++) {
+                lat += (aleatorio.nextDouble() - 0.3) * 0.001;
+                lon += (aleatorio.nextDouble() - 0.5) * 0.001;
+                latLon[2 * i] = lat;
+                latLon[2 * i + 1] = lon;
+            }
+            GeometriaRecorrido geometria = trazado(latLon);
+            for (double tolerancia : new double[]{0, 1, 5, 20, 80, 300}) {
+                assertEquals(referencia(geometria, tolerancia), ids(geometria.simplificada(tolerancia)),
+                        "tolerancia " + tolerancia);
+            }
+        }
+    }
+
+    @Test
+    void laToleranciaSeReduceALaMitadPorNivel() {
+        assertEquals(156543.03392, SimplificadorDouglasPeucker.toleranciaParaZoom(0, 0), 1e-6);
+        for (int zoom = SimplificadorDouglasPeucker.ZOOM_MINIMO; zoom < SimplificadorDouglasPeucker.ZOOM_MAXIMO; zoom++) {
+            assertEquals(SimplificadorDouglasPeucker.toleranciaParaZoom(zoom, 16.75) / 2,
+                    SimplificadorDouglasPeucker.toleranciaParaZoom(zoom + 1, 16.75), 1e-9);
+        }
+        assertTrue(SimplificadorDouglasPeucker.toleranciaParaZoom(14, 60) < SimplificadorDouglasPeucker.toleranciaParaZoom(14, 0));
+    }
+
+    private static GeometriaRecorrido trazado(double... latLon) {
+        GeometriaRecorrido.Builder builder = new GeometriaRecorrido.Builder(1);
+        for (int i = 0; i < latLon.length; i += 2) {
+            builder.agregar(i / 2 + 1, Math.round(latLon[i] * GeometriaRecorrido.FACTOR),
+                    Math.round(latLon[i + 1] * GeometriaRecorrido.FACTOR), i / 2 + 1);
+        }
+        return builder.build();
+    }
+
+    private static List<Integer> ids(GeometriaRecorrido geometria) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < geometria.size(); i++) {
+            ids.add(geometria.idCoordenada(i));
+        }
+        return ids;
+    }
+
+    /**
+     * Douglas-Peucker recursivo clásico, con la misma proyección local.
+     */
+    private static List<Integer> referencia(GeometriaRecorrido geometria, double tolerancia) {
+        int n = geometria.size();
+        double escalaLon = Math.cos(Math.toRadians(geometria.latitud(0))) * METROS_POR_GRADO;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = geometria.longitud(i) * escalaLon;
+            y[i] = geometria.latitud(i) * METROS_POR_GRADO;
+        }
+        boolean[] conservar = new boolean[n];
+        conservar[0] = true;
+        conservar[n - 1] = true;
+        dividir(x, y, 0, n - 1, tolerancia, conservar);
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (conservar[i]) ids.add(geometria.idCoordenada(i));
+        }
+        return ids;
+    }
+
+    private static void dividir(double[] x, double[] y, int a, int b, double tolerancia, boolean[] conservar) {
+        if (b - a < 2) return;
+        int masLejano = -1;
+        double maxima = -1;
+        for (int k = a + 1; k < b; k++) {
+            double d = distancia(x[k], y[k], x[a], y[a], x[b], y[b]);
+            if (d > maxima) {
+                maxima = d;
+                masLejano = k;
+            }
+        }
+        if (maxima <= tolerancia) return;
+        conservar[masLejano] = true;
+        dividir(x, y, a, masLejano, tolerancia, conservar);
+        dividir(x, y, masLejano, b, tolerancia, conservar);
+    }
+
+    private static double distancia(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double largo2 = dx * dx + dy * dy;
+        double t = largo2 == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / largo2;
+        t = Math.max(0, Math.min(1, t));
+        double ex = px - (ax + t * dx);
+        double ey = py - (ay + t * dy);
+        return Math.sqrt(ex * ex + ey * ey);
+    }
+}